@@ -0,0 +1,36 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 1:05 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.android.app.framework.sql;
+
+import android.database.Cursor;
+
+import com.balch.android.app.framework.core.DomainObject;
+
+/**
+ * Creates a domain object from the current row of a cursor. A RowMapper is
+ * bound to the columns of a specific cursor, see {@link SqlMapper#getRowMapper(Cursor)}.
+ */
+public interface RowMapper<T extends DomainObject> {
+    T mapRow(Cursor cursor);
+}
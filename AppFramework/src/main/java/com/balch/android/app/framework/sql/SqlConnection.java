@@ -27,6 +27,7 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 import android.text.TextUtils;
 import android.util.Log;
 
@@ -35,13 +36,11 @@ import com.balch.android.app.framework.core.DomainObject;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
-import java.util.Hashtable;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -52,6 +51,11 @@ public class SqlConnection extends SQLiteOpenHelper {
     protected final String createScript;
     protected final String updateScript;
 
+    // idle compiled insert, update and delete statements keyed by sql,
+    // all access is synchronized on this
+    private final Map<String, SQLiteStatement> statementCache = new HashMap<>();
+    private SQLiteDatabase statementDatabase;
+
     public SqlConnection(Context context, String databaseName, int version,
                          String createScript, String updateScript) {
         super(context, databaseName, null, version);
@@ -60,12 +64,12 @@ public class SqlConnection extends SQLiteOpenHelper {
         this.updateScript = updateScript;
     }
 
-    public <T extends DomainObject> T queryById(SqlMapper mapper, Class<T> clazz, Long id) throws InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException, SQLException {
-        List<T> items = this.query(mapper, clazz, SqlMapper.COLUMN_ID+"=?", new String[]{String.valueOf(id)}, null);
+    public <T extends DomainObject> T queryById(SqlMapper<T> mapper, Long id) throws SQLException {
+        List<T> items = this.query(mapper, SqlMapper.COLUMN_ID+"=?", new String[]{String.valueOf(id)}, null);
         return (items.size() == 1) ? items.get(0) : null;
     }
 
-    public <T extends DomainObject> List<T> query(SqlMapper mapper, Class<T> clazz, String where, String[] whereArgs, String orderBy) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException, SQLException {
+    public <T extends DomainObject> List<T> query(SqlMapper<T> mapper, String where, String[] whereArgs, String orderBy) throws SQLException {
 
         StopWatch sw = StopWatch.newInstance();
 
@@ -76,7 +80,7 @@ public class SqlConnection extends SQLiteOpenHelper {
         Cursor cursor = null;
         try {
             cursor = this.getReadableDatabase().query(table, null, where, whereArgs, null, null, orderBy);
-            processCursor(mapper, cursor, clazz, results);
+            processCursor(mapper, cursor, results);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -89,29 +93,26 @@ public class SqlConnection extends SQLiteOpenHelper {
         return results;
     }
 
-    public <T extends DomainObject> void processCursor(SqlMapper mapper, Cursor cursor,
-                                                       Class<T> clazz, List<T> results)
-                    throws IllegalAccessException, InvocationTargetException,
-                            InstantiationException, NoSuchMethodException {
+    public <T extends DomainObject> void processCursor(SqlMapper<T> mapper, Cursor cursor, List<T> results) {
 
         StopWatch sw = StopWatch.newInstance();
 
-        Map<String, Integer> columnMap = getColumnMap(cursor);
-        Constructor<T> ctor = clazz.getConstructor();
+        // resolve the column indices once for the whole cursor
+        RowMapper<T> rowMapper = mapper.getRowMapper(cursor);
+        int createTimeColumn = cursor.getColumnIndex(SqlMapper.COLUMN_CREATE_TIME);
+        int updateTimeColumn = cursor.getColumnIndex(SqlMapper.COLUMN_UPDATE_TIME);
+
         while (cursor.moveToNext()) {
-            T item = ctor.newInstance();
+            T item = rowMapper.mapRow(cursor);
 
-            if (columnMap.containsKey(SqlMapper.COLUMN_CREATE_TIME)) {
-                Date date = new Date(cursor.getLong(columnMap.get(SqlMapper.COLUMN_CREATE_TIME)));
-                item.setCreateTime(date);
+            if (createTimeColumn != -1) {
+                item.setCreateTime(new Date(cursor.getLong(createTimeColumn)));
             }
 
-            if (columnMap.containsKey(SqlMapper.COLUMN_CREATE_TIME)) {
-                Date date = new Date(cursor.getLong(columnMap.get(SqlMapper.COLUMN_UPDATE_TIME)));
-                item.setUpdateTime(date);
+            if (updateTimeColumn != -1) {
+                item.setUpdateTime(new Date(cursor.getLong(updateTimeColumn)));
             }
 
-            mapper.populate(item, cursor, columnMap);
             results.add(item);
         }
 
@@ -129,7 +130,7 @@ public class SqlConnection extends SQLiteOpenHelper {
         return cursor;
     }
 
-        public long insert(SqlMapper mapper, DomainObject item) throws SQLException {
+    public long insert(SqlMapper mapper, DomainObject item) throws SQLException {
         return insert(mapper, item, this.getWritableDatabase());
     }
 
@@ -140,7 +141,31 @@ public class SqlConnection extends SQLiteOpenHelper {
         values.put(SqlMapper.COLUMN_CREATE_TIME, currentMillis);
         values.put(SqlMapper.COLUMN_UPDATE_TIME, currentMillis);
 
-        long id = db.insert(mapper.getTableName(), null, values);
+        List<String> columns = getColumns(values);
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+                .append(mapper.getTableName()).append(" (");
+        for (int x = 0; x < columns.size(); x++) {
+            sql.append((x == 0) ? "" : ",").append(columns.get(x));
+        }
+        sql.append(") VALUES (");
+        for (int x = 0; x < columns.size(); x++) {
+            sql.append((x == 0) ? "?" : ",?");
+        }
+        sql.append(")");
+
+        long id;
+        SQLiteStatement statement = acquireStatement(db, sql.toString());
+        try {
+            bindValues(statement, values, columns);
+            id = statement.executeInsert();
+        } catch (android.database.SQLException e) {
+            Log.e(TAG, "Error inserting record", e);
+            id = -1;
+        } finally {
+            releaseStatement(db, sql.toString(), statement);
+        }
+
         if (id == -1) {
             throw new SQLException("Error inserting record");
         }
@@ -149,6 +174,23 @@ public class SqlConnection extends SQLiteOpenHelper {
         return id;
     }
 
+    /**
+     * Inserts all the items in a single transaction. If a transaction is
+     * already in progress on this thread the inserts become part of it.
+     */
+    public void insertAll(SqlMapper mapper, List<? extends DomainObject> items) throws SQLException {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (DomainObject item : items) {
+                insert(mapper, item, db);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
     public boolean update(SqlMapper mapper, DomainObject item)  {
         return update(mapper, item, null, null, this.getWritableDatabase());
     }
@@ -163,18 +205,35 @@ public class SqlConnection extends SQLiteOpenHelper {
 
         values.put(SqlMapper.COLUMN_UPDATE_TIME, System.currentTimeMillis());
 
-        StringBuilder where = new StringBuilder("_id=?");
-        List<String> whereArgList = new ArrayList<String>();
-        whereArgList.add(item.getId().toString());
+        List<String> columns = getColumns(values);
 
-        if (!TextUtils.isEmpty(extraWhere)) {
-            where.append(" ").append(extraWhere);
-            if (whereArgs != null) {
-                Collections.addAll(whereArgList, whereArgs);
+        StringBuilder sql = new StringBuilder("UPDATE ")
+                .append(mapper.getTableName()).append(" SET ");
+        for (int x = 0; x < columns.size(); x++) {
+            sql.append((x == 0) ? "" : ",").append(columns.get(x)).append("=?");
+        }
+        sql.append(" WHERE _id=?");
+
+        boolean hasExtraWhere = !TextUtils.isEmpty(extraWhere);
+        if (hasExtraWhere) {
+            sql.append(" ").append(extraWhere);
+        }
+
+        int count;
+        SQLiteStatement statement = acquireStatement(db, sql.toString());
+        try {
+            int index = bindValues(statement, values, columns);
+            statement.bindLong(index++, item.getId());
+            if (hasExtraWhere && (whereArgs != null)) {
+                for (String arg : whereArgs) {
+                    statement.bindString(index++, arg);
+                }
             }
+            count = statement.executeUpdateDelete();
+        } finally {
+            releaseStatement(db, sql.toString(), statement);
         }
-        int count = db.update(mapper.getTableName(), values, where.toString(),
-                whereArgList.toArray(new String[whereArgList.size()]));
+
         return (count == 1);
     }
 
@@ -183,7 +242,119 @@ public class SqlConnection extends SQLiteOpenHelper {
     }
 
     public boolean delete(SqlMapper mapper, DomainObject item, SQLiteDatabase db)  {
-        return (db.delete(mapper.getTableName(), "_id=?", new String[]{item.getId().toString()}) == 1);
+        String sql = "DELETE FROM " + mapper.getTableName() + " WHERE _id=?";
+
+        int count;
+        SQLiteStatement statement = acquireStatement(db, sql);
+        try {
+            statement.bindLong(1, item.getId());
+            count = statement.executeUpdateDelete();
+        } finally {
+            releaseStatement(db, sql, statement);
+        }
+        return (count == 1);
+    }
+
+    /**
+     * Takes the compiled statement for the sql out of the cache, compiling a
+     * new one if it is not cached or is in use by another thread. Statements
+     * are never shared while bound so no lock is held while they execute.
+     * The statement must be returned with {@link #releaseStatement}.
+     */
+    private SQLiteStatement acquireStatement(SQLiteDatabase db, String sql) {
+        SQLiteStatement statement;
+        synchronized (this) {
+            if (db != statementDatabase) {
+                clearStatementCache();
+                statementDatabase = db;
+            }
+            statement = statementCache.remove(sql);
+        }
+
+        return (statement != null) ? statement : db.compileStatement(sql);
+    }
+
+    private void releaseStatement(SQLiteDatabase db, String sql, SQLiteStatement statement) {
+        statement.clearBindings();
+        synchronized (this) {
+            if ((db == statementDatabase) && !statementCache.containsKey(sql)) {
+                statementCache.put(sql, statement);
+                statement = null;
+            }
+        }
+
+        if (statement != null) {
+            statement.close();
+        }
+    }
+
+    private synchronized void clearStatementCache() {
+        for (SQLiteStatement statement : statementCache.values()) {
+            statement.close();
+        }
+        statementCache.clear();
+        statementDatabase = null;
+    }
+
+    /**
+     * Returns the column names in a stable order so rows with the
+     * same columns share the same compiled statement
+     */
+    private static List<String> getColumns(ContentValues values) {
+        List<String> columns = new ArrayList<>(values.keySet());
+        Collections.sort(columns);
+        return columns;
+    }
+
+    /**
+     * Executes an UPDATE or DELETE statement using the compiled statement
+     * cache and returns the number of rows affected
+     */
+    public int executeUpdateDelete(String sql, Object[] bindArgs, SQLiteDatabase db) {
+        SQLiteStatement statement = acquireStatement(db, sql);
+        try {
+            for (int x = 0; x < bindArgs.length; x++) {
+                bindValue(statement, x + 1, bindArgs[x]);
+            }
+            return statement.executeUpdateDelete();
+        } finally {
+            releaseStatement(db, sql, statement);
+        }
+    }
+
+    /**
+     * Binds the values in column order starting at index 1 and
+     * returns the next bind index
+     */
+    private static int bindValues(SQLiteStatement statement, ContentValues values, List<String> columns) {
+        int index = 1;
+        for (String column : columns) {
+            bindValue(statement, index++, values.get(column));
+        }
+        return index;
+    }
+
+    private static void bindValue(SQLiteStatement statement, int index, Object value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else if ((value instanceof Long) || (value instanceof Integer) ||
+                (value instanceof Short) || (value instanceof Byte)) {
+            statement.bindLong(index, ((Number) value).longValue());
+        } else if ((value instanceof Double) || (value instanceof Float)) {
+            statement.bindDouble(index, ((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            statement.bindLong(index, ((Boolean) value) ? 1 : 0);
+        } else if (value instanceof byte[]) {
+            statement.bindBlob(index, (byte[]) value);
+        } else {
+            statement.bindString(index, value.toString());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        clearStatementCache();
+        super.close();
     }
 
 /////////////////////////////////
@@ -259,14 +430,4 @@ public class SqlConnection extends SQLiteOpenHelper {
         }
         return sql;
     }
-
-    public Map<String, Integer> getColumnMap(Cursor cursor) {
-        Map<String, Integer> columnMap = new Hashtable<>(cursor.getColumnCount());
-
-        for (int x = 0; x < cursor.getColumnCount(); x++) {
-            columnMap.put(cursor.getColumnName(x), x);
-        }
-
-        return columnMap;
-    }
 }
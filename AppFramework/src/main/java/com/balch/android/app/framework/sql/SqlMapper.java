@@ -27,8 +27,6 @@ import android.database.Cursor;
 
 import com.balch.android.app.framework.core.DomainObject;
 
-import java.util.Map;
-
 public interface SqlMapper<T extends DomainObject> {
     String COLUMN_ID = "_id";
     String COLUMN_CREATE_TIME = "create_time";
@@ -38,7 +36,11 @@ public interface SqlMapper<T extends DomainObject> {
 
     ContentValues getContentValues(T domainObject);
 
-    void populate(T domainObject, Cursor cursor, Map<String, Integer> columnMap);
+    /**
+     * Returns a RowMapper for the cursor. Implementations should resolve the
+     * column indices here so that no column lookups are done per row.
+     */
+    RowMapper<T> getRowMapper(Cursor cursor);
 
 }
 
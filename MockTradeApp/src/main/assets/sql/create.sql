@@ -77,14 +77,108 @@ CREATE TABLE snapshot_totals (
 CREATE INDEX snapshot_totals_account_idx ON [snapshot_totals](account_id);
 CREATE INDEX snapshot_totals_query_idx ON [snapshot_totals](account_id, snapshot_time);
 
-CREATE VIEW IF NOT EXISTS snapshot_totals_daily
-AS
-SELECT n.*
-FROM snapshot_totals n
-INNER JOIN (
-  SELECT _id, MAX(snapshot_time) AS snapshot_time
-  FROM snapshot_totals
-  WHERE strftime("%w",snapshot_time/1000, 'unixepoch') NOT IN ('0', '6')
-  GROUP BY date(snapshot_time/1000, 'unixepoch'), account_id
-) AS max USING (_id, snapshot_time);
+-- snapshot rollups, one row per account per period holding the last snapshot
+-- of the period along with the open, high and low total value
+-- hourly and daily periods are counted from the epoch (UTC), weeks start on Monday
+-- and months are year * 12 + month. Sat and Sun are left out of the daily and coarser rollups
 
+CREATE TABLE snapshot_totals_hourly (
+    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+    account_id INTEGER  NOT NULL REFERENCES account(_id) ON DELETE CASCADE,
+    snapshot_period INTEGER NOT NULL,
+    snapshot_time INTEGER NOT NULL,
+    cost_basis INTEGER NOT NULL,
+    total_value INTEGER NOT NULL,
+    today_change INTEGER NOT NULL,
+    total_value_open INTEGER NOT NULL,
+    total_value_high INTEGER NOT NULL,
+    total_value_low INTEGER NOT NULL,
+    create_time INTEGER NOT NULL,
+    update_time INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX snapshot_totals_hourly_period_idx ON [snapshot_totals_hourly](account_id, snapshot_period);
+CREATE INDEX snapshot_totals_hourly_query_idx ON [snapshot_totals_hourly](account_id, snapshot_time);
+
+CREATE TABLE snapshot_totals_daily (
+    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+    account_id INTEGER  NOT NULL REFERENCES account(_id) ON DELETE CASCADE,
+    snapshot_period INTEGER NOT NULL,
+    snapshot_time INTEGER NOT NULL,
+    cost_basis INTEGER NOT NULL,
+    total_value INTEGER NOT NULL,
+    today_change INTEGER NOT NULL,
+    total_value_open INTEGER NOT NULL,
+    total_value_high INTEGER NOT NULL,
+    total_value_low INTEGER NOT NULL,
+    create_time INTEGER NOT NULL,
+    update_time INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX snapshot_totals_daily_period_idx ON [snapshot_totals_daily](account_id, snapshot_period);
+CREATE INDEX snapshot_totals_daily_query_idx ON [snapshot_totals_daily](account_id, snapshot_time);
+
+CREATE TABLE snapshot_totals_weekly (
+    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+    account_id INTEGER  NOT NULL REFERENCES account(_id) ON DELETE CASCADE,
+    snapshot_period INTEGER NOT NULL,
+    snapshot_time INTEGER NOT NULL,
+    cost_basis INTEGER NOT NULL,
+    total_value INTEGER NOT NULL,
+    today_change INTEGER NOT NULL,
+    total_value_open INTEGER NOT NULL,
+    total_value_high INTEGER NOT NULL,
+    total_value_low INTEGER NOT NULL,
+    create_time INTEGER NOT NULL,
+    update_time INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX snapshot_totals_weekly_period_idx ON [snapshot_totals_weekly](account_id, snapshot_period);
+CREATE INDEX snapshot_totals_weekly_query_idx ON [snapshot_totals_weekly](account_id, snapshot_time);
+
+CREATE TABLE snapshot_totals_monthly (
+    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+    account_id INTEGER  NOT NULL REFERENCES account(_id) ON DELETE CASCADE,
+    snapshot_period INTEGER NOT NULL,
+    snapshot_time INTEGER NOT NULL,
+    cost_basis INTEGER NOT NULL,
+    total_value INTEGER NOT NULL,
+    today_change INTEGER NOT NULL,
+    total_value_open INTEGER NOT NULL,
+    total_value_high INTEGER NOT NULL,
+    total_value_low INTEGER NOT NULL,
+    create_time INTEGER NOT NULL,
+    update_time INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX snapshot_totals_monthly_period_idx ON [snapshot_totals_monthly](account_id, snapshot_period);
+CREATE INDEX snapshot_totals_monthly_query_idx ON [snapshot_totals_monthly](account_id, snapshot_time);
+
+-- intraday snapshots older than QuoteService.SNAPSHOT_DAYS_BEFORE_ARCHIVE, one row per
+-- account per month (UTC) holding the snapshots encoded by SnapshotArchiveCodec
+CREATE TABLE snapshot_totals_archive (
+    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+    account_id INTEGER  NOT NULL REFERENCES account(_id) ON DELETE CASCADE,
+    snapshot_period INTEGER NOT NULL,
+    start_time INTEGER NOT NULL,
+    end_time INTEGER NOT NULL,
+    snapshot_count INTEGER NOT NULL,
+    data BLOB NOT NULL,
+    create_time INTEGER NOT NULL,
+    update_time INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX snapshot_totals_archive_period_idx ON [snapshot_totals_archive](account_id, snapshot_period);
+CREATE INDEX snapshot_totals_archive_time_idx ON [snapshot_totals_archive](end_time);
+
+-- key/value state a strategy keeps for its account between polls, see StrategyState
+CREATE TABLE strategy_state (
+    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+    account_id INTEGER  NOT NULL REFERENCES account(_id) ON DELETE CASCADE,
+    state_key TEXT NOT NULL,
+    state_value TEXT NOT NULL,
+    create_time INTEGER NOT NULL,
+    update_time INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX strategy_state_key_idx ON [strategy_state](account_id, state_key);
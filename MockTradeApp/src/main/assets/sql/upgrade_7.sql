@@ -0,0 +1,106 @@
+
+-- the rest of the snapshot rollups, laid out like snapshot_totals_daily (see upgrade_6)
+-- hourly periods are counted from the epoch (UTC), weeks start on Monday
+-- and months are year * 12 + month. Sat and Sun are left out of the weekly and monthly rollups
+
+CREATE TABLE snapshot_totals_hourly (
+    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+    account_id INTEGER  NOT NULL REFERENCES account(_id) ON DELETE CASCADE,
+    snapshot_period INTEGER NOT NULL,
+    snapshot_time INTEGER NOT NULL,
+    cost_basis INTEGER NOT NULL,
+    total_value INTEGER NOT NULL,
+    today_change INTEGER NOT NULL,
+    total_value_open INTEGER NOT NULL,
+    total_value_high INTEGER NOT NULL,
+    total_value_low INTEGER NOT NULL,
+    create_time INTEGER NOT NULL,
+    update_time INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX snapshot_totals_hourly_period_idx ON [snapshot_totals_hourly](account_id, snapshot_period);
+CREATE INDEX snapshot_totals_hourly_query_idx ON [snapshot_totals_hourly](account_id, snapshot_time);
+
+CREATE TABLE snapshot_totals_weekly (
+    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+    account_id INTEGER  NOT NULL REFERENCES account(_id) ON DELETE CASCADE,
+    snapshot_period INTEGER NOT NULL,
+    snapshot_time INTEGER NOT NULL,
+    cost_basis INTEGER NOT NULL,
+    total_value INTEGER NOT NULL,
+    today_change INTEGER NOT NULL,
+    total_value_open INTEGER NOT NULL,
+    total_value_high INTEGER NOT NULL,
+    total_value_low INTEGER NOT NULL,
+    create_time INTEGER NOT NULL,
+    update_time INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX snapshot_totals_weekly_period_idx ON [snapshot_totals_weekly](account_id, snapshot_period);
+CREATE INDEX snapshot_totals_weekly_query_idx ON [snapshot_totals_weekly](account_id, snapshot_time);
+
+CREATE TABLE snapshot_totals_monthly (
+    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+    account_id INTEGER  NOT NULL REFERENCES account(_id) ON DELETE CASCADE,
+    snapshot_period INTEGER NOT NULL,
+    snapshot_time INTEGER NOT NULL,
+    cost_basis INTEGER NOT NULL,
+    total_value INTEGER NOT NULL,
+    today_change INTEGER NOT NULL,
+    total_value_open INTEGER NOT NULL,
+    total_value_high INTEGER NOT NULL,
+    total_value_low INTEGER NOT NULL,
+    create_time INTEGER NOT NULL,
+    update_time INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX snapshot_totals_monthly_period_idx ON [snapshot_totals_monthly](account_id, snapshot_period);
+CREATE INDEX snapshot_totals_monthly_query_idx ON [snapshot_totals_monthly](account_id, snapshot_time);
+
+-- backfill from the intraday snapshots
+INSERT OR REPLACE INTO snapshot_totals_hourly
+    (account_id, snapshot_period, snapshot_time, cost_basis, total_value, today_change,
+     total_value_open, total_value_high, total_value_low, create_time, update_time)
+SELECT c.account_id, p.snapshot_period, c.snapshot_time, c.cost_basis, c.total_value, c.today_change,
+       o.total_value, p.total_value_high, p.total_value_low, c.create_time, c.update_time
+FROM (
+  SELECT account_id, snapshot_time/3600000 AS snapshot_period,
+         MIN(snapshot_time) AS open_time, MAX(snapshot_time) AS close_time,
+         MAX(total_value) AS total_value_high, MIN(total_value) AS total_value_low
+  FROM snapshot_totals
+  GROUP BY account_id, snapshot_period
+) AS p
+INNER JOIN snapshot_totals c ON c.account_id = p.account_id AND c.snapshot_time = p.close_time
+INNER JOIN snapshot_totals o ON o.account_id = p.account_id AND o.snapshot_time = p.open_time;
+
+INSERT OR REPLACE INTO snapshot_totals_weekly
+    (account_id, snapshot_period, snapshot_time, cost_basis, total_value, today_change,
+     total_value_open, total_value_high, total_value_low, create_time, update_time)
+SELECT c.account_id, p.snapshot_period, c.snapshot_time, c.cost_basis, c.total_value, c.today_change,
+       o.total_value, p.total_value_high, p.total_value_low, c.create_time, c.update_time
+FROM (
+  SELECT account_id, (snapshot_time/86400000 + 3)/7 AS snapshot_period,
+         MIN(snapshot_time) AS open_time, MAX(snapshot_time) AS close_time,
+         MAX(total_value) AS total_value_high, MIN(total_value) AS total_value_low
+  FROM snapshot_totals
+  WHERE strftime("%w",snapshot_time/1000, 'unixepoch') NOT IN ('0', '6')
+  GROUP BY account_id, snapshot_period
+) AS p
+INNER JOIN snapshot_totals c ON c.account_id = p.account_id AND c.snapshot_time = p.close_time
+INNER JOIN snapshot_totals o ON o.account_id = p.account_id AND o.snapshot_time = p.open_time;
+
+INSERT OR REPLACE INTO snapshot_totals_monthly
+    (account_id, snapshot_period, snapshot_time, cost_basis, total_value, today_change,
+     total_value_open, total_value_high, total_value_low, create_time, update_time)
+SELECT c.account_id, p.snapshot_period, c.snapshot_time, c.cost_basis, c.total_value, c.today_change,
+       o.total_value, p.total_value_high, p.total_value_low, c.create_time, c.update_time
+FROM (
+  SELECT account_id, CAST(strftime('%Y', snapshot_time/1000, 'unixepoch') AS INTEGER) * 12 + CAST(strftime('%m', snapshot_time/1000, 'unixepoch') AS INTEGER) - 1 AS snapshot_period,
+         MIN(snapshot_time) AS open_time, MAX(snapshot_time) AS close_time,
+         MAX(total_value) AS total_value_high, MIN(total_value) AS total_value_low
+  FROM snapshot_totals
+  WHERE strftime("%w",snapshot_time/1000, 'unixepoch') NOT IN ('0', '6')
+  GROUP BY account_id, snapshot_period
+) AS p
+INNER JOIN snapshot_totals c ON c.account_id = p.account_id AND c.snapshot_time = p.close_time
+INNER JOIN snapshot_totals o ON o.account_id = p.account_id AND o.snapshot_time = p.open_time;
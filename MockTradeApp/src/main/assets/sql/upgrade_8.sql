@@ -0,0 +1,17 @@
+
+-- intraday snapshots older than QuoteService.SNAPSHOT_DAYS_BEFORE_ARCHIVE, one row per
+-- account per month (UTC) holding the snapshots encoded by SnapshotArchiveCodec
+CREATE TABLE snapshot_totals_archive (
+    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+    account_id INTEGER  NOT NULL REFERENCES account(_id) ON DELETE CASCADE,
+    snapshot_period INTEGER NOT NULL,
+    start_time INTEGER NOT NULL,
+    end_time INTEGER NOT NULL,
+    snapshot_count INTEGER NOT NULL,
+    data BLOB NOT NULL,
+    create_time INTEGER NOT NULL,
+    update_time INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX snapshot_totals_archive_period_idx ON [snapshot_totals_archive](account_id, snapshot_period);
+CREATE INDEX snapshot_totals_archive_time_idx ON [snapshot_totals_archive](end_time);
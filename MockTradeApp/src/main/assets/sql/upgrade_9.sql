@@ -0,0 +1,12 @@
+
+-- key/value state a strategy keeps for its account between polls, see StrategyState
+CREATE TABLE strategy_state (
+    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+    account_id INTEGER  NOT NULL REFERENCES account(_id) ON DELETE CASCADE,
+    state_key TEXT NOT NULL,
+    state_value TEXT NOT NULL,
+    create_time INTEGER NOT NULL,
+    update_time INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX strategy_state_key_idx ON [strategy_state](account_id, state_key);
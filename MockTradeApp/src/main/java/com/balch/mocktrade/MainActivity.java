@@ -57,6 +57,7 @@ public class MainActivity extends PresenterActivity<MainPortfolioView, MainPrese
     private MenuItem menuRefreshButton;
     private MenuItem menuHideExcludeAccounts;
     private MenuItem menuDemoMode;
+    private MenuItem menuSimulatedQuotes;
 
     private Handler uiHandler = new Handler(Looper.getMainLooper());
 
@@ -198,6 +199,8 @@ public class MainActivity extends PresenterActivity<MainPortfolioView, MainPrese
         menuRefreshButton = menu.findItem(R.id.menu_refresh);
         menuHideExcludeAccounts = menu.findItem(R.id.menu_hide_exclude_accounts);
         menuDemoMode = menu.findItem(R.id.menu_demo_mode);
+        menuSimulatedQuotes = menu.findItem(R.id.menu_simulated_quotes);
+        menuSimulatedQuotes.setVisible(BuildConfig.DEBUG);
 
         // tint all the menu item icons
         ColorStateList colorSelector = ContextCompat.getColorStateList(this, R.color.nav_on_color);
@@ -219,6 +222,7 @@ public class MainActivity extends PresenterActivity<MainPortfolioView, MainPrese
 
         menuHideExcludeAccounts.setChecked(presenter.getHideExcludeAccounts());
         menuDemoMode.setChecked(presenter.getDemoMode());
+        menuSimulatedQuotes.setChecked(presenter.getSimulatedQuotes());
         return true;
     }
 
@@ -261,6 +265,13 @@ public class MainActivity extends PresenterActivity<MainPortfolioView, MainPrese
                 presenter.setDemoMode(demoMode);
                 handled = true;
                 break;
+            case R.id.menu_simulated_quotes:
+                boolean simulatedQuotes = !menuSimulatedQuotes.isChecked();
+                menuSimulatedQuotes.setChecked(simulatedQuotes);
+                presenter.setSimulatedQuotes(simulatedQuotes);
+                Toast.makeText(this, R.string.simulated_quotes_restart, Toast.LENGTH_LONG).show();
+                handled = true;
+                break;
         }
 
         return handled;
@@ -45,7 +45,6 @@ import com.balch.mocktrade.portfolio.AccountViewHolder;
 import com.balch.mocktrade.portfolio.PortfolioAdapter;
 import com.balch.mocktrade.portfolio.PortfolioData;
 import com.balch.mocktrade.portfolio.PortfolioModel;
-import com.balch.mocktrade.portfolio.PortfolioSqliteModel;
 import com.balch.mocktrade.settings.Settings;
 import com.balch.mocktrade.shared.PerformanceItem;
 
@@ -97,10 +96,7 @@ public class MainPresenter extends BasePresenter<MainPortfolioView> {
         this.portfolioViewModel = portfolioViewModel;
         appSetting = modelProvider.getSettings();
         if (!portfolioViewModel.isInitialized()) {
-            portfolioModel = new PortfolioSqliteModel(modelProvider.getContext(),
-                    modelProvider.getSqlConnection(),
-                    modelProvider.getFinanceModel(),
-                    modelProvider.getSettings());
+            portfolioModel = modelProvider.getModelApiFactory().createPortfolioModel(modelProvider);
             portfolioViewModel.setPortfolioModel(portfolioModel);
             portfolioViewModel.setAppSettings(appSetting);
         } else {
@@ -136,8 +132,7 @@ public class MainPresenter extends BasePresenter<MainPortfolioView> {
         boolean demoMode = appSetting.getBoolean(Settings.Key.PREF_DEMO_MODE);
         for (Account account : data.getAccounts()) {
             if (demoMode || !account.getExcludeFromTotals()) {
-                List<Investment> investments = data.getInvestments(account.getId());
-                performanceItem.aggregate(account.getPerformanceItem(investments, timestamp));
+                performanceItem.aggregate(data.getPerformanceItem(account, timestamp));
 
                 accountsWithTotals++;
             }
@@ -180,6 +175,18 @@ public class MainPresenter extends BasePresenter<MainPortfolioView> {
         updateView();
     }
 
+    public boolean getSimulatedQuotes() {
+        return appSetting.getBoolean(Settings.Key.PREF_SIMULATED_QUOTES);
+    }
+
+    /**
+     * The quote source is chosen when the FinanceModel is created so
+     * this takes effect the next time the app starts
+     */
+    public void setSimulatedQuotes(boolean enabled) {
+        appSetting.setBoolean(Settings.Key.PREF_SIMULATED_QUOTES, enabled);
+    }
+
     public void updateAccount(long accountId, int days) {
         portfolioViewModel.setGraphSelectionCriteria(accountId, days);
         view.setAccountSpinner(accountId);
@@ -23,9 +23,15 @@
 
 package com.balch.mocktrade;
 
+import com.balch.mocktrade.account.strategies.StrategyRegistry;
 import com.balch.mocktrade.finance.IEXFinanceApi;
 import com.balch.mocktrade.finance.IEXQuoteTypeAdapter;
+import com.balch.mocktrade.finance.QuoteFeed;
 import com.balch.mocktrade.finance.QuoteResult;
+import com.balch.mocktrade.portfolio.LastSnapshotRegister;
+import com.balch.mocktrade.portfolio.PortfolioModel;
+import com.balch.mocktrade.portfolio.PortfolioSqliteModel;
+import com.balch.mocktrade.portfolio.ValuationEngine;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -41,6 +47,12 @@ public class ModelApiFactory {
     private final static String IEX_FINANCE_BASE_URL = "https://api.iextrading.com/1.0/";
 
     private IEXFinanceApi IEXFinanceApi = null;
+    private QuoteFeed quoteFeed = null;
+    private StrategyRegistry strategyRegistry = null;
+
+    // kept up to date by every PortfolioSqliteModel, see createPortfolioModel()
+    private final ValuationEngine valuationEngine = new ValuationEngine();
+    private final LastSnapshotRegister lastSnapshotRegister = new LastSnapshotRegister();
 
     private final static Gson gson = new GsonBuilder()
             .registerTypeAdapter(QuoteResult.class, new IEXQuoteTypeAdapter())
@@ -54,11 +66,51 @@ public class ModelApiFactory {
                         .create(IEXFinanceApi.class);
             }
             return (T) IEXFinanceApi;
+        } else if (api == QuoteFeed.class) {
+            return (T) quoteFeed;
         }
 
         return null;
     }
 
+    /**
+     * Registers a local QuoteFeed that replaces the IEX api for market data.
+     * This must be set before the FinanceModel is first created, see
+     * TradeApplication.getFinanceModel().
+     */
+    public void setQuoteFeed(QuoteFeed quoteFeed) {
+        this.quoteFeed = quoteFeed;
+    }
+
+    /**
+     * The strategies are long lived, there is one registry for the app
+     * sharing its FinanceModel and database.
+     */
+    public synchronized StrategyRegistry getStrategyRegistry(TradeModelProvider modelProvider) {
+        if (strategyRegistry == null) {
+            strategyRegistry = new StrategyRegistry(modelProvider.getContext(),
+                    modelProvider.getFinanceModel(),
+                    modelProvider.getSqlConnection(),
+                    modelProvider.getSettings(),
+                    valuationEngine,
+                    lastSnapshotRegister);
+        }
+        return strategyRegistry;
+    }
+
+    /**
+     * Models are short lived, they share the app's long lived valuation and strategy state
+     */
+    public PortfolioModel createPortfolioModel(TradeModelProvider modelProvider) {
+        return new PortfolioSqliteModel(modelProvider.getContext(),
+                modelProvider.getSqlConnection(),
+                modelProvider.getFinanceModel(),
+                modelProvider.getSettings(),
+                valuationEngine,
+                lastSnapshotRegister,
+                getStrategyRegistry(modelProvider));
+    }
+
     private static Retrofit getRetrofitService(String baseUrl) {
         HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor();
         interceptor.setLevel(BuildConfig.DEBUG
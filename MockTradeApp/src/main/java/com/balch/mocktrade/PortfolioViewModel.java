@@ -122,6 +122,14 @@ public class PortfolioViewModel extends ViewModel {
     }
 
     void loadGraphData() {
+        loadGraphData(false);
+    }
+
+    /**
+     * @param onlyIfChanged only post the items if they differ from the items
+     *                      already posted, the graph rebuilds on every post
+     */
+    private void loadGraphData(final boolean onlyIfChanged) {
         disposeGraphData();
         disposableGraphData = Observable.just(true)
                 .subscribeOn(Schedulers.io())
@@ -137,6 +145,8 @@ public class PortfolioViewModel extends ViewModel {
                     return performanceItems;
                 })
                 .observeOn(AndroidSchedulers.mainThread())
+                .filter(performanceItems -> !onlyIfChanged ||
+                        hasChanged(liveGraphData.getValue(), performanceItems))
                 .subscribe(liveGraphData::setValue,
                         throwable -> Log.e(TAG, "loadGraphData exception", throwable ));
 
@@ -148,6 +158,25 @@ public class PortfolioViewModel extends ViewModel {
         loadGraphData();
     }
 
+    private static boolean hasChanged(List<PerformanceItem> current, List<PerformanceItem> loaded) {
+        if ((current == null) || (current.size() != loaded.size())) {
+            return true;
+        }
+
+        for (int x = 0; x < loaded.size(); x++) {
+            PerformanceItem currentItem = current.get(x);
+            PerformanceItem loadedItem = loaded.get(x);
+            if (!currentItem.getTimestamp().equals(loadedItem.getTimestamp()) ||
+                    !currentItem.getCostBasis().equals(loadedItem.getCostBasis()) ||
+                    !currentItem.getValue().equals(loadedItem.getValue()) ||
+                    !currentItem.getTodayChange().equals(loadedItem.getTodayChange())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     private PortfolioData loadPortfolioDataInBackground() {
 
         PortfolioData portfolioData = new PortfolioData();
@@ -158,6 +187,7 @@ public class PortfolioViewModel extends ViewModel {
         portfolioData.addInvestments(portfolioModel.getAllInvestments());
         portfolioData.setLastSyncTime(new Date(appSettings.getLastSyncTime()));
         portfolioData.setLastQuoteTime(portfolioModel.getLastQuoteTime());
+        portfolioData.setValuation(portfolioModel.getValuation());
 
         List<Order> openOrders = portfolioModel.getOpenOrders();
         for (Order o : openOrders) {
@@ -205,7 +235,7 @@ public class PortfolioViewModel extends ViewModel {
 
         @Override
         public void onReceive(Context context, Intent intent) {
-            loadGraphData();
+            loadGraphData(true);
             loadPortfolioData();
         }
     }
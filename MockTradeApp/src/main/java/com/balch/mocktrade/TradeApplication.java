@@ -33,9 +33,11 @@ import android.util.Log;
 import com.balch.android.app.framework.sql.SqlConnection;
 import com.balch.mocktrade.finance.FinanceModel;
 import com.balch.mocktrade.finance.FinanceModelImpl;
+import com.balch.mocktrade.finance.GbmQuoteFeed;
 import com.balch.mocktrade.finance.IEXFinanceApi;
+import com.balch.mocktrade.finance.QuoteFeed;
+import com.balch.mocktrade.finance.SimulatedFinanceModel;
 import com.balch.mocktrade.portfolio.PortfolioModel;
-import com.balch.mocktrade.portfolio.PortfolioSqliteModel;
 import com.balch.mocktrade.services.WearSyncService;
 import com.balch.mocktrade.settings.Settings;
 
@@ -54,14 +56,20 @@ public class TradeApplication extends Application implements TradeModelProvider,
     private static final String TAG = TradeApplication.class.getSimpleName();
 
     public static final String DATABASE_NAME = "mocktrade.db";
-    private static final int DATABASE_VERSION = 5;
+    // simulated prices and trade times never touch the real portfolio
+    private static final String SIMULATED_DATABASE_NAME = "mocktrade_simulated.db";
+    private static final int DATABASE_VERSION = 9;
     private static final String DATABASE_CREATES_SCRIPT = "sql/create.sql";
     private static final String DATABASE_UPDATE_SCRIPT_FORMAT = "sql/upgrade_%d.sql";
 
     private static final String DAILY_BACKUP_DATABASE_NAME = "daily_backup";
 
+    private static final long SIMULATED_QUOTE_SEED = 1;
+
     private volatile SqlConnection sqlConnection;
     private volatile Settings settings;
+    private volatile FinanceModel financeModel;
+    private volatile Boolean simulatedQuotes;
     private final ModelApiFactory modelApiFactory = new ModelApiFactory();
 
     @Override
@@ -100,10 +108,7 @@ public class TradeApplication extends Application implements TradeModelProvider,
             FinanceModel financeModel = modelProvider.getFinanceModel();
             financeModel.setQuoteServiceAlarm();
 
-            PortfolioModel portfolioModel = new PortfolioSqliteModel(modelProvider.getContext(),
-                    modelProvider.getSqlConnection(),
-                    financeModel,
-                    modelProvider.getSettings());
+            PortfolioModel portfolioModel = modelProvider.getModelApiFactory().createPortfolioModel(modelProvider);
             portfolioModel.scheduleOrderServiceAlarmIfNeeded();
             return null;
         }
@@ -121,7 +126,8 @@ public class TradeApplication extends Application implements TradeModelProvider,
         if (sqlConnection == null) {
             synchronized (this) {
                 if (sqlConnection == null) {
-                    sqlConnection = new SqlConnection(this, DATABASE_NAME, DATABASE_VERSION,
+                    sqlConnection = new SqlConnection(this,
+                            isSimulatedQuotes() ? SIMULATED_DATABASE_NAME : DATABASE_NAME, DATABASE_VERSION,
                             DATABASE_CREATES_SCRIPT, DATABASE_UPDATE_SCRIPT_FORMAT);
                 }
             }
@@ -268,10 +274,46 @@ public class TradeApplication extends Application implements TradeModelProvider,
         return modelApiFactory;
     }
 
+    /**
+     * Read once so the database and the FinanceModel always agree, toggling
+     * the setting takes effect the next time the app starts
+     */
+    private boolean isSimulatedQuotes() {
+        // double check lock pattern
+        if (simulatedQuotes == null) {
+            synchronized (this) {
+                if (simulatedQuotes == null) {
+                    simulatedQuotes = BuildConfig.DEBUG &&
+                            getSettings().getBoolean(Settings.Key.PREF_SIMULATED_QUOTES);
+                }
+            }
+        }
+
+        return simulatedQuotes;
+    }
+
     @Override
     public FinanceModel getFinanceModel() {
-        return new FinanceModelImpl(this,
-                modelApiFactory.getModelApi(IEXFinanceApi.class), getSettings());
+        // double check lock pattern
+        // a single instance is shared so all callers use the same quote cache
+        if (financeModel == null) {
+            synchronized (this) {
+                if (financeModel == null) {
+                    if (isSimulatedQuotes()) {
+                        // the feed follows the wall clock so the quotes are always from today
+                        modelApiFactory.setQuoteFeed(new GbmQuoteFeed(SIMULATED_QUOTE_SEED));
+                    }
+
+                    QuoteFeed quoteFeed = modelApiFactory.getModelApi(QuoteFeed.class);
+                    financeModel = (quoteFeed != null) ?
+                            new SimulatedFinanceModel(this, quoteFeed, getSettings()) :
+                            new FinanceModelImpl(this,
+                                    modelApiFactory.getModelApi(IEXFinanceApi.class), getSettings());
+                }
+            }
+        }
+
+        return financeModel;
     }
 
 }
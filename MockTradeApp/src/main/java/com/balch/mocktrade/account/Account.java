@@ -37,6 +37,7 @@ import com.balch.mocktrade.account.strategies.BaseStrategy;
 import com.balch.mocktrade.account.strategies.DogsOfTheDow;
 import com.balch.mocktrade.account.strategies.TripleMomentum;
 import com.balch.mocktrade.investment.Investment;
+import com.balch.mocktrade.investment.InvestmentValuation;
 import com.balch.mocktrade.shared.PerformanceItem;
 
 import java.util.Date;
@@ -180,20 +181,12 @@ public class Account extends DomainObject implements Parcelable {
     }
 
     public PerformanceItem getPerformanceItem(List<Investment> investments, Date timestamp) {
-        Money currentBalance = new Money(this.getAvailableFunds().getMicroCents());
-        Money todayChange = new Money(0);
+        long[] totals = new long[InvestmentValuation.TOTALS_SIZE];
+        InvestmentValuation.sumInvestments(investments, totals);
 
-        if (investments != null) {
-            for (Investment i : investments) {
-                currentBalance.add(i.getValue());
-
-                if (i.isPriceCurrent()) {
-                    todayChange.add(Money.subtract(i.getValue(),i.getPrevDayValue()));
-                }
-            }
-        }
-
-        return new PerformanceItem(this.getId(), timestamp, this.initialBalance, currentBalance, todayChange);
+        return new PerformanceItem(this.getId(), timestamp, this.initialBalance,
+                new Money(this.getAvailableFunds().getMicroCents() + totals[InvestmentValuation.TOTAL_VALUE]),
+                new Money(totals[InvestmentValuation.TOTAL_TODAY_CHANGE]));
     }
 
     @Override
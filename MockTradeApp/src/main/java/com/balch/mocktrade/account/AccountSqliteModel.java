@@ -23,24 +23,18 @@
 package com.balch.mocktrade.account;
 
 import android.content.ContentValues;
-import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
-import android.util.Log;
 
+import com.balch.android.app.framework.sql.RowMapper;
 import com.balch.android.app.framework.sql.SqlConnection;
 import com.balch.android.app.framework.sql.SqlMapper;
 import com.balch.android.app.framework.types.Money;
-import com.balch.mocktrade.account.strategies.BaseStrategy;
-import com.balch.mocktrade.finance.FinanceModel;
-import com.balch.mocktrade.settings.Settings;
 
 import java.sql.SQLException;
 import java.util.List;
-import java.util.Map;
 
 public class AccountSqliteModel implements SqlMapper<Account> {
-    private static final String TAG = AccountSqliteModel.class.getSimpleName();
 
     private static final String TABLE_NAME = "account";
 
@@ -52,16 +46,8 @@ public class AccountSqliteModel implements SqlMapper<Account> {
     private static final String COLUMN_EXCLUDE_FROM_TOTALS = "exclude_from_totals";
 
     private final SqlConnection sqlConnection;
-    private final Context context;
-    private final FinanceModel financeModel;
-    private final Settings settings;
-
-    public AccountSqliteModel(Context context, FinanceModel financeModel,
-                              SqlConnection sqlConnection, Settings settings) {
-        this.context = context.getApplicationContext();
+    public AccountSqliteModel(SqlConnection sqlConnection) {
         this.sqlConnection = sqlConnection;
-        this.financeModel = financeModel;
-        this.settings = settings;
     }
 
     public List<Account> getAccounts(boolean allAccounts) {
@@ -72,7 +58,7 @@ public class AccountSqliteModel implements SqlMapper<Account> {
                 where = COLUMN_EXCLUDE_FROM_TOTALS + "=?";
                 args = new String[]{"0"};
             }
-            return sqlConnection.query(this, Account.class, where, args, COLUMN_NAME + " COLLATE NOCASE");
+            return sqlConnection.query(this, where, args, COLUMN_NAME + " COLLATE NOCASE");
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -80,7 +66,7 @@ public class AccountSqliteModel implements SqlMapper<Account> {
 
     public Account getAccount(long accountId) {
         try {
-            List<Account> accounts = sqlConnection.query(this, Account.class, SqlMapper.COLUMN_ID+"=?", new String[]{String.valueOf(accountId)}, null);
+            List<Account> accounts = sqlConnection.query(this, SqlMapper.COLUMN_ID+"=?", new String[]{String.valueOf(accountId)}, null);
             return (accounts.size() == 1) ? accounts.get(0) : null;
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -103,18 +89,6 @@ public class AccountSqliteModel implements SqlMapper<Account> {
         } finally {
             db.endTransaction();
         }
-
-        // see if we should run a strategy
-        Class<? extends BaseStrategy> strategyClazz = account.getStrategy().getStrategyClazz();
-        if (strategyClazz != null) {
-            try {
-                BaseStrategy strategy = BaseStrategy.createStrategy(strategyClazz,
-                        context, financeModel, sqlConnection, settings);
-                strategy.initialize(account);
-            } catch (Exception e) {
-                Log.e(TAG, "Error initializing the strategy", e);
-            }
-        }
     }
 
     public void deleteAccount(Account account) {
@@ -146,14 +120,26 @@ public class AccountSqliteModel implements SqlMapper<Account> {
     }
 
     @Override
-    public void populate(Account account, Cursor cursor, Map<String, Integer> columnMap) {
-        account.setId(cursor.getLong(columnMap.get(COLUMN_ID)));
-        account.setName(cursor.getString(columnMap.get(COLUMN_NAME)));
-        account.setDescription(cursor.getString(columnMap.get(COLUMN_DESCRIPTION)));
-        account.setInitialBalance(new Money(cursor.getLong(columnMap.get(COLUMN_INITIAL_BALANCE))));
-        account.setStrategy(Account.Strategy.valueOf(cursor.getString(columnMap.get(COLUMN_STRATEGY))));
-        account.setAvailableFunds(new Money(cursor.getLong(columnMap.get(COLUMN_AVAILABLE_FUNDS))));
-        account.setExcludeFromTotals(cursor.getInt(columnMap.get(COLUMN_EXCLUDE_FROM_TOTALS))==1);
+    public RowMapper<Account> getRowMapper(Cursor cursor) {
+        final int idColumn = cursor.getColumnIndexOrThrow(COLUMN_ID);
+        final int nameColumn = cursor.getColumnIndexOrThrow(COLUMN_NAME);
+        final int descriptionColumn = cursor.getColumnIndexOrThrow(COLUMN_DESCRIPTION);
+        final int initialBalanceColumn = cursor.getColumnIndexOrThrow(COLUMN_INITIAL_BALANCE);
+        final int strategyColumn = cursor.getColumnIndexOrThrow(COLUMN_STRATEGY);
+        final int availableFundsColumn = cursor.getColumnIndexOrThrow(COLUMN_AVAILABLE_FUNDS);
+        final int excludeFromTotalsColumn = cursor.getColumnIndexOrThrow(COLUMN_EXCLUDE_FROM_TOTALS);
+
+        return c -> {
+            Account account = new Account();
+            account.setId(c.getLong(idColumn));
+            account.setName(c.getString(nameColumn));
+            account.setDescription(c.getString(descriptionColumn));
+            account.setInitialBalance(new Money(c.getLong(initialBalanceColumn)));
+            account.setStrategy(Account.Strategy.valueOf(c.getString(strategyColumn)));
+            account.setAvailableFunds(new Money(c.getLong(availableFundsColumn)));
+            account.setExcludeFromTotals(c.getInt(excludeFromTotalsColumn)==1);
+            return account;
+        };
     }
 
 }
@@ -29,10 +29,10 @@ import android.os.Parcel;
 import android.os.Parcelable;
 
 import com.balch.android.app.framework.core.DomainObject;
+import com.balch.android.app.framework.sql.RowMapper;
 import com.balch.android.app.framework.sql.SqlMapper;
 import com.balch.android.app.framework.types.Money;
 
-import java.util.Map;
 
 public class Transaction extends DomainObject implements SqlMapper<Transaction>, Parcelable {
     public static final String TABLE_NAME = "[transaction]";
@@ -146,13 +146,23 @@ public class Transaction extends DomainObject implements SqlMapper<Transaction>,
     }
 
     @Override
-    public void populate(Transaction transaction, Cursor cursor, Map<String, Integer> columnMap) {
-        transaction.id = cursor.getLong(columnMap.get(COLUMN_ID));
-        transaction.mAccount = new Account();
-        transaction.mAccount.setId(cursor.getLong(columnMap.get(COLUMN_ACCOUNT_ID)));
-        transaction.mAmount = new Money(cursor.getLong(columnMap.get(COLUMN_AMOUNT)));
-        transaction.mTransactionType = TransactionType.valueOf(cursor.getString(columnMap.get(COLUMN_TYPE)));
-        transaction.mNotes = cursor.getString(columnMap.get(COLUMN_NOTES));
+    public RowMapper<Transaction> getRowMapper(Cursor cursor) {
+        final int idColumn = cursor.getColumnIndexOrThrow(COLUMN_ID);
+        final int accountIdColumn = cursor.getColumnIndexOrThrow(COLUMN_ACCOUNT_ID);
+        final int amountColumn = cursor.getColumnIndexOrThrow(COLUMN_AMOUNT);
+        final int typeColumn = cursor.getColumnIndexOrThrow(COLUMN_TYPE);
+        final int notesColumn = cursor.getColumnIndexOrThrow(COLUMN_NOTES);
+
+        return c -> {
+            Transaction transaction = new Transaction();
+            transaction.id = c.getLong(idColumn);
+            transaction.mAccount = new Account();
+            transaction.mAccount.setId(c.getLong(accountIdColumn));
+            transaction.mAmount = new Money(c.getLong(amountColumn));
+            transaction.mTransactionType = TransactionType.valueOf(c.getString(typeColumn));
+            transaction.mNotes = c.getString(notesColumn);
+            return transaction;
+        };
     }
 
 }
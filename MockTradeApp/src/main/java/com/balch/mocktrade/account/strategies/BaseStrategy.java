@@ -24,31 +24,71 @@ package com.balch.mocktrade.account.strategies;
 
 import android.content.Context;
 
-import com.balch.android.app.framework.sql.SqlConnection;
 import com.balch.mocktrade.account.Account;
 import com.balch.mocktrade.finance.FinanceModel;
 import com.balch.mocktrade.finance.Quote;
 import com.balch.mocktrade.investment.Investment;
 import com.balch.mocktrade.portfolio.PortfolioModel;
-import com.balch.mocktrade.portfolio.PortfolioSqliteModel;
-import com.balch.mocktrade.settings.Settings;
+import com.balch.mocktrade.portfolio.PortfolioUpdateBroadcaster;
 
 import java.util.List;
 import java.util.Map;
 
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
 public abstract class BaseStrategy {
+
+    /**
+     * Source of the current time, a backtest supplies its simulated clock
+     */
+    public interface Clock {
+        long currentTimeMillis();
+    }
+
     protected FinanceModel financeModel;
     protected PortfolioModel portfolioModel;
     protected Context context;
+    protected Scheduler scheduler;
+    protected StrategyParameters parameters;
+    protected StrategyState state;
+    private Clock clock;
 
     public abstract void initialize(Account account);
 
-    private void init(Context context, FinanceModel financeModel,
-                      SqlConnection sqlConnection, Settings settings) {
+    private void init(Context context, FinanceModel financeModel, PortfolioModel portfolioModel,
+                      StrategyState state) {
         this.financeModel = financeModel;
-        this.portfolioModel = new PortfolioSqliteModel(context, sqlConnection,
-                financeModel, settings);
+        this.portfolioModel = portfolioModel;
         this.context = context.getApplicationContext();
+        this.scheduler = Schedulers.io();
+        this.parameters = StrategyParameters.EMPTY;
+        this.state = state;
+        this.clock = System::currentTimeMillis;
+    }
+
+    private void init(FinanceModel financeModel, PortfolioModel portfolioModel,
+                      Scheduler scheduler, Clock clock, StrategyParameters parameters) {
+        this.financeModel = financeModel;
+        this.portfolioModel = portfolioModel;
+        this.context = null;
+        this.scheduler = scheduler;
+        this.parameters = parameters;
+        this.state = new StrategyState();
+        this.clock = clock;
+    }
+
+    protected long currentTimeMillis() {
+        return clock.currentTimeMillis();
+    }
+
+    /**
+     * Lets the UI know the portfolio changed, this is a no-op outside of the app
+     */
+    protected void broadcastPortfolioUpdate() {
+        if (context != null) {
+            PortfolioUpdateBroadcaster.broadcast(context);
+        }
     }
 
     // NOTE: No Guarantees!!! This could be called more than once a day or not called at all
@@ -63,12 +103,31 @@ public abstract class BaseStrategy {
 
     }
 
+    /**
+     * Creates a strategy that shares the caller's PortfolioModel, used by the
+     * {@link StrategyRegistry} so its strategies don't each build their own models
+     */
+    static BaseStrategy createStrategy(Class<? extends BaseStrategy> clazz,
+                      Context context, FinanceModel financeModel, PortfolioModel portfolioModel,
+                      StrategyState state)
+            throws IllegalAccessException, InstantiationException {
+        BaseStrategy baseStrategy = clazz.newInstance();
+        baseStrategy.init(context, financeModel, portfolioModel, state);
+
+        return baseStrategy;
+    }
+
+    /**
+     * Creates a strategy that runs outside of the app, for example in a backtest.
+     * The strategy uses the given models, scheduler and clock instead of the
+     * database, the io scheduler and the device clock.
+     */
     static public BaseStrategy createStrategy(Class<? extends BaseStrategy> clazz,
-                      Context context, FinanceModel financeModel,
-                      SqlConnection sqlConnection, Settings settings)
+                      FinanceModel financeModel, PortfolioModel portfolioModel,
+                      Scheduler scheduler, Clock clock, StrategyParameters parameters)
             throws IllegalAccessException, InstantiationException {
         BaseStrategy baseStrategy = clazz.newInstance();
-        baseStrategy.init(context, financeModel, sqlConnection, settings);
+        baseStrategy.init(financeModel, portfolioModel, scheduler, clock, parameters);
 
         return baseStrategy;
     }
@@ -28,7 +28,6 @@ import com.balch.mocktrade.account.Account;
 import com.balch.mocktrade.finance.Quote;
 import com.balch.mocktrade.investment.Investment;
 import com.balch.mocktrade.order.Order;
-import com.balch.mocktrade.portfolio.PortfolioUpdateBroadcaster;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -38,11 +37,16 @@ import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Map;
 
-import io.reactivex.schedulers.Schedulers;
-
 public class DogsOfTheDow extends BaseStrategy {
     private static final String TAG = DogsOfTheDow.class.getSimpleName();
 
+    public static final String PARAM_STOCK_COUNT = "stock_count";
+
+    private static final int STOCK_COUNT = 10;
+
+    // time of the next yearly sell off and rebuy
+    private static final String STATE_REBALANCE_TIME = "rebalance_time";
+
     private static final String[] DOW_SYMBOLS=
             {"AXP","BA","CAT","CSCO","CVX","DD","XOM","GE","GS","HD",
             "IBM","INTC","JNJ","KO","JPM","MCD","MMM","MRK","MSFT","NKE",
@@ -50,8 +54,8 @@ public class DogsOfTheDow extends BaseStrategy {
 
     public void initialize(final Account account) {
         financeModel.getQuotes(Arrays.asList(DOW_SYMBOLS))
-                .subscribeOn(Schedulers.io())
-                .observeOn(Schedulers.io())
+                .subscribeOn(scheduler)
+                .observeOn(scheduler)
                 .subscribe(quoteMap -> handleQuotes(account, quoteMap),
                         throwable -> Log.e(TAG, "Dogs of the Dow getQuotes error", throwable));
     }
@@ -60,17 +64,33 @@ public class DogsOfTheDow extends BaseStrategy {
     public void dailyUpdate(Account account, List<Investment> investments,
                             Map<String, Quote> quoteMap) {
         if ((investments != null) && (investments.size() > 0)) {
-            Calendar createDate = new GregorianCalendar();
-            createDate.setTime(investments.get(0).getCreateTime());
+            long rebalanceTime = state.getLong(STATE_REBALANCE_TIME, 0);
+            if (rebalanceTime == 0) {
+                // the investments were bought before the rebalance time was kept
+                rebalanceTime = getRebalanceTime(investments.get(0).getCreateTime().getTime());
+                state.putLong(STATE_REBALANCE_TIME, rebalanceTime);
+            }
 
-            Calendar now = new GregorianCalendar();
-            if (createDate.get(Calendar.YEAR) < now.get(Calendar.YEAR)) {
+            if (currentTimeMillis() >= rebalanceTime) {
                 Account updatedAccount = sellAll(account, investments, quoteMap);
+                state.remove(STATE_REBALANCE_TIME);
                 initialize(updatedAccount);
             }
         }
     }
 
+    /**
+     * Returns the start of the year after the time
+     */
+    private static long getRebalanceTime(long time) {
+        Calendar cal = new GregorianCalendar();
+        cal.setTimeInMillis(time);
+        int year = cal.get(Calendar.YEAR);
+        cal.clear();
+        cal.set(year + 1, Calendar.JANUARY, 1);
+        return cal.getTimeInMillis();
+    }
+
     private Account sellAll(Account account, List<Investment> investments,
                            Map<String, Quote> quoteMap) {
         for (Investment i : investments) {
@@ -105,7 +125,7 @@ public class DogsOfTheDow extends BaseStrategy {
 
         if (sortedQuotes.size() > 0) {
             int size = sortedQuotes.size();
-            int numberOfStocks = Math.min(size, 10);
+            int numberOfStocks = Math.min(size, parameters.getInt(PARAM_STOCK_COUNT, STOCK_COUNT));
             double fundsPerOrder = account.getAvailableFunds().getDollars()
                     / (double) numberOfStocks;
 
@@ -127,7 +147,8 @@ public class DogsOfTheDow extends BaseStrategy {
                 }
             }
 
-            PortfolioUpdateBroadcaster.broadcast(context);
+            state.putLong(STATE_REBALANCE_TIME, getRebalanceTime(currentTimeMillis()));
+            broadcastPortfolioUpdate();
         }
     }
 }
@@ -0,0 +1,114 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 7:05 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.account.strategies;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable tuning values for a strategy, stored as strings and parsed on read.
+ * Strategies fall back to their built in defaults for missing keys, so the app
+ * runs every strategy with {@link #EMPTY}. Backtests pass different values to
+ * find better ones.
+ */
+public final class StrategyParameters {
+
+    public static final StrategyParameters EMPTY = new StrategyParameters(Collections.emptyMap());
+
+    private final Map<String, String> values;
+
+    public StrategyParameters(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(new TreeMap<>(values));
+    }
+
+    /**
+     * @return a copy of these parameters with the key set to the value
+     */
+    public StrategyParameters with(String key, String value) {
+        Map<String, String> newValues = new TreeMap<>(values);
+        newValues.put(key, value);
+        return new StrategyParameters(newValues);
+    }
+
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = values.get(key);
+        return (value != null) ? value : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return (value != null) ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        return (value != null) ? Double.parseDouble(value.trim()) : defaultValue;
+    }
+
+    /**
+     * Reads a comma separated list
+     */
+    public List<String> getList(String key, String[] defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return Arrays.asList(defaultValue);
+        }
+
+        List<String> list = new ArrayList<>();
+        for (String item : value.split(",")) {
+            item = item.trim();
+            if (!item.isEmpty()) {
+                list.add(item);
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        StrategyParameters that = (StrategyParameters) o;
+        return values.equals(that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 8:45 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.account.strategies;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.LongSparseArray;
+
+import com.balch.android.app.framework.sql.SqlConnection;
+import com.balch.mocktrade.account.Account;
+import com.balch.mocktrade.finance.FinanceModel;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.investment.Investment;
+import com.balch.mocktrade.portfolio.LastSnapshotRegister;
+import com.balch.mocktrade.portfolio.PortfolioModel;
+import com.balch.mocktrade.portfolio.PortfolioSqliteModel;
+import com.balch.mocktrade.portfolio.ValuationEngine;
+import com.balch.mocktrade.settings.Settings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.reactivex.Completable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Long lived strategy instances, one per account with a strategy. The instances
+ * are created once and share a single PortfolioModel, so a poll does not pay for
+ * reflection and model construction. Since an instance only ever runs for one
+ * account its fields can hold per account state, state that has to survive a
+ * restart goes in its {@link StrategyState}. Calls into an instance are
+ * synchronized on it, different accounts run concurrently.
+ *
+ * The app's registry is owned by the ModelApiFactory.
+ */
+public class StrategyRegistry {
+    private static final String TAG = StrategyRegistry.class.getSimpleName();
+
+    private final Context context;
+    private final FinanceModel financeModel;
+    private final PortfolioModel portfolioModel;
+    private final StrategyState.Store stateStore;
+    private final Scheduler scheduler;
+
+    // synchronized on this
+    private final Map<Long, BaseStrategy> strategies = new HashMap<>();
+
+    public StrategyRegistry(Context context, FinanceModel financeModel,
+                            SqlConnection sqlConnection, Settings settings,
+                            ValuationEngine valuationEngine, LastSnapshotRegister lastSnapshotRegister) {
+        this.context = context.getApplicationContext();
+        this.financeModel = financeModel;
+        // the strategies' model shares the app's state, including this registry
+        this.portfolioModel = new PortfolioSqliteModel(context, sqlConnection, financeModel, settings,
+                valuationEngine, lastSnapshotRegister, this);
+        this.stateStore = new StrategyStateSqliteModel(sqlConnection);
+        this.scheduler = Schedulers.io();
+    }
+
+    StrategyRegistry(Context context, FinanceModel financeModel, PortfolioModel portfolioModel,
+                     StrategyState.Store stateStore, Scheduler scheduler) {
+        this.context = context;
+        this.financeModel = financeModel;
+        this.portfolioModel = portfolioModel;
+        this.stateStore = stateStore;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Returns the account's strategy, creating it if this is the first time the
+     * account is seen or the account's strategy changed.
+     *
+     * @return null if the account does not have a strategy
+     */
+    public synchronized BaseStrategy getStrategy(Account account)
+            throws IllegalAccessException, InstantiationException {
+        Class<? extends BaseStrategy> strategyClazz = account.getStrategy().getStrategyClazz();
+        BaseStrategy strategy = strategies.get(account.getId());
+        if ((strategy != null) && (strategy.getClass() != strategyClazz)) {
+            // the state belongs to the old strategy
+            strategy.state.clear();
+            strategies.remove(account.getId());
+            strategy = null;
+        }
+
+        if ((strategy == null) && (strategyClazz != null)) {
+            strategy = BaseStrategy.createStrategy(strategyClazz, context, financeModel, portfolioModel,
+                    new StrategyState(account.getId(), stateStore));
+            strategies.put(account.getId(), strategy);
+        }
+        return strategy;
+    }
+
+    public synchronized void remove(long accountId) {
+        strategies.remove(accountId);
+    }
+
+    /**
+     * Initializes a new account's strategy
+     */
+    public void initialize(Account account) {
+        try {
+            BaseStrategy strategy = getStrategy(account);
+            if (strategy != null) {
+                synchronized (strategy) {
+                    strategy.initialize(account);
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error initializing the strategy", e);
+        }
+    }
+
+    /**
+     * Runs the strategy updates for the accounts. Each strategy only gets its
+     * account's investments and the quotes for them. The accounts are updated
+     * concurrently and this blocks until they are all done.
+     *
+     * @param accounts all the accounts, strategies for accounts that are not in
+     *                 the list are released
+     */
+    public void update(List<Account> accounts, LongSparseArray<List<Investment>> accountIdToInvestmentMap,
+                       Map<String, Quote> quoteMap, boolean doDailyUpdate) {
+        retainAccounts(accounts);
+
+        List<Completable> updates = new ArrayList<>(accounts.size());
+        for (final Account account : accounts) {
+            final BaseStrategy strategy;
+            try {
+                strategy = getStrategy(account);
+            } catch (Exception ex) {
+                Log.e(TAG, "Error creating strategy", ex);
+                continue;
+            }
+
+            if (strategy != null) {
+                final List<Investment> investments = accountIdToInvestmentMap.get(account.getId());
+                final Map<String, Quote> accountQuoteMap = getQuotes(investments, quoteMap);
+                updates.add(Completable.fromAction(() -> {
+                    synchronized (strategy) {
+                        if (doDailyUpdate) {
+                            strategy.dailyUpdate(account, investments, accountQuoteMap);
+                        }
+                        strategy.pollUpdate(account, investments, accountQuoteMap);
+                    }
+                })
+                        .subscribeOn(scheduler)
+                        .doOnError(throwable -> Log.e(TAG, "Error calling strategy.pollUpdate", throwable))
+                        .onErrorComplete());
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            Completable.merge(updates).blockingAwait();
+        }
+    }
+
+    synchronized int size() {
+        return strategies.size();
+    }
+
+    private synchronized void retainAccounts(List<Account> accounts) {
+        Set<Long> accountIds = new HashSet<>(accounts.size());
+        for (Account account : accounts) {
+            accountIds.add(account.getId());
+        }
+
+        Iterator<Long> iterator = strategies.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (!accountIds.contains(iterator.next())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the quotes for the investments' symbols
+     */
+    static Map<String, Quote> getQuotes(List<Investment> investments, Map<String, Quote> quoteMap) {
+        Map<String, Quote> quotes = new HashMap<>();
+        if (investments != null) {
+            for (Investment investment : investments) {
+                Quote quote = quoteMap.get(investment.getSymbol());
+                if (quote != null) {
+                    quotes.put(investment.getSymbol(), quote);
+                }
+            }
+        }
+        return quotes;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 9:40 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.account.strategies;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Key/value state a strategy keeps for its account between polls, for example
+ * the time of the last rebalance or a rolling indicator. Values are cached in
+ * memory and written through to the {@link Store}, so reads never hit the database.
+ */
+public class StrategyState {
+
+    /**
+     * Persists the state of all accounts
+     */
+    public interface Store {
+        Map<String, String> load(long accountId);
+        void put(long accountId, String key, String value);
+        void remove(long accountId, String key);
+        void clear(long accountId);
+    }
+
+    private final long accountId;
+    private final Store store;
+
+    // all access is synchronized on this, null until loaded from the store
+    private Map<String, String> values;
+
+    /**
+     * Creates a state that is only kept in memory
+     */
+    public StrategyState() {
+        this(0, null);
+    }
+
+    public StrategyState(long accountId, Store store) {
+        this.accountId = accountId;
+        this.store = store;
+    }
+
+    public synchronized boolean contains(String key) {
+        return getValues().containsKey(key);
+    }
+
+    public synchronized String getString(String key, String defaultValue) {
+        String value = getValues().get(key);
+        return (value != null) ? value : defaultValue;
+    }
+
+    public synchronized long getLong(String key, long defaultValue) {
+        String value = getValues().get(key);
+        return (value != null) ? Long.parseLong(value) : defaultValue;
+    }
+
+    public synchronized int getInt(String key, int defaultValue) {
+        String value = getValues().get(key);
+        return (value != null) ? Integer.parseInt(value) : defaultValue;
+    }
+
+    public synchronized double getDouble(String key, double defaultValue) {
+        String value = getValues().get(key);
+        return (value != null) ? Double.parseDouble(value) : defaultValue;
+    }
+
+    public synchronized void putString(String key, String value) {
+        if (value == null) {
+            remove(key);
+        } else if (!value.equals(getValues().put(key, value)) && (store != null)) {
+            store.put(accountId, key, value);
+        }
+    }
+
+    public void putLong(String key, long value) {
+        putString(key, String.valueOf(value));
+    }
+
+    public void putInt(String key, int value) {
+        putString(key, String.valueOf(value));
+    }
+
+    public void putDouble(String key, double value) {
+        putString(key, String.valueOf(value));
+    }
+
+    public synchronized void remove(String key) {
+        if ((getValues().remove(key) != null) && (store != null)) {
+            store.remove(accountId, key);
+        }
+    }
+
+    public synchronized void clear() {
+        if (!getValues().isEmpty() && (store != null)) {
+            store.clear(accountId);
+        }
+        values.clear();
+    }
+
+    private Map<String, String> getValues() {
+        if (values == null) {
+            values = (store != null) ? store.load(accountId) : new HashMap<>();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 9:55 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.account.strategies;
+
+import android.database.Cursor;
+import android.util.Log;
+
+import com.balch.android.app.framework.sql.SqlConnection;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores {@link StrategyState} in the strategy_state table, one row per account and key
+ */
+public class StrategyStateSqliteModel implements StrategyState.Store {
+    private static final String TAG = StrategyStateSqliteModel.class.getSimpleName();
+
+    private static final String TABLE_NAME = "strategy_state";
+
+    private static final String COLUMN_ACCOUNT_ID = "account_id";
+    private static final String COLUMN_STATE_KEY = "state_key";
+    private static final String COLUMN_STATE_VALUE = "state_value";
+    private static final String COLUMN_CREATE_TIME = "create_time";
+    private static final String COLUMN_UPDATE_TIME = "update_time";
+
+    private static final String SQL_SELECT_STATE =
+            "SELECT " + COLUMN_STATE_KEY + ", " + COLUMN_STATE_VALUE +
+                    " FROM " + TABLE_NAME +
+                    " WHERE " + COLUMN_ACCOUNT_ID + "=?";
+
+    // keeps the original create_time when the key already exists
+    private static final String SQL_INSERT_STATE =
+            "INSERT OR REPLACE INTO " + TABLE_NAME + " (" +
+                    COLUMN_ACCOUNT_ID + ", " +
+                    COLUMN_STATE_KEY + ", " +
+                    COLUMN_STATE_VALUE + ", " +
+                    COLUMN_CREATE_TIME + ", " +
+                    COLUMN_UPDATE_TIME + ")" +
+                    " VALUES (?, ?, ?, COALESCE((SELECT " + COLUMN_CREATE_TIME + " FROM " + TABLE_NAME +
+                    " WHERE " + COLUMN_ACCOUNT_ID + "=? AND " + COLUMN_STATE_KEY + "=?), ?), ?)";
+
+    private static final String SQL_DELETE_KEY =
+            "DELETE FROM " + TABLE_NAME +
+                    " WHERE " + COLUMN_ACCOUNT_ID + "=? AND " + COLUMN_STATE_KEY + "=?";
+
+    private static final String SQL_DELETE_ACCOUNT =
+            "DELETE FROM " + TABLE_NAME +
+                    " WHERE " + COLUMN_ACCOUNT_ID + "=?";
+
+    private final SqlConnection sqlConnection;
+
+    public StrategyStateSqliteModel(SqlConnection sqlConnection) {
+        this.sqlConnection = sqlConnection;
+    }
+
+    @Override
+    public Map<String, String> load(long accountId) {
+        Map<String, String> values = new HashMap<>();
+        Cursor cursor = null;
+        try {
+            cursor = sqlConnection.rawQuery(SQL_SELECT_STATE, new String[]{String.valueOf(accountId)});
+            while (cursor.moveToNext()) {
+                values.put(cursor.getString(0), cursor.getString(1));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error in load", e);
+            throw new RuntimeException(e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void put(long accountId, String key, String value) {
+        long now = System.currentTimeMillis();
+        sqlConnection.executeUpdateDelete(SQL_INSERT_STATE,
+                new Object[]{accountId, key, value, accountId, key, now, now},
+                sqlConnection.getWritableDatabase());
+    }
+
+    @Override
+    public void remove(long accountId, String key) {
+        sqlConnection.executeUpdateDelete(SQL_DELETE_KEY, new Object[]{accountId, key},
+                sqlConnection.getWritableDatabase());
+    }
+
+    @Override
+    public void clear(long accountId) {
+        sqlConnection.executeUpdateDelete(SQL_DELETE_ACCOUNT, new Object[]{accountId},
+                sqlConnection.getWritableDatabase());
+    }
+}
@@ -28,24 +28,26 @@ import com.balch.mocktrade.account.Account;
 import com.balch.mocktrade.finance.Quote;
 import com.balch.mocktrade.investment.Investment;
 import com.balch.mocktrade.order.Order;
-import com.balch.mocktrade.portfolio.PortfolioUpdateBroadcaster;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 public class TripleMomentum extends BaseStrategy {
     private static final String TAG = TripleMomentum.class.getSimpleName();
 
+    public static final String PARAM_TRAILING_PERCENTAGE = "trailing_percentage";
+    public static final String PARAM_SYMBOLS = "symbols";
+
     private static final double TRAILING_PERCENTAGE = 2.0;
 
     private static final String[] SYMBOLS = {"TQQQ", "SQQQ"};
 
+    // the parameters don't change once the strategy is created
+    private List<String> symbols;
+
     public void initialize(Account account) {
-        executeStrategy(Arrays.asList(SYMBOLS), account);
+        executeStrategy(getSymbols(), account);
     }
 
     private void executeStrategy(final List<String> symbols, final Account account) {
@@ -72,7 +74,7 @@ public class TripleMomentum extends BaseStrategy {
                     sellOrder.setSymbol(quote.getSymbol());
                     sellOrder.setStrategy(Order.OrderStrategy.TRAILING_STOP_PERCENT_CHANGE);
                     sellOrder.setAction(Order.OrderAction.SELL);
-                    sellOrder.setStopPercent(TRAILING_PERCENTAGE);
+                    sellOrder.setStopPercent(parameters.getDouble(PARAM_TRAILING_PERCENTAGE, TRAILING_PERCENTAGE));
                     sellOrder.setQuantity(quantity);
                     portfolioModel.createOrder(sellOrder);
 
@@ -81,7 +83,7 @@ public class TripleMomentum extends BaseStrategy {
                 }
             }
 
-            PortfolioUpdateBroadcaster.broadcast(context);
+            broadcastPortfolioUpdate();
         }
 
     }
@@ -89,16 +91,37 @@ public class TripleMomentum extends BaseStrategy {
     @Override
     public void dailyUpdate(Account account, List<Investment> investments,
                             Map<String, Quote> quoteMap) {
-        Set<String> currentSymbols = new HashSet<>(Arrays.asList(SYMBOLS));
-        if ((investments != null) && (investments.size() > 0)) {
-            for (Investment investment : investments) {
-                currentSymbols.remove(investment.getSymbol());
+        List<String> missingSymbols = null;
+        for (String symbol : getSymbols()) {
+            if (!isHeld(symbol, investments)) {
+                if (missingSymbols == null) {
+                    missingSymbols = new ArrayList<>();
+                }
+                missingSymbols.add(symbol);
             }
         }
 
-        if (currentSymbols.size() > 0) {
-            executeStrategy(new ArrayList<>(currentSymbols), account);
+        if (missingSymbols != null) {
+            executeStrategy(missingSymbols, account);
+        }
+    }
+
+    private List<String> getSymbols() {
+        if (symbols == null) {
+            symbols = parameters.getList(PARAM_SYMBOLS, SYMBOLS);
+        }
+        return symbols;
+    }
+
+    private static boolean isHeld(String symbol, List<Investment> investments) {
+        if (investments != null) {
+            for (Investment investment : investments) {
+                if (investment.getSymbol().equals(symbol)) {
+                    return true;
+                }
+            }
         }
+        return false;
     }
 
 }
@@ -0,0 +1,159 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 5:06 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.finance.FinanceModel;
+import com.balch.mocktrade.finance.Quote;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+
+/**
+ * FinanceModel that serves quotes from a {@link BarSource} at the backtest's
+ * simulated time. Quotes are the last bar at or before the current time and the
+ * previous close is the last bar before the current UTC day. The market is
+ * always open.
+ */
+class BacktestFinanceModel implements FinanceModel {
+
+    private static final long MS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final BarSource barSource;
+
+    // bars are looked up once per symbol so concurrent backtests don't contend on the source
+    private final Map<String, BarSeries> barSeries = new HashMap<>();
+
+    // the last quote built for each symbol, reused until the bar or the day changes
+    private final Map<String, CachedQuote> quoteCache = new HashMap<>();
+
+    private long currentTime;
+    private long dayStartTime;
+
+    BacktestFinanceModel(BarSource barSource) {
+        this.barSource = barSource;
+    }
+
+    void setCurrentTime(long currentTime) {
+        this.currentTime = currentTime;
+        this.dayStartTime = currentTime - (currentTime % MS_PER_DAY);
+    }
+
+    long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * @return quotes for the symbols that have a bar at or before the current time
+     */
+    Map<String, Quote> getCurrentQuotes(Collection<String> symbols) {
+        Map<String, Quote> quoteMap = new HashMap<>(symbols.size());
+        for (String symbol : symbols) {
+            Quote quote = getCurrentQuote(symbol.toUpperCase());
+            if (quote != null) {
+                quoteMap.put(quote.getSymbol(), quote);
+            }
+        }
+        return quoteMap;
+    }
+
+    private Quote getCurrentQuote(String symbol) {
+        BarSeries bars = barSeries.get(symbol);
+        if ((bars == null) && !barSeries.containsKey(symbol)) {
+            bars = barSource.getBars(symbol);
+            barSeries.put(symbol, bars);
+        }
+
+        if (bars == null) {
+            return null;
+        }
+
+        int index = bars.indexAt(currentTime);
+        if (index < 0) {
+            return null;
+        }
+
+        CachedQuote cachedQuote = quoteCache.get(symbol);
+        if ((cachedQuote == null) || (cachedQuote.index != index) ||
+                (cachedQuote.dayStartTime != dayStartTime)) {
+            int previousCloseIndex = bars.indexAt(dayStartTime - 1);
+            long previousClose = bars.getPrice((previousCloseIndex >= 0) ? previousCloseIndex : index);
+
+            cachedQuote = new CachedQuote(index, dayStartTime, new Quote(symbol, symbol, "SIM",
+                    new Money(bars.getPrice(index)), new Date(bars.getTime(index)),
+                    new Money(previousClose), new Money()));
+            quoteCache.put(symbol, cachedQuote);
+        }
+
+        return cachedQuote.quote;
+    }
+
+    @Override
+    public Observable<Map<String, Quote>> getQuotes(List<String> symbols) {
+        return Observable.just(getCurrentQuotes(symbols));
+    }
+
+    @Override
+    public Observable<Quote> getQuote(String symbol) {
+        Quote quote = getCurrentQuote(symbol.toUpperCase());
+        return (quote != null) ? Observable.just(quote) : Observable.empty();
+    }
+
+    @Override
+    public boolean isMarketOpen() {
+        return true;
+    }
+
+    @Override
+    public Date nextMarketOpen() {
+        return new Date(currentTime);
+    }
+
+    @Override
+    public boolean isInPollTime() {
+        return true;
+    }
+
+    @Override
+    public void setQuoteServiceAlarm() {
+    }
+
+    private static class CachedQuote {
+        private final int index;
+        private final long dayStartTime;
+        private final Quote quote;
+
+        private CachedQuote(int index, long dayStartTime, Quote quote) {
+            this.index = index;
+            this.dayStartTime = dayStartTime;
+            this.quote = quote;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 5:20 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import android.content.Context;
+import android.util.LongSparseArray;
+
+import com.balch.android.app.framework.core.DomainObject;
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.account.Account;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.investment.Investment;
+import com.balch.mocktrade.order.Order;
+import com.balch.mocktrade.order.OrderExecutionException;
+import com.balch.mocktrade.order.OrderResult;
+import com.balch.mocktrade.order.SimulatedOrderRules;
+import com.balch.mocktrade.portfolio.PortfolioModel;
+import com.balch.mocktrade.portfolio.PortfolioValuation;
+import com.balch.mocktrade.portfolio.ValuationEngine;
+import com.balch.mocktrade.shared.PerformanceItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory PortfolioModel used by the {@link Backtester} in place of the
+ * database. Orders are filled with the same rules and validations as the
+ * OrderSqliteModel, using {@link SimulatedOrderRules} so quotes are checked
+ * against the simulated clock.
+ *
+ * Accounts, investments and orders are the live objects, not copies. The
+ * valuation is calculated by a {@link ValuationEngine} on the simulated clock
+ * that is reloaded after the portfolio changes. Snapshots and scheduling are
+ * not kept, the {@link Backtester} records the daily values and executes the
+ * open orders itself.
+ */
+class BacktestPortfolioModel implements PortfolioModel {
+
+    private final BacktestFinanceModel financeModel;
+    private final SimulatedOrderRules orderRules;
+    private final ValuationEngine valuationEngine;
+
+    private final Map<Long, Account> accounts = new LinkedHashMap<>();
+    private final Map<Long, List<Investment>> accountToInvestments = new HashMap<>();
+    private final List<Order> openOrders = new ArrayList<>();
+
+    private long nextId = 1;
+    private long tradedMicroCents;
+    private int fillCount;
+    private Date lastQuoteTime;
+
+    BacktestPortfolioModel(BacktestFinanceModel financeModel) {
+        this.financeModel = financeModel;
+        this.orderRules = new SimulatedOrderRules(this::getInvestmentBySymbol);
+        this.valuationEngine = new ValuationEngine(financeModel::getCurrentTime);
+    }
+
+    /**
+     * @return the total value of all the fills, buys and sells
+     */
+    long getTradedMicroCents() {
+        return tradedMicroCents;
+    }
+
+    int getFillCount() {
+        return fillCount;
+    }
+
+    /**
+     * @return available funds plus the value of the investments at their last price
+     */
+    long getTotalValueMicroCents(long accountId) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            return 0;
+        }
+
+        long value = account.getAvailableFunds().getMicroCents();
+        List<Investment> investments = accountToInvestments.get(accountId);
+        if (investments != null) {
+            for (Investment investment : investments) {
+                value += investment.getValueMicroCents();
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public List<Account> getAccounts(boolean allAccounts) {
+        List<Account> accountList = new ArrayList<>(accounts.size());
+        for (Account account : accounts.values()) {
+            if (allAccounts || !account.getExcludeFromTotals()) {
+                accountList.add(account);
+            }
+        }
+        return accountList;
+    }
+
+    @Override
+    public Account getAccount(long accountID) {
+        return accounts.get(accountID);
+    }
+
+    @Override
+    public void createAccount(Account account) {
+        setNewId(account);
+        accounts.put(account.getId(), account);
+        accountToInvestments.put(account.getId(), new ArrayList<>());
+        valuationEngine.invalidate();
+    }
+
+    @Override
+    public void deleteAccount(Account account) {
+        accounts.remove(account.getId());
+        accountToInvestments.remove(account.getId());
+
+        Iterator<Order> iterator = openOrders.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getAccount().getId().equals(account.getId())) {
+                iterator.remove();
+            }
+        }
+
+        valuationEngine.invalidate();
+    }
+
+    @Override
+    public List<Investment> getAllInvestments() {
+        List<Investment> investments = new ArrayList<>();
+        for (List<Investment> accountInvestments : accountToInvestments.values()) {
+            investments.addAll(accountInvestments);
+        }
+        return investments;
+    }
+
+    @Override
+    public List<Investment> getInvestments(Long accountId) {
+        List<Investment> investments = accountToInvestments.get(accountId);
+        return (investments != null) ? new ArrayList<>(investments) : new ArrayList<>();
+    }
+
+    @Override
+    public void createOrder(Order order) {
+        setNewId(order);
+        if (order.getStatus() == Order.OrderStatus.OPEN) {
+            openOrders.add(order);
+        }
+    }
+
+    @Override
+    public List<Order> getOpenOrders() {
+        return new ArrayList<>(openOrders);
+    }
+
+    @Override
+    public OrderResult attemptExecuteOrder(Order order, Quote quote) throws OrderExecutionException {
+        try {
+            orderRules.setCurrentTime(financeModel.getCurrentTime());
+            Money price = orderRules.getExecutionPrice(order, quote);
+            return (price != null) ?
+                    executeOrder(order, quote, price) :
+                    new OrderResult(false, null, null, null, 0);
+        } catch (Exception ex) {
+            order.setStatus(Order.OrderStatus.ERROR);
+            openOrders.remove(order);
+            throw new OrderExecutionException(ex);
+        }
+    }
+
+    @Override
+    public List<OrderResult> attemptExecuteOrders(List<Order> orders, Map<String, Quote> quoteMap) {
+        List<OrderResult> results = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            try {
+                results.add(attemptExecuteOrder(order, quoteMap.get(order.getSymbol())));
+            } catch (OrderExecutionException ex) {
+                results.add(new OrderResult(ex));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public boolean updateInvestment(Investment investment) {
+        return true;
+    }
+
+    @Override
+    public int applyQuotes(Map<String, Quote> quoteMap) {
+        int count = 0;
+        for (List<Investment> investments : accountToInvestments.values()) {
+            for (Investment investment : investments) {
+                Quote quote = quoteMap.get(investment.getSymbol());
+                if ((quote != null) && quote.getLastTradeTime().after(investment.getLastTradeTime())) {
+                    investment.setPrevDayClose(quote.getPreviousClose());
+                    investment.setPrice(quote.getPrice(), quote.getLastTradeTime());
+                    count++;
+
+                    if ((lastQuoteTime == null) || quote.getLastTradeTime().after(lastQuoteTime)) {
+                        lastQuoteTime = quote.getLastTradeTime();
+                    }
+                }
+            }
+        }
+
+        if (count > 0) {
+            valuationEngine.invalidate();
+        }
+        return count;
+    }
+
+    /**
+     * Applies the fill the same way as OrderSqliteModel.applyOrder(). Nothing is
+     * changed if the order is not valid.
+     */
+    private OrderResult executeOrder(Order order, Quote quote, Money price) throws IllegalAccessException {
+        Money cost = order.getCost(price);
+        Money profit = new Money(0);
+
+        Account account = accounts.get(order.getAccount().getId());
+        if (account == null) {
+            throw new IllegalAccessException("Account not found");
+        }
+
+        Investment investment = getInvestmentBySymbol(order.getSymbol(), account.getId());
+
+        if (order.getAction() == Order.OrderAction.BUY) {
+            if (account.getAvailableFunds().getDollars() < cost.getDollars()) {
+                throw new IllegalAccessException("Insufficient funds");
+            }
+        } else {
+            if (investment == null) {
+                throw new IllegalAccessException("Can't sell and investment you don't own");
+            }
+            if (order.getQuantity() > investment.getQuantity()) {
+                throw new IllegalAccessException("Selling too many shares");
+            }
+        }
+
+        Money transactionCost = Money.multiply(cost, -1);
+        account.getAvailableFunds().add(transactionCost);
+
+        List<Investment> investments = accountToInvestments.get(account.getId());
+        if (investment == null) {
+            investment = new Investment(account, quote.getSymbol(),
+                    Investment.InvestmentStatus.OPEN, quote.getName(), quote.getExchange(),
+                    cost.clone(), price.clone(), new Date(0), order.getQuantity());
+            investment.setPrevDayClose(quote.getPreviousClose().clone());
+            setNewId(investment);
+            investments.add(investment);
+        } else {
+            if (order.getAction() == Order.OrderAction.SELL) {
+                profit = Money.subtract(transactionCost, investment.getCostBasis());
+            }
+
+            investment.aggregateOrder(order, price);
+            if (investment.getQuantity() <= 0) {
+                investments.remove(investment);
+            }
+        }
+
+        order.setStatus(Order.OrderStatus.FULFILLED);
+        openOrders.remove(order);
+
+        tradedMicroCents += Math.abs(cost.getMicroCents());
+        fillCount++;
+
+        valuationEngine.invalidate();
+
+        return new OrderResult(true, price, cost, profit, order.getId());
+    }
+
+    private Investment getInvestmentBySymbol(String symbol, Long accountId) {
+        List<Investment> investments = accountToInvestments.get(accountId);
+        if (investments != null) {
+            for (Investment investment : investments) {
+                if (investment.getSymbol().equals(symbol)) {
+                    return investment;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void setNewId(DomainObject domainObject) {
+        Date now = new Date(financeModel.getCurrentTime());
+        domainObject.setId(nextId++);
+        domainObject.setCreateTime(now);
+        domainObject.setUpdateTime(now);
+    }
+
+    @Override
+    public PortfolioValuation getValuation() {
+        return getLoadedValuationEngine().getValuation();
+    }
+
+    @Override
+    public List<PortfolioValuation.Position> getBestPerformers(PortfolioValuation.ChangeType changeType,
+                                                               int count, boolean includeExcludedAccounts) {
+        return getLoadedValuationEngine().getBestPerformers(changeType, count, includeExcludedAccounts);
+    }
+
+    @Override
+    public List<PortfolioValuation.Position> getWorstPerformers(PortfolioValuation.ChangeType changeType,
+                                                                int count, boolean includeExcludedAccounts) {
+        return getLoadedValuationEngine().getWorstPerformers(changeType, count, includeExcludedAccounts);
+    }
+
+    @Override
+    public List<PortfolioValuation.Position> getBestPerformers(long accountId,
+                                                               PortfolioValuation.ChangeType changeType, int count) {
+        return getLoadedValuationEngine().getBestPerformers(accountId, changeType, count);
+    }
+
+    @Override
+    public List<PortfolioValuation.Position> getWorstPerformers(long accountId,
+                                                                PortfolioValuation.ChangeType changeType, int count) {
+        return getLoadedValuationEngine().getWorstPerformers(accountId, changeType, count);
+    }
+
+    private ValuationEngine getLoadedValuationEngine() {
+        if (!valuationEngine.isLoaded()) {
+            valuationEngine.load(getAccounts(true), getAllInvestments());
+        }
+        return valuationEngine;
+    }
+
+    @Override
+    public void processOrders(Context context, boolean forceExecution) {
+        // the Backtester executes the open orders against each simulated day's quotes
+    }
+
+    @Override
+    public void scheduleOrderServiceAlarm() {
+    }
+
+    @Override
+    public void scheduleOrderServiceAlarmIfNeeded() {
+    }
+
+    @Override
+    public void createSnapshotTotals(List<Account> accounts, LongSparseArray<List<Investment>> accountToInvestmentMap) {
+    }
+
+    @Override
+    public int purgeSnapshots(int days) {
+        return 0;
+    }
+
+    @Override
+    public int archiveSnapshots(int days) {
+        return 0;
+    }
+
+    @Override
+    public Date getLastQuoteTime() {
+        return lastQuoteTime;
+    }
+
+    @Override
+    public List<PerformanceItem> getCurrentSnapshot() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<PerformanceItem> getCurrentSnapshot(long accountId) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<PerformanceItem> getCurrentDailySnapshot(int days) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<PerformanceItem> getCurrentDailySnapshot(long accountId, int days) {
+        return Collections.emptyList();
+    }
+}
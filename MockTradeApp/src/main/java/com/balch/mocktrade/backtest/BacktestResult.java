@@ -0,0 +1,130 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 5:41 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.investment.InvestmentValuation;
+import com.balch.mocktrade.shared.PerformanceItem;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of a {@link Backtester} run
+ */
+public class BacktestResult {
+
+    private final long initialValue;
+    private final long finalValue;
+    private final long maxDrawdown;
+    private final float maxDrawdownPercent;
+    private final long tradedValue;
+    private final int fillCount;
+    private final List<PerformanceItem> dailyValues;
+
+    BacktestResult(long initialValue, long finalValue, long maxDrawdown, float maxDrawdownPercent,
+                   long tradedValue, int fillCount, List<PerformanceItem> dailyValues) {
+        this.initialValue = initialValue;
+        this.finalValue = finalValue;
+        this.maxDrawdown = maxDrawdown;
+        this.maxDrawdownPercent = maxDrawdownPercent;
+        this.tradedValue = tradedValue;
+        this.fillCount = fillCount;
+        this.dailyValues = Collections.unmodifiableList(dailyValues);
+    }
+
+    public Money getInitialValue() {
+        return new Money(initialValue);
+    }
+
+    public Money getFinalValue() {
+        return new Money(finalValue);
+    }
+
+    public Money getProfit() {
+        return new Money(finalValue - initialValue);
+    }
+
+    public float getReturnPercent() {
+        return InvestmentValuation.getChangePercent(finalValue - initialValue, initialValue, 0);
+    }
+
+    /**
+     * @return largest drop in total value from a previous high
+     */
+    public Money getMaxDrawdown() {
+        return new Money(maxDrawdown);
+    }
+
+    public float getMaxDrawdownPercent() {
+        return maxDrawdownPercent;
+    }
+
+    /**
+     * @return total value of all the buys and sells
+     */
+    public Money getTurnover() {
+        return new Money(tradedValue);
+    }
+
+    /**
+     * @return turnover divided by the average daily closing value
+     */
+    public double getTurnoverRatio() {
+        if (dailyValues.isEmpty()) {
+            return 0;
+        }
+
+        double totalValue = 0;
+        for (PerformanceItem item : dailyValues) {
+            totalValue += item.getValue().getMicroCents();
+        }
+        double averageValue = totalValue / dailyValues.size();
+        return (averageValue != 0) ? tradedValue / averageValue : 0;
+    }
+
+    public int getFillCount() {
+        return fillCount;
+    }
+
+    /**
+     * @return the closing value of each trading day, cost basis is the initial balance
+     */
+    public List<PerformanceItem> getDailyValues() {
+        return dailyValues;
+    }
+
+    @Override
+    public String toString() {
+        return "BacktestResult{" +
+                "initialValue=" + initialValue +
+                ", finalValue=" + finalValue +
+                ", maxDrawdown=" + maxDrawdown +
+                ", maxDrawdownPercent=" + maxDrawdownPercent +
+                ", tradedValue=" + tradedValue +
+                ", fillCount=" + fillCount +
+                ", tradingDays=" + dailyValues.size() +
+                '}';
+    }
+}
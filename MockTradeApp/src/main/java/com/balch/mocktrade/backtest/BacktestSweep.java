@@ -0,0 +1,186 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 7:48 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.account.strategies.BaseStrategy;
+import com.balch.mocktrade.account.strategies.StrategyParameters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs a set of strategy and parameter combinations through a {@link Backtester}
+ * in parallel on a ForkJoinPool and ranks the results. All the backtests share
+ * the Backtester's BarSource so the price history is only loaded once.
+ */
+public class BacktestSweep {
+
+    /**
+     * Ranks by return, best first
+     */
+    public static final Comparator<Result> BY_RETURN =
+            (lhs, rhs) -> Float.compare(rhs.getBacktestResult().getReturnPercent(),
+                    lhs.getBacktestResult().getReturnPercent());
+
+    private final Backtester backtester;
+    private final ForkJoinPool pool;
+
+    /**
+     * Runs the backtests on a new pool with one worker per core
+     */
+    public BacktestSweep(Backtester backtester) {
+        this(backtester, null);
+    }
+
+    public BacktestSweep(Backtester backtester, ForkJoinPool pool) {
+        this.backtester = backtester;
+        this.pool = pool;
+    }
+
+    public List<Result> run(List<Candidate> candidates, Money initialBalance) {
+        return run(candidates, initialBalance, BY_RETURN);
+    }
+
+    /**
+     * @return a result for each candidate, ordered by the ranking
+     */
+    public List<Result> run(List<Candidate> candidates, Money initialBalance, Comparator<Result> ranking) {
+        Result[] results = new Result[candidates.size()];
+
+        ForkJoinPool forkJoinPool = (pool != null) ? pool : new ForkJoinPool();
+        try {
+            forkJoinPool.invoke(new SweepTask(candidates, initialBalance, results, 0, candidates.size()));
+        } finally {
+            if (forkJoinPool != pool) {
+                forkJoinPool.shutdown();
+            }
+        }
+
+        List<Result> ranked = new ArrayList<>(Arrays.asList(results));
+        Collections.sort(ranked, ranking);
+        return ranked;
+    }
+
+    /**
+     * Convenience for sweeping a single strategy over a parameter grid
+     */
+    public static List<Candidate> candidates(Class<? extends BaseStrategy> strategyClazz,
+                                             List<StrategyParameters> grid) {
+        List<Candidate> candidates = new ArrayList<>(grid.size());
+        for (StrategyParameters parameters : grid) {
+            candidates.add(new Candidate(strategyClazz, parameters));
+        }
+        return candidates;
+    }
+
+    /**
+     * Splits the candidates in half until each task has a single backtest
+     */
+    private class SweepTask extends RecursiveAction {
+        private final List<Candidate> candidates;
+        private final Money initialBalance;
+        private final Result[] results;
+        private final int start;
+        private final int end;
+
+        private SweepTask(List<Candidate> candidates, Money initialBalance, Result[] results,
+                          int start, int end) {
+            this.candidates = candidates;
+            this.initialBalance = initialBalance;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > 1) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new SweepTask(candidates, initialBalance, results, start, middle),
+                        new SweepTask(candidates, initialBalance, results, middle, end));
+            } else if (end > start) {
+                Candidate candidate = candidates.get(start);
+                try {
+                    // each backtest gets its own copy since Money is mutable
+                    results[start] = new Result(candidate, backtester.run(candidate.strategyClazz,
+                            candidate.parameters, initialBalance.clone()));
+                } catch (IllegalAccessException | InstantiationException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+
+    public static class Candidate {
+        private final Class<? extends BaseStrategy> strategyClazz;
+        private final StrategyParameters parameters;
+
+        public Candidate(Class<? extends BaseStrategy> strategyClazz, StrategyParameters parameters) {
+            this.strategyClazz = strategyClazz;
+            this.parameters = parameters;
+        }
+
+        public Class<? extends BaseStrategy> getStrategyClazz() {
+            return strategyClazz;
+        }
+
+        public StrategyParameters getParameters() {
+            return parameters;
+        }
+
+        @Override
+        public String toString() {
+            return strategyClazz.getSimpleName() + parameters;
+        }
+    }
+
+    public static class Result {
+        private final Candidate candidate;
+        private final BacktestResult backtestResult;
+
+        private Result(Candidate candidate, BacktestResult backtestResult) {
+            this.candidate = candidate;
+            this.backtestResult = backtestResult;
+        }
+
+        public Candidate getCandidate() {
+            return candidate;
+        }
+
+        public BacktestResult getBacktestResult() {
+            return backtestResult;
+        }
+
+        @Override
+        public String toString() {
+            return candidate + " " + backtestResult;
+        }
+    }
+}
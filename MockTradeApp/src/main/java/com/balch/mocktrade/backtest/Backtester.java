@@ -0,0 +1,188 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 5:55 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.account.Account;
+import com.balch.mocktrade.account.strategies.BaseStrategy;
+import com.balch.mocktrade.account.strategies.StrategyParameters;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.investment.Investment;
+import com.balch.mocktrade.order.Order;
+import com.balch.mocktrade.portfolio.SnapshotMapper;
+import com.balch.mocktrade.shared.PerformanceItem;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Runs a {@link BaseStrategy} over historical bars without the database or any
+ * of the Android services.
+ *
+ * The simulated clock steps from startTime to endTime by barIntervalMs, skipping
+ * weekends. Each step does what the services do on a poll: the account's
+ * investments are priced, open orders are evaluated and filled, and the
+ * strategy gets its dailyUpdate (first step of a day) and pollUpdate callbacks.
+ * Like the QuoteService, the strategy callbacks only happen while the account
+ * holds investments. The strategy is initialized on the first step, the same
+ * as when an account is created.
+ *
+ * Strategies run on the calling thread and exceptions from the strategy are
+ * not caught. A Backtester can run any number of backtests concurrently, they
+ * only share the BarSource.
+ */
+public class Backtester {
+
+    private final BarSource barSource;
+    private final long startTime;
+    private final long endTime;
+    private final long barIntervalMs;
+
+    public Backtester(BarSource barSource, long startTime, long endTime, long barIntervalMs) {
+        if (barIntervalMs <= 0) {
+            throw new IllegalArgumentException("barIntervalMs must be > 0");
+        }
+
+        this.barSource = barSource;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.barIntervalMs = barIntervalMs;
+    }
+
+    public BacktestResult run(Class<? extends BaseStrategy> strategyClazz, Money initialBalance)
+            throws IllegalAccessException, InstantiationException {
+        return run(strategyClazz, StrategyParameters.EMPTY, initialBalance);
+    }
+
+    public BacktestResult run(Class<? extends BaseStrategy> strategyClazz, StrategyParameters parameters,
+                              Money initialBalance)
+            throws IllegalAccessException, InstantiationException {
+
+        BacktestFinanceModel financeModel = new BacktestFinanceModel(barSource);
+        BacktestPortfolioModel portfolioModel = new BacktestPortfolioModel(financeModel);
+        financeModel.setCurrentTime(startTime);
+
+        Account account = new Account(strategyClazz.getSimpleName(), "", initialBalance.clone(),
+                Account.Strategy.NONE, false);
+        portfolioModel.createAccount(account);
+        long accountId = account.getId();
+
+        BaseStrategy strategy = BaseStrategy.createStrategy(strategyClazz, financeModel, portfolioModel,
+                Schedulers.trampoline(), financeModel::getCurrentTime, parameters);
+
+        long initialValue = initialBalance.getMicroCents();
+        long value = initialValue;
+        long previousCloseValue = initialValue;
+        long highValue = initialValue;
+        long maxDrawdown = 0;
+        float maxDrawdownPercent = 0;
+
+        List<PerformanceItem> dailyValues = new ArrayList<>();
+        long lastDay = -1;
+        long lastTime = startTime;
+
+        for (long time = startTime; time <= endTime; time += barIntervalMs) {
+            long day = SnapshotMapper.getSnapshotDay(time);
+            if (!SnapshotMapper.isTradingDay(day)) {
+                continue;
+            }
+
+            boolean newDay = (day != lastDay);
+            if (newDay && (lastDay != -1)) {
+                dailyValues.add(createPerformanceItem(accountId, lastTime, initialValue, value, previousCloseValue));
+                previousCloseValue = value;
+            }
+
+            financeModel.setCurrentTime(time);
+            if (lastDay == -1) {
+                strategy.initialize(account);
+            }
+
+            List<Investment> investments = portfolioModel.getInvestments(accountId);
+            List<Order> openOrders = portfolioModel.getOpenOrders();
+
+            Set<String> symbols = new HashSet<>();
+            for (Investment investment : investments) {
+                symbols.add(investment.getSymbol());
+            }
+            for (Order order : openOrders) {
+                symbols.add(order.getSymbol());
+            }
+
+            Map<String, Quote> quoteMap = financeModel.getCurrentQuotes(symbols);
+            portfolioModel.applyQuotes(quoteMap);
+
+            List<Order> triggerOrders = new ArrayList<>(openOrders.size());
+            for (Order order : openOrders) {
+                if (quoteMap.containsKey(order.getSymbol())) {
+                    triggerOrders.add(order);
+                }
+            }
+            if (!triggerOrders.isEmpty()) {
+                portfolioModel.attemptExecuteOrders(triggerOrders, quoteMap);
+                investments = portfolioModel.getInvestments(accountId);
+            }
+
+            if (!investments.isEmpty()) {
+                if (newDay) {
+                    strategy.dailyUpdate(account, investments, quoteMap);
+                }
+                strategy.pollUpdate(account, investments, quoteMap);
+            }
+
+            value = portfolioModel.getTotalValueMicroCents(accountId);
+            if (value > highValue) {
+                highValue = value;
+            } else if (highValue - value > maxDrawdown) {
+                maxDrawdown = highValue - value;
+            }
+
+            if (highValue > 0) {
+                maxDrawdownPercent = Math.max(maxDrawdownPercent, (highValue - value) * 100 / (float) highValue);
+            }
+
+            lastDay = day;
+            lastTime = time;
+        }
+
+        if (lastDay != -1) {
+            dailyValues.add(createPerformanceItem(accountId, lastTime, initialValue, value, previousCloseValue));
+        }
+
+        return new BacktestResult(initialValue, value, maxDrawdown, maxDrawdownPercent,
+                portfolioModel.getTradedMicroCents(), portfolioModel.getFillCount(), dailyValues);
+    }
+
+    private static PerformanceItem createPerformanceItem(long accountId, long time, long initialValue,
+                                                         long value, long previousCloseValue) {
+        return new PerformanceItem(accountId, new Date(time), new Money(initialValue),
+                new Money(value), new Money(value - previousCloseValue));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 4:45 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import java.util.Arrays;
+
+/**
+ * Price bars for a single symbol stored as parallel primitive arrays so years of
+ * bars can be searched without boxing. Times must be in ascending order.
+ */
+public class BarSeries {
+
+    private final String symbol;
+    private final long[] times;
+    private final long[] prices;
+
+    /**
+     * @param times bar times in ms, ascending
+     * @param prices bar prices in micro cents
+     */
+    public BarSeries(String symbol, long[] times, long[] prices) {
+        if (times.length != prices.length) {
+            throw new IllegalArgumentException("times and prices must be the same length");
+        }
+
+        this.symbol = symbol;
+        this.times = times;
+        this.prices = prices;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return times.length;
+    }
+
+    public long getTime(int index) {
+        return times[index];
+    }
+
+    public long getPrice(int index) {
+        return prices[index];
+    }
+
+    /**
+     * @return index of the last bar at or before the time, or -1 if the
+     * series starts after the time
+     */
+    public int indexAt(long time) {
+        int index = Arrays.binarySearch(times, time);
+        if (index < 0) {
+            // binarySearch returns -(insertion point) - 1
+            return -index - 2;
+        }
+
+        // step over bars with the same time
+        while ((index < times.length - 1) && (times[index + 1] == time)) {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 4:48 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+/**
+ * Historical prices used by the {@link Backtester}. A source is shared by all
+ * the backtests in a {@link BacktestSweep} so it must be thread safe.
+ */
+public interface BarSource {
+
+    /**
+     * @param symbol upper case symbol
+     * @return the bars for the symbol, or null if the source does not know the symbol
+     */
+    BarSeries getBars(String symbol);
+}
@@ -0,0 +1,75 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 7:30 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import com.balch.mocktrade.account.strategies.StrategyParameters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds every combination of a set of strategy parameter values for a
+ * {@link BacktestSweep}, e.g.
+ *
+ * <pre>
+ * new ParameterGrid()
+ *         .add(TripleMomentum.PARAM_TRAILING_PERCENTAGE, 1.0, 2.0, 4.0)
+ *         .add(TripleMomentum.PARAM_SYMBOLS, "TQQQ,SQQQ", "SPXL,SPXS")
+ *         .build();
+ * </pre>
+ */
+public class ParameterGrid {
+
+    private final Map<String, List<String>> values = new LinkedHashMap<>();
+
+    public ParameterGrid add(String key, Object... keyValues) {
+        List<String> list = new ArrayList<>(keyValues.length);
+        for (Object value : keyValues) {
+            list.add(String.valueOf(value));
+        }
+        values.put(key, list);
+        return this;
+    }
+
+    /**
+     * @return one StrategyParameters for each combination of values, the last key
+     * added varies the fastest
+     */
+    public List<StrategyParameters> build() {
+        List<StrategyParameters> grid = Collections.singletonList(StrategyParameters.EMPTY);
+        for (Map.Entry<String, List<String>> entry : values.entrySet()) {
+            List<StrategyParameters> expanded = new ArrayList<>(grid.size() * entry.getValue().size());
+            for (StrategyParameters parameters : grid) {
+                for (String value : entry.getValue()) {
+                    expanded.add(parameters.with(entry.getKey(), value));
+                }
+            }
+            grid = expanded;
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 4:52 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import com.balch.android.app.framework.types.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * BarSource that reads recorded bars.
+ *
+ * The file uses the same CSV format as the
+ * {@link com.balch.mocktrade.finance.TickFileQuoteFeed}, one bar per line in the
+ * format <code>time_ms,symbol,price</code>. Blank lines and lines starting with
+ * '#' are ignored. The bars for a symbol must be in time order.
+ */
+public class RecordedBarSource implements BarSource {
+
+    private final Map<String, BarSeries> barSeries;
+
+    public RecordedBarSource(Reader reader) throws IOException {
+        this.barSeries = readBars(reader);
+    }
+
+    @Override
+    public BarSeries getBars(String symbol) {
+        return barSeries.get(symbol);
+    }
+
+    private static Map<String, BarSeries> readBars(Reader reader) throws IOException {
+        Map<String, SeriesBuilder> builders = new HashMap<>();
+
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] cols = line.split(",");
+            if (cols.length < 3) {
+                throw new IOException("Invalid bar: " + line);
+            }
+
+            try {
+                String symbol = cols[1].trim().toUpperCase();
+                SeriesBuilder builder = builders.get(symbol);
+                if (builder == null) {
+                    builder = new SeriesBuilder();
+                    builders.put(symbol, builder);
+                }
+
+                long time = Long.parseLong(cols[0].trim());
+                if ((builder.size > 0) && (time < builder.times[builder.size - 1])) {
+                    throw new IOException("Bar out of order: " + line);
+                }
+
+                builder.add(time, new Money(Double.parseDouble(cols[2].trim())).getMicroCents());
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid bar: " + line, e);
+            }
+        }
+
+        Map<String, BarSeries> barSeries = new HashMap<>(builders.size());
+        for (Map.Entry<String, SeriesBuilder> entry : builders.entrySet()) {
+            barSeries.put(entry.getKey(), entry.getValue().build(entry.getKey()));
+        }
+        return barSeries;
+    }
+
+    private static class SeriesBuilder {
+        private long[] times = new long[256];
+        private long[] prices = new long[256];
+        private int size;
+
+        private void add(long time, long price) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                prices = Arrays.copyOf(prices, size * 2);
+            }
+            times[size] = time;
+            prices[size] = price;
+            size++;
+        }
+
+        private BarSeries build(String symbol) {
+            return new BarSeries(symbol, Arrays.copyOf(times, size),
+                    Arrays.copyOf(prices, size));
+        }
+    }
+}
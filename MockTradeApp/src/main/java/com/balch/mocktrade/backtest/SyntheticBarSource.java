@@ -0,0 +1,83 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 4:58 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import com.balch.mocktrade.finance.GbmQuoteFeed;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.finance.QuoteFeed;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * BarSource that generates bars with a {@link GbmQuoteFeed}. Every symbol the
+ * source is asked for gets bars from startTime to endTime.
+ *
+ * Each symbol's bars are generated the first time they are asked for with their
+ * own feed, so a given seed always produces the same bars for a symbol no matter
+ * what order the symbols are requested in.
+ */
+public class SyntheticBarSource implements BarSource {
+
+    private final long seed;
+    private final long startTime;
+    private final long endTime;
+    private final long barIntervalMs;
+
+    private final Map<String, BarSeries> barSeries = new HashMap<>();
+
+    public SyntheticBarSource(long seed, long startTime, long endTime, long barIntervalMs) {
+        this.seed = seed;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.barIntervalMs = barIntervalMs;
+    }
+
+    @Override
+    public synchronized BarSeries getBars(String symbol) {
+        BarSeries bars = barSeries.get(symbol);
+        if (bars == null) {
+            bars = generateBars(symbol);
+            barSeries.put(symbol, bars);
+        }
+        return bars;
+    }
+
+    private BarSeries generateBars(String symbol) {
+        int size = (int) ((endTime - startTime) / barIntervalMs) + 1;
+        long[] times = new long[size];
+        long[] prices = new long[size];
+
+        // the feed moves its clock before generating so the first bar is at startTime
+        QuoteFeed feed = new GbmQuoteFeed(seed, startTime - barIntervalMs, barIntervalMs);
+        for (int x = 0; x < size; x++) {
+            Quote quote = feed.getQuotes(Collections.singletonList(symbol)).get(symbol);
+            times[x] = quote.getLastTradeTime().getTime();
+            prices[x] = quote.getPrice().getMicroCents();
+        }
+
+        return new BarSeries(symbol, times, prices);
+    }
+}
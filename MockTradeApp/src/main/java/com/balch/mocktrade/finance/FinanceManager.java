@@ -117,16 +117,23 @@ class FinanceManager {
     }
 
     public void setQuoteServiceAlarm(){
-        AlarmManager alarmManager = (AlarmManager)mContext.getSystemService(Context.ALARM_SERVICE);
-
-        Intent intent = QuoteReceiver.getIntent(mContext);
-        PendingIntent pendingIntent = PendingIntent.getBroadcast(mContext, 0, intent, PendingIntent.FLAG_UPDATE_CURRENT);
-
         Date startTime = this.nextPollStart();
         if (startTime == null) {
             startTime = new Date();
         }
 
+        setQuoteServiceAlarm(startTime);
+    }
+
+    /**
+     * Polls every poll interval starting at startTime, regardless of market hours
+     */
+    public void setQuoteServiceAlarm(Date startTime){
+        AlarmManager alarmManager = (AlarmManager)mContext.getSystemService(Context.ALARM_SERVICE);
+
+        Intent intent = QuoteReceiver.getIntent(mContext);
+        PendingIntent pendingIntent = PendingIntent.getBroadcast(mContext, 0, intent, PendingIntent.FLAG_UPDATE_CURRENT);
+
         alarmManager.setRepeating(AlarmManager.RTC_WAKEUP,
                 startTime.getTime(),
                 this.mSettings.getPollInterval() * 1000,
@@ -24,6 +24,7 @@
 package com.balch.mocktrade.finance;
 
 import android.content.Context;
+import android.support.annotation.VisibleForTesting;
 import android.util.Log;
 
 import com.balch.android.app.framework.types.Money;
@@ -42,14 +43,31 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.Observable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.schedulers.Schedulers;
 
 public class FinanceModelImpl implements FinanceModel {
     private static final String TAG = FinanceModelImpl.class.getSimpleName();
 
+    // quotes only move while the market is open, otherwise the cached
+    // value is good until the next poll window
+    private static final long QUOTE_TTL_MARKET_OPEN_MS = TimeUnit.SECONDS.toMillis(15);
+    private static final long QUOTE_TTL_MARKET_CLOSED_MS = TimeUnit.MINUTES.toMillis(15);
+
+    // IEX limits a batch request to 100 symbols
+    static final int DEFAULT_SYMBOLS_PER_REQUEST = 100;
+    static final int DEFAULT_CONCURRENT_REQUESTS = 4;
+
     private final IEXFinanceApi financeApi;
     private final FinanceManager mFinanceManager;
+    private final QuoteCache mQuoteCache;
+    private final int mSymbolsPerRequest;
+    private final int mConcurrentRequests;
 
     private static final DateTimeFormatter YAHOO_DATE_FORMAT = DateTimeFormat
             .forPattern("MM/dd/yyyy hh:mma")
@@ -57,8 +75,20 @@ public class FinanceModelImpl implements FinanceModel {
 
     public FinanceModelImpl(Context context, IEXFinanceApi financeApi,
                             Settings settings) {
+        this(context, financeApi, settings, DEFAULT_SYMBOLS_PER_REQUEST, DEFAULT_CONCURRENT_REQUESTS);
+    }
+
+    public FinanceModelImpl(Context context, IEXFinanceApi financeApi,
+                            Settings settings, int symbolsPerRequest, int concurrentRequests) {
+        if ((symbolsPerRequest < 1) || (concurrentRequests < 1)) {
+            throw new IllegalArgumentException("symbolsPerRequest and concurrentRequests must be > 0");
+        }
+
         this.financeApi = financeApi;
         this.mFinanceManager = new FinanceManager(context.getApplicationContext(), settings);
+        this.mQuoteCache = new QuoteCache(this::fetchQuotes);
+        this.mSymbolsPerRequest = symbolsPerRequest;
+        this.mConcurrentRequests = concurrentRequests;
     }
 
     @Override
@@ -69,13 +99,70 @@ public class FinanceModelImpl implements FinanceModel {
 
     @Override
     public Observable<Map<String, Quote>> getQuotes(final List<String> symbols) {
+        return mQuoteCache.getQuotes(getUniqueSymbols(symbols), getQuoteTimeToLive());
+    }
 
-        final Set<String> uniqueSymbols = getUniqueSymbols(symbols);
-        String symbolString = getDelimitedSymbols(uniqueSymbols);
+    /**
+     * Splits the symbols into chunks of at most mSymbolsPerRequest and fetches
+     * up to mConcurrentRequests chunks at a time. A failed chunk is logged and
+     * dropped so the quotes from the other chunks are still returned. The error
+     * is only passed on if every chunk fails.
+     */
+    @VisibleForTesting
+    Observable<Map<String, Quote>> fetchQuotes(final Set<String> uniqueSymbols) {
+        final List<List<String>> chunks = getChunks(uniqueSymbols, mSymbolsPerRequest);
+        if (chunks.size() <= 1) {
+            return chunks.isEmpty() ? Observable.just(new HashMap<>()) : fetchChunk(chunks.get(0));
+        }
 
-        return financeApi.getQuotes(symbolString)
+        return Observable.defer(() -> {
+            final AtomicInteger failedChunks = new AtomicInteger();
+            final AtomicReference<Throwable> lastError = new AtomicReference<>();
+
+            return Observable.fromIterable(chunks)
+                    .flatMap(chunk -> fetchChunk(chunk)
+                            .subscribeOn(Schedulers.io())
+                            .onErrorResumeNext(throwable -> {
+                                Log.e(TAG, "Error fetching quotes for " + chunk.size() + " symbols", throwable);
+                                failedChunks.incrementAndGet();
+                                lastError.set(throwable);
+                                return Observable.empty();
+                            }), mConcurrentRequests)
+                    .<Map<String, Quote>>reduce(new HashMap<>(uniqueSymbols.size()), (map, quotes) -> {
+                        map.putAll(quotes);
+                        return map;
+                    })
+                    .map(quoteMap -> {
+                        if (failedChunks.get() == chunks.size()) {
+                            throw Exceptions.propagate(lastError.get());
+                        }
+                        return quoteMap;
+                    })
+                    .toObservable();
+        });
+    }
+
+    private Observable<Map<String, Quote>> fetchChunk(final List<String> symbols) {
+        return financeApi.getQuotes(getDelimitedSymbols(symbols))
                 .map(QuoteResult::getQuotes)
-                .map(quotes -> mapSymbolsToQuotes(quotes, uniqueSymbols));
+                .map(quotes -> mapSymbolsToQuotes(quotes, symbols.size()));
+    }
+
+    static List<List<String>> getChunks(Set<String> symbols, int chunkSize) {
+        List<List<String>> chunks = new ArrayList<>((symbols.size() + chunkSize - 1) / chunkSize);
+        List<String> chunk = null;
+        for (String symbol : symbols) {
+            if ((chunk == null) || (chunk.size() == chunkSize)) {
+                chunk = new ArrayList<>(chunkSize);
+                chunks.add(chunk);
+            }
+            chunk.add(symbol);
+        }
+        return chunks;
+    }
+
+    private long getQuoteTimeToLive() {
+        return mFinanceManager.isMarketOpen() ? QUOTE_TTL_MARKET_OPEN_MS : QUOTE_TTL_MARKET_CLOSED_MS;
     }
 
     @Override
@@ -100,18 +187,20 @@ public class FinanceModelImpl implements FinanceModel {
 
     private Set<String> getUniqueSymbols(List<String> symbols) {
         Set<String> uniqueSymbols = new HashSet<>(symbols.size());
-        uniqueSymbols.addAll(symbols);
+        for (String s : symbols) {
+            uniqueSymbols.add(s.toUpperCase());
+        }
         return uniqueSymbols;
     }
 
-    private String getDelimitedSymbols(Set<String> symbols) {
+    private String getDelimitedSymbols(List<String> symbols) {
         StringBuilder builder = new StringBuilder();
         boolean isFirst = true;
         for (String s : symbols) {
             if (!isFirst) {
                 builder.append(",");
             }
-            builder.append(s.toUpperCase());
+            builder.append(s);
 
             isFirst = false;
         }
@@ -191,8 +280,8 @@ public class FinanceModelImpl implements FinanceModel {
         }
     }
 
-    private Map<String, Quote>  mapSymbolsToQuotes(List<Quote> quotes, Set<String> uniqueSymbols) {
-        Map<String, Quote> quoteMap = new HashMap<>(uniqueSymbols.size());
+    private Map<String, Quote>  mapSymbolsToQuotes(List<Quote> quotes, int symbolCount) {
+        Map<String, Quote> quoteMap = new HashMap<>(symbolCount);
         for (Quote quote : quotes) {
             quoteMap.put(quote.getSymbol(), quote);
         }
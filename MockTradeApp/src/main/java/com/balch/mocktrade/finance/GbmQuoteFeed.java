@@ -0,0 +1,130 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 10:12 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.finance;
+
+import com.balch.android.app.framework.types.Money;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QuoteFeed that generates prices using geometric Brownian motion.
+ *
+ * Each symbol gets its own random generator seeded from the feed seed and
+ * the symbol, so a given seed always produces the same prices for the same
+ * sequence of calls. With a tickIntervalMs the simulated clock moves forward
+ * by tickIntervalMs on every call, which lets callers replay days of trading as
+ * fast as they can poll. Without one the clock follows the wall clock, so prices
+ * only move as real time passes no matter how many callers share the feed.
+ */
+public class GbmQuoteFeed implements QuoteFeed {
+
+    private static final double MS_PER_YEAR = TimeUnit.DAYS.toMillis(365);
+    private static final long MS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    private static final double DRIFT = 0.07;
+    private static final double MIN_VOLATILITY = 0.15;
+    private static final double MAX_VOLATILITY = 0.45;
+    private static final double MIN_PRICE = 20.0;
+    private static final double MAX_PRICE = 200.0;
+
+    private final long seed;
+    // 0 follows the wall clock
+    private final long tickIntervalMs;
+    private long currentTime;
+
+    private final Map<String, SymbolState> symbolStates = new HashMap<>();
+
+    /**
+     * Feed for live use, quotes are timestamped with the current time
+     */
+    public GbmQuoteFeed(long seed) {
+        this(seed, System.currentTimeMillis(), 0);
+    }
+
+    public GbmQuoteFeed(long seed, long startTime, long tickIntervalMs) {
+        this.seed = seed;
+        this.currentTime = startTime;
+        this.tickIntervalMs = tickIntervalMs;
+    }
+
+    @Override
+    public synchronized Map<String, Quote> getQuotes(Collection<String> symbols) {
+        currentTime = (tickIntervalMs > 0) ?
+                currentTime + tickIntervalMs :
+                Math.max(currentTime, System.currentTimeMillis());
+
+        Map<String, Quote> quotes = new HashMap<>(symbols.size());
+        for (String symbol : symbols) {
+            SymbolState state = symbolStates.get(symbol);
+            if (state == null) {
+                state = new SymbolState(new Random(seed ^ symbol.hashCode()), currentTime);
+                symbolStates.put(symbol, state);
+            }
+
+            state.advance(currentTime);
+
+            quotes.put(symbol, new Quote(symbol, symbol, "SIM",
+                    new Money(state.price), new Date(currentTime),
+                    new Money(state.previousClose), new Money()));
+        }
+        return quotes;
+    }
+
+    private static class SymbolState {
+        private final Random random;
+        private final double volatility;
+        private double price;
+        private double previousClose;
+        private long lastUpdate;
+
+        private SymbolState(Random random, long time) {
+            this.random = random;
+            this.volatility = MIN_VOLATILITY + random.nextDouble() * (MAX_VOLATILITY - MIN_VOLATILITY);
+            this.price = MIN_PRICE + random.nextDouble() * (MAX_PRICE - MIN_PRICE);
+            this.previousClose = price;
+            this.lastUpdate = time;
+        }
+
+        private void advance(long time) {
+            if (time <= lastUpdate) {
+                return;
+            }
+
+            if (time / MS_PER_DAY != lastUpdate / MS_PER_DAY) {
+                previousClose = price;
+            }
+
+            // S(t+dt) = S(t) * exp((mu - sigma^2/2)dt + sigma*sqrt(dt)*Z)
+            double dt = (time - lastUpdate) / MS_PER_YEAR;
+            price *= Math.exp((DRIFT - volatility * volatility / 2) * dt +
+                    volatility * Math.sqrt(dt) * random.nextGaussian());
+            lastUpdate = time;
+        }
+    }
+}
@@ -24,44 +24,125 @@
 package com.balch.mocktrade.finance;
 
 import com.balch.android.app.framework.types.Money;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
-public class IEXQuoteTypeAdapter implements JsonDeserializer<QuoteResult> {
+/**
+ * Streaming parser for the IEX batch response:
+ *
+ * <pre>
+ * {"AAPL": {"quote": {...}, "stats": {...}}, "MSFT": {...}}
+ * </pre>
+ *
+ * Quotes are built directly from the JsonReader and fields that are not
+ * used are skipped, so the response is never loaded into a JsonElement tree.
+ */
+public class IEXQuoteTypeAdapter extends TypeAdapter<QuoteResult> {
+
     @Override
-    public QuoteResult deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+    public QuoteResult read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
 
         List<Quote> quotes = new ArrayList<>();
 
-        Set<Map.Entry<String, JsonElement>> jsonQuotes = json.getAsJsonObject().entrySet();
-        for (Map.Entry<String, JsonElement> entry: jsonQuotes) {
-            String symbol = entry.getKey();
-            JsonObject jsonQuote = entry.getValue().getAsJsonObject().getAsJsonObject("quote");
+        in.beginObject();
+        while (in.hasNext()) {
+            Quote quote = readQuote(in.nextName(), in);
+            if (quote != null) {
+                quotes.add(quote);
+            }
+        }
+        in.endObject();
+
+        return new QuoteResult(true, quotes);
+    }
 
-            String name = jsonQuote.getAsJsonPrimitive("companyName").getAsString();
-            String exchange = jsonQuote.getAsJsonPrimitive("primaryExchange").getAsString();
-            Money price = new Money(jsonQuote.getAsJsonPrimitive("latestPrice").getAsDouble());
-            Date lastTradeTime = new Date(jsonQuote.getAsJsonPrimitive("latestUpdate").getAsLong());
-            Money previousClose = new Money(jsonQuote.getAsJsonPrimitive("previousClose").getAsDouble());
+    private Quote readQuote(String symbol, JsonReader in) throws IOException {
+        String name = null;
+        String exchange = null;
+        double price = 0;
+        long lastTradeTime = 0;
+        double previousClose = 0;
+        double dividendPerShare = 0;
 
-            JsonObject jsonStats = entry.getValue().getAsJsonObject().getAsJsonObject("stats");
-            Money dividendPerShare = (jsonStats.has("dividendYield") && !jsonStats.get("dividendYield").isJsonNull()) ?
-                    new Money(jsonStats.getAsJsonPrimitive("dividendYield").getAsDouble()) :
-                    new Money();
+        // a quote without a price, time or close is dropped rather than valued at 0
+        boolean hasPrice = false;
+        boolean hasLastTradeTime = false;
+        boolean hasPreviousClose = false;
 
-            quotes.add(new Quote(symbol, name, exchange, price, lastTradeTime, previousClose, dividendPerShare));
+        in.beginObject();
+        while (in.hasNext()) {
+            String type = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else if ("quote".equals(type)) {
+                in.beginObject();
+                while (in.hasNext()) {
+                    String field = in.nextName();
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                        continue;
+                    }
 
+                    switch (field) {
+                        case "companyName":
+                            name = in.nextString();
+                            break;
+                        case "primaryExchange":
+                            exchange = in.nextString();
+                            break;
+                        case "latestPrice":
+                            price = in.nextDouble();
+                            hasPrice = true;
+                            break;
+                        case "latestUpdate":
+                            lastTradeTime = in.nextLong();
+                            hasLastTradeTime = true;
+                            break;
+                        case "previousClose":
+                            previousClose = in.nextDouble();
+                            hasPreviousClose = true;
+                            break;
+                        default:
+                            in.skipValue();
+                            break;
+                    }
+                }
+                in.endObject();
+            } else if ("stats".equals(type)) {
+                in.beginObject();
+                while (in.hasNext()) {
+                    if ("dividendYield".equals(in.nextName()) && (in.peek() != JsonToken.NULL)) {
+                        dividendPerShare = in.nextDouble();
+                    } else {
+                        in.skipValue();
+                    }
+                }
+                in.endObject();
+            } else {
+                in.skipValue();
+            }
         }
-        return new QuoteResult(true, quotes);
+        in.endObject();
+
+        return (hasPrice && hasLastTradeTime && hasPreviousClose) ?
+                new Quote(symbol, name, exchange, new Money(price), new Date(lastTradeTime),
+                        new Money(previousClose), new Money(dividendPerShare)) :
+                null;
+    }
+
+    @Override
+    public void write(JsonWriter out, QuoteResult value) throws IOException {
+        throw new UnsupportedOperationException("QuoteResult is only read from IEX");
     }
 }
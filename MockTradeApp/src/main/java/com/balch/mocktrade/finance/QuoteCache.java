@@ -0,0 +1,172 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 7:12 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.finance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.reactivex.Observable;
+
+/**
+ * In-memory quote cache shared by all users of the FinanceModel.
+ *
+ * Quotes are served from the cache until they are older than the time-to-live
+ * passed into {@link #getQuotes(Set, long)}. Symbols that are missing or stale
+ * are fetched using the {@link QuoteFetcher}. If a request for a symbol is
+ * already in flight, callers will share that request instead of issuing a new one.
+ */
+class QuoteCache {
+
+    interface QuoteFetcher {
+        Observable<Map<String, Quote>> fetchQuotes(Set<String> symbols);
+    }
+
+    private final QuoteFetcher quoteFetcher;
+
+    // all access to these maps is synchronized on this
+    private final Map<String, CacheEntry> cacheEntries = new HashMap<>();
+    private final Map<String, Request> inFlightRequests = new HashMap<>();
+
+    QuoteCache(QuoteFetcher quoteFetcher) {
+        this.quoteFetcher = quoteFetcher;
+    }
+
+    /**
+     * Returns an Observable that emits a single map containing the quotes for the
+     * symbols. The cache is evaluated when the Observable is subscribed to.
+     *
+     * @param symbols upper case symbols
+     * @param timeToLiveMs max age of a cached quote before it is re-fetched
+     */
+    Observable<Map<String, Quote>> getQuotes(final Set<String> symbols, final long timeToLiveMs) {
+        return Observable.defer(() -> {
+            final Map<String, Quote> quoteMap = new HashMap<>(symbols.size());
+            List<Observable<Map<String, Quote>>> requests = getRequests(symbols, timeToLiveMs, quoteMap);
+
+            if (requests.isEmpty()) {
+                return Observable.just(quoteMap);
+            }
+
+            return Observable.merge(requests)
+                    .reduce(quoteMap, (map, quotes) -> {
+                        // shared requests can contain symbols the caller did not ask for
+                        for (Map.Entry<String, Quote> entry : quotes.entrySet()) {
+                            if (symbols.contains(entry.getKey())) {
+                                map.put(entry.getKey(), entry.getValue());
+                            }
+                        }
+                        return map;
+                    })
+                    .toObservable();
+        });
+    }
+
+    synchronized void clear() {
+        cacheEntries.clear();
+    }
+
+    /**
+     * Populates quoteMap with the fresh cached quotes and returns the list of
+     * requests (either new or already in flight) needed to get the rest.
+     */
+    private synchronized List<Observable<Map<String, Quote>>> getRequests(Set<String> symbols,
+                                                                        long timeToLiveMs,
+                                                                        Map<String, Quote> quoteMap) {
+        long now = System.currentTimeMillis();
+
+        Set<Request> pendingRequests = new HashSet<>();
+        Set<String> symbolsToFetch = new HashSet<>();
+        for (String symbol : symbols) {
+            CacheEntry entry = cacheEntries.get(symbol);
+            if ((entry != null) && (now - entry.fetchTime < timeToLiveMs)) {
+                quoteMap.put(symbol, entry.quote);
+            } else {
+                Request request = inFlightRequests.get(symbol);
+                if (request != null) {
+                    pendingRequests.add(request);
+                } else {
+                    symbolsToFetch.add(symbol);
+                }
+            }
+        }
+
+        if (!symbolsToFetch.isEmpty()) {
+            Request request = new Request(symbolsToFetch);
+            for (String symbol : symbolsToFetch) {
+                inFlightRequests.put(symbol, request);
+            }
+            pendingRequests.add(request);
+        }
+
+        List<Observable<Map<String, Quote>>> observables = new ArrayList<>(pendingRequests.size());
+        for (Request request : pendingRequests) {
+            observables.add(request.observable);
+        }
+        return observables;
+    }
+
+    private synchronized void put(Map<String, Quote> quotes) {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Quote> entry : quotes.entrySet()) {
+            cacheEntries.put(entry.getKey(), new CacheEntry(entry.getValue(), now));
+        }
+    }
+
+    private synchronized void complete(Request request) {
+        for (String symbol : request.symbols) {
+            if (inFlightRequests.get(symbol) == request) {
+                inFlightRequests.remove(symbol);
+            }
+        }
+    }
+
+    private class Request {
+        private final Set<String> symbols;
+        private final Observable<Map<String, Quote>> observable;
+
+        private Request(Set<String> symbols) {
+            this.symbols = symbols;
+
+            // cache() makes sure all subscribers share a single call to the fetcher
+            this.observable = quoteFetcher.fetchQuotes(symbols)
+                    .doOnNext(QuoteCache.this::put)
+                    .doFinally(() -> complete(this))
+                    .cache();
+        }
+    }
+
+    private static class CacheEntry {
+        private final Quote quote;
+        private final long fetchTime;
+
+        private CacheEntry(Quote quote, long fetchTime) {
+            this.quote = quote;
+            this.fetchTime = fetchTime;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 10:05 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.finance;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Local source of quotes used by the {@link SimulatedFinanceModel} in place
+ * of the IEX endpoint. How the feed's clock advances between calls to
+ * {@link #getQuotes(Collection)} is up to the feed.
+ */
+public interface QuoteFeed {
+
+    /**
+     * @param symbols upper case symbols
+     * @return quotes for the symbols known to the feed, keyed by symbol
+     */
+    Map<String, Quote> getQuotes(Collection<String> symbols);
+}
@@ -0,0 +1,96 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 10:48 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.finance;
+
+import android.content.Context;
+
+import com.balch.mocktrade.settings.Settings;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.reactivex.Observable;
+
+/**
+ * FinanceModel that gets quotes from a local {@link QuoteFeed} instead of
+ * the IEX endpoint. The market is always considered open so the services
+ * and strategies can be exercised offline at any time of day.
+ *
+ * This is used when a QuoteFeed is registered with the ModelApiFactory, which
+ * TradeApplication does in debug builds when Simulated Quotes is checked in the menu.
+ */
+public class SimulatedFinanceModel implements FinanceModel {
+
+    private final QuoteFeed mQuoteFeed;
+    private final FinanceManager mFinanceManager;
+
+    public SimulatedFinanceModel(Context context, QuoteFeed quoteFeed, Settings settings) {
+        this.mQuoteFeed = quoteFeed;
+        this.mFinanceManager = new FinanceManager(context.getApplicationContext(), settings);
+    }
+
+    @Override
+    public Observable<Map<String, Quote>> getQuotes(final List<String> symbols) {
+        return Observable.fromCallable(() -> mQuoteFeed.getQuotes(getUniqueSymbols(symbols)));
+    }
+
+    @Override
+    public Observable<Quote> getQuote(final String symbol) {
+        return getQuotes(Collections.singletonList(symbol))
+                .map(quoteMap -> quoteMap.get(symbol.toUpperCase()));
+    }
+
+    @Override
+    public boolean isMarketOpen() {
+        return true;
+    }
+
+    @Override
+    public Date nextMarketOpen() {
+        return new Date();
+    }
+
+    @Override
+    public boolean isInPollTime() {
+        return true;
+    }
+
+    @Override
+    public void setQuoteServiceAlarm() {
+        // the simulated market never closes so poll from now on
+        mFinanceManager.setQuoteServiceAlarm(new Date());
+    }
+
+    private Set<String> getUniqueSymbols(List<String> symbols) {
+        Set<String> uniqueSymbols = new HashSet<>(symbols.size());
+        for (String s : symbols) {
+            uniqueSymbols.add(s.toUpperCase());
+        }
+        return uniqueSymbols;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 10:31 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.finance;
+
+import com.balch.android.app.framework.types.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QuoteFeed that replays recorded ticks.
+ *
+ * The tick file is CSV with one tick per line in the format
+ * <code>time_ms,symbol,price</code>. Blank lines and lines starting with
+ * '#' are ignored. The simulated clock starts at the first tick and moves
+ * forward by tickIntervalMs on every call. Once the ticks run out the last
+ * price for each symbol is returned.
+ */
+public class TickFileQuoteFeed implements QuoteFeed {
+
+    private static final long MS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final List<Tick> ticks;
+    private final long tickIntervalMs;
+    private int tickIndex = 0;
+    private long currentTime;
+
+    private final Map<String, Quote> lastQuotes = new HashMap<>();
+    private final Map<String, Money> previousCloses = new HashMap<>();
+
+    public TickFileQuoteFeed(Reader reader, long tickIntervalMs) throws IOException {
+        this.ticks = readTicks(reader);
+        this.tickIntervalMs = tickIntervalMs;
+        this.currentTime = ticks.isEmpty() ? 0 : ticks.get(0).time - tickIntervalMs;
+    }
+
+    @Override
+    public synchronized Map<String, Quote> getQuotes(Collection<String> symbols) {
+        currentTime += tickIntervalMs;
+
+        while ((tickIndex < ticks.size()) && (ticks.get(tickIndex).time <= currentTime)) {
+            apply(ticks.get(tickIndex++));
+        }
+
+        Map<String, Quote> quotes = new HashMap<>(symbols.size());
+        for (String symbol : symbols) {
+            Quote quote = lastQuotes.get(symbol);
+            if (quote != null) {
+                quotes.put(symbol, quote);
+            }
+        }
+        return quotes;
+    }
+
+    public synchronized boolean isFinished() {
+        return tickIndex >= ticks.size();
+    }
+
+    private void apply(Tick tick) {
+        Quote lastQuote = lastQuotes.get(tick.symbol);
+
+        Money previousClose = previousCloses.get(tick.symbol);
+        if (lastQuote == null) {
+            previousClose = tick.price;
+        } else if (lastQuote.getLastTradeTime().getTime() / MS_PER_DAY != tick.time / MS_PER_DAY) {
+            previousClose = lastQuote.getPrice();
+        }
+        previousCloses.put(tick.symbol, previousClose);
+
+        lastQuotes.put(tick.symbol, new Quote(tick.symbol, tick.symbol, "SIM",
+                tick.price, new Date(tick.time), previousClose, new Money()));
+    }
+
+    private static List<Tick> readTicks(Reader reader) throws IOException {
+        List<Tick> ticks = new ArrayList<>();
+
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] cols = line.split(",");
+            if (cols.length < 3) {
+                throw new IOException("Invalid tick: " + line);
+            }
+
+            try {
+                ticks.add(new Tick(Long.parseLong(cols[0].trim()),
+                        cols[1].trim().toUpperCase(),
+                        new Money(Double.parseDouble(cols[2].trim()))));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid tick: " + line, e);
+            }
+        }
+
+        // stable sort keeps ticks with the same time in file order
+        Collections.sort(ticks, (lhs, rhs) -> Long.compare(lhs.time, rhs.time));
+
+        return ticks;
+    }
+
+    private static class Tick {
+        private final long time;
+        private final String symbol;
+        private final Money price;
+
+        private Tick(long time, String symbol, Money price) {
+            this.time = time;
+            this.symbol = symbol;
+            this.price = price;
+        }
+    }
+}
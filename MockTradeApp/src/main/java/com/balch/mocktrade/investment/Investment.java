@@ -179,11 +179,19 @@ public class Investment extends DomainObject implements Parcelable {
     }
 
     public Money getValue() {
-        return Money.multiply(this.price, this.quantity);
+        return new Money(getValueMicroCents());
+    }
+
+    public long getValueMicroCents() {
+        return InvestmentValuation.getValue(this.price.getMicroCents(), this.quantity);
     }
 
     public Money getPrevDayValue() {
-        return Money.multiply(this.prevDayClose, this.quantity);
+        return new Money(getPrevDayValueMicroCents());
+    }
+
+    public long getPrevDayValueMicroCents() {
+        return InvestmentValuation.getValue(this.prevDayClose.getMicroCents(), this.quantity);
     }
 
     public Money getPrevDayClose() {
@@ -199,26 +207,30 @@ public class Investment extends DomainObject implements Parcelable {
     }
 
     public Money getTodayChange() {
-        return Money.subtract(getValue(), getPrevDayValue());
+        return new Money(getTodayChangeMicroCents());
+    }
+
+    public long getTodayChangeMicroCents() {
+        return getValueMicroCents() - getPrevDayValueMicroCents();
     }
 
     public Money getTotalChange() {
-        return Money.subtract(getValue(), this.costBasis);
+        return new Money(getTotalChangeMicroCents());
     }
 
-    public float getTotalChangePercent() {
-        float percent = (this.costBasis.getMicroCents() != 0) ?
-                Money.subtract(this.getValue(), this.costBasis).getMicroCents() / (float) this.costBasis.getMicroCents() :
-                1.0f;
+    public long getTotalChangeMicroCents() {
+        return getValueMicroCents() - this.costBasis.getMicroCents();
+    }
 
-        return percent * 100.0f;
+    public float getTotalChangePercent() {
+        return InvestmentValuation.getChangePercent(getTotalChangeMicroCents(),
+                this.costBasis.getMicroCents(), 100.0f);
     }
 
     public float getTodayChangePercent() {
-        Money delta = Money.subtract(getPrice(), getPrevDayClose());
-        return (getPrevDayClose().getMicroCents() != 0) ?
-                delta.getMicroCents() * 100 / (float) getPrevDayClose().getMicroCents() :
-                100.0f;
+        long prevDayClose = this.prevDayClose.getMicroCents();
+        return InvestmentValuation.getChangePercent(this.price.getMicroCents() - prevDayClose,
+                prevDayClose, 100.0f);
     }
 
     public void aggregateOrder(Order order, Money price) {
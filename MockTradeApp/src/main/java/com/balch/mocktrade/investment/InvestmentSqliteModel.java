@@ -24,11 +24,14 @@ package com.balch.mocktrade.investment;
 
 import android.content.ContentValues;
 import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
 
+import com.balch.android.app.framework.sql.RowMapper;
 import com.balch.android.app.framework.sql.SqlConnection;
 import com.balch.android.app.framework.sql.SqlMapper;
 import com.balch.android.app.framework.types.Money;
 import com.balch.mocktrade.account.Account;
+import com.balch.mocktrade.finance.Quote;
 
 import java.util.Date;
 import java.util.List;
@@ -57,6 +60,14 @@ public class InvestmentSqliteModel implements SqlMapper<Investment> {
     private static final String SQL_WHERE_BY_ACCOUNT_AND_SYMBOL =
              COLUMN_SYMBOL + " = ? AND " + COLUMN_ACCOUNT_ID + " = ?";
 
+    private static final String SQL_UPDATE_PRICE_BY_SYMBOL =
+            "UPDATE " + TABLE_NAME + " SET " +
+                    COLUMN_PRICE + " = ?, " +
+                    COLUMN_LAST_TRADE_TIME + " = ?, " +
+                    COLUMN_PREV_DAY_CLOSE + " = ?, " +
+                    SqlMapper.COLUMN_UPDATE_TIME + " = ? " +
+            "WHERE " + COLUMN_SYMBOL + " = ? AND " + COLUMN_LAST_TRADE_TIME + " < ?";
+
     private final SqlConnection sqlConnection;
 
     public InvestmentSqliteModel(SqlConnection sqlConnection) {
@@ -71,7 +82,7 @@ public class InvestmentSqliteModel implements SqlMapper<Investment> {
                 where = COLUMN_ACCOUNT_ID + " = ?";
                 whereArgs = new String[]{accountId.toString()};
             }
-            return sqlConnection.query(this, Investment.class, where, whereArgs, COLUMN_SYMBOL + " COLLATE NOCASE");
+            return sqlConnection.query(this, where, whereArgs, COLUMN_SYMBOL + " COLLATE NOCASE");
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -84,7 +95,7 @@ public class InvestmentSqliteModel implements SqlMapper<Investment> {
     public Investment getInvestmentBySymbol(String symbol, Long accountId) {
         try {
             String [] whereArgs = new String[]{symbol, accountId.toString()};
-            List<Investment> investments = sqlConnection.query(this, Investment.class,
+            List<Investment> investments = sqlConnection.query(this,
                     SQL_WHERE_BY_ACCOUNT_AND_SYMBOL, whereArgs, null);
 
             return (investments.size() == 1) ? investments.get(0) : null;
@@ -102,6 +113,35 @@ public class InvestmentSqliteModel implements SqlMapper<Investment> {
         }
     }
 
+    /**
+     * Updates the price, last trade time and previous close of all investments
+     * in the quote map's symbols in a single transaction. Only the rows with a
+     * last trade time older than the quote's are written.
+     *
+     * @return the number of investments updated
+     */
+    public int applyQuotes(Map<String, Quote> quoteMap) {
+        SQLiteDatabase db = sqlConnection.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            long now = System.currentTimeMillis();
+            int count = 0;
+            for (Map.Entry<String, Quote> entry : quoteMap.entrySet()) {
+                Quote quote = entry.getValue();
+                long lastTradeTime = quote.getLastTradeTime().getTime();
+                count += sqlConnection.executeUpdateDelete(SQL_UPDATE_PRICE_BY_SYMBOL,
+                        new Object[]{quote.getPrice().getMicroCents(), lastTradeTime,
+                                quote.getPreviousClose().getMicroCents(), now,
+                                entry.getKey(), lastTradeTime},
+                        db);
+            }
+            db.setTransactionSuccessful();
+            return count;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
     @Override
     public String getTableName() {
         return TABLE_NAME;
@@ -126,20 +166,36 @@ public class InvestmentSqliteModel implements SqlMapper<Investment> {
     }
 
     @Override
-    public void populate(Investment investment, Cursor cursor, Map<String, Integer> columnMap) {
-        investment.setId(cursor.getLong(columnMap.get(COLUMN_ID)));
-
-        Account account = new Account();
-        account.setId(cursor.getLong(columnMap.get(COLUMN_ACCOUNT_ID)));
-        investment.setAccount(account);
-        investment.setSymbol(cursor.getString(columnMap.get(COLUMN_SYMBOL)));
-        investment.setStatus(Investment.InvestmentStatus.valueOf(cursor.getString(columnMap.get(COLUMN_STATUS))));
-        investment.setDescription(cursor.getString(columnMap.get(COLUMN_DESCRIPTION)));
-        investment.setExchange(cursor.getString(columnMap.get(COLUMN_EXCHANGE)));
-        investment.setCostBasis(new Money(cursor.getLong(columnMap.get(COLUMN_COST_BASIS))));
-        investment.setPrice(new Money(cursor.getLong(columnMap.get(COLUMN_PRICE))), new Date(cursor.getLong(columnMap.get(COLUMN_LAST_TRADE_TIME))));
-        investment.setPrevDayClose(new Money(cursor.getLong(columnMap.get(COLUMN_PREV_DAY_CLOSE))));
-        investment.setQuantity(cursor.getLong(columnMap.get(COLUMN_QUANTITY)));
+    public RowMapper<Investment> getRowMapper(Cursor cursor) {
+        final int idColumn = cursor.getColumnIndexOrThrow(COLUMN_ID);
+        final int accountIdColumn = cursor.getColumnIndexOrThrow(COLUMN_ACCOUNT_ID);
+        final int symbolColumn = cursor.getColumnIndexOrThrow(COLUMN_SYMBOL);
+        final int statusColumn = cursor.getColumnIndexOrThrow(COLUMN_STATUS);
+        final int descriptionColumn = cursor.getColumnIndexOrThrow(COLUMN_DESCRIPTION);
+        final int exchangeColumn = cursor.getColumnIndexOrThrow(COLUMN_EXCHANGE);
+        final int costBasisColumn = cursor.getColumnIndexOrThrow(COLUMN_COST_BASIS);
+        final int priceColumn = cursor.getColumnIndexOrThrow(COLUMN_PRICE);
+        final int lastTradeTimeColumn = cursor.getColumnIndexOrThrow(COLUMN_LAST_TRADE_TIME);
+        final int prevDayCloseColumn = cursor.getColumnIndexOrThrow(COLUMN_PREV_DAY_CLOSE);
+        final int quantityColumn = cursor.getColumnIndexOrThrow(COLUMN_QUANTITY);
+
+        return c -> {
+            Investment investment = new Investment();
+            investment.setId(c.getLong(idColumn));
+
+            Account account = new Account();
+            account.setId(c.getLong(accountIdColumn));
+            investment.setAccount(account);
+            investment.setSymbol(c.getString(symbolColumn));
+            investment.setStatus(Investment.InvestmentStatus.valueOf(c.getString(statusColumn)));
+            investment.setDescription(c.getString(descriptionColumn));
+            investment.setExchange(c.getString(exchangeColumn));
+            investment.setCostBasis(new Money(c.getLong(costBasisColumn)));
+            investment.setPrice(new Money(c.getLong(priceColumn)), new Date(c.getLong(lastTradeTimeColumn)));
+            investment.setPrevDayClose(new Money(c.getLong(prevDayCloseColumn)));
+            investment.setQuantity(c.getLong(quantityColumn));
+            return investment;
+        };
     }
 
     public Date getLastTradeTime() {
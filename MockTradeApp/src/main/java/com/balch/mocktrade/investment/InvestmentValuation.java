@@ -0,0 +1,91 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 3:20 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.investment;
+
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * Allocation free valuation of investments using long micro cents. The Money
+ * getters on {@link Investment} create new instances on every call, these
+ * helpers should be used in loops and Money only built for display.
+ */
+public final class InvestmentValuation {
+
+    // indexes into the totals array filled by sumInvestments()
+    public static final int TOTAL_VALUE = 0;
+    public static final int TOTAL_COST_BASIS = 1;
+    public static final int TOTAL_TODAY_CHANGE = 2;
+    public static final int TOTALS_SIZE = 3;
+
+    private InvestmentValuation() {
+    }
+
+    public static long getValue(long priceMicroCents, long quantity) {
+        return priceMicroCents * quantity;
+    }
+
+    /**
+     * Returns delta as a percent of base or defaultPercent if base is 0
+     */
+    public static float getChangePercent(long deltaMicroCents, long baseMicroCents, float defaultPercent) {
+        return (baseMicroCents != 0) ?
+                deltaMicroCents * 100 / (float) baseMicroCents :
+                defaultPercent;
+    }
+
+    /**
+     * Sums the investments into totals (see TOTAL_*). Today's change only includes
+     * investments with a price from today, same as {@link Investment#isPriceCurrent()}.
+     */
+    public static void sumInvestments(List<Investment> investments, long[] totals) {
+        totals[TOTAL_VALUE] = 0;
+        totals[TOTAL_COST_BASIS] = 0;
+        totals[TOTAL_TODAY_CHANGE] = 0;
+
+        if ((investments == null) || investments.isEmpty()) {
+            return;
+        }
+
+        Calendar cal = Calendar.getInstance();
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        long todayStartTime = cal.getTimeInMillis();
+        cal.add(Calendar.DAY_OF_YEAR, 1);
+        long todayEndTime = cal.getTimeInMillis();
+
+        for (int x = 0; x < investments.size(); x++) {
+            Investment investment = investments.get(x);
+            totals[TOTAL_VALUE] += investment.getValueMicroCents();
+            totals[TOTAL_COST_BASIS] += investment.getCostBasis().getMicroCents();
+
+            long lastTradeTime = investment.getLastTradeTime().getTime();
+            if ((lastTradeTime >= todayStartTime) && (lastTradeTime < todayEndTime)) {
+                totals[TOTAL_TODAY_CHANGE] += investment.getTodayChangeMicroCents();
+            }
+        }
+    }
+}
@@ -31,7 +31,6 @@ import android.text.format.DateUtils;
 import com.balch.android.app.framework.types.Money;
 import com.balch.mocktrade.finance.FinanceModel;
 import com.balch.mocktrade.finance.Quote;
-import com.balch.mocktrade.investment.Investment;
 import com.balch.mocktrade.receivers.OrderReceiver;
 import com.balch.mocktrade.settings.Settings;
 
@@ -43,13 +42,11 @@ import java.util.Date;
  * This is package-private on purpose!!! It is intended to contain
  * shared functionality between OrderModel implementations
  */
-class OrderManager {
+class OrderManager extends OrderPriceRules {
     private static final String TAG = OrderManager.class.getSimpleName();
 
-    public interface OrderManagerListener {
+    public interface OrderManagerListener extends OrderPriceRules.Listener {
         OrderResult executeOrder(Order order, Quote quote, Money price) throws SQLException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException;
-        Investment getInvestmentBySymbol(String symbol, Long accountId);
-        boolean updateOrder(Order order) throws IllegalAccessException;
     }
 
     private final FinanceModel financeModel;
@@ -59,6 +56,7 @@ class OrderManager {
 
     public OrderManager(Context context, FinanceModel financeModel, Settings settings,
                         OrderManagerListener listener) {
+        super(listener);
         this.settings = settings;
         this.appContext = context.getApplicationContext();
         this.financeModel = financeModel;
@@ -80,45 +78,13 @@ class OrderManager {
     }
 
     public OrderResult attemptExecuteOrder(Order order, Quote quote) throws InvocationTargetException, SQLException, InstantiationException, IllegalAccessException, NoSuchMethodException {
-        if (order == null) {
-            throw new IllegalArgumentException("Order not found");
-        }
-
-        if (quote == null) {
-            throw new IllegalArgumentException("Quote not found");
-        }
-
-        OrderResult result;
-
-        switch (order.getStrategy()) {
-            case MARKET:
-                result = executeMarketOrder(order, quote);
-                break;
-
-            case MANUAL:
-                result = this.orderManagerListener.executeOrder(order, quote, order.getLimitPrice());
-                break;
-
-            case LIMIT:
-                result = executeLimitOrder(order, quote);
-                break;
-
-            case STOP_LOSS:
-                result = executeStopLossOrder(order, quote);
-                break;
-
-            case TRAILING_STOP_AMOUNT_CHANGE:
-            case TRAILING_STOP_PERCENT_CHANGE:
-                result = executeTrailingStopLossOrder(order, quote);
-                break;
-
-            default:
-                throw new UnsupportedOperationException();
-        }
-
-        return result;
+        Money price = getExecutionPrice(order, quote);
+        return (price != null) ?
+                this.orderManagerListener.executeOrder(order, quote, price) :
+                new OrderResult(false, null, null, null, 0);
     }
 
+    @Override
     boolean isQuoteValid(Quote quote)  {
         Date tradeDate = quote.getLastTradeTime();
         return (financeModel.isMarketOpen() && isToday(tradeDate));
@@ -128,92 +94,4 @@ class OrderManager {
         return DateUtils.isToday(date.getTime());
     }
 
-    private OrderResult executeLimitOrder(Order order, Quote quote) throws InvocationTargetException, SQLException, InstantiationException, IllegalAccessException, NoSuchMethodException {
-        OrderResult orderResult = new OrderResult(false, null, null, null, 0);
-        if (this.isQuoteValid(quote)) {
-            int compareQuoteToLimit = quote.getPrice().compareTo(order.getLimitPrice());
-            if ( ((order.getAction() == Order.OrderAction.BUY)  && (compareQuoteToLimit <= 0)) ||
-                    ((order.getAction() == Order.OrderAction.SELL) && (compareQuoteToLimit >= 0))) {
-                orderResult = this.orderManagerListener.executeOrder(order, quote, quote.getPrice());
-            }
-        }
-
-        return orderResult;
-    }
-
-    private OrderResult executeTrailingStopLossOrder(Order order, Quote quote) throws InvocationTargetException, SQLException, InstantiationException, IllegalAccessException, NoSuchMethodException {
-        if (order.getAction() == Order.OrderAction.BUY) {
-            throw new UnsupportedOperationException("Cannot have a Stop Loss order if the action is BUY");
-        }
-
-        boolean highestPriceChanged = false;
-
-        if (order.getHighestPrice().getDollars() == 0.0) {
-            Investment investment = orderManagerListener.getInvestmentBySymbol(order.getSymbol(), order.getAccount().getId());
-            if (investment == null) {
-                throw new IllegalArgumentException("Can't sell and investment you don't own");
-            }
-
-            order.setHighestPrice(investment.getPrice());
-            highestPriceChanged = true;
-        }
-
-        OrderResult orderResult = new OrderResult(false, null, null, null, 0);
-        if (this.isQuoteValid(quote)) {
-            if (quote.getPrice().compareTo(order.getHighestPrice()) > 0) {
-                order.setHighestPrice(quote.getPrice());
-                highestPriceChanged = true;
-            } else {
-                Money delta = Money.subtract(order.getHighestPrice(), quote.getPrice());
-
-                boolean executeOrder;
-                if (order.getStrategy() == Order.OrderStrategy.TRAILING_STOP_AMOUNT_CHANGE) {
-                    executeOrder = (delta.compareTo(order.getStopPrice()) >= 0);
-                } else if (order.getStrategy() == Order.OrderStrategy.TRAILING_STOP_PERCENT_CHANGE) {
-                    double percent = delta.getDollars() * 100f / order.getHighestPrice().getDollars();
-                    executeOrder = percent >= order.getStopPercent();
-                } else {
-                    throw new IllegalArgumentException("Invalid Order Strategy: " + order.getStrategy());
-                }
-
-                if (executeOrder) {
-                    orderResult = this.orderManagerListener.executeOrder(order, quote, quote.getPrice());
-                }
-            }
-        }
-
-        if (highestPriceChanged) {
-            if (!orderManagerListener.updateOrder(order)) {
-                throw new IllegalArgumentException("Error updating order");
-            }
-        }
-
-        return orderResult;
-    }
-
-    private OrderResult executeStopLossOrder(Order order, Quote quote) throws InvocationTargetException, SQLException, InstantiationException, IllegalAccessException, NoSuchMethodException {
-        if (order.getAction() == Order.OrderAction.BUY) {
-            throw new UnsupportedOperationException("Cannot have a Stop Loss order if the action is BUY");
-        }
-
-        OrderResult orderResult = new OrderResult(false, null, null, null, 0);
-        if (this.isQuoteValid(quote)) {
-            int compareQuoteToLimit = quote.getPrice().compareTo(order.getLimitPrice());
-            if (compareQuoteToLimit <= 0) {
-                orderResult = this.orderManagerListener.executeOrder(order, quote, quote.getPrice());
-            }
-        }
-
-        return orderResult;
-    }
-
-    private OrderResult executeMarketOrder(Order order, Quote quote) throws InvocationTargetException, SQLException, InstantiationException, IllegalAccessException, NoSuchMethodException {
-        OrderResult orderResult = new OrderResult(false, null, null, null, 0);
-        if (this.isQuoteValid(quote)) {
-            orderResult = this.orderManagerListener.executeOrder(order, quote, quote.getPrice());
-        }
-
-        return orderResult;
-    }
-
 }
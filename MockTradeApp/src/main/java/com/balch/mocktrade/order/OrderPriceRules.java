@@ -0,0 +1,179 @@
+/*
+ * Author: Balch
+ * Created: 10/17/26 9:10 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+
+package com.balch.mocktrade.order;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.investment.Investment;
+
+/**
+ * Evaluates an order's strategy against a quote. Subclasses decide when a
+ * quote can be traded on, {@link OrderManager} uses the device clock and
+ * market hours and {@link SimulatedOrderRules} uses a simulated clock.
+ */
+abstract class OrderPriceRules {
+
+    interface Listener {
+        Investment getInvestmentBySymbol(String symbol, Long accountId);
+        boolean updateOrder(Order order) throws IllegalAccessException;
+    }
+
+    private final Listener listener;
+
+    OrderPriceRules(Listener listener) {
+        this.listener = listener;
+    }
+
+    abstract boolean isQuoteValid(Quote quote);
+
+    /**
+     * Evaluates the order's strategy against the quote and returns the price the
+     * order should be executed at, or null if the order should not be executed.
+     * Trailing stop orders are updated if the highest price changes.
+     */
+    Money getExecutionPrice(Order order, Quote quote) throws IllegalAccessException {
+        if (order == null) {
+            throw new IllegalArgumentException("Order not found");
+        }
+
+        if (quote == null) {
+            throw new IllegalArgumentException("Quote not found");
+        }
+
+        Money price;
+
+        switch (order.getStrategy()) {
+            case MARKET:
+                price = getMarketOrderPrice(quote);
+                break;
+
+            case MANUAL:
+                price = order.getLimitPrice();
+                break;
+
+            case LIMIT:
+                price = getLimitOrderPrice(order, quote);
+                break;
+
+            case STOP_LOSS:
+                price = getStopLossOrderPrice(order, quote);
+                break;
+
+            case TRAILING_STOP_AMOUNT_CHANGE:
+            case TRAILING_STOP_PERCENT_CHANGE:
+                price = getTrailingStopLossOrderPrice(order, quote);
+                break;
+
+            default:
+                throw new UnsupportedOperationException();
+        }
+
+        return price;
+    }
+
+    private Money getLimitOrderPrice(Order order, Quote quote) {
+        Money price = null;
+        if (this.isQuoteValid(quote)) {
+            int compareQuoteToLimit = quote.getPrice().compareTo(order.getLimitPrice());
+            if ( ((order.getAction() == Order.OrderAction.BUY)  && (compareQuoteToLimit <= 0)) ||
+                    ((order.getAction() == Order.OrderAction.SELL) && (compareQuoteToLimit >= 0))) {
+                price = quote.getPrice();
+            }
+        }
+
+        return price;
+    }
+
+    private Money getTrailingStopLossOrderPrice(Order order, Quote quote) throws IllegalAccessException {
+        if (order.getAction() == Order.OrderAction.BUY) {
+            throw new UnsupportedOperationException("Cannot have a Stop Loss order if the action is BUY");
+        }
+
+        boolean highestPriceChanged = false;
+
+        if (order.getHighestPrice().getDollars() == 0.0) {
+            Investment investment = listener.getInvestmentBySymbol(order.getSymbol(), order.getAccount().getId());
+            if (investment == null) {
+                throw new IllegalArgumentException("Can't sell and investment you don't own");
+            }
+
+            order.setHighestPrice(investment.getPrice());
+            highestPriceChanged = true;
+        }
+
+        Money price = null;
+        if (this.isQuoteValid(quote)) {
+            if (quote.getPrice().compareTo(order.getHighestPrice()) > 0) {
+                order.setHighestPrice(quote.getPrice());
+                highestPriceChanged = true;
+            } else {
+                Money delta = Money.subtract(order.getHighestPrice(), quote.getPrice());
+
+                boolean executeOrder;
+                if (order.getStrategy() == Order.OrderStrategy.TRAILING_STOP_AMOUNT_CHANGE) {
+                    executeOrder = (delta.compareTo(order.getStopPrice()) >= 0);
+                } else if (order.getStrategy() == Order.OrderStrategy.TRAILING_STOP_PERCENT_CHANGE) {
+                    double percent = delta.getDollars() * 100f / order.getHighestPrice().getDollars();
+                    executeOrder = percent >= order.getStopPercent();
+                } else {
+                    throw new IllegalArgumentException("Invalid Order Strategy: " + order.getStrategy());
+                }
+
+                if (executeOrder) {
+                    price = quote.getPrice();
+                }
+            }
+        }
+
+        if (highestPriceChanged) {
+            if (!listener.updateOrder(order)) {
+                throw new IllegalArgumentException("Error updating order");
+            }
+        }
+
+        return price;
+    }
+
+    private Money getStopLossOrderPrice(Order order, Quote quote) {
+        if (order.getAction() == Order.OrderAction.BUY) {
+            throw new UnsupportedOperationException("Cannot have a Stop Loss order if the action is BUY");
+        }
+
+        Money price = null;
+        if (this.isQuoteValid(quote)) {
+            int compareQuoteToLimit = quote.getPrice().compareTo(order.getLimitPrice());
+            if (compareQuoteToLimit <= 0) {
+                price = quote.getPrice();
+            }
+        }
+
+        return price;
+    }
+
+    private Money getMarketOrderPrice(Quote quote) {
+        return this.isQuoteValid(quote) ? quote.getPrice() : null;
+    }
+
+}
@@ -30,6 +30,7 @@ public class OrderResult {
     private final Money mCost;
     private final Money mProfit;
     private final long mConfirmationId;
+    private final OrderExecutionException mError;
 
     public OrderResult(boolean success, Money price, Money cost, Money profit, long confirmationId) {
         this.mSuccess = success;
@@ -37,6 +38,16 @@ public class OrderResult {
         this.mCost = cost;
         this.mProfit = profit;
         this.mConfirmationId = confirmationId;
+        this.mError = null;
+    }
+
+    public OrderResult(OrderExecutionException error) {
+        this.mSuccess = false;
+        this.price = null;
+        this.mCost = null;
+        this.mProfit = null;
+        this.mConfirmationId = 0;
+        this.mError = error;
     }
 
     public boolean isSuccess() {
@@ -62,6 +73,14 @@ public class OrderResult {
     public long getConfirmationId() {
         return mConfirmationId;
     }
+
+    /**
+     * Returns the error that prevented the order from executing or
+     * null if the order did not fail
+     */
+    public OrderExecutionException getError() {
+        return mError;
+    }
 }
 
 
@@ -26,8 +26,10 @@ import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.VisibleForTesting;
 import android.util.Log;
 
+import com.balch.android.app.framework.sql.RowMapper;
 import com.balch.android.app.framework.sql.SqlConnection;
 import com.balch.android.app.framework.sql.SqlMapper;
 import com.balch.android.app.framework.types.Money;
@@ -43,7 +45,10 @@ import com.balch.mocktrade.settings.Settings;
 import java.lang.reflect.InvocationTargetException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -73,8 +78,7 @@ public class OrderSqliteModel implements SqlMapper<Order>, OrderModel, OrderMana
                             SqlConnection sqlConnection, Settings settings) {
         this.sqlConnection = sqlConnection;
         this.mInvestmentModel = new InvestmentSqliteModel(sqlConnection);
-        this.mAccountModel = new AccountSqliteModel(context, financeModel,
-                sqlConnection, settings);
+        this.mAccountModel = new AccountSqliteModel(sqlConnection);
         this.mOrderManager = new OrderManager(context,
                 financeModel,
                 settings, this);
@@ -100,7 +104,7 @@ public class OrderSqliteModel implements SqlMapper<Order>, OrderModel, OrderMana
                 whereArgs.add(String.valueOf(accountId));
             }
 
-            return sqlConnection.query(this, Order.class, where.toString(),
+            return sqlConnection.query(this, where.toString(),
                     whereArgs.toArray(new String[whereArgs.size()]), null);
         } catch (Exception e) {
             Log.e(TAG, "Error in getOpenOrders", e);
@@ -144,86 +148,232 @@ public class OrderSqliteModel implements SqlMapper<Order>, OrderModel, OrderMana
         try {
             return mOrderManager.attemptExecuteOrder(order, quote);
         } catch (Exception ex) {
-            if (order != null) {
-                order.setStatus(Order.OrderStatus.ERROR);
-                sqlConnection.update(this, order);
+            throw setOrderError(order, ex);
+        }
+    }
+
+    /**
+     * Evaluates the orders against the quotes and executes all the triggered
+     * orders in a single transaction. Accounts and investments are loaded once
+     * and each order is validated against the balances left by the orders
+     * before it. An order that fails is marked as ERROR without affecting the
+     * others, see {@link #executeTriggeredOrders(List)}.
+     *
+     * @return a result for each order, in the same order as the orders list
+     */
+    public List<OrderResult> attemptExecuteOrders(List<Order> orders, Map<String, Quote> quoteMap) {
+        OrderResult[] results = new OrderResult[orders.size()];
+        List<OrderExecution> executions = new ArrayList<>();
+
+        for (int x = 0; x < orders.size(); x++) {
+            Order order = orders.get(x);
+            try {
+                Quote quote = quoteMap.get(order.getSymbol());
+                Money price = mOrderManager.getExecutionPrice(order, quote);
+                if (price != null) {
+                    executions.add(new OrderExecution(x, order, quote, price));
+                } else {
+                    results[x] = new OrderResult(false, null, null, null, 0);
+                }
+            } catch (Exception ex) {
+                results[x] = new OrderResult(setOrderError(order, ex));
+            }
+        }
+
+        if (!executions.isEmpty()) {
+            executeTriggeredOrders(executions);
+
+            for (OrderExecution execution : executions) {
+                results[execution.index] = execution.result;
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Executes the orders in a single transaction. If the transaction fails it is
+     * rolled back and the orders are retried one at a time, so only the order that
+     * fails on its own is marked as ERROR.
+     */
+    @VisibleForTesting
+    void executeTriggeredOrders(List<OrderExecution> executions) {
+        try {
+            executeOrders(executions);
+        } catch (Exception ex) {
+            if (executions.size() == 1) {
+                Log.e(TAG, "Error in executeTriggeredOrders", ex);
+                OrderExecution execution = executions.get(0);
+                execution.result = new OrderResult(setOrderError(execution.order, ex));
+                return;
             }
-            throw new OrderExecutionException(ex);
+
+            Log.e(TAG, "Error executing " + executions.size() + " orders, retrying one at a time", ex);
+            for (OrderExecution execution : executions) {
+                execution.reset();
+                try {
+                    executeOrders(Collections.singletonList(execution));
+                } catch (Exception orderEx) {
+                    Log.e(TAG, "Error in executeTriggeredOrders", orderEx);
+                    execution.result = new OrderResult(setOrderError(execution.order, orderEx));
+                }
+            }
+        }
+    }
+
+    private OrderExecutionException setOrderError(Order order, Exception ex) {
+        if (order != null) {
+            order.setStatus(Order.OrderStatus.ERROR);
+            sqlConnection.update(this, order);
         }
+        return new OrderExecutionException(ex);
     }
 
     public OrderResult executeOrder(Order order, Quote quote, Money price) throws SQLException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
+        OrderExecution execution = new OrderExecution(0, order, quote, price);
+        executeOrders(Collections.singletonList(execution));
+
+        OrderExecutionException error = execution.result.getError();
+        if (error != null) {
+            throw (IllegalAccessException) error.getCause();
+        }
+
+        return execution.result;
+    }
+
+    @VisibleForTesting
+    void executeOrders(List<OrderExecution> executions) throws SQLException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
         SQLiteDatabase db = sqlConnection.getWritableDatabase();
         db.beginTransaction();
         try {
-            Money cost = order.getCost(price);
-            Money profit = new Money(0);
-
-            Account account = sqlConnection.queryById(mAccountModel, Account.class, order.getAccount().getId());
+            Map<Long, Account> accounts = new HashMap<>();
+            Map<String, Investment> investments = new HashMap<>();
+            List<Investment> soldInvestments = new ArrayList<>();
+
+            for (OrderExecution execution : executions) {
+                try {
+                    applyOrder(execution, accounts, investments, soldInvestments);
+                } catch (IllegalAccessException ex) {
+                    execution.order.setStatus(Order.OrderStatus.ERROR);
+                    execution.result = new OrderResult(new OrderExecutionException(ex));
+                }
+            }
 
-            Money transactionCost;
-            Transaction.TransactionType transactionType;
-            if (order.getAction() == Order.OrderAction.BUY) {
-                if (account.getAvailableFunds().getDollars() < cost.getDollars()) {
-                    throw new IllegalAccessException("Insufficient funds");
+            for (OrderExecution execution : executions) {
+                if (execution.transaction != null) {
+                    long transactionId = sqlConnection.insert(execution.transaction, execution.transaction, db);
+                    execution.result = new OrderResult(true, execution.price, execution.cost,
+                            execution.profit, transactionId);
                 }
-                transactionType = Transaction.TransactionType.WITHDRAWAL;
-            } else {
-                transactionType = Transaction.TransactionType.DEPOSIT;
             }
-            transactionCost = Money.multiply(cost, -1);
-            Transaction transaction = new Transaction(account, transactionCost, transactionType, "Order Id=" + order.getId());
-            long transactionId = sqlConnection.insert(transaction, transaction, db);
 
-            account.getAvailableFunds().add(transactionCost);
-            if (!sqlConnection.update(mAccountModel, account, db)) {
-                throw new IllegalAccessException("Error updating account");
+            for (Account account : accounts.values()) {
+                if (!sqlConnection.update(mAccountModel, account, db)) {
+                    throw new IllegalAccessException("Error updating account");
+                }
             }
 
-            Investment investment = mInvestmentModel.getInvestmentBySymbol(order.getSymbol(), order.getAccount().getId());
-            if (investment == null) {
-                if (order.getAction() == Order.OrderAction.SELL) {
-                    throw new IllegalAccessException("Can't sell and investment you don't own");
+            // delete the investments if we sold everything
+            for (Investment investment : soldInvestments) {
+                if (!sqlConnection.delete(mInvestmentModel, investment, db)) {
+                    throw new IllegalAccessException("Error updating investment");
                 }
-                investment = new Investment(account, quote.getSymbol(),
-                        Investment.InvestmentStatus.OPEN, quote.getName(), quote.getExchange(),
-                        cost, price, new Date(0), order.getQuantity());
-                sqlConnection.insert(mInvestmentModel, investment, db);
-            } else {
-                if (order.getAction() == Order.OrderAction.SELL) {
-                    if (order.getQuantity() > investment.getQuantity()) {
-                        throw new IllegalAccessException("Selling too many shares");
-                    }
-
-                    profit = Money.subtract(transactionCost, investment.getCostBasis());
+            }
+
+            for (Investment investment : investments.values()) {
+                if (investment == null) {
+                    continue;
                 }
 
-                investment.aggregateOrder(order, price);
-                if (investment.getQuantity() > 0) {
-                    if (!sqlConnection.update(mInvestmentModel, investment, db)) {
-                        throw new IllegalAccessException("Error updating investment");
-                    }
-                } else {
-                    // delete the investment if we sold everything
-                    if (!sqlConnection.delete(mInvestmentModel, investment, db)) {
-                        throw new IllegalAccessException("Error updating investment");
-                    }
+                if (investment.getId() == null) {
+                    sqlConnection.insert(mInvestmentModel, investment, db);
+                } else if (!sqlConnection.update(mInvestmentModel, investment, db)) {
+                    throw new IllegalAccessException("Error updating investment");
                 }
             }
 
-            order.setStatus(Order.OrderStatus.FULFILLED);
-            if (!sqlConnection.update(this, order, db)) {
-                throw new IllegalAccessException("Error updating order");
+            for (OrderExecution execution : executions) {
+                if (!sqlConnection.update(this, execution.order, db)) {
+                    throw new IllegalAccessException("Error updating order");
+                }
             }
 
             db.setTransactionSuccessful();
-
-            return new OrderResult(true, price, cost, profit, transactionId);
         } finally {
             db.endTransaction();
         }
     }
 
+    /**
+     * Validates the order against the in-memory account and investment and then
+     * applies the cash and position changes. Nothing is changed if the order is
+     * not valid.
+     */
+    private void applyOrder(OrderExecution execution, Map<Long, Account> accounts,
+                            Map<String, Investment> investments,
+                            List<Investment> soldInvestments) throws SQLException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
+        Order order = execution.order;
+        Money cost = order.getCost(execution.price);
+        Money profit = new Money(0);
+
+        Long accountId = order.getAccount().getId();
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            account = sqlConnection.queryById(mAccountModel, accountId);
+            accounts.put(accountId, account);
+        }
+
+        String investmentKey = accountId + ":" + order.getSymbol();
+        if (!investments.containsKey(investmentKey)) {
+            investments.put(investmentKey, mInvestmentModel.getInvestmentBySymbol(order.getSymbol(), accountId));
+        }
+        Investment investment = investments.get(investmentKey);
+
+        Transaction.TransactionType transactionType;
+        if (order.getAction() == Order.OrderAction.BUY) {
+            if (account.getAvailableFunds().getDollars() < cost.getDollars()) {
+                throw new IllegalAccessException("Insufficient funds");
+            }
+            transactionType = Transaction.TransactionType.WITHDRAWAL;
+        } else {
+            if (investment == null) {
+                throw new IllegalAccessException("Can't sell and investment you don't own");
+            }
+            if (order.getQuantity() > investment.getQuantity()) {
+                throw new IllegalAccessException("Selling too many shares");
+            }
+            transactionType = Transaction.TransactionType.DEPOSIT;
+        }
+
+        Money transactionCost = Money.multiply(cost, -1);
+        account.getAvailableFunds().add(transactionCost);
+
+        if (investment == null) {
+            investment = new Investment(account, execution.quote.getSymbol(),
+                    Investment.InvestmentStatus.OPEN, execution.quote.getName(), execution.quote.getExchange(),
+                    cost.clone(), execution.price, new Date(0), order.getQuantity());
+            investments.put(investmentKey, investment);
+        } else {
+            if (order.getAction() == Order.OrderAction.SELL) {
+                profit = Money.subtract(transactionCost, investment.getCostBasis());
+            }
+
+            investment.aggregateOrder(order, execution.price);
+            if (investment.getQuantity() <= 0) {
+                if (investment.getId() != null) {
+                    soldInvestments.add(investment);
+                }
+                investments.put(investmentKey, null);
+            }
+        }
+
+        order.setStatus(Order.OrderStatus.FULFILLED);
+
+        execution.transaction = new Transaction(account, transactionCost, transactionType, "Order Id=" + order.getId());
+        execution.cost = cost;
+        execution.profit = profit;
+    }
+
     @Override
     public Investment getInvestmentBySymbol(String symbol, Long accountId) {
         return mInvestmentModel.getInvestmentBySymbol(symbol, accountId);
@@ -258,21 +408,78 @@ public class OrderSqliteModel implements SqlMapper<Order>, OrderModel, OrderMana
     }
 
     @Override
-    public void populate(Order order, Cursor cursor, Map<String, Integer> columnMap) {
-        order.setId(cursor.getLong(columnMap.get(COLUMN_ID)));
-        Account account = new Account();
-        account.setId(cursor.getLong(columnMap.get(COLUMN_ACCOUNT_ID)));
-        order.setAccount(account);
-        order.setSymbol(cursor.getString(columnMap.get(COLUMN_SYMBOL)));
-        order.setStatus(Order.OrderStatus.valueOf(cursor.getString(columnMap.get(COLUMN_STATUS))));
-        order.setAction(Order.OrderAction.valueOf(cursor.getString(columnMap.get(COLUMN_ACTION))));
-        order.setStrategy(Order.OrderStrategy.valueOf(cursor.getString(columnMap.get(COLUMN_STRATEGY))));
-        order.setDuration(Order.OrderDuration.valueOf(cursor.getString(columnMap.get(COLUMN_DURATION))));
-        order.setLimitPrice(new Money(cursor.getLong(columnMap.get(COLUMN_LIMIT_PRICE))));
-        order.setStopPrice(new Money(cursor.getLong(columnMap.get(COLUMN_STOP_PRICE))));
-        order.setStopPercent(cursor.getDouble(columnMap.get(COLUMN_STOP_PERCENT)));
-        order.setQuantity(cursor.getLong(columnMap.get(COLUMN_QUANTITY)));
-        order.setHighestPrice(new Money(cursor.getLong(columnMap.get(COLUMN_HIGHEST_PRICE))));
+    public RowMapper<Order> getRowMapper(Cursor cursor) {
+        final int idColumn = cursor.getColumnIndexOrThrow(COLUMN_ID);
+        final int accountIdColumn = cursor.getColumnIndexOrThrow(COLUMN_ACCOUNT_ID);
+        final int symbolColumn = cursor.getColumnIndexOrThrow(COLUMN_SYMBOL);
+        final int statusColumn = cursor.getColumnIndexOrThrow(COLUMN_STATUS);
+        final int actionColumn = cursor.getColumnIndexOrThrow(COLUMN_ACTION);
+        final int strategyColumn = cursor.getColumnIndexOrThrow(COLUMN_STRATEGY);
+        final int durationColumn = cursor.getColumnIndexOrThrow(COLUMN_DURATION);
+        final int limitPriceColumn = cursor.getColumnIndexOrThrow(COLUMN_LIMIT_PRICE);
+        final int stopPriceColumn = cursor.getColumnIndexOrThrow(COLUMN_STOP_PRICE);
+        final int stopPercentColumn = cursor.getColumnIndexOrThrow(COLUMN_STOP_PERCENT);
+        final int quantityColumn = cursor.getColumnIndexOrThrow(COLUMN_QUANTITY);
+        final int highestPriceColumn = cursor.getColumnIndexOrThrow(COLUMN_HIGHEST_PRICE);
+
+        return c -> {
+            Order order = new Order();
+            order.setId(c.getLong(idColumn));
+            Account account = new Account();
+            account.setId(c.getLong(accountIdColumn));
+            order.setAccount(account);
+            order.setSymbol(c.getString(symbolColumn));
+            order.setStatus(Order.OrderStatus.valueOf(c.getString(statusColumn)));
+            order.setAction(Order.OrderAction.valueOf(c.getString(actionColumn)));
+            order.setStrategy(Order.OrderStrategy.valueOf(c.getString(strategyColumn)));
+            order.setDuration(Order.OrderDuration.valueOf(c.getString(durationColumn)));
+            order.setLimitPrice(new Money(c.getLong(limitPriceColumn)));
+            order.setStopPrice(new Money(c.getLong(stopPriceColumn)));
+            order.setStopPercent(c.getDouble(stopPercentColumn));
+            order.setQuantity(c.getLong(quantityColumn));
+            order.setHighestPrice(new Money(c.getLong(highestPriceColumn)));
+            return order;
+        };
     }
 
+    @VisibleForTesting
+    static class OrderExecution {
+        private final int index;
+        private final Order order;
+        private final Quote quote;
+        private final Money price;
+        private final Order.OrderStatus status;
+
+        private Transaction transaction;
+        private Money cost;
+        private Money profit;
+        private OrderResult result;
+
+        OrderExecution(int index, Order order, Quote quote, Money price) {
+            this.index = index;
+            this.order = order;
+            this.quote = quote;
+            this.price = price;
+            this.status = order.getStatus();
+        }
+
+        Order getOrder() {
+            return order;
+        }
+
+        OrderResult getResult() {
+            return result;
+        }
+
+        /**
+         * Undoes the changes made by a rolled back execution
+         */
+        private void reset() {
+            order.setStatus(status);
+            transaction = null;
+            cost = null;
+            profit = null;
+            result = null;
+        }
+    }
 }
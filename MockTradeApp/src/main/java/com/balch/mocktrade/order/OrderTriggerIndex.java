@@ -0,0 +1,291 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 11:30 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.order;
+
+import com.balch.mocktrade.finance.Quote;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory index of open orders keyed by symbol and trigger price.
+ *
+ * For a given quote, {@link #getTriggeredOrders(Quote)} only returns the orders
+ * whose trigger condition may have been crossed, so orders that cannot execute
+ * are never passed to the OrderManager. Returned orders must still be run
+ * through {@link OrderSqliteModel#attemptExecuteOrders(List, Map)}, which does
+ * the full check. The index is allowed to return extra orders but never misses one.
+ *
+ * Trailing stop orders change their highest price as the quote moves, so they
+ * must be re-indexed with {@link #update(Order)} after being evaluated.
+ *
+ * This class is not thread safe.
+ */
+public class OrderTriggerIndex {
+
+    private final Map<String, SymbolTriggers> symbolTriggers = new HashMap<>();
+    private int size = 0;
+
+    public OrderTriggerIndex() {
+    }
+
+    public OrderTriggerIndex(Collection<Order> orders) {
+        for (Order order : orders) {
+            add(order);
+        }
+    }
+
+    public void add(Order order) {
+        SymbolTriggers triggers = symbolTriggers.get(order.getSymbol());
+        if (triggers == null) {
+            triggers = new SymbolTriggers();
+            symbolTriggers.put(order.getSymbol(), triggers);
+        }
+
+        if (triggers.add(order)) {
+            size++;
+        }
+    }
+
+    public boolean remove(Order order) {
+        boolean removed = false;
+        SymbolTriggers triggers = symbolTriggers.get(order.getSymbol());
+        if ((triggers != null) && triggers.remove(order)) {
+            removed = true;
+            size--;
+            if (triggers.orders.isEmpty()) {
+                symbolTriggers.remove(order.getSymbol());
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Re-indexes an order after its trigger values (i.e. the highest price
+     * of a trailing stop) have changed
+     */
+    public void update(Order order) {
+        if (remove(order)) {
+            add(order);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Set<String> getSymbols() {
+        return Collections.unmodifiableSet(symbolTriggers.keySet());
+    }
+
+    public List<Order> getOrders(String symbol) {
+        SymbolTriggers triggers = symbolTriggers.get(symbol);
+        return (triggers != null) ?
+                new ArrayList<>(triggers.orders.keySet()) :
+                Collections.<Order>emptyList();
+    }
+
+    /**
+     * Returns the orders for the quote's symbol that may execute at the quote's price
+     */
+    public List<Order> getTriggeredOrders(Quote quote) {
+        SymbolTriggers triggers = symbolTriggers.get(quote.getSymbol());
+        return (triggers != null) ?
+                triggers.getTriggeredOrders(quote.getPrice().getMicroCents()) :
+                Collections.<Order>emptyList();
+    }
+
+    private static class SymbolTriggers {
+        // values hold the keys used to index the order so it can be removed,
+        // null for unconditional orders
+        private final Map<Order, IndexEntry> orders = new IdentityHashMap<>();
+
+        private final List<Order> unconditionalOrders = new ArrayList<>();
+
+        // triggered when price <= key
+        private final ThresholdMap buyLimits = new ThresholdMap();
+        private final ThresholdMap stopLosses = new ThresholdMap();
+        private final ThresholdMap trailingStops = new ThresholdMap();
+
+        // triggered when price >= key
+        private final ThresholdMap sellLimits = new ThresholdMap();
+
+        // trailing stops need to be updated when price > highest price
+        private final ThresholdMap trailingHighs = new ThresholdMap();
+
+        private boolean add(Order order) {
+            if (orders.containsKey(order)) {
+                return false;
+            }
+
+            IndexEntry entry = null;
+            switch (order.getStrategy()) {
+                case LIMIT:
+                    if (order.getLimitPrice() != null) {
+                        entry = new IndexEntry((order.getAction() == Order.OrderAction.BUY) ? buyLimits : sellLimits,
+                                order.getLimitPrice().getMicroCents());
+                    }
+                    break;
+
+                case STOP_LOSS:
+                    if ((order.getLimitPrice() != null) && (order.getAction() == Order.OrderAction.SELL)) {
+                        entry = new IndexEntry(stopLosses, order.getLimitPrice().getMicroCents());
+                    }
+                    break;
+
+                case TRAILING_STOP_AMOUNT_CHANGE:
+                case TRAILING_STOP_PERCENT_CHANGE:
+                    long highestPrice = (order.getHighestPrice() != null) ?
+                            order.getHighestPrice().getMicroCents() : 0;
+
+                    // a zero highest price is initialized from the investment when the
+                    // order is first evaluated so it has to go through the OrderManager
+                    if ((highestPrice != 0) && (order.getAction() == Order.OrderAction.SELL)) {
+                        Long stopPrice = getTrailingStopPrice(order, highestPrice);
+                        if (stopPrice != null) {
+                            entry = new IndexEntry(trailingStops, stopPrice);
+                            trailingHighs.add(highestPrice, order);
+                            entry.highestPrice = highestPrice;
+                        }
+                    }
+                    break;
+            }
+
+            // MARKET, MANUAL and anything that can't be indexed is always evaluated
+            // and the OrderManager decides what to do with it
+            if (entry == null) {
+                unconditionalOrders.add(order);
+            } else {
+                entry.thresholds.add(entry.key, order);
+            }
+
+            orders.put(order, entry);
+            return true;
+        }
+
+        private boolean remove(Order order) {
+            if (!orders.containsKey(order)) {
+                return false;
+            }
+
+            IndexEntry entry = orders.remove(order);
+            if (entry == null) {
+                unconditionalOrders.remove(order);
+            } else {
+                entry.thresholds.remove(entry.key, order);
+                if (entry.highestPrice != null) {
+                    trailingHighs.remove(entry.highestPrice, order);
+                }
+            }
+            return true;
+        }
+
+        private List<Order> getTriggeredOrders(long price) {
+            Set<Order> triggered = Collections.newSetFromMap(new IdentityHashMap<Order, Boolean>());
+            triggered.addAll(unconditionalOrders);
+            buyLimits.collectAtOrAbove(price, triggered);
+            stopLosses.collectAtOrAbove(price, triggered);
+            trailingStops.collectAtOrAbove(price, triggered);
+            sellLimits.collectAtOrBelow(price, true, triggered);
+            trailingHighs.collectAtOrBelow(price, false, triggered);
+            return new ArrayList<>(triggered);
+        }
+
+        /**
+         * Returns the price at or below which the OrderManager will execute the
+         * trailing stop. Percent stops are rounded up a micro-cent so floating
+         * point error can never cause a missed trigger.
+         */
+        private static Long getTrailingStopPrice(Order order, long highestPrice) {
+            Long stopPrice = null;
+            if (order.getStrategy() == Order.OrderStrategy.TRAILING_STOP_AMOUNT_CHANGE) {
+                if (order.getStopPrice() != null) {
+                    stopPrice = highestPrice - order.getStopPrice().getMicroCents();
+                }
+            } else if (order.getStopPercent() != null) {
+                stopPrice = (long) Math.ceil(highestPrice * (1.0 - order.getStopPercent() / 100.0)) + 1;
+            }
+            return stopPrice;
+        }
+    }
+
+    private static class IndexEntry {
+        private final ThresholdMap thresholds;
+        private final long key;
+        private Long highestPrice;
+
+        private IndexEntry(ThresholdMap thresholds, long key) {
+            this.thresholds = thresholds;
+            this.key = key;
+        }
+    }
+
+    private static class ThresholdMap {
+        private final TreeMap<Long, List<Order>> thresholds = new TreeMap<>();
+
+        private void add(long key, Order order) {
+            List<Order> orders = thresholds.get(key);
+            if (orders == null) {
+                orders = new ArrayList<>(1);
+                thresholds.put(key, orders);
+            }
+            orders.add(order);
+        }
+
+        private void remove(long key, Order order) {
+            List<Order> orders = thresholds.get(key);
+            if (orders != null) {
+                for (int x = 0; x < orders.size(); x++) {
+                    if (orders.get(x) == order) {
+                        orders.remove(x);
+                        break;
+                    }
+                }
+
+                if (orders.isEmpty()) {
+                    thresholds.remove(key);
+                }
+            }
+        }
+
+        private void collectAtOrAbove(long price, Collection<Order> results) {
+            for (List<Order> orders : thresholds.tailMap(price, true).values()) {
+                results.addAll(orders);
+            }
+        }
+
+        private void collectAtOrBelow(long price, boolean inclusive, Collection<Order> results) {
+            for (List<Order> orders : thresholds.headMap(price, inclusive).values()) {
+                results.addAll(orders);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 4:30 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.order;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.investment.Investment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates orders with the {@link OrderManager} price rules against a simulated clock
+ * instead of the device clock and market hours. Like the simulated quote feeds,
+ * days are UTC days. Orders are not persisted, trailing
+ * stop orders are updated in place.
+ *
+ * Used to simulate fills off device, e.g. by the backtester.
+ */
+public class SimulatedOrderRules {
+
+    private static final long MS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    public interface InvestmentProvider {
+        Investment getInvestmentBySymbol(String symbol, Long accountId);
+    }
+
+    private final OrderPriceRules priceRules;
+    private long currentDay;
+
+    public SimulatedOrderRules(final InvestmentProvider investmentProvider) {
+        this.priceRules = new OrderPriceRules(new OrderPriceRules.Listener() {
+            @Override
+            public Investment getInvestmentBySymbol(String symbol, Long accountId) {
+                return investmentProvider.getInvestmentBySymbol(symbol, accountId);
+            }
+
+            @Override
+            public boolean updateOrder(Order order) {
+                return true;
+            }
+        }) {
+            @Override
+            boolean isQuoteValid(Quote quote) {
+                // the simulated market is always open, quotes are only valid on the day they trade
+                return getDay(quote.getLastTradeTime().getTime()) == currentDay;
+            }
+        };
+    }
+
+    public void setCurrentTime(long currentTime) {
+        this.currentDay = getDay(currentTime);
+    }
+
+    /**
+     * Returns the price the order should be filled at, or null if the order
+     * should not be filled.
+     */
+    public Money getExecutionPrice(Order order, Quote quote) throws IllegalAccessException {
+        return priceRules.getExecutionPrice(order, quote);
+    }
+
+    private static long getDay(long time) {
+        return time / MS_PER_DAY;
+    }
+}
@@ -81,12 +81,11 @@ public class InvestmentViewHolder extends RecyclerView.ViewHolder {
 
         mValue.setText(investment.getValue().getFormatted());
 
-        Money delta = Money.subtract(investment.getPrice(), investment.getPrevDayClose());
+        Money delta = new Money(investment.getPrice().getMicroCents() - investment.getPrevDayClose().getMicroCents());
 
         mPerformance.setText(TextFormatUtils.getShortChangePercentText(delta.getDollars(), investment.getTodayChangePercent()));
 
-        Money deltaValue = Money.subtract(investment.getValue(), investment.getPrevDayValue());
-        mValueChange.setText(TextFormatUtils.getShortChangeText(deltaValue.getDollars()));
+        mValueChange.setText(TextFormatUtils.getShortChangeText(investment.getTodayChange().getDollars()));
     }
 
     public Investment getInvestment() {
@@ -0,0 +1,91 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 1:05 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.portfolio;
+
+import com.balch.mocktrade.shared.PerformanceItem;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of the last snapshot inserted for each account. The app's
+ * register is owned by the ModelApiFactory so all the short lived models share it.
+ * Callers must synchronize on the register to make the change check and the
+ * insert atomic.
+ */
+public class LastSnapshotRegister {
+
+    // null until loaded from the database
+    private Map<Long, PerformanceItem> lastSnapshots;
+
+    public LastSnapshotRegister() {
+    }
+
+    boolean isLoaded() {
+        return (lastSnapshots != null);
+    }
+
+    void load(List<PerformanceItem> performanceItems) {
+        lastSnapshots = new HashMap<>(performanceItems.size());
+        put(performanceItems);
+    }
+
+    /**
+     * Forces the register to be loaded from the database the next time it is used
+     */
+    void reset() {
+        lastSnapshots = null;
+    }
+
+    PerformanceItem get(long accountId) {
+        return lastSnapshots.get(accountId);
+    }
+
+    void put(List<PerformanceItem> performanceItems) {
+        for (PerformanceItem performanceItem : performanceItems) {
+            PerformanceItem last = lastSnapshots.get(performanceItem.getAccountId());
+            if ((last == null) || !last.getTimestamp().after(performanceItem.getTimestamp())) {
+                lastSnapshots.put(performanceItem.getAccountId(), performanceItem);
+            }
+        }
+    }
+
+    /**
+     * Returns true if any of the accounts has totals that are different
+     * from its last snapshot
+     */
+    boolean isChanged(List<PerformanceItem> performanceItems) {
+        for (PerformanceItem performanceItem : performanceItems) {
+            PerformanceItem last = lastSnapshots.get(performanceItem.getAccountId());
+            if ((last == null) ||
+                    !last.getValue().equals(performanceItem.getValue()) ||
+                    !last.getCostBasis().equals(performanceItem.getCostBasis()) ||
+                    !last.getTodayChange().equals(performanceItem.getTodayChange())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 3:25 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.portfolio;
+
+import com.balch.mocktrade.portfolio.PortfolioValuation.ChangeType;
+import com.balch.mocktrade.portfolio.PortfolioValuation.Position;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Positions ordered by their today and total change percents so the best and
+ * worst K performers can be read without scanning every position. Ties are
+ * broken by investment id so every position has a unique place in the order.
+ *
+ * Positions are immutable, a price change is applied by removing the old position
+ * and adding the new one. Not thread safe, the {@link ValuationEngine} guards it.
+ */
+class PerformerIndex {
+
+    private static final Comparator<Position> TODAY_CHANGE_COMPARATOR = (p1, p2) -> {
+        int compare = Float.compare(p1.getTodayChangePercent(), p2.getTodayChangePercent());
+        return (compare != 0) ? compare : Long.compare(p1.getInvestmentId(), p2.getInvestmentId());
+    };
+
+    private static final Comparator<Position> TOTAL_CHANGE_COMPARATOR = (p1, p2) -> {
+        int compare = Float.compare(p1.getTotalChangePercent(), p2.getTotalChangePercent());
+        return (compare != 0) ? compare : Long.compare(p1.getInvestmentId(), p2.getInvestmentId());
+    };
+
+    private final TreeSet<Position> byTodayChange = new TreeSet<>(TODAY_CHANGE_COMPARATOR);
+    private final TreeSet<Position> byTotalChange = new TreeSet<>(TOTAL_CHANGE_COMPARATOR);
+
+    void add(Position position) {
+        byTodayChange.add(position);
+        byTotalChange.add(position);
+    }
+
+    void remove(Position position) {
+        byTodayChange.remove(position);
+        byTotalChange.remove(position);
+    }
+
+    void clear() {
+        byTodayChange.clear();
+        byTotalChange.clear();
+    }
+
+    int size() {
+        return byTodayChange.size();
+    }
+
+    /**
+     * @return up to count positions ordered from the highest change percent
+     */
+    List<Position> getBest(ChangeType changeType, int count) {
+        TreeSet<Position> order = getOrder(changeType);
+        return take(order.descendingIterator(), Math.min(count, order.size()));
+    }
+
+    /**
+     * @return up to count positions ordered from the lowest change percent
+     */
+    List<Position> getWorst(ChangeType changeType, int count) {
+        TreeSet<Position> order = getOrder(changeType);
+        return take(order.iterator(), Math.min(count, order.size()));
+    }
+
+    private TreeSet<Position> getOrder(ChangeType changeType) {
+        return (changeType == ChangeType.TODAY) ? byTodayChange : byTotalChange;
+    }
+
+    private static List<Position> take(Iterator<Position> iterator, int count) {
+        List<Position> positions = new ArrayList<>(Math.max(0, count));
+        while (positions.size() < count) {
+            positions.add(iterator.next());
+        }
+        return positions;
+    }
+}
@@ -135,8 +135,7 @@ public class PortfolioAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
 
             final Account account = (Account) mDataList.get(position);
 
-            List<Investment> investments = mPortfolioData.getInvestments(account.getId());
-            PerformanceItem performanceItem = account.getPerformanceItem(investments, new Date());
+            PerformanceItem performanceItem = mPortfolioData.getPerformanceItem(account, new Date());
 
             accountViewHolder.bind(account, performanceItem, mPortfolioData.getOpenOrderCount(account.getId()));
 
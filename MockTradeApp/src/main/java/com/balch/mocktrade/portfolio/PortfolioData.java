@@ -26,6 +26,7 @@ import android.util.LongSparseArray;
 
 import com.balch.mocktrade.account.Account;
 import com.balch.mocktrade.investment.Investment;
+import com.balch.mocktrade.shared.PerformanceItem;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -37,6 +38,7 @@ public class PortfolioData {
     private LongSparseArray<Integer> mAccountToOpenOrderCountMap;
     private Date mLastSyncTime;
     private Date mLastQuoteTime;
+    private PortfolioValuation mValuation;
 
     public PortfolioData() {
         mAccounts = new ArrayList<>();
@@ -104,4 +106,24 @@ public class PortfolioData {
         mLastQuoteTime = lastQuoteTime;
     }
 
+    public PortfolioValuation getValuation() {
+        return mValuation;
+    }
+
+    public void setValuation(PortfolioValuation valuation) {
+        mValuation = valuation;
+    }
+
+    /**
+     * Returns the account's performance from the valuation snapshot, falling back
+     * to summing the account's investments if the account is not in the snapshot.
+     */
+    public PerformanceItem getPerformanceItem(Account account, Date timestamp) {
+        PortfolioValuation.AccountValuation accountValuation =
+                (mValuation != null) ? mValuation.getAccount(account.getId()) : null;
+        return (accountValuation != null) ?
+                accountValuation.getPerformanceItem(timestamp) :
+                account.getPerformanceItem(getInvestments(account.getId()), timestamp);
+    }
+
 }
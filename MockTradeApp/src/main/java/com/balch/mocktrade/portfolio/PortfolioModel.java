@@ -35,6 +35,7 @@ import com.balch.mocktrade.shared.PerformanceItem;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 public interface PortfolioModel {
 
@@ -56,8 +57,30 @@ public interface PortfolioModel {
 
     OrderResult attemptExecuteOrder(final Order order, Quote quote) throws IllegalAccessException, OrderExecutionException;
 
+    List<OrderResult> attemptExecuteOrders(List<Order> orders, Map<String, Quote> quoteMap);
+
     boolean updateInvestment(Investment investment);
 
+    int applyQuotes(Map<String, Quote> quoteMap);
+
+    PortfolioValuation getValuation();
+
+    /**
+     * Returns up to count positions ranked from the best change percent across all
+     * accounts, or only the accounts that are not excluded from totals
+     */
+    List<PortfolioValuation.Position> getBestPerformers(PortfolioValuation.ChangeType changeType,
+                                                        int count, boolean includeExcludedAccounts);
+
+    List<PortfolioValuation.Position> getWorstPerformers(PortfolioValuation.ChangeType changeType,
+                                                         int count, boolean includeExcludedAccounts);
+
+    List<PortfolioValuation.Position> getBestPerformers(long accountId,
+                                                        PortfolioValuation.ChangeType changeType, int count);
+
+    List<PortfolioValuation.Position> getWorstPerformers(long accountId,
+                                                         PortfolioValuation.ChangeType changeType, int count);
+
     void processOrders(Context context, boolean forceExecution);
 
     void scheduleOrderServiceAlarm();
@@ -68,6 +91,8 @@ public interface PortfolioModel {
 
     int purgeSnapshots(int days);
 
+    int archiveSnapshots(int days);
+
     Date getLastQuoteTime();
 
     List<PerformanceItem> getCurrentSnapshot();
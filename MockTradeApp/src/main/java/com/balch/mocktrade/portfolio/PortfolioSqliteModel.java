@@ -23,12 +23,12 @@
 package com.balch.mocktrade.portfolio;
 
 import android.content.Context;
-import android.database.sqlite.SQLiteDatabase;
 import android.util.LongSparseArray;
 
 import com.balch.android.app.framework.sql.SqlConnection;
 import com.balch.mocktrade.account.Account;
 import com.balch.mocktrade.account.AccountSqliteModel;
+import com.balch.mocktrade.account.strategies.StrategyRegistry;
 import com.balch.mocktrade.finance.FinanceModel;
 import com.balch.mocktrade.finance.Quote;
 import com.balch.mocktrade.investment.Investment;
@@ -44,7 +44,10 @@ import com.balch.mocktrade.shared.PerformanceItem;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class PortfolioSqliteModel implements PortfolioModel {
 
@@ -54,16 +57,23 @@ public class PortfolioSqliteModel implements PortfolioModel {
     private final FinanceModel financeModel;
     private final SnapshotTotalsSqliteModel snapshotTotalsModel;
     private final SqlConnection sqlConnection;
+    private final ValuationEngine valuationEngine;
+    private final StrategyRegistry strategyRegistry;
 
     public PortfolioSqliteModel(Context context, SqlConnection sqlConnection,
                                 FinanceModel financeModel,
-                                Settings settings) {
+                                Settings settings,
+                                ValuationEngine valuationEngine,
+                                LastSnapshotRegister lastSnapshotRegister,
+                                StrategyRegistry strategyRegistry) {
         this.sqlConnection = sqlConnection;
-        this.accountModel = new AccountSqliteModel(context, financeModel, sqlConnection, settings);
+        this.accountModel = new AccountSqliteModel(sqlConnection);
         this.investmentModel = new InvestmentSqliteModel(sqlConnection);
         this.orderModel = new OrderSqliteModel(context, financeModel, sqlConnection, settings);
-        this.snapshotTotalsModel = new SnapshotTotalsSqliteModel(sqlConnection, settings);
+        this.snapshotTotalsModel = new SnapshotTotalsSqliteModel(sqlConnection, settings, lastSnapshotRegister);
+        this.valuationEngine = valuationEngine;
         this.financeModel = financeModel;
+        this.strategyRegistry = strategyRegistry;
     }
 
     @Override
@@ -79,11 +89,20 @@ public class PortfolioSqliteModel implements PortfolioModel {
     @Override
     public void createAccount(Account account) {
         accountModel.createAccount(account);
+
+        // see if we should run a strategy
+        if (account.getStrategy().getStrategyClazz() != null) {
+            strategyRegistry.initialize(account);
+        }
+
+        updateValuation(account.getId());
     }
 
     @Override
     public void deleteAccount(Account account) {
         accountModel.deleteAccount(account);
+        strategyRegistry.remove(account.getId());
+        valuationEngine.removeAccount(account.getId());
     }
 
     @Override
@@ -107,7 +126,18 @@ public class PortfolioSqliteModel implements PortfolioModel {
 
     @Override
     public boolean updateInvestment(Investment investment) {
-        return investmentModel.updateInvestment(investment);
+        boolean success = investmentModel.updateInvestment(investment);
+        if (success) {
+            valuationEngine.putInvestment(investment);
+        }
+        return success;
+    }
+
+    @Override
+    public int applyQuotes(Map<String, Quote> quoteMap) {
+        int count = investmentModel.applyQuotes(quoteMap);
+        valuationEngine.applyQuotes(quoteMap);
+        return count;
     }
 
     @Override
@@ -137,53 +167,36 @@ public class PortfolioSqliteModel implements PortfolioModel {
         return snapshotTotalsModel.purgeSnapshotTable(days);
     }
 
+    @Override
+    public int archiveSnapshots(int days) {
+        return snapshotTotalsModel.archiveSnapshotTable(days);
+    }
+
     @Override
     public void createSnapshotTotals(List<Account> accounts,
                          LongSparseArray<List<Investment>> accountToInvestmentMap) {
 
         Date now = new Date();
 
-        // the accounts need to be added as an atomic bundle for the sums to add up
-        // this loop will set the isChanged to true if any account has totals that
-        // are different from last snapshot
+        // the accounts need to be added as an atomic bundle for the sums to add up.
+        // if any account has totals that are different from its last snapshot
+        // all accounts are inserted with this timestamp
+        PortfolioValuation valuation = getValuation();
         List<PerformanceItem> performanceItems = new ArrayList<>(accounts.size());
-        boolean isChanged = false;
         for (Account account : accounts) {
-
             List<Investment> investments = accountToInvestmentMap.get(account.getId());
             if ((investments != null) && (investments.size() > 0)) {
-                PerformanceItem performanceItem = account.getPerformanceItem(investments, now);
-                performanceItems.add(performanceItem);
-
-                if (!isChanged) {
-                    PerformanceItem lastPerformanceItem = snapshotTotalsModel.getLastSnapshot(account.getId());
-                    if ((lastPerformanceItem == null) ||
-                            !lastPerformanceItem.getValue().equals(performanceItem.getValue()) ||
-                            !lastPerformanceItem.getCostBasis().equals(performanceItem.getCostBasis()) ||
-                            !lastPerformanceItem.getTodayChange().equals(performanceItem.getTodayChange())) {
-                        isChanged = true;
-                    }
-                }
+                PortfolioValuation.AccountValuation accountValuation = valuation.getAccount(account.getId());
+                performanceItems.add((accountValuation != null) ?
+                        accountValuation.getPerformanceItem(now) :
+                        account.getPerformanceItem(investments, now));
             }
         }
 
-        // if there is any change all accounts have to be inserted with this timestamp
-        if (isChanged) {
-            SQLiteDatabase db = sqlConnection.getWritableDatabase();
-            db.beginTransaction();
-            try {
-
-                SnapshotMapper snapshotMapper = new SnapshotMapper(true);
-                for (PerformanceItem performanceItem : performanceItems) {
-                    sqlConnection.insert(snapshotMapper, performanceItem, db);
-                }
-                db.setTransactionSuccessful();
-
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
-            } finally {
-                db.endTransaction();
-            }
+        try {
+            snapshotTotalsModel.insertSnapshotsIfChanged(performanceItems);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
         }
     }
 
@@ -214,8 +227,83 @@ public class PortfolioSqliteModel implements PortfolioModel {
 
     @Override
     public OrderResult attemptExecuteOrder(Order order, Quote quote) throws OrderExecutionException {
-        return orderModel.attemptExecuteOrder(order, quote);
+        OrderResult orderResult = orderModel.attemptExecuteOrder(order, quote);
+        if (orderResult.isSuccess()) {
+            updateValuation(order.getAccount().getId());
+        }
+        return orderResult;
+    }
+
+    @Override
+    public List<OrderResult> attemptExecuteOrders(List<Order> orders, Map<String, Quote> quoteMap) {
+        List<OrderResult> orderResults = orderModel.attemptExecuteOrders(orders, quoteMap);
+
+        Set<Long> accountIds = new HashSet<>();
+        for (int x = 0; x < orderResults.size(); x++) {
+            if (orderResults.get(x).isSuccess()) {
+                accountIds.add(orders.get(x).getAccount().getId());
+            }
+        }
+        for (Long accountId : accountIds) {
+            updateValuation(accountId);
+        }
+
+        return orderResults;
+    }
+
+    @Override
+    public PortfolioValuation getValuation() {
+        return getLoadedValuationEngine().getValuation();
+    }
+
+    @Override
+    public List<PortfolioValuation.Position> getBestPerformers(PortfolioValuation.ChangeType changeType,
+                                                               int count, boolean includeExcludedAccounts) {
+        return getLoadedValuationEngine().getBestPerformers(changeType, count, includeExcludedAccounts);
+    }
+
+    @Override
+    public List<PortfolioValuation.Position> getWorstPerformers(PortfolioValuation.ChangeType changeType,
+                                                                int count, boolean includeExcludedAccounts) {
+        return getLoadedValuationEngine().getWorstPerformers(changeType, count, includeExcludedAccounts);
+    }
+
+    @Override
+    public List<PortfolioValuation.Position> getBestPerformers(long accountId,
+                                                               PortfolioValuation.ChangeType changeType, int count) {
+        return getLoadedValuationEngine().getBestPerformers(accountId, changeType, count);
+    }
+
+    @Override
+    public List<PortfolioValuation.Position> getWorstPerformers(long accountId,
+                                                                PortfolioValuation.ChangeType changeType, int count) {
+        return getLoadedValuationEngine().getWorstPerformers(accountId, changeType, count);
+    }
+
+    private ValuationEngine getLoadedValuationEngine() {
+        synchronized (valuationEngine) {
+            if (!valuationEngine.isLoaded()) {
+                valuationEngine.load(accountModel.getAccounts(true), investmentModel.getAllInvestments());
+            }
+        }
+        return valuationEngine;
     }
 
+    /**
+     * Reloads the account and its investments into the valuation engine
+     * after its funds or positions change
+     */
+    private void updateValuation(long accountId) {
+        synchronized (valuationEngine) {
+            if (valuationEngine.isLoaded()) {
+                Account account = accountModel.getAccount(accountId);
+                if (account != null) {
+                    valuationEngine.putAccount(account, investmentModel.getInvestments(accountId));
+                } else {
+                    valuationEngine.removeAccount(accountId);
+                }
+            }
+        }
+    }
 
 }
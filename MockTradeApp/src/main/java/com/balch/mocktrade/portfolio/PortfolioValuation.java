@@ -0,0 +1,218 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 4:10 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.portfolio;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.investment.Investment;
+import com.balch.mocktrade.investment.InvestmentValuation;
+import com.balch.mocktrade.shared.PerformanceItem;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the values maintained by the {@link ValuationEngine}.
+ * All the values in a snapshot are consistent with each other.
+ */
+public class PortfolioValuation {
+
+    /**
+     * The change percents performers can be ranked by
+     */
+    public enum ChangeType {
+        TODAY,
+        TOTAL
+    }
+
+    private final Map<Long, AccountValuation> accounts;
+    private final List<Position> positions;
+    private final long[] includedTotals;
+    private final long[] allTotals;
+
+    PortfolioValuation(Map<Long, AccountValuation> accounts, List<Position> positions,
+                       long[] includedTotals, long[] allTotals) {
+        this.accounts = Collections.unmodifiableMap(accounts);
+        this.positions = Collections.unmodifiableList(positions);
+        this.includedTotals = includedTotals;
+        this.allTotals = allTotals;
+    }
+
+    /**
+     * @return null if the account does not exist
+     */
+    public AccountValuation getAccount(long accountId) {
+        return accounts.get(accountId);
+    }
+
+    public List<Position> getPositions() {
+        return positions;
+    }
+
+    /**
+     * Returns the totals of all the accounts, or only the accounts that are
+     * not excluded from totals.
+     */
+    public PerformanceItem getTotals(boolean includeExcludedAccounts, Date timestamp) {
+        long[] totals = includeExcludedAccounts ? allTotals : includedTotals;
+        return new PerformanceItem(-1, timestamp,
+                new Money(totals[InvestmentValuation.TOTAL_COST_BASIS]),
+                new Money(totals[InvestmentValuation.TOTAL_VALUE]),
+                new Money(totals[InvestmentValuation.TOTAL_TODAY_CHANGE]));
+    }
+
+    /**
+     * Same values as {@link com.balch.mocktrade.account.Account#getPerformanceItem(List, Date)}
+     */
+    public static class AccountValuation {
+        private final long accountId;
+        private final boolean excludeFromTotals;
+        private final long initialBalance;
+        private final long availableFunds;
+        private final long value;
+        private final long todayChange;
+        private final int positionCount;
+
+        AccountValuation(long accountId, boolean excludeFromTotals, long initialBalance,
+                         long availableFunds, long value, long todayChange, int positionCount) {
+            this.accountId = accountId;
+            this.excludeFromTotals = excludeFromTotals;
+            this.initialBalance = initialBalance;
+            this.availableFunds = availableFunds;
+            this.value = value;
+            this.todayChange = todayChange;
+            this.positionCount = positionCount;
+        }
+
+        public long getAccountId() {
+            return accountId;
+        }
+
+        public boolean getExcludeFromTotals() {
+            return excludeFromTotals;
+        }
+
+        /**
+         * Available funds plus the value of all the positions
+         */
+        public long getTotalValueMicroCents() {
+            return availableFunds + value;
+        }
+
+        public long getTodayChangeMicroCents() {
+            return todayChange;
+        }
+
+        public int getPositionCount() {
+            return positionCount;
+        }
+
+        public PerformanceItem getPerformanceItem(Date timestamp) {
+            return new PerformanceItem(accountId, timestamp, new Money(initialBalance),
+                    new Money(getTotalValueMicroCents()), new Money(todayChange));
+        }
+    }
+
+    /**
+     * Immutable copy of the fields of an {@link Investment} needed to value it
+     */
+    public static class Position {
+        private final long investmentId;
+        private final long accountId;
+        private final String symbol;
+        private final long quantity;
+        private final long costBasis;
+        private final long price;
+        private final long prevDayClose;
+        private final long lastTradeTime;
+
+        // cached since positions are ranked by these
+        private final float todayChangePercent;
+        private final float totalChangePercent;
+
+        Position(Investment investment) {
+            this(investment.getId(), investment.getAccount().getId(), investment.getSymbol(),
+                    investment.getQuantity(), investment.getCostBasis().getMicroCents(),
+                    investment.getPrice().getMicroCents(), investment.getPrevDayClose().getMicroCents(),
+                    investment.getLastTradeTime().getTime());
+        }
+
+        Position(long investmentId, long accountId, String symbol, long quantity, long costBasis,
+                 long price, long prevDayClose, long lastTradeTime) {
+            this.investmentId = investmentId;
+            this.accountId = accountId;
+            this.symbol = symbol;
+            this.quantity = quantity;
+            this.costBasis = costBasis;
+            this.price = price;
+            this.prevDayClose = prevDayClose;
+            this.lastTradeTime = lastTradeTime;
+            this.todayChangePercent = InvestmentValuation.getChangePercent(price - prevDayClose, prevDayClose, 100.0f);
+            this.totalChangePercent = InvestmentValuation.getChangePercent(
+                    InvestmentValuation.getValue(price, quantity) - costBasis, costBasis, 100.0f);
+        }
+
+        Position withPrice(long price, long prevDayClose, long lastTradeTime) {
+            return new Position(investmentId, accountId, symbol, quantity, costBasis,
+                    price, prevDayClose, lastTradeTime);
+        }
+
+        public long getInvestmentId() {
+            return investmentId;
+        }
+
+        public long getAccountId() {
+            return accountId;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public long getLastTradeTime() {
+            return lastTradeTime;
+        }
+
+        public long getCostBasisMicroCents() {
+            return costBasis;
+        }
+
+        public long getValueMicroCents() {
+            return InvestmentValuation.getValue(price, quantity);
+        }
+
+        public long getTodayChangeMicroCents() {
+            return getValueMicroCents() - InvestmentValuation.getValue(prevDayClose, quantity);
+        }
+
+        public float getTodayChangePercent() {
+            return todayChangePercent;
+        }
+
+        public float getTotalChangePercent() {
+            return totalChangePercent;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 2:20 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.portfolio;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.shared.PerformanceItem;
+import com.balch.mocktrade.shared.utils.VarLongCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Encodes a block of snapshots for a single account as columns. The block starts with
+ * a version and the number of snapshots followed by the snapshot time, cost basis,
+ * total value and today change columns. Each column is stored as the difference from
+ * the previous value, zigzag encoded as a varint, so slowly changing values only take
+ * a byte or two per snapshot.
+ */
+class SnapshotArchiveCodec {
+
+    private static final int VERSION = 1;
+
+    private SnapshotArchiveCodec() {
+    }
+
+    /**
+     * @param performanceItems snapshots of a single account in ascending time order
+     */
+    static byte[] encode(List<PerformanceItem> performanceItems) {
+        int count = performanceItems.size();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + count * 8);
+
+        VarLongCodec.writeVarLong(out, VERSION);
+        VarLongCodec.writeVarLong(out, count);
+
+        long previous = 0;
+        for (PerformanceItem performanceItem : performanceItems) {
+            long value = performanceItem.getTimestamp().getTime();
+            VarLongCodec.writeVarLong(out, VarLongCodec.zigzag(value - previous));
+            previous = value;
+        }
+
+        previous = 0;
+        for (PerformanceItem performanceItem : performanceItems) {
+            long value = performanceItem.getCostBasis().getMicroCents();
+            VarLongCodec.writeVarLong(out, VarLongCodec.zigzag(value - previous));
+            previous = value;
+        }
+
+        previous = 0;
+        for (PerformanceItem performanceItem : performanceItems) {
+            long value = performanceItem.getValue().getMicroCents();
+            VarLongCodec.writeVarLong(out, VarLongCodec.zigzag(value - previous));
+            previous = value;
+        }
+
+        previous = 0;
+        for (PerformanceItem performanceItem : performanceItems) {
+            long value = performanceItem.getTodayChange().getMicroCents();
+            VarLongCodec.writeVarLong(out, VarLongCodec.zigzag(value - previous));
+            previous = value;
+        }
+
+        return out.toByteArray();
+    }
+
+    static List<PerformanceItem> decode(long accountId, byte[] data) {
+        VarLongCodec.Reader reader = new VarLongCodec.Reader(data);
+
+        long version = reader.readVarLong();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot archive version: " + version);
+        }
+
+        int count = (int) reader.readVarLong();
+        long[] times = reader.readColumn(count);
+        long[] costBases = reader.readColumn(count);
+        long[] values = reader.readColumn(count);
+        long[] todayChanges = reader.readColumn(count);
+
+        List<PerformanceItem> performanceItems = new ArrayList<>(count);
+        for (int x = 0; x < count; x++) {
+            performanceItems.add(new PerformanceItem(accountId, new Date(times[x]),
+                    new Money(costBases[x]), new Money(values[x]), new Money(todayChanges[x])));
+        }
+        return performanceItems;
+    }
+}
@@ -26,20 +26,20 @@ package com.balch.mocktrade.portfolio;
 import android.content.ContentValues;
 import android.database.Cursor;
 
+import com.balch.android.app.framework.sql.RowMapper;
 import com.balch.android.app.framework.sql.SqlMapper;
 import com.balch.android.app.framework.types.Money;
 import com.balch.mocktrade.shared.PerformanceItem;
 
 import java.util.Date;
-import java.util.Map;
 
 public class SnapshotMapper implements SqlMapper<PerformanceItem> {
     private static final String TAG = SnapshotMapper.class.getSimpleName();
-    private final boolean mHourly;
+    private final String mTableName;
 
     public static final String TABLE_NAME = "snapshot_totals";
 
-    public static final String TABLE_NAME_SNAPSHOT_DAILY = "snapshot_totals_daily";
+    public static final String TABLE_NAME_SNAPSHOT_DAILY = SnapshotRollup.DAILY.getTableName();
 
     public static final String COLUMN_ACCOUNT_ID = "account_id";
     public static final String COLUMN_SNAPSHOT_TIME = "snapshot_time";
@@ -47,13 +47,42 @@ public class SnapshotMapper implements SqlMapper<PerformanceItem> {
     public static final String COLUMN_COST_BASIS = "cost_basis";
     public static final String COLUMN_TODAY_CHANGE = "today_change";
 
+    // only in the rollup tables, see SnapshotRollup.getPeriod()
+    public static final String COLUMN_SNAPSHOT_PERIOD = "snapshot_period";
+    public static final String COLUMN_TOTAL_VALUE_OPEN = "total_value_open";
+    public static final String COLUMN_TOTAL_VALUE_HIGH = "total_value_high";
+    public static final String COLUMN_TOTAL_VALUE_LOW = "total_value_low";
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
     public SnapshotMapper(boolean hourly) {
-        this.mHourly = hourly;
+        this.mTableName = hourly ? TABLE_NAME : TABLE_NAME_SNAPSHOT_DAILY;
+    }
+
+    public SnapshotMapper(SnapshotRollup rollup) {
+        this.mTableName = rollup.getTableName();
+    }
+
+    /**
+     * Returns the UTC day of the timestamp, this matches
+     * date(snapshot_time/1000, 'unixepoch') in sqlite
+     */
+    public static long getSnapshotDay(long snapshotTime) {
+        return snapshotTime / MILLIS_PER_DAY;
+    }
+
+    /**
+     * Daily snapshots are not kept for Sat and Sun (UTC)
+     */
+    public static boolean isTradingDay(long snapshotDay) {
+        // the epoch was a Thursday, 0=Sun ... 6=Sat
+        int dayOfWeek = (int) ((snapshotDay + 4) % 7);
+        return (dayOfWeek != 0) && (dayOfWeek != 6);
     }
 
     @Override
     public String getTableName() {
-        return mHourly ?TABLE_NAME : TABLE_NAME_SNAPSHOT_DAILY;
+        return mTableName;
     }
 
     @Override
@@ -70,12 +99,22 @@ public class SnapshotMapper implements SqlMapper<PerformanceItem> {
     }
 
     @Override
-    public void populate(PerformanceItem performanceItem, Cursor cursor, Map<String, Integer> columnMap) {
-        performanceItem.setAccountId(cursor.getLong(columnMap.get(COLUMN_ACCOUNT_ID)));
-        performanceItem.setTimestamp(new Date(cursor.getLong(columnMap.get(COLUMN_SNAPSHOT_TIME))));
-        performanceItem.setCostBasis(new Money(cursor.getLong(columnMap.get(COLUMN_COST_BASIS))));
-        performanceItem.setValue(new Money(cursor.getLong(columnMap.get(COLUMN_TOTAL_VALUE))));
-        performanceItem.setTodayChange(new Money(cursor.getLong(columnMap.get(COLUMN_TODAY_CHANGE))));
+    public RowMapper<PerformanceItem> getRowMapper(Cursor cursor) {
+        final int accountIdColumn = cursor.getColumnIndexOrThrow(COLUMN_ACCOUNT_ID);
+        final int snapshotTimeColumn = cursor.getColumnIndexOrThrow(COLUMN_SNAPSHOT_TIME);
+        final int costBasisColumn = cursor.getColumnIndexOrThrow(COLUMN_COST_BASIS);
+        final int totalValueColumn = cursor.getColumnIndexOrThrow(COLUMN_TOTAL_VALUE);
+        final int todayChangeColumn = cursor.getColumnIndexOrThrow(COLUMN_TODAY_CHANGE);
+
+        return c -> {
+            PerformanceItem performanceItem = new PerformanceItem();
+            performanceItem.setAccountId(c.getLong(accountIdColumn));
+            performanceItem.setTimestamp(new Date(c.getLong(snapshotTimeColumn)));
+            performanceItem.setCostBasis(new Money(c.getLong(costBasisColumn)));
+            performanceItem.setValue(new Money(c.getLong(totalValueColumn)));
+            performanceItem.setTodayChange(new Money(c.getLong(todayChangeColumn)));
+            return performanceItem;
+        };
     }
 
 }
@@ -0,0 +1,117 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 11:40 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.portfolio;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolutions of the snapshot rollup tables. Each table keeps one row per account
+ * per period with the last snapshot of the period (close) and the open, high and low
+ * total value seen during the period. Periods are computed in UTC so they match the
+ * date functions in sqlite.
+ */
+public enum SnapshotRollup {
+    HOURLY("snapshot_totals_hourly", TimeUnit.HOURS.toMillis(1), false),
+    DAILY("snapshot_totals_daily", TimeUnit.DAYS.toMillis(1), true),
+    WEEKLY("snapshot_totals_weekly", TimeUnit.DAYS.toMillis(7), true),
+    MONTHLY("snapshot_totals_monthly", TimeUnit.DAYS.toMillis(30), true);
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final String tableName;
+    private final long periodMs;
+    private final boolean tradingDaysOnly;
+
+    SnapshotRollup(String tableName, long periodMs, boolean tradingDaysOnly) {
+        this.tableName = tableName;
+        this.periodMs = periodMs;
+        this.tradingDaysOnly = tradingDaysOnly;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Nominal length of a period, months are treated as 30 days
+     */
+    public long getPeriodMs() {
+        return periodMs;
+    }
+
+    /**
+     * Returns false if a snapshot taken at this time is not rolled up into this
+     * resolution. The daily and coarser rollups ignore Sat and Sun.
+     */
+    public boolean includes(long snapshotTime) {
+        return !tradingDaysOnly ||
+                SnapshotMapper.isTradingDay(SnapshotMapper.getSnapshotDay(snapshotTime));
+    }
+
+    /**
+     * Returns the period the snapshot belongs to. Hours and days are counted from
+     * the epoch, weeks start on Monday and months are year * 12 + month.
+     */
+    public long getPeriod(long snapshotTime) {
+        long period;
+        switch (this) {
+            case HOURLY:
+                period = snapshotTime / periodMs;
+                break;
+            case DAILY:
+                period = SnapshotMapper.getSnapshotDay(snapshotTime);
+                break;
+            case WEEKLY:
+                // the epoch was a Thursday
+                period = (SnapshotMapper.getSnapshotDay(snapshotTime) + 3) / 7;
+                break;
+            case MONTHLY:
+                Calendar cal = new GregorianCalendar(UTC);
+                cal.setTimeInMillis(snapshotTime);
+                period = cal.get(Calendar.YEAR) * 12 + cal.get(Calendar.MONTH);
+                break;
+            default:
+                throw new IllegalStateException("Unknown rollup: " + this);
+        }
+        return period;
+    }
+
+    /**
+     * Returns the coarsest resolution, no finer than finest, that still produces
+     * at least minPoints points over the duration. Returns null if even the finest
+     * resolution is too coarse.
+     */
+    public static SnapshotRollup select(long durationMs, int minPoints, SnapshotRollup finest) {
+        SnapshotRollup[] rollups = values();
+        for (int x = rollups.length - 1; x >= finest.ordinal(); x--) {
+            if (durationMs / rollups[x].periodMs >= minPoints) {
+                return rollups[x];
+            }
+        }
+        return null;
+    }
+}
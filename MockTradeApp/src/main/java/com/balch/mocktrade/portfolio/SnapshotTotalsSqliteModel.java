@@ -29,13 +29,17 @@ import android.util.Log;
 
 import com.balch.android.app.framework.sql.SqlConnection;
 import com.balch.android.app.framework.sql.SqlMapper;
+import com.balch.android.app.framework.types.Money;
 import com.balch.mocktrade.settings.Settings;
 import com.balch.mocktrade.shared.PerformanceItem;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.TimeZone;
 
 public class SnapshotTotalsSqliteModel {
     public static final String TAG = SnapshotTotalsSqliteModel.class.getSimpleName();
@@ -74,32 +78,217 @@ public class SnapshotTotalsSqliteModel {
                     SnapshotMapper.COLUMN_SNAPSHOT_TIME + " >= ? AND " +
                     SnapshotMapper.COLUMN_SNAPSHOT_TIME + " < ?";
 
+    // totals of the rollup tables, accounts are grouped by period since they
+    // can be rolled up at slightly different times
+    private static final String SQL_ACCOUNTS_INCLUDED_ROLLUP_TOTALS =
+            "SELECT -1 AS " + SnapshotMapper.COLUMN_ACCOUNT_ID + ", " +
+                    "MAX(t1." + SqlMapper.COLUMN_ID + ") AS " + SqlMapper.COLUMN_ID + "," +
+                    "MAX(t1." + SqlMapper.COLUMN_CREATE_TIME + ") AS " + SqlMapper.COLUMN_CREATE_TIME + "," +
+                    "MAX(t1." + SqlMapper.COLUMN_UPDATE_TIME + ") AS " + SqlMapper.COLUMN_UPDATE_TIME + "," +
+                    "MAX(t1." + SnapshotMapper.COLUMN_SNAPSHOT_TIME + ") AS " + SnapshotMapper.COLUMN_SNAPSHOT_TIME + "," +
+                    " SUM(" + SnapshotMapper.COLUMN_TOTAL_VALUE + ") AS " + SnapshotMapper.COLUMN_TOTAL_VALUE + "," +
+                    " SUM(" + SnapshotMapper.COLUMN_COST_BASIS + ") AS " + SnapshotMapper.COLUMN_COST_BASIS + "," +
+                    " SUM(" + SnapshotMapper.COLUMN_TODAY_CHANGE + ") AS " + SnapshotMapper.COLUMN_TODAY_CHANGE + " " +
+                    " FROM %s AS t1, account AS t2" +
+                    " WHERE t1.account_id = t2._id " +
+                    " AND ('1'=? OR t2.exclude_from_totals = 0)" +
+                    " AND " + SnapshotMapper.COLUMN_SNAPSHOT_TIME + " >= ?" +
+                    " AND " + SnapshotMapper.COLUMN_SNAPSHOT_TIME + " < ?" +
+                    " GROUP BY " + SnapshotMapper.COLUMN_SNAPSHOT_PERIOD +
+                    " ORDER BY " + SnapshotMapper.COLUMN_SNAPSHOT_TIME + " ASC";
+
+    // keeps the last snapshot of the period, older snapshots never overwrite newer ones
+    private static final String SQL_UPDATE_ROLLUP =
+            "UPDATE %s SET " +
+                    SnapshotMapper.COLUMN_SNAPSHOT_TIME + "=?, " +
+                    SnapshotMapper.COLUMN_COST_BASIS + "=?, " +
+                    SnapshotMapper.COLUMN_TOTAL_VALUE + "=?, " +
+                    SnapshotMapper.COLUMN_TODAY_CHANGE + "=?, " +
+                    SnapshotMapper.COLUMN_TOTAL_VALUE_HIGH + "=MAX(" + SnapshotMapper.COLUMN_TOTAL_VALUE_HIGH + ",?), " +
+                    SnapshotMapper.COLUMN_TOTAL_VALUE_LOW + "=MIN(" + SnapshotMapper.COLUMN_TOTAL_VALUE_LOW + ",?), " +
+                    SqlMapper.COLUMN_UPDATE_TIME + "=?" +
+                    " WHERE " + SnapshotMapper.COLUMN_ACCOUNT_ID + "=?" +
+                    " AND " + SnapshotMapper.COLUMN_SNAPSHOT_PERIOD + "=?" +
+                    " AND " + SnapshotMapper.COLUMN_SNAPSHOT_TIME + "<=?";
+
+    // does nothing if the period exists, which means it already holds a later snapshot
+    private static final String SQL_INSERT_ROLLUP =
+            "INSERT OR IGNORE INTO %s (" +
+                    SnapshotMapper.COLUMN_ACCOUNT_ID + ", " +
+                    SnapshotMapper.COLUMN_SNAPSHOT_PERIOD + ", " +
+                    SnapshotMapper.COLUMN_SNAPSHOT_TIME + ", " +
+                    SnapshotMapper.COLUMN_COST_BASIS + ", " +
+                    SnapshotMapper.COLUMN_TOTAL_VALUE + ", " +
+                    SnapshotMapper.COLUMN_TODAY_CHANGE + ", " +
+                    SnapshotMapper.COLUMN_TOTAL_VALUE_OPEN + ", " +
+                    SnapshotMapper.COLUMN_TOTAL_VALUE_HIGH + ", " +
+                    SnapshotMapper.COLUMN_TOTAL_VALUE_LOW + ", " +
+                    SqlMapper.COLUMN_CREATE_TIME + ", " +
+                    SqlMapper.COLUMN_UPDATE_TIME + ") VALUES (?,?,?,?,?,?,?,?,?,?,?)";
+
+    // last snapshot of each account, used to load the LastSnapshotRegister
+    private static final String SQL_LAST_SNAPSHOTS =
+            "SELECT n.* FROM " + SnapshotMapper.TABLE_NAME + " n" +
+                    " INNER JOIN (" +
+                    "SELECT " + SnapshotMapper.COLUMN_ACCOUNT_ID + ", " +
+                    "MAX(" + SnapshotMapper.COLUMN_SNAPSHOT_TIME + ") AS " + SnapshotMapper.COLUMN_SNAPSHOT_TIME +
+                    " FROM " + SnapshotMapper.TABLE_NAME +
+                    " GROUP BY " + SnapshotMapper.COLUMN_ACCOUNT_ID +
+                    ") AS latest USING (" + SnapshotMapper.COLUMN_ACCOUNT_ID + ", " + SnapshotMapper.COLUMN_SNAPSHOT_TIME + ")";
+
+    private static final String TABLE_NAME_ARCHIVE = "snapshot_totals_archive";
+    private static final String COLUMN_ARCHIVE_START_TIME = "start_time";
+    private static final String COLUMN_ARCHIVE_END_TIME = "end_time";
+    private static final String COLUMN_ARCHIVE_DATA = "data";
+
+    private static final String SQL_ARCHIVE_BY_ACCOUNT_ID =
+            "SELECT " + SnapshotMapper.COLUMN_ACCOUNT_ID + ", " + COLUMN_ARCHIVE_DATA +
+                    " FROM " + TABLE_NAME_ARCHIVE +
+                    " WHERE " + SnapshotMapper.COLUMN_ACCOUNT_ID + "=?" +
+                    " AND " + COLUMN_ARCHIVE_END_TIME + " >= ?" +
+                    " AND " + COLUMN_ARCHIVE_START_TIME + " < ?";
+
+    private static final String SQL_ARCHIVE_ACCOUNTS_INCLUDED_TOTALS =
+            "SELECT t1." + SnapshotMapper.COLUMN_ACCOUNT_ID + ", t1." + COLUMN_ARCHIVE_DATA +
+                    " FROM " + TABLE_NAME_ARCHIVE + " AS t1, account AS t2" +
+                    " WHERE t1.account_id = t2._id " +
+                    " AND ('1'=? OR t2.exclude_from_totals = 0)" +
+                    " AND t1." + COLUMN_ARCHIVE_END_TIME + " >= ?" +
+                    " AND t1." + COLUMN_ARCHIVE_START_TIME + " < ?";
+
+    private static final String SQL_ARCHIVE_BLOCK =
+            "SELECT " + COLUMN_ARCHIVE_DATA + " FROM " + TABLE_NAME_ARCHIVE +
+                    " WHERE " + SnapshotMapper.COLUMN_ACCOUNT_ID + "=?" +
+                    " AND " + SnapshotMapper.COLUMN_SNAPSHOT_PERIOD + "=?";
+
+    private static final String SQL_INSERT_ARCHIVE_BLOCK =
+            "INSERT OR REPLACE INTO " + TABLE_NAME_ARCHIVE + " (" +
+                    SnapshotMapper.COLUMN_ACCOUNT_ID + ", " +
+                    SnapshotMapper.COLUMN_SNAPSHOT_PERIOD + ", " +
+                    COLUMN_ARCHIVE_START_TIME + ", " +
+                    COLUMN_ARCHIVE_END_TIME + ", " +
+                    "snapshot_count, " +
+                    COLUMN_ARCHIVE_DATA + ", " +
+                    SqlMapper.COLUMN_CREATE_TIME + ", " +
+                    SqlMapper.COLUMN_UPDATE_TIME + ") VALUES (?,?,?,?,?,?,?,?)";
+
+    private static final String SQL_WHERE_SNAPSHOTS_BY_TIME =
+            SnapshotMapper.COLUMN_SNAPSHOT_TIME + " >= ? AND " +
+                    SnapshotMapper.COLUMN_SNAPSHOT_TIME + " < ?";
+
+    // min number of points the daily graphs should have before a coarser rollup is used
+    private static final int MIN_GRAPH_POINTS = 20;
+
     private final SqlConnection sqlConnection;
     private final Settings settings;
+    private final LastSnapshotRegister lastSnapshotRegister;
 
-    public SnapshotTotalsSqliteModel(SqlConnection sqlConnection, Settings settings) {
+    public SnapshotTotalsSqliteModel(SqlConnection sqlConnection, Settings settings,
+                                     LastSnapshotRegister lastSnapshotRegister) {
         this.sqlConnection = sqlConnection;
         this.settings = settings;
+        this.lastSnapshotRegister = lastSnapshotRegister;
     }
 
-    public PerformanceItem getLastSnapshot(long accountId) {
-        String where = SnapshotMapper.COLUMN_ACCOUNT_ID + "=?";
-        String[] whereArgs = new String[]{String.valueOf(accountId)};
+    /**
+     * Inserts the snapshots only if any account has totals that are different
+     * from its last snapshot. The check is made against the in-memory
+     * LastSnapshotRegister and is atomic with the insert.
+     *
+     * @return true if the snapshots were inserted
+     */
+    public boolean insertSnapshotsIfChanged(List<PerformanceItem> performanceItems) throws SQLException {
+        synchronized (lastSnapshotRegister) {
+            loadLastSnapshotRegister();
+            if (!lastSnapshotRegister.isChanged(performanceItems)) {
+                return false;
+            }
 
-        PerformanceItem performanceItem = null;
-        try {
-            List<PerformanceItem> performanceItems =
-                    sqlConnection.query(new SnapshotMapper(true), PerformanceItem.class, where, whereArgs,
-                            SnapshotMapper.COLUMN_SNAPSHOT_TIME + " DESC LIMIT 1");
-            if ((performanceItems != null) && (performanceItems.size() > 0)) {
-                performanceItem = performanceItems.get(0);
+            insertSnapshots(performanceItems);
+            return true;
+        }
+    }
+
+    /**
+     * Inserts the snapshots into the intraday table and rolls them up into each
+     * of the {@link SnapshotRollup} tables in a single transaction.
+     */
+    public void insertSnapshots(List<PerformanceItem> performanceItems) throws SQLException {
+        synchronized (lastSnapshotRegister) {
+            SQLiteDatabase db = sqlConnection.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                SnapshotMapper mapper = new SnapshotMapper(true);
+                for (PerformanceItem performanceItem : performanceItems) {
+                    sqlConnection.insert(mapper, performanceItem, db);
+                    for (SnapshotRollup rollup : SnapshotRollup.values()) {
+                        updateRollup(rollup, performanceItem, db);
+                    }
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+
+            if (lastSnapshotRegister.isLoaded()) {
+                lastSnapshotRegister.put(performanceItems);
             }
+        }
+    }
+
+    private void loadLastSnapshotRegister() {
+        if (lastSnapshotRegister.isLoaded()) {
+            return;
+        }
+
+        Cursor cursor = null;
+        List<PerformanceItem> performanceItems = new ArrayList<>();
+        try {
+            cursor = sqlConnection.rawQuery(SQL_LAST_SNAPSHOTS, new String[]{});
+            sqlConnection.processCursor(new SnapshotMapper(true), cursor, performanceItems);
         } catch (Exception e) {
-            Log.e(TAG, "Error in getLastSnapshot", e);
+            Log.e(TAG, "Error in loadLastSnapshotRegister", e);
             throw new RuntimeException(e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
         }
 
-        return performanceItem;
+        lastSnapshotRegister.load(performanceItems);
+    }
+
+    private void updateRollup(SnapshotRollup rollup, PerformanceItem performanceItem, SQLiteDatabase db) {
+        long snapshotTime = performanceItem.getTimestamp().getTime();
+        if (!rollup.includes(snapshotTime)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long period = rollup.getPeriod(snapshotTime);
+        long accountId = performanceItem.getAccountId();
+        long costBasis = performanceItem.getCostBasis().getMicroCents();
+        long totalValue = performanceItem.getValue().getMicroCents();
+        long todayChange = performanceItem.getTodayChange().getMicroCents();
+
+        int count = sqlConnection.executeUpdateDelete(String.format(SQL_UPDATE_ROLLUP, rollup.getTableName()),
+                new Object[]{snapshotTime, costBasis, totalValue, todayChange, totalValue, totalValue, now,
+                        accountId, period, snapshotTime},
+                db);
+
+        if (count == 0) {
+            sqlConnection.executeUpdateDelete(String.format(SQL_INSERT_ROLLUP, rollup.getTableName()),
+                    new Object[]{accountId, period, snapshotTime, costBasis, totalValue, todayChange,
+                            totalValue, totalValue, totalValue, now, now},
+                    db);
+        }
+    }
+
+    public PerformanceItem getLastSnapshot(long accountId) {
+        synchronized (lastSnapshotRegister) {
+            loadLastSnapshotRegister();
+            return lastSnapshotRegister.get(accountId);
+        }
     }
 
     public List<PerformanceItem> getSnapshots(long accountId, long startTime, long endTimeExclusive) {
@@ -116,9 +305,11 @@ public class SnapshotTotalsSqliteModel {
 
         List<PerformanceItem> performanceItems;
         try {
-            performanceItems =
-                    sqlConnection.query(new SnapshotMapper(true), PerformanceItem.class, SQL_WHERE_SNAPSHOTS_BY_ACCOUNT_ID,
-                            whereArgs, SnapshotMapper.COLUMN_SNAPSHOT_TIME + " ASC");
+            // archived snapshots are always older than the ones in the table
+            performanceItems = getArchivedSnapshots(SQL_ARCHIVE_BY_ACCOUNT_ID, whereArgs, startTime, endTimeExclusive);
+            performanceItems.addAll(
+                    sqlConnection.query(new SnapshotMapper(true), SQL_WHERE_SNAPSHOTS_BY_ACCOUNT_ID,
+                            whereArgs, SnapshotMapper.COLUMN_SNAPSHOT_TIME + " ASC"));
         } catch (Exception e) {
             Log.e(TAG, "Error in getSnapshots(accountId)", e);
             throw new RuntimeException(e);
@@ -128,9 +319,13 @@ public class SnapshotTotalsSqliteModel {
     }
 
     public List<PerformanceItem> getSnapshotsByDay(long accountId, long startTime, long endTimeExclusive) {
+        return getSnapshots(accountId, SnapshotRollup.DAILY, startTime, endTimeExclusive);
+    }
+
+    public List<PerformanceItem> getSnapshots(long accountId, SnapshotRollup rollup, long startTime, long endTimeExclusive) {
 
         if (accountId < 0) {
-            return getSnapshotsByDay(startTime, endTimeExclusive);
+            return getSnapshots(rollup, startTime, endTimeExclusive);
         }
 
         String[] whereArgs = new String[]{
@@ -142,10 +337,10 @@ public class SnapshotTotalsSqliteModel {
         List<PerformanceItem> performanceItems;
         try {
             performanceItems =
-                    sqlConnection.query(new SnapshotMapper(false), PerformanceItem.class, SQL_WHERE_SNAPSHOTS_BY_ACCOUNT_ID,
+                    sqlConnection.query(new SnapshotMapper(rollup), SQL_WHERE_SNAPSHOTS_BY_ACCOUNT_ID,
                             whereArgs, SnapshotMapper.COLUMN_SNAPSHOT_TIME + " ASC");
         } catch (Exception e) {
-            Log.e(TAG, "Error in getSnapshots(accountId)", e);
+            Log.e(TAG, "Error in getSnapshots(accountId, rollup)", e);
             throw new RuntimeException(e);
         }
 
@@ -161,12 +356,14 @@ public class SnapshotTotalsSqliteModel {
         };
 
         Cursor cursor = null;
-        List<PerformanceItem> performanceItems = new ArrayList<>();
+        List<PerformanceItem> performanceItems;
         try {
 
+            performanceItems = getArchivedTotals(whereArgs, startTime, endTimeExclusive);
+
             cursor = sqlConnection.rawQuery(
                     String.format(SQL_ACCOUNTS_INCLUDED_TOTALS, SnapshotMapper.TABLE_NAME), whereArgs);
-            sqlConnection.processCursor(new SnapshotMapper(true), cursor, PerformanceItem.class, performanceItems);
+            sqlConnection.processCursor(new SnapshotMapper(true), cursor, performanceItems);
 
         } catch (Exception e) {
             Log.e(TAG, "Error in getSnapshots()", e);
@@ -181,6 +378,10 @@ public class SnapshotTotalsSqliteModel {
     }
 
     public List<PerformanceItem> getSnapshotsByDay(long startTime, long endTimeExclusive) {
+        return getSnapshots(SnapshotRollup.DAILY, startTime, endTimeExclusive);
+    }
+
+    public List<PerformanceItem> getSnapshots(SnapshotRollup rollup, long startTime, long endTimeExclusive) {
 
         String[] whereArgs = new String[]{
                 getDemoModeWhereValue(),
@@ -193,11 +394,11 @@ public class SnapshotTotalsSqliteModel {
         try {
 
             cursor = sqlConnection.rawQuery(
-                    String.format(SQL_ACCOUNTS_INCLUDED_TOTALS, SnapshotMapper.TABLE_NAME_SNAPSHOT_DAILY), whereArgs);
-            sqlConnection.processCursor(new SnapshotMapper(false), cursor, PerformanceItem.class, performanceItems);
+                    String.format(SQL_ACCOUNTS_INCLUDED_ROLLUP_TOTALS, rollup.getTableName()), whereArgs);
+            sqlConnection.processCursor(new SnapshotMapper(rollup), cursor, performanceItems);
 
         } catch (Exception e) {
-            Log.e(TAG, "Error in getSnapshotsByDay()", e);
+            Log.e(TAG, "Error in getSnapshots(rollup)", e);
             throw new RuntimeException(e);
         } finally {
             if (cursor != null) {
@@ -208,6 +409,165 @@ public class SnapshotTotalsSqliteModel {
         return performanceItems;
     }
 
+    /**
+     * Returns the archived snapshots of the blocks selected by the sql
+     * that fall between the start and end times in ascending time order
+     */
+    private List<PerformanceItem> getArchivedSnapshots(String sql, String[] whereArgs,
+                                                       long startTime, long endTimeExclusive) {
+        List<PerformanceItem> performanceItems = new ArrayList<>();
+        Cursor cursor = null;
+        try {
+            cursor = sqlConnection.rawQuery(sql, whereArgs);
+            while (cursor.moveToNext()) {
+                for (PerformanceItem performanceItem : SnapshotArchiveCodec.decode(cursor.getLong(0), cursor.getBlob(1))) {
+                    long time = performanceItem.getTimestamp().getTime();
+                    if ((time >= startTime) && (time < endTimeExclusive)) {
+                        performanceItems.add(performanceItem);
+                    }
+                }
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        Collections.sort(performanceItems, (item1, item2) -> item1.getTimestamp().compareTo(item2.getTimestamp()));
+        return performanceItems;
+    }
+
+    /**
+     * Sums the archived snapshots of the accounts included in the totals by snapshot time
+     */
+    private List<PerformanceItem> getArchivedTotals(String[] whereArgs, long startTime, long endTimeExclusive) {
+        List<PerformanceItem> performanceItems = new ArrayList<>();
+        PerformanceItem total = null;
+        for (PerformanceItem performanceItem :
+                getArchivedSnapshots(SQL_ARCHIVE_ACCOUNTS_INCLUDED_TOTALS, whereArgs, startTime, endTimeExclusive)) {
+            if ((total == null) || !total.getTimestamp().equals(performanceItem.getTimestamp())) {
+                total = new PerformanceItem(-1, performanceItem.getTimestamp(),
+                        new Money(), new Money(), new Money());
+                performanceItems.add(total);
+            }
+            total.getCostBasis().add(performanceItem.getCostBasis());
+            total.getValue().add(performanceItem.getValue());
+            total.getTodayChange().add(performanceItem.getTodayChange());
+        }
+        return performanceItems;
+    }
+
+    /**
+     * Moves the intraday snapshots older than days into the archive table. Only
+     * whole months (UTC) are archived, each month is stored as one compressed
+     * block per account and is moved in its own transaction.
+     *
+     * @return number of snapshots archived
+     */
+    public int archiveSnapshotTable(int days) {
+        Calendar cal = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        cal.add(Calendar.DAY_OF_YEAR, -days);
+        cal.set(Calendar.DAY_OF_MONTH, 1);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        long cutoffTime = cal.getTimeInMillis();
+
+        int count = 0;
+        long oldestTime;
+        while (((oldestTime = getOldestSnapshotTime()) > 0) && (oldestTime < cutoffTime)) {
+            cal.setTimeInMillis(oldestTime);
+            cal.set(Calendar.DAY_OF_MONTH, 1);
+            cal.set(Calendar.HOUR_OF_DAY, 0);
+            cal.set(Calendar.MINUTE, 0);
+            cal.set(Calendar.SECOND, 0);
+            cal.set(Calendar.MILLISECOND, 0);
+            long monthStartTime = cal.getTimeInMillis();
+            cal.add(Calendar.MONTH, 1);
+
+            count += archiveMonth(monthStartTime, cal.getTimeInMillis());
+        }
+
+        return count;
+    }
+
+    private long getOldestSnapshotTime() {
+        Cursor cursor = null;
+        try {
+            cursor = sqlConnection.rawQuery("SELECT MIN(" + SnapshotMapper.COLUMN_SNAPSHOT_TIME + ")" +
+                    " FROM " + SnapshotMapper.TABLE_NAME, new String[]{});
+            return cursor.moveToNext() ? cursor.getLong(0) : 0;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    private int archiveMonth(long startTime, long endTimeExclusive) {
+        String[] whereArgs = new String[]{String.valueOf(startTime), String.valueOf(endTimeExclusive)};
+        long period = SnapshotRollup.MONTHLY.getPeriod(startTime);
+
+        SQLiteDatabase db = sqlConnection.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            List<PerformanceItem> snapshots = sqlConnection.query(new SnapshotMapper(true), SQL_WHERE_SNAPSHOTS_BY_TIME,
+                    whereArgs, SnapshotMapper.COLUMN_ACCOUNT_ID + "," + SnapshotMapper.COLUMN_SNAPSHOT_TIME + " ASC");
+
+            long now = System.currentTimeMillis();
+            int start = 0;
+            while (start < snapshots.size()) {
+                long accountId = snapshots.get(start).getAccountId();
+                int end = start;
+                while ((end < snapshots.size()) && (snapshots.get(end).getAccountId() == accountId)) {
+                    end++;
+                }
+
+                // merge with any block already archived for the month
+                List<PerformanceItem> block = getArchiveBlock(accountId, period);
+                block.addAll(snapshots.subList(start, end));
+                Collections.sort(block, (item1, item2) -> item1.getTimestamp().compareTo(item2.getTimestamp()));
+
+                sqlConnection.executeUpdateDelete(SQL_INSERT_ARCHIVE_BLOCK,
+                        new Object[]{accountId, period,
+                                block.get(0).getTimestamp().getTime(),
+                                block.get(block.size() - 1).getTimestamp().getTime(),
+                                block.size(), SnapshotArchiveCodec.encode(block), now, now},
+                        db);
+
+                start = end;
+            }
+
+            db.delete(SnapshotMapper.TABLE_NAME, SQL_WHERE_SNAPSHOTS_BY_TIME, whereArgs);
+            db.setTransactionSuccessful();
+
+            return snapshots.size();
+        } catch (SQLException e) {
+            Log.e(TAG, "Error in archiveMonth", e);
+            throw new RuntimeException(e);
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private List<PerformanceItem> getArchiveBlock(long accountId, long period) {
+        List<PerformanceItem> performanceItems = new ArrayList<>();
+        Cursor cursor = null;
+        try {
+            cursor = sqlConnection.rawQuery(SQL_ARCHIVE_BLOCK,
+                    new String[]{String.valueOf(accountId), String.valueOf(period)});
+            if (cursor.moveToNext()) {
+                performanceItems.addAll(SnapshotArchiveCodec.decode(accountId, cursor.getBlob(0)));
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return performanceItems;
+    }
+
     /**
      * Returns the latest timestamp that can be graphed. This is based on the timestamp
      * having at least 3 distinct readings for the day
@@ -235,6 +595,10 @@ public class SnapshotTotalsSqliteModel {
         return latestTimestamp;
     }
 
+    /**
+     * Purges the intraday, archived and hourly snapshots older than days. The daily and
+     * coarser rollups are kept so long range graphs are not affected.
+     */
     public int purgeSnapshotTable(int days) {
         SQLiteDatabase db = sqlConnection.getWritableDatabase();
 
@@ -242,7 +606,23 @@ public class SnapshotTotalsSqliteModel {
         cal.add(Calendar.DAY_OF_YEAR, -days);
         long timestamp = cal.getTimeInMillis();
 
-        return db.delete(SnapshotMapper.TABLE_NAME, SnapshotMapper.COLUMN_SNAPSHOT_TIME + "<=?", new String[]{String.valueOf(timestamp)});
+        String where = SnapshotMapper.COLUMN_SNAPSHOT_TIME + "<=?";
+        String[] whereArgs = new String[]{String.valueOf(timestamp)};
+
+        synchronized (lastSnapshotRegister) {
+            db.beginTransaction();
+            try {
+                int count = db.delete(SnapshotMapper.TABLE_NAME, where, whereArgs);
+                db.delete(SnapshotRollup.HOURLY.getTableName(), where, whereArgs);
+                db.delete(TABLE_NAME_ARCHIVE, COLUMN_ARCHIVE_END_TIME + "<=?", whereArgs);
+                db.setTransactionSuccessful();
+                return count;
+            } finally {
+                db.endTransaction();
+                // a last snapshot may have been purged
+                lastSnapshotRegister.reset();
+            }
+        }
     }
 
     public List<PerformanceItem> getCurrentSnapshot() {
@@ -298,7 +678,8 @@ public class SnapshotTotalsSqliteModel {
             cal.add(Calendar.DAY_OF_YEAR, days + 1);
             long endTime = cal.getTimeInMillis();
 
-            snapshot = getSnapshotsByDay(accountId, startTime, endTime);
+            SnapshotRollup rollup = SnapshotRollup.select(endTime - startTime, MIN_GRAPH_POINTS, SnapshotRollup.DAILY);
+            snapshot = getSnapshots(accountId, (rollup != null) ? rollup : SnapshotRollup.DAILY, startTime, endTime);
         }
         return snapshot;
     }
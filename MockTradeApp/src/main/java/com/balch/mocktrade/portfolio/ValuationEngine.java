@@ -0,0 +1,418 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 4:35 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.portfolio;
+
+import com.balch.mocktrade.account.Account;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.investment.Investment;
+import com.balch.mocktrade.investment.InvestmentValuation;
+import com.balch.mocktrade.portfolio.PortfolioValuation.AccountValuation;
+import com.balch.mocktrade.portfolio.PortfolioValuation.ChangeType;
+import com.balch.mocktrade.portfolio.PortfolioValuation.Position;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Long lived per account and overall valuation of the portfolio. The engine is
+ * loaded once and then kept up to date by {@link PortfolioSqliteModel}, a quote
+ * only touches the positions holding its symbol and an executed order only reloads
+ * its account. The app's engine is owned by the ModelApiFactory and shared by all
+ * the short lived models.
+ *
+ * Reads return an immutable {@link PortfolioValuation} that is cached until the
+ * next change. The best and worst performers are kept ranked in {@link PerformerIndex}es
+ * per account and across accounts so they can be read without a rescan.
+ *
+ * The backtester creates its own engine over its in-memory portfolio, using its
+ * simulated {@link Clock} to decide what today is.
+ */
+public class ValuationEngine {
+
+    public interface Clock {
+        long currentTimeMillis();
+    }
+
+    private final Map<Long, AccountEntry> accounts = new HashMap<>();
+    private final Map<Long, Position> positions = new HashMap<>();
+    private final Map<String, Set<Long>> symbolToInvestmentIds = new HashMap<>();
+
+    // account level totals, see InvestmentValuation.TOTAL_*
+    private final long[] includedTotals = new long[InvestmentValuation.TOTALS_SIZE];
+    private final long[] allTotals = new long[InvestmentValuation.TOTALS_SIZE];
+
+    private final PerformerIndex includedPerformers = new PerformerIndex();
+    private final PerformerIndex allPerformers = new PerformerIndex();
+
+    private final Clock clock;
+
+    private boolean loaded;
+    private long todayStartTime;
+    private long todayEndTime;
+    private PortfolioValuation valuation;
+
+    public ValuationEngine() {
+        this(System::currentTimeMillis);
+    }
+
+    public ValuationEngine(Clock clock) {
+        this.clock = clock;
+    }
+
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized void load(List<Account> accounts, List<Investment> investments) {
+        clear();
+        setToday(clock.currentTimeMillis());
+
+        for (Account account : accounts) {
+            addAccount(account);
+        }
+
+        for (Investment investment : investments) {
+            addPosition(new Position(investment));
+        }
+
+        loaded = true;
+    }
+
+    /**
+     * Forces the engine to be reloaded the next time it is used
+     */
+    public synchronized void invalidate() {
+        clear();
+    }
+
+    /**
+     * Replaces the account and all its positions
+     */
+    synchronized void putAccount(Account account, List<Investment> investments) {
+        if (!loaded) {
+            return;
+        }
+
+        removeAccount(account.getId());
+        addAccount(account);
+        for (Investment investment : investments) {
+            addPosition(new Position(investment));
+        }
+    }
+
+    synchronized void removeAccount(long accountId) {
+        if (!loaded) {
+            return;
+        }
+
+        AccountEntry entry = accounts.get(accountId);
+        if (entry != null) {
+            for (Long investmentId : new ArrayList<>(entry.investmentIds)) {
+                removePosition(investmentId);
+            }
+            addToTotals(entry, -entry.initialBalance, -entry.availableFunds, 0);
+            accounts.remove(accountId);
+            valuation = null;
+        }
+    }
+
+    synchronized void putInvestment(Investment investment) {
+        if (!loaded) {
+            return;
+        }
+
+        removePosition(investment.getId());
+        addPosition(new Position(investment));
+    }
+
+    /**
+     * Updates the price of every position holding one of the symbols. Quotes that
+     * are not newer than the position's last trade are ignored, the same as
+     * {@link com.balch.mocktrade.investment.InvestmentSqliteModel#applyQuotes(Map)}
+     */
+    synchronized void applyQuotes(Map<String, Quote> quoteMap) {
+        if (!loaded) {
+            return;
+        }
+
+        checkToday(clock.currentTimeMillis());
+
+        for (Map.Entry<String, Quote> quoteEntry : quoteMap.entrySet()) {
+            Set<Long> investmentIds = symbolToInvestmentIds.get(quoteEntry.getKey());
+            if (investmentIds == null) {
+                continue;
+            }
+
+            Quote quote = quoteEntry.getValue();
+            long lastTradeTime = quote.getLastTradeTime().getTime();
+            for (Long investmentId : investmentIds) {
+                Position position = positions.get(investmentId);
+                if (position.getLastTradeTime() < lastTradeTime) {
+                    Position updated = position.withPrice(quote.getPrice().getMicroCents(),
+                            quote.getPreviousClose().getMicroCents(), lastTradeTime);
+                    positions.put(investmentId, updated);
+                    addPositionToTotals(position, -1);
+                    addPositionToTotals(updated, 1);
+                    unindexPosition(position);
+                    indexPosition(updated);
+                }
+            }
+        }
+    }
+
+    public synchronized PortfolioValuation getValuation() {
+        checkToday(clock.currentTimeMillis());
+
+        if (valuation == null) {
+            Map<Long, AccountValuation> accountValuations = new HashMap<>(accounts.size());
+            for (AccountEntry entry : accounts.values()) {
+                accountValuations.put(entry.accountId, new AccountValuation(entry.accountId,
+                        entry.excludeFromTotals, entry.initialBalance, entry.availableFunds,
+                        entry.value, entry.todayChange, entry.investmentIds.size()));
+            }
+
+            valuation = new PortfolioValuation(accountValuations, new ArrayList<>(positions.values()),
+                    includedTotals.clone(), allTotals.clone());
+        }
+
+        return valuation;
+    }
+
+    /**
+     * @return up to count positions, from the best, across all the accounts or only
+     * the accounts that are not excluded from totals
+     */
+    public synchronized List<Position> getBestPerformers(ChangeType changeType, int count,
+                                                         boolean includeExcludedAccounts) {
+        PerformerIndex index = includeExcludedAccounts ? allPerformers : includedPerformers;
+        return index.getBest(changeType, count);
+    }
+
+    /**
+     * @return up to count positions, from the worst, across all the accounts or only
+     * the accounts that are not excluded from totals
+     */
+    public synchronized List<Position> getWorstPerformers(ChangeType changeType, int count,
+                                                          boolean includeExcludedAccounts) {
+        PerformerIndex index = includeExcludedAccounts ? allPerformers : includedPerformers;
+        return index.getWorst(changeType, count);
+    }
+
+    public synchronized List<Position> getBestPerformers(long accountId, ChangeType changeType, int count) {
+        AccountEntry entry = accounts.get(accountId);
+        return (entry != null) ? entry.performers.getBest(changeType, count) : Collections.emptyList();
+    }
+
+    public synchronized List<Position> getWorstPerformers(long accountId, ChangeType changeType, int count) {
+        AccountEntry entry = accounts.get(accountId);
+        return (entry != null) ? entry.performers.getWorst(changeType, count) : Collections.emptyList();
+    }
+
+    private void clear() {
+        accounts.clear();
+        positions.clear();
+        symbolToInvestmentIds.clear();
+        for (int x = 0; x < InvestmentValuation.TOTALS_SIZE; x++) {
+            includedTotals[x] = 0;
+            allTotals[x] = 0;
+        }
+        includedPerformers.clear();
+        allPerformers.clear();
+        loaded = false;
+        valuation = null;
+    }
+
+    private void addAccount(Account account) {
+        AccountEntry entry = new AccountEntry(account);
+        accounts.put(entry.accountId, entry);
+        addToTotals(entry, entry.initialBalance, entry.availableFunds, 0);
+        valuation = null;
+    }
+
+    private void addPosition(Position position) {
+        AccountEntry entry = accounts.get(position.getAccountId());
+        if (entry == null) {
+            return;
+        }
+
+        positions.put(position.getInvestmentId(), position);
+        entry.investmentIds.add(position.getInvestmentId());
+
+        Set<Long> investmentIds = symbolToInvestmentIds.get(position.getSymbol());
+        if (investmentIds == null) {
+            investmentIds = new HashSet<>();
+            symbolToInvestmentIds.put(position.getSymbol(), investmentIds);
+        }
+        investmentIds.add(position.getInvestmentId());
+
+        addPositionToTotals(position, 1);
+        indexPosition(position);
+    }
+
+    private void removePosition(long investmentId) {
+        Position position = positions.remove(investmentId);
+        if (position == null) {
+            return;
+        }
+
+        addPositionToTotals(position, -1);
+        unindexPosition(position);
+
+        AccountEntry entry = accounts.get(position.getAccountId());
+        if (entry != null) {
+            entry.investmentIds.remove(investmentId);
+        }
+
+        Set<Long> investmentIds = symbolToInvestmentIds.get(position.getSymbol());
+        if (investmentIds != null) {
+            investmentIds.remove(investmentId);
+            if (investmentIds.isEmpty()) {
+                symbolToInvestmentIds.remove(position.getSymbol());
+            }
+        }
+    }
+
+    /**
+     * @param sign 1 to add the position or -1 to remove it
+     */
+    private void addPositionToTotals(Position position, int sign) {
+        AccountEntry entry = accounts.get(position.getAccountId());
+        if (entry == null) {
+            return;
+        }
+
+        long value = sign * position.getValueMicroCents();
+        long todayChange = isCurrent(position) ? sign * position.getTodayChangeMicroCents() : 0;
+
+        entry.value += value;
+        entry.todayChange += todayChange;
+        addToTotals(entry, 0, value, todayChange);
+        valuation = null;
+    }
+
+    private void indexPosition(Position position) {
+        AccountEntry entry = accounts.get(position.getAccountId());
+        if (entry == null) {
+            return;
+        }
+
+        entry.performers.add(position);
+        allPerformers.add(position);
+        if (!entry.excludeFromTotals) {
+            includedPerformers.add(position);
+        }
+    }
+
+    private void unindexPosition(Position position) {
+        AccountEntry entry = accounts.get(position.getAccountId());
+        if (entry != null) {
+            entry.performers.remove(position);
+        }
+        allPerformers.remove(position);
+        includedPerformers.remove(position);
+    }
+
+    private void addToTotals(AccountEntry entry, long costBasis, long value, long todayChange) {
+        allTotals[InvestmentValuation.TOTAL_COST_BASIS] += costBasis;
+        allTotals[InvestmentValuation.TOTAL_VALUE] += value;
+        allTotals[InvestmentValuation.TOTAL_TODAY_CHANGE] += todayChange;
+
+        if (!entry.excludeFromTotals) {
+            includedTotals[InvestmentValuation.TOTAL_COST_BASIS] += costBasis;
+            includedTotals[InvestmentValuation.TOTAL_VALUE] += value;
+            includedTotals[InvestmentValuation.TOTAL_TODAY_CHANGE] += todayChange;
+        }
+    }
+
+    private boolean isCurrent(Position position) {
+        return (position.getLastTradeTime() >= todayStartTime) &&
+                (position.getLastTradeTime() < todayEndTime);
+    }
+
+    /**
+     * Today's change only includes prices from today, when the day rolls
+     * over it has to be recalculated for every position
+     */
+    private void checkToday(long now) {
+        if ((now >= todayStartTime) && (now < todayEndTime)) {
+            return;
+        }
+
+        setToday(now);
+
+        allTotals[InvestmentValuation.TOTAL_TODAY_CHANGE] = 0;
+        includedTotals[InvestmentValuation.TOTAL_TODAY_CHANGE] = 0;
+        for (AccountEntry entry : accounts.values()) {
+            entry.todayChange = 0;
+        }
+
+        for (Position position : positions.values()) {
+            if (isCurrent(position)) {
+                AccountEntry entry = accounts.get(position.getAccountId());
+                long todayChange = position.getTodayChangeMicroCents();
+                entry.todayChange += todayChange;
+                addToTotals(entry, 0, 0, todayChange);
+            }
+        }
+
+        valuation = null;
+    }
+
+    private void setToday(long now) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(now);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        todayStartTime = cal.getTimeInMillis();
+        cal.add(Calendar.DAY_OF_YEAR, 1);
+        todayEndTime = cal.getTimeInMillis();
+    }
+
+    private static class AccountEntry {
+        private final long accountId;
+        private final boolean excludeFromTotals;
+        private final long initialBalance;
+        private final long availableFunds;
+        private final Set<Long> investmentIds = new HashSet<>();
+        private final PerformerIndex performers = new PerformerIndex();
+        private long value;
+        private long todayChange;
+
+        private AccountEntry(Account account) {
+            this.accountId = account.getId();
+            this.excludeFromTotals = account.getExcludeFromTotals();
+            this.initialBalance = account.getInitialBalance().getMicroCents();
+            this.availableFunds = account.getAvailableFunds().getMicroCents();
+        }
+    }
+}
@@ -37,8 +37,8 @@ import com.balch.mocktrade.finance.FinanceModel;
 import com.balch.mocktrade.finance.Quote;
 import com.balch.mocktrade.order.Order;
 import com.balch.mocktrade.order.OrderResult;
+import com.balch.mocktrade.order.OrderTriggerIndex;
 import com.balch.mocktrade.portfolio.PortfolioModel;
-import com.balch.mocktrade.portfolio.PortfolioSqliteModel;
 import com.balch.mocktrade.portfolio.PortfolioUpdateBroadcaster;
 import com.balch.mocktrade.receivers.OrderReceiver;
 
@@ -59,26 +59,34 @@ public class OrderService extends IntentService {
         try {
             TradeModelProvider modelProvider = ((TradeModelProvider) this.getApplication());
             FinanceModel financeModel = modelProvider.getFinanceModel();
-            final PortfolioModel portfolioModel = new PortfolioSqliteModel(modelProvider.getContext(),
-                    modelProvider.getSqlConnection(),
-                    financeModel,
-                    modelProvider.getSettings());
+            final PortfolioModel portfolioModel = modelProvider.getModelApiFactory().createPortfolioModel(modelProvider);
             final List<Order> orders = portfolioModel.getOpenOrders();
 
             if (orders.size() > 0) {
-                List<String> symbols = new ArrayList<>(orders.size());
-                for (Order o : orders) {
-                    symbols.add(o.getSymbol());
-                }
+                OrderTriggerIndex triggerIndex = new OrderTriggerIndex(orders);
 
-                Map<String, Quote> quoteMap = financeModel.getQuotes(symbols).blockingFirst();
+                Map<String, Quote> quoteMap = financeModel
+                        .getQuotes(new ArrayList<>(triggerIndex.getSymbols()))
+                        .blockingFirst();
                 boolean updateView = false;
                 boolean reschedule = (quoteMap == null);
                 if (quoteMap != null) {
-                    for (Order o : orders) {
-                        try {
-                            Quote quote = quoteMap.get(o.getSymbol());
-                            OrderResult orderResult = portfolioModel.attemptExecuteOrder(o, quote);
+                    // only orders whose trigger price was crossed are attempted, orders
+                    // without a quote are still attempted so the error is reported
+                    List<Order> triggeredOrders = new ArrayList<>();
+                    for (String symbol : triggerIndex.getSymbols()) {
+                        Quote quote = quoteMap.get(symbol);
+                        triggeredOrders.addAll((quote != null) ?
+                                triggerIndex.getTriggeredOrders(quote) :
+                                triggerIndex.getOrders(symbol));
+                    }
+
+                    int completedOrders = 0;
+                    if (!triggeredOrders.isEmpty()) {
+                        List<OrderResult> orderResults = portfolioModel.attemptExecuteOrders(triggeredOrders, quoteMap);
+                        for (int x = 0; x < triggeredOrders.size(); x++) {
+                            Order o = triggeredOrders.get(x);
+                            OrderResult orderResult = orderResults.get(x);
                             if (orderResult.isSuccess()) {
 
                                 String msg = (o.getAction() == Order.OrderAction.BUY) ?
@@ -95,16 +103,17 @@ public class OrderService extends IntentService {
 
                                 sendNotification(o, msg);
                                 updateView = true;
-                            } else {
-                                reschedule = true;
+                                completedOrders++;
+                            } else if (orderResult.getError() != null) {
+                                Log.e(TAG, "attemptExecuteOrders exception", orderResult.getError());
+                                sendNotification(o, String.format(getString(R.string.notification_order_error_format),
+                                        o.getId(), o.getSymbol(), orderResult.getError().getMessage()));
+                                completedOrders++;
                             }
-
-                        } catch (Exception ex) {
-                            Log.e(TAG, "attemptExecuteOrder exception", ex);
-                            sendNotification(o, String.format(getString(R.string.notification_order_error_format),
-                                    o.getId(), o.getSymbol(), ex.getMessage()));
                         }
                     }
+
+                    reschedule = (completedOrders < orders.size());
                 }
 
                 if (updateView) {
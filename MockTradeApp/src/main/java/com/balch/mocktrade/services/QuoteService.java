@@ -32,17 +32,16 @@ import android.util.LongSparseArray;
 import com.balch.mocktrade.TradeModelProvider;
 import com.balch.mocktrade.TradeApplication;
 import com.balch.mocktrade.account.Account;
-import com.balch.mocktrade.account.strategies.BaseStrategy;
 import com.balch.mocktrade.finance.FinanceModel;
 import com.balch.mocktrade.finance.Quote;
 import com.balch.mocktrade.investment.Investment;
 import com.balch.mocktrade.portfolio.PortfolioModel;
-import com.balch.mocktrade.portfolio.PortfolioSqliteModel;
 import com.balch.mocktrade.portfolio.PortfolioUpdateBroadcaster;
 import com.balch.mocktrade.receivers.QuoteReceiver;
 import com.balch.mocktrade.settings.Settings;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -51,6 +50,9 @@ public class QuoteService extends IntentService {
 
     public static final int SNAPSHOT_DAYS_TO_KEEP = 3650;
 
+    // intraday snapshots older than this are moved to the compressed archive
+    public static final int SNAPSHOT_DAYS_BEFORE_ARCHIVE = 90;
+
     public QuoteService() {
         super(QuoteService.class.getName());
     }
@@ -64,10 +66,7 @@ public class QuoteService extends IntentService {
             // get the investment list from the db
             TradeModelProvider modelProvider = ((TradeModelProvider) this.getApplication());
             FinanceModel financeModel = modelProvider.getFinanceModel();
-            final PortfolioModel portfolioModel = new PortfolioSqliteModel(modelProvider.getContext(),
-                    modelProvider.getSqlConnection(),
-                    financeModel,
-                    modelProvider.getSettings());
+            final PortfolioModel portfolioModel = modelProvider.getModelApiFactory().createPortfolioModel(modelProvider);
             final List<Investment> investments = portfolioModel.getAllInvestments();
             Settings settings = ((TradeModelProvider) this.getApplication()).getSettings();
 
@@ -93,25 +92,31 @@ public class QuoteService extends IntentService {
                     Map<String, Quote> quoteMap = financeModel.getQuotes(symbols).blockingFirst();
                     if (quoteMap != null) {
                         boolean newHasQuotes = false;
+                        Map<String, Quote> updatedQuotes = new HashMap<>();
                         for (Investment i : investments) {
-                            try {
-                                Quote quote = quoteMap.get(i.getSymbol());
-                                if (quote != null) {
-                                    if (quote.getLastTradeTime().after(i.getLastTradeTime())) {
-                                        newHasQuotes = true;
-                                        i.setPrevDayClose(quote.getPreviousClose());
-                                        i.setPrice(quote.getPrice(), quote.getLastTradeTime());
-                                        portfolioModel.updateInvestment(i);
-                                    }
+                            Quote quote = quoteMap.get(i.getSymbol());
+                            if (quote != null) {
+                                if (quote.getLastTradeTime().after(i.getLastTradeTime())) {
+                                    newHasQuotes = true;
+                                    i.setPrevDayClose(quote.getPreviousClose());
+                                    i.setPrice(quote.getPrice(), quote.getLastTradeTime());
+                                    updatedQuotes.put(i.getSymbol(), quote);
                                 }
+                            }
+                        }
+
+                        if (newHasQuotes) {
+                            try {
+                                portfolioModel.applyQuotes(updatedQuotes);
                             } catch (Exception ex) {
-                                Log.e(TAG, "updateInvestment exception", ex);
+                                Log.e(TAG, "applyQuotes exception", ex);
                             }
                         }
 
                         boolean isFirstSyncOfDay = !DateUtils.isToday(settings.getLastSyncTime());
                         if (isFirstSyncOfDay) {
                             portfolioModel.purgeSnapshots(SNAPSHOT_DAYS_TO_KEEP);
+                            portfolioModel.archiveSnapshots(SNAPSHOT_DAYS_BEFORE_ARCHIVE);
                         }
 
                         if (newHasQuotes) {
@@ -151,25 +156,9 @@ public class QuoteService extends IntentService {
     protected void processAccountStrategies(List<Account> accounts,
                                             LongSparseArray<List<Investment>> accountIdToInvestmentMap,
                                             Map<String, Quote> quoteMap, boolean doDailyUpdate) {
-        for (Account account : accounts) {
-            Class<? extends BaseStrategy> strategyClazz = account.getStrategy().getStrategyClazz();
-            if (strategyClazz != null) {
-                try {
-                    TradeModelProvider modelProvider = ((TradeModelProvider)this.getApplication());
-                    BaseStrategy strategy = BaseStrategy.createStrategy(strategyClazz,
-                            modelProvider.getContext(),
-                            modelProvider.getFinanceModel(),
-                            modelProvider.getSqlConnection(),
-                            modelProvider.getSettings());
-                    if (doDailyUpdate) {
-                        strategy.dailyUpdate(account, accountIdToInvestmentMap.get(account.getId()), quoteMap);
-                    }
-                    strategy.pollUpdate(account, accountIdToInvestmentMap.get(account.getId()), quoteMap);
-                } catch (Exception ex) {
-                    Log.e(TAG, "Error calling strategy.pollUpdate", ex);
-                }
-            }
-        }
+        TradeModelProvider modelProvider = ((TradeModelProvider)this.getApplication());
+        modelProvider.getModelApiFactory().getStrategyRegistry(modelProvider)
+                .update(accounts, accountIdToInvestmentMap, quoteMap, doDailyUpdate);
     }
 
 }
\ No newline at end of file
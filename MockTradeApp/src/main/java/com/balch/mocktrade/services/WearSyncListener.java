@@ -30,6 +30,7 @@ import android.util.Log;
 
 import com.balch.mocktrade.TradeModelProvider;
 import com.balch.mocktrade.settings.Settings;
+import com.balch.mocktrade.shared.SnapshotDelta;
 import com.balch.mocktrade.shared.WatchConfigItem;
 import com.balch.mocktrade.shared.WearDataSync;
 import com.google.android.gms.common.ConnectionResult;
@@ -37,6 +38,7 @@ import com.google.android.gms.common.api.GoogleApiClient;
 import com.google.android.gms.wearable.DataEvent;
 import com.google.android.gms.wearable.DataEventBuffer;
 import com.google.android.gms.wearable.DataMap;
+import com.google.android.gms.wearable.DataMapItem;
 import com.google.android.gms.wearable.MessageEvent;
 import com.google.android.gms.wearable.Wearable;
 import com.google.android.gms.wearable.WearableListenerService;
@@ -98,6 +100,12 @@ implements GoogleApiClient.ConnectionCallbacks, GoogleApiClient.OnConnectionFail
             String uriPath = dataEvent.getDataItem().getUri().getPath();
             if (uriPath.equals(WearDataSync.PATH_WATCH_FACE_ACCOUNT_ID)) {
                 startService(WearSyncService.getIntent(getApplicationContext(), true, false, false, true));
+            } else if (uriPath.equals(WearDataSync.PATH_SNAPSHOT_ACK)) {
+                // regular acks are picked up by the next sync
+                DataMap dataMap = DataMapItem.fromDataItem(dataEvent.getDataItem()).getDataMap();
+                if (dataMap.getLong(WearDataSync.DATA_SNAPSHOT_ACK_TIME) == SnapshotDelta.ACK_TIME_RESYNC) {
+                    startService(WearSyncService.getResyncIntent(getApplicationContext()));
+                }
             }
         }
     }
@@ -34,12 +34,13 @@ import com.balch.android.app.framework.types.Money;
 import com.balch.mocktrade.R;
 import com.balch.mocktrade.TradeModelProvider;
 import com.balch.mocktrade.account.Account;
-import com.balch.mocktrade.investment.Investment;
 import com.balch.mocktrade.portfolio.PortfolioModel;
-import com.balch.mocktrade.portfolio.PortfolioSqliteModel;
+import com.balch.mocktrade.portfolio.PortfolioValuation;
 import com.balch.mocktrade.settings.Settings;
 import com.balch.mocktrade.shared.HighlightItem;
 import com.balch.mocktrade.shared.PerformanceItem;
+import com.balch.mocktrade.shared.PerformanceSeries;
+import com.balch.mocktrade.shared.SnapshotDelta;
 import com.balch.mocktrade.shared.WatchConfigItem;
 import com.balch.mocktrade.shared.WearDataSync;
 import com.google.android.gms.common.ConnectionResult;
@@ -67,8 +68,29 @@ public class WearSyncService extends IntentService implements
     private static final String EXTRA_SEND_CONFIG_ITEMS = "extra_send_config_items";
     private static final String EXTRA_SEND_HIGHLIGHTS = "extra_send_highlights";
     private static final String EXTRA_BROADCAST_ACCOUNT_ID = "extra_broadcast_account_id";
+    private static final String EXTRA_URGENT = "extra_urgent";
+
+    private static final int FLAG_SEND_PERF_ITEMS = 1;
+    private static final int FLAG_SEND_HIGHLIGHTS = 1 << 1;
+    private static final int FLAG_SEND_CONFIG_ITEMS = 1 << 2;
+    private static final int FLAG_BROADCAST_ACCOUNT_ID = 1 << 3;
+    private static final int FLAG_URGENT = 1 << 4;
 
     private static final long CONNECTION_TIME_OUT_MS = 1000;
+
+    // quote polls that come in within the window are sent as one put
+    private static final long SYNC_WINDOW_MS = 15000;
+
+    // config changes and the watch asking for data are waiting on the response
+    private static final WearSyncThrottle throttle = new WearSyncThrottle(SYNC_WINDOW_MS,
+            FLAG_SEND_CONFIG_ITEMS | FLAG_BROADCAST_ACCOUNT_ID | FLAG_URGENT);
+
+    // hash of the highlights last put, only accessed by the service's worker thread
+    private static Integer lastHighlightsHash = null;
+
+    // hash of the highlights being put, it becomes lastHighlightsHash once the put succeeds
+    private int pendingHighlightsHash;
+
     private GoogleApiClient googleApiClient;
 
     public static Intent getIntent(Context context, boolean sendPerformanceItems, boolean sendHighlights,
@@ -85,6 +107,14 @@ public class WearSyncService extends IntentService implements
         return getIntent(context, true, true, false, false);
     }
 
+    /**
+     * Returns an intent that sends the watch all of the day's snapshots right away
+     */
+    public static Intent getResyncIntent(Context context) {
+        return getIntent(context, true, false, false, false)
+                .putExtra(EXTRA_URGENT, true);
+    }
+
     public WearSyncService() {
         super(WearSyncService.class.getName());
     }
@@ -100,48 +130,79 @@ public class WearSyncService extends IntentService implements
                 .build();
     }
 
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        if (intent != null) {
+            throttle.request(getSyncFlags(intent));
+        }
+        return super.onStartCommand(intent, flags, startId);
+    }
+
     @Override
     protected void onHandleIntent(final Intent intent) {
 
+        int syncFlags;
+        try {
+            syncFlags = throttle.take(getSyncFlags(intent));
+        } catch (InterruptedException e) {
+            Log.e(TAG, "onHandleIntent interrupted", e);
+            return;
+        }
+
+        if (syncFlags == 0) {
+            // coalesced into a later request
+            return;
+        }
+
         googleApiClient.blockingConnect(CONNECTION_TIME_OUT_MS, TimeUnit.MILLISECONDS);
         if (googleApiClient.isConnected()) {
 
             try {
 
-                boolean sendPerformanceItems = intent.getBooleanExtra(EXTRA_SEND_PERF_ITEMS, true);
-                boolean sendHighlights = intent.getBooleanExtra(EXTRA_SEND_HIGHLIGHTS, true);
-                boolean sendConfigItems = intent.getBooleanExtra(EXTRA_SEND_CONFIG_ITEMS, false);
-                boolean broadcastAccountID = intent.getBooleanExtra(EXTRA_BROADCAST_ACCOUNT_ID, false);
+                boolean urgent = throttle.isUrgent(syncFlags);
                 Log.i(TAG, "WearSyncService onHandleIntent");
 
                 TradeModelProvider modelProvider = (TradeModelProvider) this.getApplication();
-                PortfolioModel portfolioModel = new PortfolioSqliteModel(modelProvider.getContext(),
-                        modelProvider.getSqlConnection(),
-                        modelProvider.getFinanceModel(),
-                        modelProvider.getSettings());
+                PortfolioModel portfolioModel = modelProvider.getModelApiFactory().createPortfolioModel(modelProvider);
 
                 DataItemBuffer dataItems = Wearable.DataApi.getDataItems(googleApiClient).await();
-                long accountId = getAccountIdFromDataBuffer(dataItems);
+                WatchState watchState = getWatchState(dataItems);
+                long accountId = watchState.accountId;
 
                 dataItems.release();
                 List<PerformanceItem> performanceItems = portfolioModel.getCurrentSnapshot(accountId);
 
-                if (broadcastAccountID) {
+                if ((syncFlags & FLAG_BROADCAST_ACCOUNT_ID) != 0) {
                     PerformanceItemUpdateBroadcaster.broadcast(getApplicationContext(), accountId, -1);
                 }
 
-                if (sendConfigItems) {
-                    sendConfigItems(modelProvider.getSettings());
+                List<PendingResult<DataApi.DataItemResult>> pendingResults = new ArrayList<>();
+                if ((syncFlags & FLAG_SEND_CONFIG_ITEMS) != 0) {
+                    pendingResults.add(sendConfigItems(modelProvider.getSettings()));
+                }
+
+                if (((syncFlags & FLAG_SEND_PERF_ITEMS) != 0) && (performanceItems != null)) {
+                    addIfNotNull(pendingResults, sendPerformanceItems(accountId, performanceItems, watchState, urgent));
                 }
 
-                if (sendPerformanceItems && (performanceItems != null)) {
-                    sendPerformanceItems(performanceItems);
+                PendingResult<DataApi.DataItemResult> highlightsResult = null;
+                if ((syncFlags & FLAG_SEND_HIGHLIGHTS) != 0) {
+                    highlightsResult = sendHighlights(modelProvider, portfolioModel,
+                            watchState.isPacked(), urgent);
+                    addIfNotNull(pendingResults, highlightsResult);
                 }
 
-                if (sendHighlights) {
-                    sendHighlights(modelProvider, portfolioModel);
+                // wait once for all the puts instead of after each one
+                for (PendingResult<DataApi.DataItemResult> pendingResult : pendingResults) {
+                    DataApi.DataItemResult result = pendingResult.await();
+                    if ((pendingResult == highlightsResult) && result.getStatus().isSuccess()) {
+                        // a failed put is retried on the next sync
+                        lastHighlightsHash = pendingHighlightsHash;
+                    }
                 }
 
+                throttle.synced();
+
             } catch (Exception ex) {
                 Log.e(TAG, "onHandleIntent exception", ex);
             } finally {
@@ -153,28 +214,86 @@ public class WearSyncService extends IntentService implements
 
     }
 
-    private void sendConfigItems(Settings settings) {
+    private static int getSyncFlags(Intent intent) {
+        int flags = 0;
+        if (intent.getBooleanExtra(EXTRA_SEND_PERF_ITEMS, true)) {
+            flags |= FLAG_SEND_PERF_ITEMS;
+        }
+        if (intent.getBooleanExtra(EXTRA_SEND_HIGHLIGHTS, true)) {
+            flags |= FLAG_SEND_HIGHLIGHTS;
+        }
+        if (intent.getBooleanExtra(EXTRA_SEND_CONFIG_ITEMS, false)) {
+            flags |= FLAG_SEND_CONFIG_ITEMS;
+        }
+        if (intent.getBooleanExtra(EXTRA_BROADCAST_ACCOUNT_ID, false)) {
+            flags |= FLAG_BROADCAST_ACCOUNT_ID;
+        }
+        if (intent.getBooleanExtra(EXTRA_URGENT, false)) {
+            flags |= FLAG_URGENT;
+        }
+        return flags;
+    }
+
+    private static <T> void addIfNotNull(List<T> list, T item) {
+        if (item != null) {
+            list.add(item);
+        }
+    }
+
+    private PendingResult<DataApi.DataItemResult> sendConfigItems(Settings settings) {
         PutDataMapRequest putDataMapRequest = PutDataMapRequest.create(WearDataSync.PATH_WATCH_CONFIG_SYNC);
         putDataMapRequest.getDataMap().putDataMapArrayList(WearDataSync.DATA_WATCH_CONFIG_DATA_ITEMS, getConfigDataMap(settings));
         putDataMapRequest.setUrgent();
-        PendingResult<DataApi.DataItemResult> pendingResult = Wearable.DataApi.putDataItem(googleApiClient, putDataMapRequest.asPutDataRequest());
-        pendingResult.await();
+        return Wearable.DataApi.putDataItem(googleApiClient, putDataMapRequest.asPutDataRequest());
     }
 
-    private void sendPerformanceItems(List<PerformanceItem> performanceItems) {
-        ArrayList<DataMap> dataMapList = new ArrayList<>(performanceItems.size());
-        for (PerformanceItem item : performanceItems) {
-            dataMapList.add(item.toDataMap());
+    /**
+     * Sends the snapshots the watch does not have yet
+     *
+     * @return null if the watch is up to date
+     */
+    private PendingResult<DataApi.DataItemResult> sendPerformanceItems(long accountId,
+                                                                       List<PerformanceItem> performanceItems,
+                                                                       WatchState watchState, boolean urgent) {
+        PerformanceSeries series = PerformanceSeries.fromItems(accountId, performanceItems);
+        int start = (watchState.ackAccountId == accountId) ?
+                SnapshotDelta.getDeltaStart(series, watchState.ackTime) : -1;
+        if (start == series.size()) {
+            return null;
+        }
+
+        long baseTime = SnapshotDelta.BASE_TIME_FULL;
+        if (start > 0) {
+            baseTime = watchState.ackTime;
+        } else {
+            start = 0;
         }
 
         PutDataMapRequest putDataMapRequest = PutDataMapRequest.create(WearDataSync.PATH_SNAPSHOT_SYNC);
-        putDataMapRequest.getDataMap().putDataMapArrayList(WearDataSync.DATA_SNAPSHOT_DAILY, dataMapList);
-        putDataMapRequest.setUrgent();
-        PendingResult<DataApi.DataItemResult> pendingResult = Wearable.DataApi.putDataItem(googleApiClient, putDataMapRequest.asPutDataRequest());
-        pendingResult.await();
+        DataMap dataMap = putDataMapRequest.getDataMap();
+        dataMap.putLong(WearDataSync.DATA_SNAPSHOT_ACCOUNT_ID, accountId);
+        dataMap.putLong(WearDataSync.DATA_SNAPSHOT_BASE_TIME, baseTime);
+        if (watchState.isPacked()) {
+            dataMap.putByteArray(WearDataSync.DATA_SNAPSHOT_SERIES, series.toByteArray(start));
+        } else {
+            ArrayList<DataMap> dataMapList = new ArrayList<>(performanceItems.size() - start);
+            for (int x = start; x < performanceItems.size(); x++) {
+                dataMapList.add(performanceItems.get(x).toDataMap());
+            }
+            dataMap.putDataMapArrayList(WearDataSync.DATA_SNAPSHOT_DAILY, dataMapList);
+        }
+        if (urgent) {
+            putDataMapRequest.setUrgent();
+        }
+        return Wearable.DataApi.putDataItem(googleApiClient, putDataMapRequest.asPutDataRequest());
     }
 
-    private void sendHighlights(TradeModelProvider modelProvider, PortfolioModel portfolioModel) {
+    /**
+     * @return null if the highlights did not change since they were last sent
+     */
+    private PendingResult<DataApi.DataItemResult> sendHighlights(TradeModelProvider modelProvider,
+                                                                 PortfolioModel portfolioModel,
+                                                                 boolean packed, boolean urgent) {
         Settings settings = modelProvider.getSettings();
         boolean allAccounts = !settings.getBoolean(Settings.Key.PREF_HIDE_EXCLUDE_ACCOUNTS);
 
@@ -184,166 +303,155 @@ public class WearSyncService extends IntentService implements
             PerformanceItem totalsPerformanceItem = new PerformanceItem(-1, new Date(),
                     new Money(), new Money(), new Money());
 
-            List<DataMap> accountsDataMapList = new ArrayList<>();
+            List<HighlightItem> accountItems = new ArrayList<>();
 
             Highlights highlights = getHighlights(portfolioModel, settings,
-                    accounts, allAccounts, totalsPerformanceItem, accountsDataMapList);
+                    accounts, allAccounts, totalsPerformanceItem, accountItems);
+
+            List<HighlightItem> highlightItems = getHighlightItems(highlights,
+                    totalsPerformanceItem, accountItems);
 
-            ArrayList<DataMap> dataMapList = getHighlightDataMap(highlights,
-                    totalsPerformanceItem, accountsDataMapList);
-            publishHighlights(dataMapList);
+            int hash = 31 * highlightItems.hashCode() + (packed ? 1 : 0);
+            if ((lastHighlightsHash == null) || (lastHighlightsHash != hash)) {
+                pendingHighlightsHash = hash;
+                return publishHighlights(highlightItems, packed, urgent);
+            }
         }
+        return null;
     }
 
     private Highlights getHighlights(PortfolioModel portfolioModel,
                                Settings settings,
                                List<Account> accounts, boolean allAccounts,
                                PerformanceItem totalsPerformanceItem,
-                               List<DataMap> accountsDataMapList) {
+                               List<HighlightItem> accountItems) {
 
         Resources resources = getResources();
 
         Highlights highlights = new Highlights();
         boolean demoMode = settings.getBoolean(Settings.Key.PREF_DEMO_MODE);
 
+        PortfolioValuation valuation = portfolioModel.getValuation();
+
         Date timestamp = new Date();
         for (Account account : accounts) {
-            PerformanceItem performanceItem = new PerformanceItem(-1, new Date(), new Money(), new Money(), new Money());
-            List<Investment> investments = portfolioModel.getInvestments(account.getId());
-
-            if (allAccounts || !account.getExcludeFromTotals()) {
-                calculateHighlights(highlights, investments);
-            }
-            performanceItem.aggregate(account.getPerformanceItem(investments, timestamp));
+            PortfolioValuation.AccountValuation accountValuation = valuation.getAccount(account.getId());
+            PerformanceItem performanceItem = (accountValuation != null) ?
+                    accountValuation.getPerformanceItem(timestamp) :
+                    account.getPerformanceItem(portfolioModel.getInvestments(account.getId()), timestamp);
 
             HighlightItem item = new HighlightItem(HighlightItem.HighlightType.TOTAL_ACCOUNT,
                     resources.getString(R.string.highlight_total_account), account.getName(),
                     performanceItem.getCostBasis(), performanceItem.getValue(),
                     performanceItem.getTodayChange(), performanceItem.getTotalChangePercent(),
                     account.getId());
-            accountsDataMapList.add(item.toDataMap());
+            accountItems.add(item);
 
             if (demoMode || !account.getExcludeFromTotals()) {
-                totalsPerformanceItem.aggregate(account.getPerformanceItem(investments, timestamp));
+                totalsPerformanceItem.aggregate(performanceItem);
             }
         }
 
+        highlights.bestTotalPerformer = getFirst(portfolioModel.getBestPerformers(
+                PortfolioValuation.ChangeType.TOTAL, 1, allAccounts));
+        highlights.worstTotalPerformer = getFirst(portfolioModel.getWorstPerformers(
+                PortfolioValuation.ChangeType.TOTAL, 1, allAccounts));
+        highlights.bestDayPerformer = getFirst(portfolioModel.getBestPerformers(
+                PortfolioValuation.ChangeType.TODAY, 1, allAccounts));
+        highlights.worstDayPerformer = getFirst(portfolioModel.getWorstPerformers(
+                PortfolioValuation.ChangeType.TODAY, 1, allAccounts));
+
         return highlights;
     }
 
-    private void calculateHighlights(Highlights highlights, List<Investment> investments) {
-        for (Investment investment : investments) {
-            if (highlights.bestDayPerformer != null) {
-                if (investment.getTodayChangePercent() > highlights.bestDayPerformer.getTodayChangePercent()) {
-                    highlights.bestDayPerformer = investment;
-                }
-            } else {
-                highlights.bestDayPerformer = investment;
-            }
-
-            if (highlights.worstDayPerformer != null) {
-                if (investment.getTodayChangePercent() < highlights.worstDayPerformer.getTodayChangePercent()) {
-                    highlights.worstDayPerformer = investment;
-                }
-            } else {
-                highlights.worstDayPerformer = investment;
-            }
-
-            if (highlights.bestTotalPerformer != null) {
-                if (investment.getTotalChangePercent() > highlights.bestTotalPerformer.getTotalChangePercent()) {
-                    highlights.bestTotalPerformer = investment;
-                }
-            } else {
-                highlights.bestTotalPerformer = investment;
-            }
-
-            if (highlights.worstTotalPerformer != null) {
-                if (investment.getTotalChangePercent() < highlights.worstTotalPerformer.getTotalChangePercent()) {
-                    highlights.worstTotalPerformer = investment;
-                }
-            } else {
-                highlights.worstTotalPerformer = investment;
-            }
-
-        }
+    private static PortfolioValuation.Position getFirst(List<PortfolioValuation.Position> positions) {
+        return positions.isEmpty() ? null : positions.get(0);
     }
 
-    private ArrayList<DataMap> getHighlightDataMap(Highlights highlights,
-                                              PerformanceItem totalsPerformanceItem,
-                                              List<DataMap> accountsDataMapList) {
+    private List<HighlightItem> getHighlightItems(Highlights highlights,
+                                                  PerformanceItem totalsPerformanceItem,
+                                                  List<HighlightItem> accountItems) {
         Resources resources = getResources();
 
-        ArrayList<DataMap> dataMapList = new ArrayList<>();
+        List<HighlightItem> highlightItems = new ArrayList<>();
         HighlightItem item = new HighlightItem(HighlightItem.HighlightType.TOTAL_OVERALL,
                 resources.getString(R.string.highlight_total_overall), "",
                 totalsPerformanceItem.getCostBasis(), totalsPerformanceItem.getValue(),
                 totalsPerformanceItem.getTodayChange(), -1, -1);
-        dataMapList.add(item.toDataMap());
-        dataMapList.addAll(accountsDataMapList);
+        highlightItems.add(item);
+        highlightItems.addAll(accountItems);
 
         if (highlights.bestTotalPerformer != null) {
-            dataMapList.add(getDataMapFromInvestment(HighlightItem.HighlightType.PERFORMER_BEST_TOTAL,
+            highlightItems.add(getHighlightItem(HighlightItem.HighlightType.PERFORMER_BEST_TOTAL,
                     resources.getString(R.string.highlight_best_total), highlights.bestTotalPerformer));
         }
 
         if (highlights.bestDayPerformer != null) {
-            dataMapList.add(getDataMapFromInvestment(HighlightItem.HighlightType.PERFORMER_BEST_DAY,
+            highlightItems.add(getHighlightItem(HighlightItem.HighlightType.PERFORMER_BEST_DAY,
                     resources.getString(R.string.highlight_best_day), highlights.bestDayPerformer));
         }
 
         if (highlights.worstTotalPerformer != null) {
-            dataMapList.add(getDataMapFromInvestment(HighlightItem.HighlightType.PERFORMER_WORST_TOTAL,
+            highlightItems.add(getHighlightItem(HighlightItem.HighlightType.PERFORMER_WORST_TOTAL,
                     resources.getString(R.string.highlight_worst_total), highlights.worstTotalPerformer));
         }
 
         if (highlights.worstDayPerformer != null) {
-            dataMapList.add(getDataMapFromInvestment(HighlightItem.HighlightType.PERFORMER_WORST_DAY,
+            highlightItems.add(getHighlightItem(HighlightItem.HighlightType.PERFORMER_WORST_DAY,
                     resources.getString(R.string.highlight_worst_day), highlights.worstDayPerformer));
         }
 
-        return dataMapList;
+        return highlightItems;
     }
 
-    private void publishHighlights(ArrayList<DataMap> dataMapList ) {
+    private PendingResult<DataApi.DataItemResult> publishHighlights(List<HighlightItem> highlightItems,
+                                                                    boolean packed, boolean urgent) {
         PutDataMapRequest putDataMapRequest = PutDataMapRequest.create(WearDataSync.PATH_HIGHLIGHTS_SYNC);
-        putDataMapRequest.setUrgent();
-        putDataMapRequest.getDataMap().putDataMapArrayList(WearDataSync.DATA_HIGHLIGHTS, dataMapList);
-        PendingResult<DataApi.DataItemResult> pendingResult =
-                Wearable.DataApi.putDataItem(googleApiClient, putDataMapRequest.asPutDataRequest());
-        pendingResult.await();
+        if (urgent) {
+            putDataMapRequest.setUrgent();
+        }
+
+        if (packed) {
+            putDataMapRequest.getDataMap().putByteArray(WearDataSync.DATA_HIGHLIGHTS_PACKED,
+                    HighlightItem.toByteArray(highlightItems));
+        } else {
+            ArrayList<DataMap> dataMapList = new ArrayList<>(highlightItems.size());
+            for (HighlightItem item : highlightItems) {
+                dataMapList.add(item.toDataMap());
+            }
+            putDataMapRequest.getDataMap().putDataMapArrayList(WearDataSync.DATA_HIGHLIGHTS, dataMapList);
+        }
+        return Wearable.DataApi.putDataItem(googleApiClient, putDataMapRequest.asPutDataRequest());
     }
 
-    private long getAccountIdFromDataBuffer(DataItemBuffer dataItems) {
-        long accountId = -1;
+    private WatchState getWatchState(DataItemBuffer dataItems) {
+        WatchState watchState = new WatchState();
         for (int x = 0; x < dataItems.getCount(); x++) {
             DataItem dataItem = dataItems.get(x);
 
-            if (dataItem.getUri().getPath().equals(WearDataSync.PATH_WATCH_FACE_ACCOUNT_ID)) {
-                accountId = getAccountIdFromDataBuffer(dataItem);
+            String path = dataItem.getUri().getPath();
+            if (path.equals(WearDataSync.PATH_WATCH_FACE_ACCOUNT_ID)) {
+                DataMap dataMap = DataMapItem.fromDataItem(dataItem).getDataMap();
+                watchState.accountId = dataMap.getLong(WearDataSync.DATA_WATCH_FACE_ACCOUNT_ID, -1);
+            } else if (path.equals(WearDataSync.PATH_SNAPSHOT_ACK)) {
+                DataMap dataMap = DataMapItem.fromDataItem(dataItem).getDataMap();
+                watchState.acks = true;
+                watchState.ackAccountId = dataMap.getLong(WearDataSync.DATA_SNAPSHOT_ACK_ACCOUNT_ID, -1);
+                watchState.ackTime = dataMap.getLong(WearDataSync.DATA_SNAPSHOT_ACK_TIME,
+                        SnapshotDelta.ACK_TIME_RESYNC);
             }
         }
 
-        return accountId;
+        return watchState;
     }
 
-    private long getAccountIdFromDataBuffer(DataItem dataItem) {
-        long accountId = -1;
-        if (dataItem.getUri().getPath().equals(WearDataSync.PATH_WATCH_FACE_ACCOUNT_ID)) {
-            DataMapItem dataMapItem = DataMapItem.fromDataItem(dataItem);
-            DataMap dataMap = dataMapItem.getDataMap();
-            accountId = dataMap.getLong(WearDataSync.DATA_WATCH_FACE_ACCOUNT_ID, -1);
-        }
-
-        return accountId;
-    }
-
-    private DataMap getDataMapFromInvestment(HighlightItem.HighlightType highlightType,
-                             String description, Investment investment) {
-        long accountId = (investment.getAccount() != null) ? investment.getAccount().getId() : -1;
+    private HighlightItem getHighlightItem(HighlightItem.HighlightType highlightType,
+                             String description, PortfolioValuation.Position position) {
         HighlightItem item = new HighlightItem(highlightType, description,
-                investment.getSymbol(), investment.getCostBasis(), investment.getValue(),
-                investment.getTodayChange(), investment.getTodayChangePercent(), accountId);
-        return item.toDataMap();
+                position.getSymbol(), new Money(position.getCostBasisMicroCents()),
+                new Money(position.getValueMicroCents()), new Money(position.getTodayChangeMicroCents()),
+                position.getTodayChangePercent(), position.getAccountId());
+        return item;
     }
 
     private ArrayList<DataMap> getConfigDataMap(Settings settings) {
@@ -373,10 +481,26 @@ public class WearSyncService extends IntentService implements
          Log.e(TAG, "onConnectionFailed: "+result.toString());
     }
 
+    /**
+     * What the watch has told the phone through its data items
+     */
+    private static class WatchState {
+        private long accountId = -1;
+
+        // watches that don't ack get a full sync in the DataMap format
+        private boolean acks = false;
+        private long ackAccountId = -1;
+        private long ackTime = SnapshotDelta.ACK_TIME_RESYNC;
+
+        private boolean isPacked() {
+            return acks;
+        }
+    }
+
     private static class Highlights {
-        private Investment bestTotalPerformer = null;
-        private Investment worstTotalPerformer = null;
-        private Investment bestDayPerformer = null;
-        private Investment worstDayPerformer = null;
+        private PortfolioValuation.Position bestTotalPerformer = null;
+        private PortfolioValuation.Position worstTotalPerformer = null;
+        private PortfolioValuation.Position bestDayPerformer = null;
+        private PortfolioValuation.Position worstDayPerformer = null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 11:05 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.services;
+
+/**
+ * Coalesces bursts of wear sync requests. Requests are handled one at a time
+ * in the order they were made. A request that is not urgent waits until the
+ * window since the last sync is up, and if more requests come in meanwhile it
+ * is dropped and its flags are handled with the last one.
+ */
+class WearSyncThrottle {
+
+    private final long windowMs;
+    private final int urgentFlags;
+
+    // synchronized on this
+    private int pendingCount;
+    private int pendingFlags;
+    private long lastSyncTime;
+
+    /**
+     * @param urgentFlags request flags that are sent right away
+     */
+    WearSyncThrottle(long windowMs, int urgentFlags) {
+        this.windowMs = windowMs;
+        this.urgentFlags = urgentFlags;
+    }
+
+    /**
+     * Called when a request is made, before it is queued
+     */
+    synchronized void request(int flags) {
+        pendingCount++;
+        pendingFlags |= flags;
+        if ((flags & urgentFlags) != 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Called when the queued request is handled
+     *
+     * @return the flags to sync or 0 if a later request will handle them
+     */
+    synchronized int take(int flags) throws InterruptedException {
+        if ((flags & urgentFlags) == 0) {
+            long waitMs = lastSyncTime + windowMs - System.currentTimeMillis();
+            while ((waitMs > 0) && ((pendingFlags & urgentFlags) == 0)) {
+                wait(waitMs);
+                waitMs = lastSyncTime + windowMs - System.currentTimeMillis();
+            }
+        }
+
+        pendingCount = Math.max(pendingCount - 1, 0);
+        if (pendingCount > 0) {
+            return 0;
+        }
+
+        int takenFlags = pendingFlags | flags;
+        pendingFlags = 0;
+        return takenFlags;
+    }
+
+    synchronized void synced() {
+        lastSyncTime = System.currentTimeMillis();
+    }
+
+    boolean isUrgent(int flags) {
+        return (flags & urgentFlags) != 0;
+    }
+}
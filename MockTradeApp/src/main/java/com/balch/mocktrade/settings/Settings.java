@@ -41,7 +41,8 @@ public class Settings {
         PREF_MARKET_CLOSE_TIME("market_close_time", false),
         PREF_POLL_INTERVAL("poll_interval", false),
         PREF_POLL_INTERVAL_ORDER("poll_interval_order", false),
-        PREF_LAST_SYNC_TIME("pref_last_sync_time", false);
+        PREF_LAST_SYNC_TIME("pref_last_sync_time", false),
+        PREF_SIMULATED_QUOTES("pref_simulated_quotes", false);
 
         private final String prefKey;
         private final boolean refreshWatch;
@@ -0,0 +1,135 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 9:10 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.account.strategies;
+
+import android.content.Context;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.account.Account;
+import com.balch.mocktrade.finance.FinanceModel;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.investment.Investment;
+import com.balch.mocktrade.portfolio.PortfolioModel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class StrategyRegistryTest {
+
+    private StrategyRegistry registry;
+
+    @Before
+    public void setUp() throws Exception {
+        registry = new StrategyRegistry(mock(Context.class), mock(FinanceModel.class),
+                mock(PortfolioModel.class), null, Schedulers.trampoline());
+    }
+
+    private static Account createAccount(long id, Account.Strategy strategy) {
+        Account account = new Account("test", "", new Money(10000.0), strategy, false);
+        account.setId(id);
+        return account;
+    }
+
+    private static Investment createInvestment(Account account, String symbol) {
+        return new Investment(account, symbol, Investment.InvestmentStatus.OPEN, symbol, "NYSE",
+                new Money(100.0), new Money(10.0), new Date(), 10);
+    }
+
+    private static Quote createQuote(String symbol) {
+        return new Quote(symbol, symbol, "NYSE", new Money(10.0), new Date(), new Money(9.0), new Money());
+    }
+
+    @Test
+    public void testStrategyIsReused() throws Exception {
+        Account account = createAccount(1, Account.Strategy.DOGS_OF_THE_DOW);
+
+        BaseStrategy strategy = registry.getStrategy(account);
+        assertTrue(strategy instanceof DogsOfTheDow);
+        assertSame(strategy, registry.getStrategy(account));
+
+        // each account gets its own instance
+        BaseStrategy other = registry.getStrategy(createAccount(2, Account.Strategy.DOGS_OF_THE_DOW));
+        assertNotSame(strategy, other);
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void testStrategyChangeReplacesInstance() throws Exception {
+        Account account = createAccount(1, Account.Strategy.DOGS_OF_THE_DOW);
+        registry.getStrategy(account);
+
+        registry.getStrategy(account).state.putLong("key", 1);
+
+        account.setStrategy(Account.Strategy.TRIPLE_MOMENTUM);
+        BaseStrategy strategy = registry.getStrategy(account);
+        assertTrue(strategy instanceof TripleMomentum);
+        assertFalse(strategy.state.contains("key"));
+        assertEquals(1, registry.size());
+
+        account.setStrategy(Account.Strategy.NONE);
+        assertNull(registry.getStrategy(account));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        registry.getStrategy(createAccount(1, Account.Strategy.DOGS_OF_THE_DOW));
+        registry.getStrategy(createAccount(2, Account.Strategy.TRIPLE_MOMENTUM));
+
+        registry.remove(1);
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testQuotesAreFilteredToInvestments() throws Exception {
+        Account account = createAccount(1, Account.Strategy.TRIPLE_MOMENTUM);
+
+        Map<String, Quote> quoteMap = new HashMap<>();
+        for (String symbol : Arrays.asList("AAPL", "MSFT", "IBM")) {
+            quoteMap.put(symbol, createQuote(symbol));
+        }
+
+        Map<String, Quote> quotes = StrategyRegistry.getQuotes(
+                Arrays.asList(createInvestment(account, "MSFT"), createInvestment(account, "GE")), quoteMap);
+        assertEquals(1, quotes.size());
+        assertSame(quoteMap.get("MSFT"), quotes.get("MSFT"));
+
+        assertTrue(StrategyRegistry.getQuotes(null, quoteMap).isEmpty());
+    }
+}
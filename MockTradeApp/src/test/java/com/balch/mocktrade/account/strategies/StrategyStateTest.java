@@ -0,0 +1,151 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 10:20 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.account.strategies;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StrategyStateTest {
+
+    private static class TestStore implements StrategyState.Store {
+        private final Map<Long, Map<String, String>> accounts = new HashMap<>();
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public Map<String, String> load(long accountId) {
+            calls.add("load");
+            Map<String, String> values = accounts.get(accountId);
+            return (values != null) ? new HashMap<>(values) : new HashMap<>();
+        }
+
+        @Override
+        public void put(long accountId, String key, String value) {
+            calls.add("put " + key);
+            Map<String, String> values = accounts.get(accountId);
+            if (values == null) {
+                values = new HashMap<>();
+                accounts.put(accountId, values);
+            }
+            values.put(key, value);
+        }
+
+        @Override
+        public void remove(long accountId, String key) {
+            calls.add("remove " + key);
+            accounts.get(accountId).remove(key);
+        }
+
+        @Override
+        public void clear(long accountId) {
+            calls.add("clear");
+            accounts.remove(accountId);
+        }
+    }
+
+    @Test
+    public void testValuesAreWrittenThrough() throws Exception {
+        TestStore store = new TestStore();
+        StrategyState state = new StrategyState(1, store);
+
+        state.putLong("time", 1234567890123L);
+        state.putDouble("average", 12.5);
+        state.putInt("count", 3);
+        state.putString("symbol", "MSFT");
+
+        // a new state for the account reads what was written
+        StrategyState reloaded = new StrategyState(1, store);
+        assertEquals(1234567890123L, reloaded.getLong("time", 0));
+        assertEquals(12.5, reloaded.getDouble("average", 0), 0);
+        assertEquals(3, reloaded.getInt("count", 0));
+        assertEquals("MSFT", reloaded.getString("symbol", null));
+
+        // other accounts don't see it
+        assertFalse(new StrategyState(2, store).contains("time"));
+    }
+
+    @Test
+    public void testReadsAreCached() throws Exception {
+        TestStore store = new TestStore();
+        StrategyState state = new StrategyState(1, store);
+
+        assertEquals(7, state.getLong("time", 7));
+        state.putLong("time", 10);
+        assertEquals(10, state.getLong("time", 7));
+
+        // unchanged values aren't written again
+        state.putLong("time", 10);
+
+        assertEquals(2, store.calls.size());
+        assertEquals("load", store.calls.get(0));
+        assertEquals("put time", store.calls.get(1));
+    }
+
+    @Test
+    public void testRemoveAndClear() throws Exception {
+        TestStore store = new TestStore();
+        StrategyState state = new StrategyState(1, store);
+        state.putLong("time", 10);
+        state.putLong("count", 2);
+
+        state.remove("time");
+        state.remove("time");
+        assertFalse(state.contains("time"));
+        assertTrue(new StrategyState(1, store).contains("count"));
+
+        state.clear();
+        assertFalse(state.contains("count"));
+        assertFalse(new StrategyState(1, store).contains("count"));
+
+        assertEquals(1, count(store.calls, "remove time"));
+        assertEquals(1, count(store.calls, "clear"));
+    }
+
+    @Test
+    public void testMemoryOnlyState() throws Exception {
+        StrategyState state = new StrategyState();
+        state.putString("key", "value");
+        assertEquals("value", state.getString("key", null));
+
+        state.putString("key", null);
+        assertFalse(state.contains("key"));
+    }
+
+    private static int count(List<String> calls, String call) {
+        int count = 0;
+        for (String c : calls) {
+            if (c.equals(call)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Author: Balch
+ * Created: 10/17/26 9:40 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.account.Account;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.order.Order;
+import com.balch.mocktrade.portfolio.PortfolioValuation;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class BacktestPortfolioModelTest {
+
+    private static final long MS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    // Mon Jan 2 2017 15:00 UTC
+    private static final long START_TIME = 1483315200000L + TimeUnit.HOURS.toMillis(15);
+
+    private static final String BARS =
+            "# time_ms,symbol,price\n" +
+            (START_TIME) + ",TST,10.00\n" +
+            (START_TIME + MS_PER_DAY) + ",TST,12.00\n";
+
+    @Test
+    public void testValuationFollowsFillsAndQuotes() throws Exception {
+        BacktestFinanceModel financeModel = new BacktestFinanceModel(new RecordedBarSource(new StringReader(BARS)));
+        financeModel.setCurrentTime(START_TIME);
+
+        BacktestPortfolioModel portfolioModel = new BacktestPortfolioModel(financeModel);
+
+        Account account = new Account("Test", "", new Money(10000.0), Account.Strategy.NONE, false);
+        portfolioModel.createAccount(account);
+
+        assertEquals(new Money(10000.0).getMicroCents(),
+                portfolioModel.getValuation().getAccount(account.getId()).getTotalValueMicroCents());
+
+        Quote quote = financeModel.getCurrentQuotes(Collections.singletonList("TST")).get("TST");
+
+        Order order = new Order();
+        order.setAccount(account);
+        order.setSymbol("TST");
+        order.setAction(Order.OrderAction.BUY);
+        order.setStrategy(Order.OrderStrategy.MARKET);
+        order.setQuantity(100L);
+        portfolioModel.createOrder(order);
+        portfolioModel.attemptExecuteOrder(order, quote);
+
+        PortfolioValuation valuation = portfolioModel.getValuation();
+        assertEquals(1, valuation.getAccount(account.getId()).getPositionCount());
+        assertEquals(new Money(10000.0).getMicroCents(),
+                valuation.getAccount(account.getId()).getTotalValueMicroCents());
+
+        financeModel.setCurrentTime(START_TIME + MS_PER_DAY);
+        portfolioModel.applyQuotes(financeModel.getCurrentQuotes(Collections.singletonList("TST")));
+
+        // 100 shares up $2
+        assertEquals(new Money(10200.0).getMicroCents(),
+                portfolioModel.getValuation().getAccount(account.getId()).getTotalValueMicroCents());
+        assertEquals(1, portfolioModel.getBestPerformers(
+                PortfolioValuation.ChangeType.TOTAL, 5, true).size());
+        assertEquals(0, portfolioModel.getWorstPerformers(account.getId() + 1,
+                PortfolioValuation.ChangeType.TOTAL, 5).size());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 8:10 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.account.strategies.DogsOfTheDow;
+import com.balch.mocktrade.account.strategies.StrategyParameters;
+import com.balch.mocktrade.account.strategies.TripleMomentum;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BacktestSweepTest {
+
+    private static final long MS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    // Mon Jan 2 2017 15:00 UTC
+    private static final long START_TIME = 1483315200000L + TimeUnit.HOURS.toMillis(15);
+    private static final long END_TIME = START_TIME + 2 * 365 * MS_PER_DAY;
+
+    @Test
+    public void testParameterGrid() throws Exception {
+        List<StrategyParameters> grid = new ParameterGrid()
+                .add(TripleMomentum.PARAM_TRAILING_PERCENTAGE, 1.0, 2.0, 4.0)
+                .add(TripleMomentum.PARAM_SYMBOLS, "TQQQ,SQQQ", "SPXL,SPXS")
+                .build();
+
+        assertEquals(6, grid.size());
+        assertEquals(1.0, grid.get(0).getDouble(TripleMomentum.PARAM_TRAILING_PERCENTAGE, 0), 0);
+        assertEquals("SPXL", grid.get(1).getList(TripleMomentum.PARAM_SYMBOLS, new String[0]).get(0));
+        assertEquals(4.0, grid.get(5).getDouble(TripleMomentum.PARAM_TRAILING_PERCENTAGE, 0), 0);
+    }
+
+    @Test
+    public void testSweepMatchesSequentialRuns() throws Exception {
+        Backtester backtester = new Backtester(new SyntheticBarSource(7, START_TIME, END_TIME, MS_PER_DAY),
+                START_TIME, END_TIME, MS_PER_DAY);
+
+        List<BacktestSweep.Candidate> candidates = new ArrayList<>();
+        candidates.addAll(BacktestSweep.candidates(TripleMomentum.class, new ParameterGrid()
+                .add(TripleMomentum.PARAM_TRAILING_PERCENTAGE, 1.0, 5.0)
+                .add(TripleMomentum.PARAM_SYMBOLS, "TQQQ,SQQQ", "SPXL,SPXS")
+                .build()));
+        candidates.addAll(BacktestSweep.candidates(DogsOfTheDow.class, new ParameterGrid()
+                .add(DogsOfTheDow.PARAM_STOCK_COUNT, 3, 10)
+                .build()));
+
+        List<BacktestSweep.Result> results = new BacktestSweep(backtester, new ForkJoinPool(4))
+                .run(candidates, new Money(100000.0));
+        assertEquals(candidates.size(), results.size());
+
+        for (int x = 0; x < results.size(); x++) {
+            BacktestSweep.Result result = results.get(x);
+            if (x > 0) {
+                assertTrue(results.get(x - 1).getBacktestResult().getReturnPercent() >=
+                        result.getBacktestResult().getReturnPercent());
+            }
+
+            BacktestSweep.Candidate candidate = result.getCandidate();
+            BacktestResult expected = backtester.run(candidate.getStrategyClazz(),
+                    candidate.getParameters(), new Money(100000.0));
+            assertEquals(expected.getFinalValue(), result.getBacktestResult().getFinalValue());
+            assertEquals(expected.getFillCount(), result.getBacktestResult().getFillCount());
+        }
+    }
+
+    @Test
+    public void testParametersReachTheStrategy() throws Exception {
+        Backtester backtester = new Backtester(new SyntheticBarSource(7, START_TIME, END_TIME, MS_PER_DAY),
+                START_TIME, END_TIME, MS_PER_DAY);
+
+        // one buy per stock in 2017 and then a sell and a buy per stock on the first day of 2018 and 2019
+        BacktestResult result = backtester.run(DogsOfTheDow.class,
+                StrategyParameters.EMPTY.with(DogsOfTheDow.PARAM_STOCK_COUNT, "3"), new Money(100000.0));
+        assertEquals(15, result.getFillCount());
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 6:20 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.backtest;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.account.Account;
+import com.balch.mocktrade.account.strategies.BaseStrategy;
+import com.balch.mocktrade.account.strategies.DogsOfTheDow;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.order.Order;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class BacktesterTest {
+
+    private static final long MS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    // Mon Jan 2 2017 15:00 UTC
+    private static final long START_TIME = 1483315200000L + TimeUnit.HOURS.toMillis(15);
+
+    private static final String BARS =
+            "# time_ms,symbol,price\n" +
+            (START_TIME) + ",TST,10.00\n" +
+            (START_TIME + MS_PER_DAY) + ",TST,12.00\n" +
+            (START_TIME + 2 * MS_PER_DAY) + ",TST,11.00\n" +
+            (START_TIME + 3 * MS_PER_DAY) + ",TST,10.50\n";
+
+    public static class BuyAndHold extends BaseStrategy {
+        @Override
+        public void initialize(Account account) {
+            buy(account);
+        }
+
+        Quote buy(Account account) {
+            Quote quote = financeModel.getQuotes(Collections.singletonList("TST")).blockingFirst().get("TST");
+
+            Order order = new Order();
+            order.setAccount(account);
+            order.setSymbol(quote.getSymbol());
+            order.setAction(Order.OrderAction.BUY);
+            order.setStrategy(Order.OrderStrategy.MANUAL);
+            order.setLimitPrice(quote.getPrice());
+            order.setQuantity(100L);
+
+            portfolioModel.createOrder(order);
+            try {
+                portfolioModel.attemptExecuteOrder(order, quote);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return quote;
+        }
+    }
+
+    public static class BuyWithTrailingStop extends BuyAndHold {
+        @Override
+        public void initialize(Account account) {
+            Quote quote = buy(account);
+
+            Order sellOrder = new Order();
+            sellOrder.setAccount(account);
+            sellOrder.setSymbol(quote.getSymbol());
+            sellOrder.setStrategy(Order.OrderStrategy.TRAILING_STOP_PERCENT_CHANGE);
+            sellOrder.setAction(Order.OrderAction.SELL);
+            sellOrder.setStopPercent(10.0);
+            sellOrder.setQuantity(100L);
+            portfolioModel.createOrder(sellOrder);
+        }
+    }
+
+    @Test
+    public void testBuyAndHold() throws Exception {
+        Backtester backtester = new Backtester(new RecordedBarSource(new StringReader(BARS)),
+                START_TIME, START_TIME + 3 * MS_PER_DAY, MS_PER_DAY);
+
+        BacktestResult result = backtester.run(BuyAndHold.class, new Money(10000.0));
+
+        assertEquals(new Money(10050.0), result.getFinalValue());
+        assertEquals(new Money(50.0), result.getProfit());
+        assertEquals(0.5f, result.getReturnPercent(), 0.0001f);
+
+        // high of 10200 on day 2 down to 10050 on day 4
+        assertEquals(new Money(150.0), result.getMaxDrawdown());
+        assertEquals(150 * 100 / 10200f, result.getMaxDrawdownPercent(), 0.0001f);
+
+        assertEquals(1, result.getFillCount());
+        assertEquals(new Money(1000.0), result.getTurnover());
+
+        assertEquals(4, result.getDailyValues().size());
+        assertEquals(new Money(10200.0), result.getDailyValues().get(1).getValue());
+        assertEquals(new Money(-100.0), result.getDailyValues().get(2).getTodayChange());
+    }
+
+    @Test
+    public void testTrailingStopIsFilled() throws Exception {
+        Backtester backtester = new Backtester(new RecordedBarSource(new StringReader(BARS)),
+                START_TIME, START_TIME + 3 * MS_PER_DAY, MS_PER_DAY);
+
+        BacktestResult result = backtester.run(BuyWithTrailingStop.class, new Money(10000.0));
+
+        // 11.00 is 8.3% off the high of 12.00, 10.50 is 12.5% off and triggers the sell
+        assertEquals(2, result.getFillCount());
+        assertEquals(new Money(10050.0), result.getFinalValue());
+        assertEquals(new Money(2050.0), result.getTurnover());
+    }
+
+    @Test
+    public void testWeekendsAreSkipped() throws Exception {
+        // Mon Jan 2 to Mon Jan 9
+        Backtester backtester = new Backtester(new RecordedBarSource(new StringReader(BARS)),
+                START_TIME, START_TIME + 7 * MS_PER_DAY, MS_PER_DAY);
+
+        BacktestResult result = backtester.run(BuyAndHold.class, new Money(10000.0));
+        assertEquals(6, result.getDailyValues().size());
+    }
+
+    @Test
+    public void testDogsOfTheDowOverSyntheticYears() throws Exception {
+        long endTime = START_TIME + 3 * 365 * MS_PER_DAY;
+
+        BacktestResult result = new Backtester(new SyntheticBarSource(42, START_TIME, endTime, MS_PER_DAY),
+                START_TIME, endTime, MS_PER_DAY).run(DogsOfTheDow.class, new Money(100000.0));
+
+        // 10 buys in 2017, then 10 sells and 10 buys on the first day of 2018, 2019 and 2020
+        assertEquals(70, result.getFillCount());
+        assertEquals(784, result.getDailyValues().size());
+
+        BacktestResult rerun = new Backtester(new SyntheticBarSource(42, START_TIME, endTime, MS_PER_DAY),
+                START_TIME, endTime, MS_PER_DAY).run(DogsOfTheDow.class, new Money(100000.0));
+        assertEquals(result.getFinalValue(), rerun.getFinalValue());
+        assertEquals(result.getMaxDrawdown(), rerun.getMaxDrawdown());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Author: Balch
+ * Created: 10/17/26 10:05 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.finance;
+
+import android.content.Context;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.settings.Settings;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.reactivex.Observable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FinanceModelImplTest {
+
+    private static final int SYMBOLS_PER_REQUEST = 3;
+
+    private final List<List<String>> requests = new CopyOnWriteArrayList<>();
+    private IEXFinanceApi financeApi;
+    private FinanceModelImpl financeModel;
+
+    @Before
+    public void setUp() throws Exception {
+        Context context = mock(Context.class);
+        when(context.getApplicationContext()).thenReturn(context);
+
+        financeApi = mock(IEXFinanceApi.class);
+        financeModel = new FinanceModelImpl(context, financeApi, mock(Settings.class),
+                SYMBOLS_PER_REQUEST, 2);
+    }
+
+    private void mockApi(final String failingSymbol) {
+        when(financeApi.getQuotes(anyString())).thenAnswer(invocation -> {
+            List<String> symbols = Arrays.asList(((String) invocation.getArguments()[0]).split(","));
+            requests.add(symbols);
+            if (symbols.contains(failingSymbol)) {
+                return Observable.error(new IOException("chunk failed"));
+            }
+
+            List<Quote> quotes = new ArrayList<>(symbols.size());
+            for (String symbol : symbols) {
+                quotes.add(new Quote(symbol, symbol, "NYSE", new Money(10.0), new Date(), new Money(9.0), new Money()));
+            }
+            return Observable.just(new QuoteResult(true, quotes));
+        });
+    }
+
+    private static Set<String> createSymbols(int count) {
+        Set<String> symbols = new HashSet<>(count);
+        for (int x = 0; x < count; x++) {
+            symbols.add("SYM" + x);
+        }
+        return symbols;
+    }
+
+    @Test
+    public void testExactlyOneChunk() throws Exception {
+        mockApi(null);
+        Set<String> symbols = createSymbols(SYMBOLS_PER_REQUEST);
+
+        Map<String, Quote> quotes = financeModel.fetchQuotes(symbols).blockingFirst();
+
+        assertEquals(1, requests.size());
+        assertEquals(SYMBOLS_PER_REQUEST, requests.get(0).size());
+        assertEquals(symbols, quotes.keySet());
+    }
+
+    @Test
+    public void testOneMoreThanAChunk() throws Exception {
+        mockApi(null);
+        Set<String> symbols = createSymbols(SYMBOLS_PER_REQUEST + 1);
+
+        Map<String, Quote> quotes = financeModel.fetchQuotes(symbols).blockingFirst();
+
+        assertEquals(2, requests.size());
+        assertEquals(SYMBOLS_PER_REQUEST + 1, requests.get(0).size() + requests.get(1).size());
+        assertTrue(requests.get(0).size() <= SYMBOLS_PER_REQUEST);
+        assertTrue(requests.get(1).size() <= SYMBOLS_PER_REQUEST);
+        assertEquals(symbols, quotes.keySet());
+    }
+
+    @Test
+    public void testFailedChunkIsDropped() throws Exception {
+        mockApi("SYM0");
+        Set<String> symbols = createSymbols(3 * SYMBOLS_PER_REQUEST);
+
+        Map<String, Quote> quotes = financeModel.fetchQuotes(symbols).blockingFirst();
+
+        assertEquals(3, requests.size());
+
+        Set<String> expected = new HashSet<>(symbols);
+        for (List<String> request : requests) {
+            if (request.contains("SYM0")) {
+                expected.removeAll(request);
+            }
+        }
+        assertEquals(2 * SYMBOLS_PER_REQUEST, expected.size());
+        assertEquals(expected, quotes.keySet());
+        assertFalse(quotes.containsKey("SYM0"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testAllChunksFailing() throws Throwable {
+        when(financeApi.getQuotes(anyString())).thenReturn(Observable.error(new IOException("down")));
+
+        try {
+            financeModel.fetchQuotes(createSymbols(SYMBOLS_PER_REQUEST + 1)).blockingFirst();
+        } catch (RuntimeException e) {
+            throw (e.getCause() != null) ? e.getCause() : e;
+        }
+    }
+}
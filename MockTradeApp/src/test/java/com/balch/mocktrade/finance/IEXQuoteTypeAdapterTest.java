@@ -0,0 +1,99 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 9:40 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.finance;
+
+import com.balch.android.app.framework.types.Money;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class IEXQuoteTypeAdapterTest {
+
+    private static final String BATCH_RESPONSE = "{" +
+            "\"AAPL\":{" +
+            "\"quote\":{\"symbol\":\"AAPL\",\"companyName\":\"Apple Inc.\",\"primaryExchange\":\"Nasdaq Global Select\"," +
+            "\"latestPrice\":172.5,\"latestSource\":\"Close\",\"latestUpdate\":1509739200000,\"previousClose\":168.11," +
+            "\"peRatio\":19.1,\"week52High\":[1,2,3]}," +
+            "\"stats\":{\"companyName\":\"Apple Inc.\",\"dividendYield\":1.46,\"extra\":{\"a\":1}}}," +
+            "\"XYZ\":{" +
+            "\"quote\":{\"companyName\":null,\"primaryExchange\":\"NYSE\",\"latestPrice\":10,\"latestUpdate\":0,\"previousClose\":9}," +
+            "\"stats\":{\"dividendYield\":null}}," +
+            "\"BAD\":{\"quote\":null}" +
+            "}";
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(QuoteResult.class, new IEXQuoteTypeAdapter())
+            .create();
+
+    private Map<String, Quote> parse(String json) {
+        QuoteResult result = gson.fromJson(json, QuoteResult.class);
+        Map<String, Quote> quoteMap = new HashMap<>();
+        for (Quote quote : result.getQuotes()) {
+            quoteMap.put(quote.getSymbol(), quote);
+        }
+        return quoteMap;
+    }
+
+    @Test
+    public void testReadBatchResponse() throws Exception {
+        Map<String, Quote> quotes = parse(BATCH_RESPONSE);
+        assertEquals(2, quotes.size());
+
+        Quote apple = quotes.get("AAPL");
+        assertEquals("Apple Inc.", apple.getName());
+        assertEquals("Nasdaq Global Select", apple.getExchange());
+        assertEquals(new Money(172.5), apple.getPrice());
+        assertEquals(new Date(1509739200000L), apple.getLastTradeTime());
+        assertEquals(new Money(168.11), apple.getPreviousClose());
+        assertEquals(new Money(1.46), apple.getDividendPerShare());
+
+        Quote xyz = quotes.get("XYZ");
+        assertNull(xyz.getName());
+        assertEquals(new Money(10.0), xyz.getPrice());
+        assertEquals(new Money(), xyz.getDividendPerShare());
+    }
+
+    @Test
+    public void testQuoteMissingRequiredFieldIsDropped() throws Exception {
+        Map<String, Quote> quotes = parse("{" +
+                "\"NULLPRICE\":{\"quote\":{\"companyName\":\"Null Price\",\"latestPrice\":null," +
+                "\"latestUpdate\":1509739200000,\"previousClose\":9}}," +
+                "\"NOTIME\":{\"quote\":{\"latestPrice\":10,\"previousClose\":9}}," +
+                "\"NOCLOSE\":{\"quote\":{\"latestPrice\":10,\"latestUpdate\":1509739200000}}," +
+                "\"GOOD\":{\"quote\":{\"latestPrice\":10,\"latestUpdate\":1509739200000,\"previousClose\":9}}" +
+                "}");
+
+        assertEquals(1, quotes.size());
+        assertNull(quotes.get("NULLPRICE"));
+        assertEquals(new Money(10.0), quotes.get("GOOD").getPrice());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 8:05 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.finance;
+
+import com.balch.android.app.framework.types.Money;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.reactivex.Observable;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class QuoteCacheTest {
+
+    private final List<Set<String>> fetchedSymbols = new CopyOnWriteArrayList<>();
+
+    private static Quote createQuote(String symbol) {
+        return new Quote(symbol, symbol, "NYSE", new Money(10.0), new Date(), new Money(9.0), new Money());
+    }
+
+    private static Map<String, Quote> createQuoteMap(Set<String> symbols) {
+        Map<String, Quote> quoteMap = new HashMap<>();
+        for (String symbol : symbols) {
+            quoteMap.put(symbol, createQuote(symbol));
+        }
+        return quoteMap;
+    }
+
+    private static Set<String> setOf(String... symbols) {
+        return new HashSet<>(Arrays.asList(symbols));
+    }
+
+    @Test
+    public void testFreshQuotesAreServedFromCache() throws Exception {
+        QuoteCache cache = new QuoteCache(symbols -> {
+            fetchedSymbols.add(symbols);
+            return Observable.just(createQuoteMap(symbols));
+        });
+
+        Map<String, Quote> quotes = cache.getQuotes(setOf("AAPL", "MSFT"), 60000).blockingFirst();
+        assertEquals(2, quotes.size());
+
+        quotes = cache.getQuotes(setOf("AAPL", "MSFT", "IBM"), 60000).blockingFirst();
+        assertEquals(3, quotes.size());
+
+        assertEquals(2, fetchedSymbols.size());
+        assertEquals(setOf("IBM"), fetchedSymbols.get(1));
+    }
+
+    @Test
+    public void testStaleQuotesAreFetched() throws Exception {
+        QuoteCache cache = new QuoteCache(symbols -> {
+            fetchedSymbols.add(symbols);
+            return Observable.just(createQuoteMap(symbols));
+        });
+
+        cache.getQuotes(setOf("AAPL"), 0).blockingFirst();
+        cache.getQuotes(setOf("AAPL"), 0).blockingFirst();
+
+        assertEquals(2, fetchedSymbols.size());
+    }
+
+    @Test
+    public void testOverlappingRequestsShareInFlightFetch() throws Exception {
+        final PublishSubject<Map<String, Quote>> response = PublishSubject.create();
+        QuoteCache cache = new QuoteCache(symbols -> {
+            fetchedSymbols.add(symbols);
+            return response;
+        });
+
+        Observable<Map<String, Quote>> first = cache.getQuotes(setOf("AAPL", "MSFT"), 60000);
+        Observable<Map<String, Quote>> second = cache.getQuotes(setOf("MSFT"), 60000);
+
+        List<Map<String, Quote>> firstResults = new CopyOnWriteArrayList<>();
+        List<Map<String, Quote>> secondResults = new CopyOnWriteArrayList<>();
+        first.subscribe(firstResults::add);
+        second.subscribe(secondResults::add);
+
+        response.onNext(createQuoteMap(setOf("AAPL", "MSFT")));
+        response.onComplete();
+
+        assertEquals(1, fetchedSymbols.size());
+        assertEquals(2, firstResults.get(0).size());
+
+        // the shared response is filtered down to what the caller asked for
+        assertEquals(1, secondResults.get(0).size());
+        assertTrue(secondResults.get(0).containsKey("MSFT"));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 11:02 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.finance;
+
+import com.balch.android.app.framework.types.Money;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class QuoteFeedTest {
+
+    private static final List<String> SYMBOLS = Arrays.asList("AAPL", "MSFT", "IBM");
+    private static final long TICK_MS = TimeUnit.MINUTES.toMillis(5);
+
+    @Test
+    public void testGbmFeedIsDeterministicForSeed() throws Exception {
+        GbmQuoteFeed feed1 = new GbmQuoteFeed(42, 0, TICK_MS);
+        GbmQuoteFeed feed2 = new GbmQuoteFeed(42, 0, TICK_MS);
+        GbmQuoteFeed feed3 = new GbmQuoteFeed(43, 0, TICK_MS);
+
+        for (int x = 0; x < 1000; x++) {
+            Map<String, Quote> quotes1 = feed1.getQuotes(SYMBOLS);
+            Map<String, Quote> quotes2 = feed2.getQuotes(SYMBOLS);
+            Map<String, Quote> quotes3 = feed3.getQuotes(SYMBOLS);
+
+            assertEquals(SYMBOLS.size(), quotes1.size());
+            for (String symbol : SYMBOLS) {
+                Money price = quotes1.get(symbol).getPrice();
+                assertTrue(price.getMicroCents() > 0);
+                assertEquals(price, quotes2.get(symbol).getPrice());
+                assertNotEquals(price, quotes3.get(symbol).getPrice());
+            }
+        }
+    }
+
+    @Test
+    public void testGbmFeedAdvancesClock() throws Exception {
+        GbmQuoteFeed feed = new GbmQuoteFeed(42, 0, TICK_MS);
+
+        Quote first = feed.getQuotes(SYMBOLS).get("IBM");
+        Quote second = feed.getQuotes(SYMBOLS).get("IBM");
+
+        assertEquals(TICK_MS, second.getLastTradeTime().getTime() - first.getLastTradeTime().getTime());
+        assertNotEquals(first.getPrice(), second.getPrice());
+    }
+
+    @Test
+    public void testLiveGbmFeedFollowsWallClock() throws Exception {
+        long startTime = System.currentTimeMillis();
+        GbmQuoteFeed feed = new GbmQuoteFeed(42);
+
+        // many callers share the feed in a poll, none of them can move it ahead of real time
+        Quote quote = null;
+        for (int x = 0; x < 1000; x++) {
+            quote = feed.getQuotes(SYMBOLS).get("IBM");
+        }
+
+        long quoteTime = quote.getLastTradeTime().getTime();
+        assertTrue(quoteTime >= startTime);
+        assertTrue(quoteTime <= System.currentTimeMillis());
+    }
+
+    @Test
+    public void testTickFileFeedReplaysTicks() throws Exception {
+        String ticks = "# time,symbol,price\n" +
+                "1000,aapl,10.00\n" +
+                "1000,MSFT,20.00\n" +
+                "2000,AAPL,11.00\n" +
+                "\n" +
+                "3500,AAPL,12.50\n";
+
+        TickFileQuoteFeed feed = new TickFileQuoteFeed(new StringReader(ticks), 1000);
+
+        Map<String, Quote> quotes = feed.getQuotes(SYMBOLS);
+        assertEquals(2, quotes.size());
+        assertEquals(new Money(10.0), quotes.get("AAPL").getPrice());
+        assertEquals(new Money(20.0), quotes.get("MSFT").getPrice());
+
+        quotes = feed.getQuotes(SYMBOLS);
+        assertEquals(new Money(11.0), quotes.get("AAPL").getPrice());
+
+        // no tick at 3000
+        quotes = feed.getQuotes(SYMBOLS);
+        assertEquals(new Money(11.0), quotes.get("AAPL").getPrice());
+        assertFalse(feed.isFinished());
+
+        quotes = feed.getQuotes(SYMBOLS);
+        assertEquals(new Money(12.5), quotes.get("AAPL").getPrice());
+        assertEquals(3500, quotes.get("AAPL").getLastTradeTime().getTime());
+        assertTrue(feed.isFinished());
+    }
+}
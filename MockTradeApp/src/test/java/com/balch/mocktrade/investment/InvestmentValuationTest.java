@@ -0,0 +1,70 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 3:45 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.investment;
+
+import com.balch.android.app.framework.types.Money;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class InvestmentValuationTest {
+
+    private static Investment createInvestment(long costBasis, long price, long prevDayClose,
+                                               Date lastTradeTime, long quantity) {
+        Investment investment = new Investment(null, "TST", Investment.InvestmentStatus.OPEN, "", "",
+                new Money(costBasis), new Money(price), lastTradeTime, quantity);
+        investment.setPrevDayClose(new Money(prevDayClose));
+        return investment;
+    }
+
+    @Test
+    public void testSumOnlyIncludesTodayChangeForCurrentPrices() throws Exception {
+        Date yesterday = new Date(System.currentTimeMillis() - 2 * 24 * 60 * 60 * 1000L);
+        List<Investment> investments = Arrays.asList(
+                createInvestment(100000, 12000, 11000, new Date(), 10),
+                createInvestment(50000, 4000, 5000, yesterday, 20));
+
+        long[] totals = new long[InvestmentValuation.TOTALS_SIZE];
+        InvestmentValuation.sumInvestments(investments, totals);
+
+        assertEquals(200000, totals[InvestmentValuation.TOTAL_VALUE]);
+        assertEquals(150000, totals[InvestmentValuation.TOTAL_COST_BASIS]);
+        assertEquals(10000, totals[InvestmentValuation.TOTAL_TODAY_CHANGE]);
+    }
+
+    @Test
+    public void testPercentsMatchMoneyGetters() throws Exception {
+        Investment investment = createInvestment(100000, 12000, 11000, new Date(), 10);
+
+        assertEquals(20.0f, investment.getTotalChangePercent(), 0.0001f);
+        assertEquals(9.0909f, investment.getTodayChangePercent(), 0.0001f);
+        assertEquals(investment.getTodayChange().getMicroCents(), investment.getTodayChangeMicroCents());
+        assertEquals(100.0f, InvestmentValuation.getChangePercent(5, 0, 100.0f), 0.0f);
+    }
+}
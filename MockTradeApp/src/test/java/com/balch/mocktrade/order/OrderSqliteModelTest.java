@@ -0,0 +1,125 @@
+/*
+ * Author: Balch
+ * Created: 10/17/26 11:20 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.order;
+
+import android.content.Context;
+
+import com.balch.android.app.framework.sql.SqlConnection;
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.finance.FinanceModel;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.settings.Settings;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OrderSqliteModelTest {
+
+    private SqlConnection sqlConnection;
+    private OrderSqliteModel orderModel;
+
+    @Before
+    public void setUp() throws Exception {
+        Context context = mock(Context.class);
+        when(context.getApplicationContext()).thenReturn(context);
+
+        sqlConnection = mock(SqlConnection.class);
+        orderModel = spy(new OrderSqliteModel(context, mock(FinanceModel.class),
+                sqlConnection, mock(Settings.class)));
+    }
+
+    private static OrderSqliteModel.OrderExecution createExecution(int index, long orderId) {
+        Order order = new Order();
+        order.setId(orderId);
+        order.setStatus(Order.OrderStatus.OPEN);
+        order.setStrategy(Order.OrderStrategy.MARKET);
+        order.setAction(Order.OrderAction.BUY);
+        return new OrderSqliteModel.OrderExecution(index, order, new Quote(new Money(10.0)), new Money(10.0));
+    }
+
+    @Test
+    public void testFailedBatchOnlyMarksFailingOrder() throws Exception {
+        final long badOrderId = 2;
+        List<OrderSqliteModel.OrderExecution> executions = Arrays.asList(
+                createExecution(0, 1), createExecution(1, badOrderId), createExecution(2, 3));
+
+        doAnswer(invocation -> {
+            List<OrderSqliteModel.OrderExecution> batch =
+                    (List<OrderSqliteModel.OrderExecution>) invocation.getArguments()[0];
+            for (OrderSqliteModel.OrderExecution execution : batch) {
+                // the rolled back batch leaves the orders as they were
+                assertEquals(Order.OrderStatus.OPEN, execution.getOrder().getStatus());
+                if (execution.getOrder().getId() == badOrderId) {
+                    throw new SQLException("database is locked");
+                }
+            }
+            return null;
+        }).when(orderModel).executeOrders(anyListOf(OrderSqliteModel.OrderExecution.class));
+
+        orderModel.executeTriggeredOrders(executions);
+
+        // the batch and then each order on its own
+        verify(orderModel, times(4)).executeOrders(anyListOf(OrderSqliteModel.OrderExecution.class));
+
+        assertEquals(Order.OrderStatus.OPEN, executions.get(0).getOrder().getStatus());
+        assertNull(executions.get(0).getResult());
+        assertEquals(Order.OrderStatus.ERROR, executions.get(1).getOrder().getStatus());
+        assertNotNull(executions.get(1).getResult().getError());
+        assertEquals(Order.OrderStatus.OPEN, executions.get(2).getOrder().getStatus());
+        assertNull(executions.get(2).getResult());
+
+        verify(sqlConnection).update(orderModel, executions.get(1).getOrder());
+        verify(sqlConnection, never()).update(orderModel, executions.get(0).getOrder());
+    }
+
+    @Test
+    public void testSingleFailedOrderIsNotRetried() throws Exception {
+        List<OrderSqliteModel.OrderExecution> executions = Arrays.asList(createExecution(0, 1));
+
+        doAnswer(invocation -> {
+            throw new SQLException("database is locked");
+        }).when(orderModel).executeOrders(anyListOf(OrderSqliteModel.OrderExecution.class));
+
+        orderModel.executeTriggeredOrders(executions);
+
+        verify(orderModel, times(1)).executeOrders(anyListOf(OrderSqliteModel.OrderExecution.class));
+        assertEquals(Order.OrderStatus.ERROR, executions.get(0).getOrder().getStatus());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 12:10 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.order;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.finance.Quote;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OrderTriggerIndexTest {
+
+    private static Order createOrder(Order.OrderStrategy strategy, Order.OrderAction action, double limitPrice) {
+        Order order = new Order();
+        order.setSymbol("AAPL");
+        order.setStrategy(strategy);
+        order.setAction(action);
+        order.setLimitPrice(new Money(limitPrice));
+        return order;
+    }
+
+    private static Order createTrailingOrder(Order.OrderStrategy strategy, double highestPrice,
+                                             double stopPrice, double stopPercent) {
+        Order order = createOrder(strategy, Order.OrderAction.SELL, 0);
+        order.setHighestPrice(new Money(highestPrice));
+        order.setStopPrice(new Money(stopPrice));
+        order.setStopPercent(stopPercent);
+        return order;
+    }
+
+    private static Quote createQuote(String symbol, double price) {
+        return new Quote(symbol, symbol, "NYSE", new Money(price), new Date(), new Money(price), new Money());
+    }
+
+    @Test
+    public void testLimitAndStopLossOrders() throws Exception {
+        Order buy = createOrder(Order.OrderStrategy.LIMIT, Order.OrderAction.BUY, 10.0);
+        Order sell = createOrder(Order.OrderStrategy.LIMIT, Order.OrderAction.SELL, 12.0);
+        Order stopLoss = createOrder(Order.OrderStrategy.STOP_LOSS, Order.OrderAction.SELL, 8.0);
+
+        OrderTriggerIndex index = new OrderTriggerIndex(Arrays.asList(buy, sell, stopLoss));
+        assertEquals(3, index.size());
+
+        assertTrue(index.getTriggeredOrders(createQuote("AAPL", 11.0)).isEmpty());
+        assertEquals(Arrays.asList(buy), index.getTriggeredOrders(createQuote("AAPL", 10.0)));
+        assertEquals(Arrays.asList(sell), index.getTriggeredOrders(createQuote("AAPL", 12.0)));
+
+        List<Order> orders = index.getTriggeredOrders(createQuote("AAPL", 7.5));
+        assertEquals(2, orders.size());
+        assertTrue(orders.contains(buy));
+        assertTrue(orders.contains(stopLoss));
+
+        assertTrue(index.getTriggeredOrders(createQuote("MSFT", 1.0)).isEmpty());
+    }
+
+    @Test
+    public void testMarketOrdersAreAlwaysTriggered() throws Exception {
+        Order market = createOrder(Order.OrderStrategy.MARKET, Order.OrderAction.BUY, 0);
+        OrderTriggerIndex index = new OrderTriggerIndex(Arrays.asList(market));
+
+        assertEquals(Arrays.asList(market), index.getTriggeredOrders(createQuote("AAPL", 100.0)));
+    }
+
+    @Test
+    public void testTrailingStopOrders() throws Exception {
+        Order amount = createTrailingOrder(Order.OrderStrategy.TRAILING_STOP_AMOUNT_CHANGE, 100.0, 5.0, 0);
+        Order percent = createTrailingOrder(Order.OrderStrategy.TRAILING_STOP_PERCENT_CHANGE, 100.0, 0, 10.0);
+        OrderTriggerIndex index = new OrderTriggerIndex(Arrays.asList(amount, percent));
+
+        assertTrue(index.getTriggeredOrders(createQuote("AAPL", 98.0)).isEmpty());
+        assertEquals(Arrays.asList(amount), index.getTriggeredOrders(createQuote("AAPL", 95.0)));
+        assertEquals(2, index.getTriggeredOrders(createQuote("AAPL", 90.0)).size());
+
+        // a new high needs to update the highest price of both orders
+        assertEquals(2, index.getTriggeredOrders(createQuote("AAPL", 101.0)).size());
+
+        amount.setHighestPrice(new Money(110.0));
+        percent.setHighestPrice(new Money(110.0));
+        index.update(amount);
+        index.update(percent);
+        assertEquals(Arrays.asList(amount), index.getTriggeredOrders(createQuote("AAPL", 104.0)));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        Order buy = createOrder(Order.OrderStrategy.LIMIT, Order.OrderAction.BUY, 10.0);
+        Order market = createOrder(Order.OrderStrategy.MARKET, Order.OrderAction.BUY, 0);
+        OrderTriggerIndex index = new OrderTriggerIndex(Arrays.asList(buy, market));
+
+        assertTrue(index.remove(buy));
+        assertFalse(index.remove(buy));
+        assertEquals(Arrays.asList(market), index.getTriggeredOrders(createQuote("AAPL", 5.0)));
+
+        assertTrue(index.remove(market));
+        assertEquals(0, index.size());
+        assertTrue(index.getSymbols().isEmpty());
+    }
+}
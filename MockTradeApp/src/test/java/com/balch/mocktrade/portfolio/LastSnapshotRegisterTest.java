@@ -0,0 +1,80 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 1:30 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.portfolio;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.shared.PerformanceItem;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LastSnapshotRegisterTest {
+
+    private LastSnapshotRegister register;
+
+    private static PerformanceItem createItem(long accountId, long time, long value) {
+        return new PerformanceItem(accountId, new Date(time), new Money(1000L), new Money(value), new Money(10L));
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        register = new LastSnapshotRegister();
+        register.load(Arrays.asList(createItem(1, 1000, 5000), createItem(2, 1000, 6000)));
+    }
+
+    @Test
+    public void testUnchangedTotals() throws Exception {
+        assertFalse(register.isChanged(Arrays.asList(createItem(1, 2000, 5000), createItem(2, 2000, 6000))));
+    }
+
+    @Test
+    public void testChangedTotalsAndNewAccounts() throws Exception {
+        assertTrue(register.isChanged(Arrays.asList(createItem(1, 2000, 5000), createItem(2, 2000, 6001))));
+        assertTrue(register.isChanged(Collections.singletonList(createItem(3, 2000, 1))));
+    }
+
+    @Test
+    public void testOlderSnapshotsDoNotReplaceNewer() throws Exception {
+        register.put(Collections.singletonList(createItem(1, 3000, 7000)));
+        register.put(Collections.singletonList(createItem(1, 2000, 8000)));
+
+        assertEquals(7000L, register.get(1).getValue().getMicroCents());
+        assertFalse(register.isChanged(Collections.singletonList(createItem(1, 4000, 7000))));
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        assertTrue(register.isLoaded());
+        register.reset();
+        assertFalse(register.isLoaded());
+    }
+}
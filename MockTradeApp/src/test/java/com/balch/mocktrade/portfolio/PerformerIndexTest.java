@@ -0,0 +1,85 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 3:50 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.portfolio;
+
+import com.balch.mocktrade.portfolio.PortfolioValuation.ChangeType;
+import com.balch.mocktrade.portfolio.PortfolioValuation.Position;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PerformerIndexTest {
+
+    private static Position createPosition(long investmentId, long costBasis, long price, long prevDayClose) {
+        return new Position(investmentId, 1, "TST" + investmentId, 1, costBasis, price, prevDayClose, 0);
+    }
+
+    @Test
+    public void testBestAndWorst() throws Exception {
+        PerformerIndex index = new PerformerIndex();
+        index.add(createPosition(1, 10000, 11000, 10000));  // today +10% total +10%
+        index.add(createPosition(2, 20000, 15000, 16000));  // today -6.25% total -25%
+        index.add(createPosition(3, 10000, 13000, 12000));  // today +8.3% total +30%
+
+        List<Position> best = index.getBest(ChangeType.TODAY, 2);
+        assertEquals(2, best.size());
+        assertEquals(1, best.get(0).getInvestmentId());
+        assertEquals(3, best.get(1).getInvestmentId());
+
+        assertEquals(3, index.getBest(ChangeType.TOTAL, 1).get(0).getInvestmentId());
+        assertEquals(2, index.getWorst(ChangeType.TODAY, 1).get(0).getInvestmentId());
+        assertEquals(2, index.getWorst(ChangeType.TOTAL, 1).get(0).getInvestmentId());
+
+        assertEquals(3, index.getWorst(ChangeType.TOTAL, 10).size());
+        assertTrue(index.getBest(ChangeType.TOTAL, 0).isEmpty());
+    }
+
+    @Test
+    public void testReplacePosition() throws Exception {
+        PerformerIndex index = new PerformerIndex();
+        Position position = createPosition(1, 10000, 11000, 10000);
+        index.add(position);
+        index.add(createPosition(2, 10000, 10500, 10000));
+
+        index.remove(position);
+        index.add(position.withPrice(9000, 10000, 1));
+
+        assertEquals(2, index.size());
+        assertEquals(2, index.getBest(ChangeType.TODAY, 1).get(0).getInvestmentId());
+        assertEquals(1, index.getWorst(ChangeType.TODAY, 1).get(0).getInvestmentId());
+    }
+
+    @Test
+    public void testEqualPercentsAreKept() throws Exception {
+        PerformerIndex index = new PerformerIndex();
+        index.add(createPosition(1, 10000, 10000, 10000));
+        index.add(createPosition(2, 10000, 10000, 10000));
+
+        assertEquals(2, index.getBest(ChangeType.TODAY, 5).size());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 2:55 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.portfolio;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.shared.PerformanceItem;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SnapshotArchiveCodecTest {
+
+    private static List<PerformanceItem> createSnapshots(int count) {
+        Random random = new Random(42);
+        List<PerformanceItem> performanceItems = new ArrayList<>(count);
+        long time = 1760000000000L;
+        long value = 1000000000L;
+        for (int x = 0; x < count; x++) {
+            time += 5 * 60 * 1000;
+            value += random.nextInt(200000) - 100000;
+            performanceItems.add(new PerformanceItem(7, new Date(time), new Money(900000000L),
+                    new Money(value), new Money(value - 1000000000L)));
+        }
+        return performanceItems;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        List<PerformanceItem> snapshots = createSnapshots(500);
+
+        List<PerformanceItem> decoded = SnapshotArchiveCodec.decode(7, SnapshotArchiveCodec.encode(snapshots));
+
+        assertEquals(snapshots.size(), decoded.size());
+        for (int x = 0; x < snapshots.size(); x++) {
+            PerformanceItem expected = snapshots.get(x);
+            PerformanceItem actual = decoded.get(x);
+            assertEquals(7, actual.getAccountId());
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+            assertEquals(expected.getCostBasis(), actual.getCostBasis());
+            assertEquals(expected.getValue(), actual.getValue());
+            assertEquals(expected.getTodayChange(), actual.getTodayChange());
+        }
+    }
+
+    @Test
+    public void testEncodingIsCompact() throws Exception {
+        // a row in snapshot_totals stores 5 longs plus the row overhead
+        byte[] data = SnapshotArchiveCodec.encode(createSnapshots(1000));
+        assertTrue("encoded size " + data.length, data.length < 1000 * 10);
+    }
+
+    @Test
+    public void testEmptyBlock() throws Exception {
+        List<PerformanceItem> empty = Collections.emptyList();
+        assertEquals(0, SnapshotArchiveCodec.decode(1, SnapshotArchiveCodec.encode(empty)).size());
+    }
+}
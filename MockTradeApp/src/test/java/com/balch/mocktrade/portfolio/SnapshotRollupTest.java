@@ -0,0 +1,90 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 12:10 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.portfolio;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SnapshotRollupTest {
+
+    private static long utc(int year, int month, int day, int hour) {
+        Calendar cal = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        cal.clear();
+        cal.set(year, month, day, hour, 0);
+        return cal.getTimeInMillis();
+    }
+
+    @Test
+    public void testWeeksStartOnMonday() throws Exception {
+        // 10/16/26 is a Friday
+        long sunday = utc(2026, Calendar.OCTOBER, 11, 20);
+        long monday = utc(2026, Calendar.OCTOBER, 12, 14);
+        long friday = utc(2026, Calendar.OCTOBER, 16, 20);
+
+        assertEquals(SnapshotRollup.WEEKLY.getPeriod(monday), SnapshotRollup.WEEKLY.getPeriod(friday));
+        assertEquals(SnapshotRollup.WEEKLY.getPeriod(monday) - 1, SnapshotRollup.WEEKLY.getPeriod(sunday));
+    }
+
+    @Test
+    public void testPeriods() throws Exception {
+        long time = utc(2026, Calendar.OCTOBER, 16, 20);
+
+        assertEquals(2026 * 12 + Calendar.OCTOBER, SnapshotRollup.MONTHLY.getPeriod(time));
+        assertEquals(time / TimeUnit.DAYS.toMillis(1), SnapshotRollup.DAILY.getPeriod(time));
+        assertEquals(time / TimeUnit.HOURS.toMillis(1), SnapshotRollup.HOURLY.getPeriod(time));
+        assertEquals(SnapshotRollup.MONTHLY.getPeriod(time) + 1,
+                SnapshotRollup.MONTHLY.getPeriod(utc(2026, Calendar.NOVEMBER, 1, 0)));
+    }
+
+    @Test
+    public void testWeekendsOnlyInHourly() throws Exception {
+        long saturday = utc(2026, Calendar.OCTOBER, 17, 12);
+
+        assertTrue(SnapshotRollup.HOURLY.includes(saturday));
+        assertFalse(SnapshotRollup.DAILY.includes(saturday));
+        assertFalse(SnapshotRollup.MONTHLY.includes(saturday));
+        assertTrue(SnapshotRollup.DAILY.includes(utc(2026, Calendar.OCTOBER, 16, 12)));
+    }
+
+    @Test
+    public void testSelectCoarsestWithEnoughPoints() throws Exception {
+        long day = TimeUnit.DAYS.toMillis(1);
+
+        assertEquals(SnapshotRollup.DAILY, SnapshotRollup.select(30 * day, 20, SnapshotRollup.DAILY));
+        assertEquals(SnapshotRollup.WEEKLY, SnapshotRollup.select(365 * day, 20, SnapshotRollup.DAILY));
+        assertEquals(SnapshotRollup.MONTHLY, SnapshotRollup.select(3650 * day, 20, SnapshotRollup.DAILY));
+        assertEquals(SnapshotRollup.HOURLY, SnapshotRollup.select(7 * day, 20, SnapshotRollup.HOURLY));
+        assertNull(SnapshotRollup.select(7 * day, 20, SnapshotRollup.DAILY));
+        assertNull(SnapshotRollup.select(day / 2, 20, SnapshotRollup.HOURLY));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 2:40 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.portfolio;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.account.Account;
+import com.balch.mocktrade.finance.Quote;
+import com.balch.mocktrade.investment.Investment;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ValuationEngineTest {
+
+    private ValuationEngine engine;
+    private Account account1;
+    private Account account2;
+    private Date lastTradeTime;
+
+    private static Account createAccount(long id, long initialBalance, long availableFunds, boolean exclude) {
+        Account account = new Account("Account" + id, "", new Money(initialBalance), new Money(availableFunds),
+                Account.Strategy.NONE, exclude);
+        account.setId(id);
+        return account;
+    }
+
+    private static Investment createInvestment(long id, Account account, String symbol, long costBasis,
+                                               long price, long prevDayClose, Date lastTradeTime, long quantity) {
+        Investment investment = new Investment(account, symbol, Investment.InvestmentStatus.OPEN, "", "",
+                new Money(costBasis), new Money(price), lastTradeTime, quantity);
+        investment.setPrevDayClose(new Money(prevDayClose));
+        investment.setId(id);
+        return investment;
+    }
+
+    private static Map<String, Quote> createQuoteMap(String symbol, long price, long prevDayClose, Date lastTradeTime) {
+        Map<String, Quote> quoteMap = new HashMap<>();
+        quoteMap.put(symbol, new Quote(symbol, symbol, "NYSE", new Money(price), lastTradeTime,
+                new Money(prevDayClose), new Money()));
+        return quoteMap;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        lastTradeTime = new Date(System.currentTimeMillis() - 60000);
+
+        account1 = createAccount(1, 1000000, 800000, false);
+        account2 = createAccount(2, 500000, 500000, true);
+
+        engine = new ValuationEngine();
+        engine.load(Arrays.asList(account1, account2), Arrays.asList(
+                createInvestment(10, account1, "AAPL", 100000, 12000, 11000, lastTradeTime, 10),
+                createInvestment(11, account1, "MSFT", 100000, 5000, 5000, lastTradeTime, 20),
+                createInvestment(20, account2, "AAPL", 50000, 12000, 11000, lastTradeTime, 5)));
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        PortfolioValuation valuation = engine.getValuation();
+
+        PortfolioValuation.AccountValuation accountValuation = valuation.getAccount(1L);
+        assertEquals(800000 + 120000 + 100000, accountValuation.getTotalValueMicroCents());
+        assertEquals(10000, accountValuation.getTodayChangeMicroCents());
+        assertEquals(2, accountValuation.getPositionCount());
+
+        assertEquals(3, valuation.getPositions().size());
+        assertEquals(1020000, valuation.getTotals(false, new Date()).getValue().getMicroCents());
+        assertEquals(1000000, valuation.getTotals(false, new Date()).getCostBasis().getMicroCents());
+        assertEquals(1020000 + 500000 + 60000, valuation.getTotals(true, new Date()).getValue().getMicroCents());
+    }
+
+    @Test
+    public void testApplyQuotesOnlyUpdatesMatchingPositions() throws Exception {
+        PortfolioValuation before = engine.getValuation();
+
+        engine.applyQuotes(createQuoteMap("AAPL", 13000, 11000, new Date()));
+        PortfolioValuation after = engine.getValuation();
+
+        assertEquals(800000 + 130000 + 100000, after.getAccount(1L).getTotalValueMicroCents());
+        assertEquals(20000, after.getAccount(1L).getTodayChangeMicroCents());
+        assertEquals(500000 + 65000, after.getAccount(2L).getTotalValueMicroCents());
+
+        // snapshots are immutable
+        assertEquals(800000 + 120000 + 100000, before.getAccount(1L).getTotalValueMicroCents());
+    }
+
+    @Test
+    public void testApplyQuotesIgnoresOldQuotes() throws Exception {
+        PortfolioValuation before = engine.getValuation();
+
+        engine.applyQuotes(createQuoteMap("AAPL", 13000, 11000, lastTradeTime));
+        assertSame(before, engine.getValuation());
+    }
+
+    @Test
+    public void testPerformersFollowQuotes() throws Exception {
+        assertEquals(10, engine.getBestPerformers(PortfolioValuation.ChangeType.TODAY, 1, false)
+                .get(0).getInvestmentId());
+
+        engine.applyQuotes(createQuoteMap("MSFT", 6000, 5000, new Date()));
+        assertEquals(11, engine.getBestPerformers(PortfolioValuation.ChangeType.TODAY, 1, false)
+                .get(0).getInvestmentId());
+        assertEquals(11, engine.getBestPerformers(1L, PortfolioValuation.ChangeType.TOTAL, 1)
+                .get(0).getInvestmentId());
+
+        // the excluded account only shows up when asked for
+        assertEquals(2, engine.getWorstPerformers(PortfolioValuation.ChangeType.TOTAL, 5, false).size());
+        List<PortfolioValuation.Position> worst = engine.getWorstPerformers(PortfolioValuation.ChangeType.TOTAL, 5, true);
+        assertEquals(3, worst.size());
+        assertEquals(20, worst.get(2).getInvestmentId());
+        assertEquals(1, engine.getBestPerformers(2L, PortfolioValuation.ChangeType.TODAY, 5).size());
+    }
+
+    @Test
+    public void testRemoveAccount() throws Exception {
+        engine.removeAccount(2L);
+        PortfolioValuation valuation = engine.getValuation();
+
+        assertNull(valuation.getAccount(2L));
+        assertTrue(engine.getBestPerformers(2L, PortfolioValuation.ChangeType.TODAY, 5).isEmpty());
+        assertEquals(2, engine.getBestPerformers(PortfolioValuation.ChangeType.TODAY, 5, true).size());
+        assertEquals(2, valuation.getPositions().size());
+        assertEquals(valuation.getTotals(false, new Date()).getValue(),
+                valuation.getTotals(true, new Date()).getValue());
+    }
+
+    @Test
+    public void testPutAccountReplacesPositions() throws Exception {
+        Account updated = createAccount(1, 1000000, 700000, false);
+        engine.putAccount(updated, Collections.singletonList(
+                createInvestment(10, updated, "AAPL", 200000, 12000, 11000, lastTradeTime, 20)));
+
+        PortfolioValuation valuation = engine.getValuation();
+        assertEquals(700000 + 240000, valuation.getAccount(1L).getTotalValueMicroCents());
+        assertEquals(1, valuation.getAccount(1L).getPositionCount());
+        assertEquals(2, valuation.getPositions().size());
+
+        // MSFT is no longer held so its quotes are ignored
+        engine.applyQuotes(createQuoteMap("MSFT", 9000, 5000, new Date()));
+        assertEquals(700000 + 240000, engine.getValuation().getAccount(1L).getTotalValueMicroCents());
+    }
+
+    @Test
+    public void testUpdatesIgnoredUntilLoaded() throws Exception {
+        engine.invalidate();
+        engine.putInvestment(createInvestment(10, account1, "AAPL", 100000, 12000, 11000, lastTradeTime, 10));
+
+        assertEquals(0, engine.getValuation().getPositions().size());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 11:50 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.services;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WearSyncThrottleTest {
+
+    private static final int FLAG_PERF = 1;
+    private static final int FLAG_HIGHLIGHTS = 2;
+    private static final int FLAG_URGENT = 4;
+
+    @Test
+    public void testBurstIsCoalesced() throws Exception {
+        WearSyncThrottle throttle = new WearSyncThrottle(60000, FLAG_URGENT);
+        throttle.request(FLAG_PERF);
+        throttle.request(FLAG_HIGHLIGHTS);
+        throttle.request(FLAG_PERF);
+
+        // nothing has been synced so there is no wait
+        assertEquals(0, throttle.take(FLAG_PERF));
+        assertEquals(0, throttle.take(FLAG_HIGHLIGHTS));
+        assertEquals(FLAG_PERF | FLAG_HIGHLIGHTS, throttle.take(FLAG_PERF));
+    }
+
+    @Test
+    public void testRequestWaitsForWindow() throws Exception {
+        WearSyncThrottle throttle = new WearSyncThrottle(200, FLAG_URGENT);
+        throttle.synced();
+
+        long start = System.currentTimeMillis();
+        throttle.request(FLAG_PERF);
+        assertEquals(FLAG_PERF, throttle.take(FLAG_PERF));
+        assertTrue(System.currentTimeMillis() - start >= 150);
+    }
+
+    @Test
+    public void testUrgentRequestEndsWait() throws Exception {
+        final WearSyncThrottle throttle = new WearSyncThrottle(60000, FLAG_URGENT);
+        throttle.synced();
+        throttle.request(FLAG_PERF);
+
+        Thread thread = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignored) {
+            }
+            throttle.request(FLAG_URGENT);
+        });
+        thread.start();
+
+        long start = System.currentTimeMillis();
+        assertEquals(0, throttle.take(FLAG_PERF));
+        assertEquals(FLAG_PERF | FLAG_URGENT, throttle.take(FLAG_URGENT));
+        assertTrue(System.currentTimeMillis() - start < 30000);
+        thread.join();
+    }
+}
@@ -28,8 +28,13 @@ import android.os.Parcelable;
 
 import com.balch.android.app.framework.core.DomainObject;
 import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.shared.utils.VarLongCodec;
 import com.google.android.gms.wearable.DataMap;
 
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
 public class HighlightItem extends DomainObject implements Parcelable {
 
     public enum HighlightType {
@@ -50,6 +55,8 @@ public class HighlightItem extends DomainObject implements Parcelable {
     private static final String DATA_TODAY_CHANGE_PERCENT = "todayChangePercent";
     private static final String DATA_ACCOUNT_ID = "accountId";
 
+    private static final int PACKED_VERSION = 1;
+
     private HighlightType mHighlightType;
     private String mDescription;
     private String mSymbol;
@@ -135,6 +142,48 @@ public class HighlightItem extends DomainObject implements Parcelable {
         return map;
     }
 
+    /**
+     * Packs the items into a byte array instead of a DataMap per item, see
+     * {@link #fromByteArray(byte[])}
+     */
+    public static byte[] toByteArray(List<HighlightItem> items) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + items.size() * 32);
+        VarLongCodec.writeVarLong(out, PACKED_VERSION);
+        VarLongCodec.writeVarLong(out, items.size());
+        for (HighlightItem item : items) {
+            VarLongCodec.writeVarLong(out, item.mHighlightType.ordinal());
+            VarLongCodec.writeString(out, item.mDescription);
+            VarLongCodec.writeString(out, item.mSymbol);
+            VarLongCodec.writeVarLong(out, VarLongCodec.zigzag(item.mCostBasis.getMicroCents()));
+            VarLongCodec.writeVarLong(out, VarLongCodec.zigzag(item.mValue.getMicroCents()));
+            VarLongCodec.writeVarLong(out, VarLongCodec.zigzag(item.mTodayChange.getMicroCents()));
+            VarLongCodec.writeVarLong(out, VarLongCodec.zigzag(Float.floatToIntBits(item.mTodayChangePercent)));
+            VarLongCodec.writeVarLong(out, VarLongCodec.zigzag(item.mAccountId));
+        }
+        return out.toByteArray();
+    }
+
+    public static ArrayList<HighlightItem> fromByteArray(byte[] data) {
+        VarLongCodec.Reader reader = new VarLongCodec.Reader(data);
+
+        long version = reader.readVarLong();
+        if (version != PACKED_VERSION) {
+            throw new IllegalArgumentException("Unsupported highlights version: " + version);
+        }
+
+        HighlightType[] highlightTypes = HighlightType.values();
+        int count = (int) reader.readVarLong();
+        ArrayList<HighlightItem> items = new ArrayList<>(count);
+        for (int x = 0; x < count; x++) {
+            items.add(new HighlightItem(highlightTypes[(int) reader.readVarLong()],
+                    reader.readString(), reader.readString(),
+                    new Money(reader.readZigzag()), new Money(reader.readZigzag()),
+                    new Money(reader.readZigzag()), Float.intBitsToFloat((int) reader.readZigzag()),
+                    reader.readZigzag()));
+        }
+        return items;
+    }
+
     public Money getCostBasis() {
         return mCostBasis;
     }
@@ -188,4 +237,34 @@ public class HighlightItem extends DomainObject implements Parcelable {
     public long getAccountId() {
         return mAccountId;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        HighlightItem that = (HighlightItem) o;
+
+        if (Float.compare(that.mTodayChangePercent, mTodayChangePercent) != 0) return false;
+        if (mAccountId != that.mAccountId) return false;
+        if (mHighlightType != that.mHighlightType) return false;
+        if (mDescription != null ? !mDescription.equals(that.mDescription) : that.mDescription != null) return false;
+        if (mSymbol != null ? !mSymbol.equals(that.mSymbol) : that.mSymbol != null) return false;
+        if (mCostBasis != null ? !mCostBasis.equals(that.mCostBasis) : that.mCostBasis != null) return false;
+        if (mValue != null ? !mValue.equals(that.mValue) : that.mValue != null) return false;
+        return mTodayChange != null ? mTodayChange.equals(that.mTodayChange) : that.mTodayChange == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mHighlightType != null ? mHighlightType.hashCode() : 0;
+        result = 31 * result + (mDescription != null ? mDescription.hashCode() : 0);
+        result = 31 * result + (mSymbol != null ? mSymbol.hashCode() : 0);
+        result = 31 * result + (mCostBasis != null ? mCostBasis.hashCode() : 0);
+        result = 31 * result + (mValue != null ? mValue.hashCode() : 0);
+        result = 31 * result + (mTodayChange != null ? mTodayChange.hashCode() : 0);
+        result = 31 * result + (mTodayChangePercent != +0.0f ? Float.floatToIntBits(mTodayChangePercent) : 0);
+        result = 31 * result + (int) (mAccountId ^ (mAccountId >>> 32));
+        return result;
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ * Author: Balch
+ * Created: 10/17/26 12:25 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.shared;
+
+import com.balch.android.app.framework.types.Money;
+import com.balch.mocktrade.shared.utils.VarLongCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A day of snapshots for an account stored as parallel arrays of times and
+ * micro cent values, so the watch can hold and draw them without a
+ * {@link PerformanceItem} per point.
+ *
+ * The packed format is a version, the account id and the number of snapshots
+ * followed by the time, cost basis, total value and today change columns, see
+ * {@link VarLongCodec}. A day of quote polls packs into a few hundred bytes.
+ */
+public class PerformanceSeries {
+
+    private static final int VERSION = 1;
+
+    private final long accountId;
+    private int count;
+    private long[] times;
+    private long[] costBases;
+    private long[] values;
+    private long[] todayChanges;
+
+    public PerformanceSeries(long accountId, int capacity) {
+        this.accountId = accountId;
+        this.times = new long[capacity];
+        this.costBases = new long[capacity];
+        this.values = new long[capacity];
+        this.todayChanges = new long[capacity];
+    }
+
+    public static PerformanceSeries fromItems(long accountId, List<PerformanceItem> performanceItems) {
+        PerformanceSeries series = new PerformanceSeries(accountId, performanceItems.size());
+        for (PerformanceItem item : performanceItems) {
+            series.add(item.getTimestamp().getTime(), item.getCostBasis().getMicroCents(),
+                    item.getValue().getMicroCents(), item.getTodayChange().getMicroCents());
+        }
+        return series;
+    }
+
+    /**
+     * Snapshots must be added in time order
+     */
+    public void add(long time, long costBasis, long value, long todayChange) {
+        if (count == times.length) {
+            int capacity = Math.max(16, count * 2);
+            times = Arrays.copyOf(times, capacity);
+            costBases = Arrays.copyOf(costBases, capacity);
+            values = Arrays.copyOf(values, capacity);
+            todayChanges = Arrays.copyOf(todayChanges, capacity);
+        }
+
+        times[count] = time;
+        costBases[count] = costBasis;
+        values[count] = value;
+        todayChanges[count] = todayChange;
+        count++;
+    }
+
+    /**
+     * Adds the snapshots in the series that are after the last one in this series
+     */
+    public void append(PerformanceSeries series) {
+        long lastTime = getLastTime();
+        for (int x = 0; x < series.count; x++) {
+            if ((count == 0) || (series.times[x] > lastTime)) {
+                add(series.times[x], series.costBases[x], series.values[x], series.todayChanges[x]);
+            }
+        }
+    }
+
+    public byte[] toByteArray() {
+        return toByteArray(0);
+    }
+
+    /**
+     * Packs the snapshots from start to the end of the series
+     */
+    public byte[] toByteArray(int start) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + (count - start) * 8);
+
+        VarLongCodec.writeVarLong(out, VERSION);
+        VarLongCodec.writeVarLong(out, VarLongCodec.zigzag(accountId));
+        VarLongCodec.writeVarLong(out, count - start);
+        VarLongCodec.writeColumn(out, times, start, count);
+        VarLongCodec.writeColumn(out, costBases, start, count);
+        VarLongCodec.writeColumn(out, values, start, count);
+        VarLongCodec.writeColumn(out, todayChanges, start, count);
+
+        return out.toByteArray();
+    }
+
+    public static PerformanceSeries fromByteArray(byte[] data) {
+        VarLongCodec.Reader reader = new VarLongCodec.Reader(data);
+
+        long version = reader.readVarLong();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported performance series version: " + version);
+        }
+
+        long accountId = reader.readZigzag();
+        int count = (int) reader.readVarLong();
+
+        PerformanceSeries series = new PerformanceSeries(accountId, count);
+        reader.readColumn(series.times, count);
+        reader.readColumn(series.costBases, count);
+        reader.readColumn(series.values, count);
+        reader.readColumn(series.todayChanges, count);
+        series.count = count;
+
+        return series;
+    }
+
+    /**
+     * Creates the PerformanceItems, for screens that still work with them
+     */
+    public ArrayList<PerformanceItem> toItems() {
+        ArrayList<PerformanceItem> performanceItems = new ArrayList<>(count);
+        for (int x = 0; x < count; x++) {
+            performanceItems.add(new PerformanceItem(accountId, new Date(times[x]),
+                    new Money(costBases[x]), new Money(values[x]), new Money(todayChanges[x])));
+        }
+        return performanceItems;
+    }
+
+    public long getAccountId() {
+        return accountId;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return (count == 0);
+    }
+
+    public long getTime(int index) {
+        return times[index];
+    }
+
+    public long getCostBasis(int index) {
+        return costBases[index];
+    }
+
+    public long getValue(int index) {
+        return values[index];
+    }
+
+    public long getTodayChange(int index) {
+        return todayChanges[index];
+    }
+
+    /**
+     * @return 0 if the series is empty
+     */
+    public long getLastTime() {
+        return (count > 0) ? times[count - 1] : 0;
+    }
+}
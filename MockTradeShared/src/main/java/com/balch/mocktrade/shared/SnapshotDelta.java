@@ -0,0 +1,95 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 10:45 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.shared;
+
+/**
+ * Rules for syncing the day's snapshots to the watch a few points at a time.
+ *
+ * The timestamp of the last snapshot the watch has is its sequence number. The
+ * watch acknowledges it on {@link WearDataSync#PATH_SNAPSHOT_ACK} and the phone
+ * only sends the snapshots after it, along with the base time the delta was
+ * computed from. A base time of {@link #BASE_TIME_FULL} means the snapshots
+ * replace what the watch has. If the watch can't apply a delta it acknowledges
+ * {@link #ACK_TIME_RESYNC} and the phone sends everything.
+ */
+public class SnapshotDelta {
+
+    public static final long BASE_TIME_FULL = 0;
+    public static final long ACK_TIME_RESYNC = -1;
+
+    /**
+     * Returns the index of the first snapshot the watch does not have
+     *
+     * @param ackTime last snapshot time the watch acknowledged, {@link #BASE_TIME_FULL}
+     *                if it does not have any
+     * @return -1 if the watch has to be sent all the snapshots as a full sync,
+     * snapshots.size() if it is up to date
+     */
+    public static int getDeltaStart(PerformanceSeries snapshots, long ackTime) {
+        if (ackTime == BASE_TIME_FULL) {
+            return 0;
+        }
+
+        // the watch has a different day
+        if ((ackTime < 0) || snapshots.isEmpty() || (ackTime < snapshots.getTime(0))) {
+            return -1;
+        }
+
+        int start = snapshots.size();
+        while ((start > 0) && (snapshots.getTime(start - 1) > ackTime)) {
+            start--;
+        }
+        return start;
+    }
+
+    /**
+     * Applies snapshots sent by the phone to the ones the watch has. The
+     * watch's snapshots are appended to in place.
+     *
+     * @return the watch's new snapshots or null if the delta does not line up
+     * with them and a full sync is needed
+     */
+    public static PerformanceSeries apply(PerformanceSeries snapshots, long baseTime,
+                                          PerformanceSeries delta) {
+        if (baseTime == BASE_TIME_FULL) {
+            return delta;
+        }
+
+        long lastTime = getLastTime(snapshots);
+        if ((lastTime == BASE_TIME_FULL) || (baseTime > lastTime)) {
+            return null;
+        }
+
+        // the phone can resend points when the ack is behind
+        snapshots.append(delta);
+        return snapshots;
+    }
+
+    /**
+     * Returns the time to acknowledge for the snapshots
+     */
+    public static long getLastTime(PerformanceSeries snapshots) {
+        return (snapshots != null) ? snapshots.getLastTime() : BASE_TIME_FULL;
+    }
+}
@@ -25,10 +25,20 @@ package com.balch.mocktrade.shared;
 
 public class WearDataSync {
     public static final String PATH_SNAPSHOT_SYNC = "/snapshot/day";
+    // watches that ack snapshots get the packed formats, others the DataMap lists
     public static final String DATA_SNAPSHOT_DAILY = "snapshot_daily";
+    public static final String DATA_SNAPSHOT_SERIES = "snapshot_series";
+    public static final String DATA_SNAPSHOT_ACCOUNT_ID = "snapshot_account_id";
+    public static final String DATA_SNAPSHOT_BASE_TIME = "snapshot_base_time";
+
+    // written by the watch with the last snapshot it has, see SnapshotDelta
+    public static final String PATH_SNAPSHOT_ACK = "/snapshot/ack";
+    public static final String DATA_SNAPSHOT_ACK_ACCOUNT_ID = "ack_account_id";
+    public static final String DATA_SNAPSHOT_ACK_TIME = "ack_time";
 
     public static final String PATH_HIGHLIGHTS_SYNC = "/highlights";
     public static final String DATA_HIGHLIGHTS = "highlights";
+    public static final String DATA_HIGHLIGHTS_PACKED = "highlights_packed";
 
     public static final String PATH_WATCH_FACE_ACCOUNT_ID = "/watchface";
     public static final String DATA_WATCH_FACE_ACCOUNT_ID = "account_id";
@@ -0,0 +1,132 @@
+/*
+ * Author: Balch
+ * Created: 10/17/26 12:10 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.shared.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Varint helpers for the packed snapshot formats. Signed values are zigzag
+ * encoded so small negative numbers stay small. Columns are stored as the
+ * difference from the previous value, so slowly changing values only take a
+ * byte or two each.
+ */
+public class VarLongCodec {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private VarLongCodec() {
+    }
+
+    public static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Writes the UTF-8 length followed by the bytes, null is written as an empty string
+     */
+    public static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = (value != null) ? value.getBytes(UTF_8) : new byte[0];
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Writes column[start, end) as zigzag encoded differences
+     */
+    public static void writeColumn(ByteArrayOutputStream out, long[] column, int start, int end) {
+        long previous = 0;
+        for (int x = start; x < end; x++) {
+            writeVarLong(out, zigzag(column[x] - previous));
+            previous = column[x];
+        }
+    }
+
+    public static class Reader {
+        private final byte[] data;
+        private int position;
+
+        public Reader(byte[] data) {
+            this.data = data;
+        }
+
+        public long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position >= data.length) {
+                    throw new IllegalArgumentException("Truncated data");
+                }
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        public String readString() {
+            int length = (int) readVarLong();
+            if (position + length > data.length) {
+                throw new IllegalArgumentException("Truncated data");
+            }
+            String value = new String(data, position, length, UTF_8);
+            position += length;
+            return value;
+        }
+
+        public long readZigzag() {
+            return unzigzag(readVarLong());
+        }
+
+        /**
+         * Reads a column written by {@link #writeColumn} into column[0, count)
+         */
+        public void readColumn(long[] column, int count) {
+            long previous = 0;
+            for (int x = 0; x < count; x++) {
+                previous += unzigzag(readVarLong());
+                column[x] = previous;
+            }
+        }
+
+        public long[] readColumn(int count) {
+            long[] column = new long[count];
+            readColumn(column, count);
+            return column;
+        }
+    }
+}
@@ -40,6 +40,7 @@ import android.graphics.Rect;
 import android.graphics.RectF;
 import android.graphics.Shader;
 import android.os.Build;
+import android.os.Process;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
@@ -50,12 +51,17 @@ import com.balch.mocktrade.shared.PerformanceItem;
 import com.balch.mocktrade.shared.R;
 
 import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.FieldPosition;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * Render the performance items on a daily graph.
@@ -108,34 +114,62 @@ public class DailyGraphView extends View {
 
     private static final int EXAMINER_WIDTH = 5;
 
+    // long histories are downsampled to this many points per horizontal pixel
+    private static final int POINTS_PER_PIXEL = 2;
+
+    // graph paths are built off the main thread, shared by all graph views
+    private static final Executor PATH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "DailyGraphView");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private Paint mPathPaintStroke;
     private Paint mPathPaintFill;
     private Paint mMarketTimesPaint;
-    private Path mPathStroke;
-    private Path mPathFill;
-    private float mPathLengthStroke;
     private Paint mExaminerPaint;
     private RectF mExaminerRect;
     private Paint mExaminerTimePaint;
-    private String mExaminerTime;
+    private char[] mExaminerTime = new char[32];
+    private int mExaminerTimeLength;
     private Rect mExaminerTimeTextBounds = new Rect();
     private Paint mExaminerValuePaint;
-    private String mExaminerValue;
+    private char[] mExaminerValue = new char[32];
+    private int mExaminerValueLength;
     private Rect mExaminerValueTextBounds = new Rect();
 
-    private List<PerformanceItem> mPerformanceItems;
+    // reused while scrubbing so move events do not allocate
+    private final Date mExaminerDate = new Date();
+    private final Money mExaminerMoney = new Money();
+    private final StringBuffer mExaminerBuffer = new StringBuffer();
+    private final FieldPosition mExaminerFieldPosition = new FieldPosition(0);
+    private DecimalFormat mExaminerMoneyFormat;
+
+    // timestamps and graphed values of the bound items, sorted by time.
+    // Items are only ever appended past mCount so a build in progress
+    // can keep reading the arrays it was given.
+    private long[] mTimes;
+    private long[] mValues;
+    private int mCount;
+    private long mInitialValue;
+
+    // mGeometry is drawn while the next one is built on PATH_EXECUTOR,
+    // the one that is replaced is reused for the following build
+    private Geometry mGeometry = new Geometry();
+    private Geometry mSpareGeometry;
+    private int mGeneration;
+    private boolean mAnimatePending;
+    private ValueAnimator mAnimator;
+    private int mShaderHeight;
 
     private int mWidth;
     private int mHeight;
-    private float mScaleX = 1.0f;
-    private float mScaleY = 1.0f;
-    private long mOffsetY;
-    private long mOffsetX;
 
     private long mMaxYValue;
     private long mMinYValue;
-    private long mMarketStartTime;
-    private long mMarketEndTime;
     private boolean mAllowMove = true;
 
     private boolean mHourly = true;
@@ -154,48 +188,47 @@ public class DailyGraphView extends View {
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
 
-        if (mHourly) {
-            if (mMarketStartTime != 0) {
-                float marketStartX = scaleX(mMarketStartTime);
+        Geometry geometry = mGeometry;
+
+        // nothing to draw until the first geometry is built for this size
+        if (geometry.height == 0) {
+            return;
+        }
+
+        if (geometry.hourly) {
+            if (geometry.marketStartTime != 0) {
+                float marketStartX = geometry.scaleX(geometry.marketStartTime);
                 canvas.drawLine(marketStartX, GRAPH_PADDING_VERTICAL,
                         marketStartX, mHeight - GRAPH_PADDING_VERTICAL, mMarketTimesPaint);
             }
 
-            if (mMarketEndTime != 0) {
-                float marketEndX = scaleX(mMarketEndTime);
+            if (geometry.marketEndTime != 0) {
+                float marketEndX = geometry.scaleX(geometry.marketEndTime);
                 canvas.drawLine(marketEndX, GRAPH_PADDING_VERTICAL,
                         marketEndX, mHeight - GRAPH_PADDING_VERTICAL, mMarketTimesPaint);
             }
         }
 
-        float centerY = scaleY(getCenterValue());
+        float centerY = geometry.scaleY(geometry.centerValue);
         canvas.drawLine(0, centerY, mWidth, centerY, mMarketTimesPaint);
 
-        canvas.drawPath(mPathStroke, mPathPaintStroke);
-        canvas.drawPath(mPathFill, mPathPaintFill);
+        canvas.drawPath(geometry.stroke, mPathPaintStroke);
+        canvas.drawPath(geometry.fill, mPathPaintFill);
 
         if (mExaminerRect != null) {
             canvas.drawRect(mExaminerRect, mExaminerPaint);
 
-            canvas.drawText(mExaminerTime,
+            canvas.drawText(mExaminerTime, 0, mExaminerTimeLength,
                     mExaminerRect.left - mExaminerTimeTextBounds.centerX(), mHeight - 2,
                     mExaminerTimePaint);
 
-            canvas.drawText(mExaminerValue,
+            canvas.drawText(mExaminerValue, 0, mExaminerValueLength,
                     mExaminerRect.left - mExaminerValueTextBounds.centerX(),
                     mExaminerValueTextBounds.height() + 2,
                     mExaminerValuePaint);
         }
     }
 
-    private long getCenterValue() {
-        long centerPos = 0;
-        if (!mHourly && (mPerformanceItems.size() > 0)) {
-            centerPos = getPerformanceItemValue(mPerformanceItems.get(0)).getMicroCents();
-        }
-        return centerPos;
-    }
-
     private void initialize(AttributeSet attrs) {
 
         int examineTextSize = 34;
@@ -241,6 +274,10 @@ public class DailyGraphView extends View {
         mExaminerValuePaint.setStyle(Paint.Style.FILL);
         mExaminerValuePaint.setTextSize(examineTextSize);
 
+        // same format as Money.getFormatted()
+        String moneyPattern = mExaminerMoney.getSymbol() + "#,##0.00";
+        mExaminerMoneyFormat = new DecimalFormat(moneyPattern + ";-" + moneyPattern);
+
         mPathPaintStroke = new Paint();
         mPathPaintStroke.setAntiAlias(true);
         mPathPaintStroke.setStyle(Paint.Style.STROKE);
@@ -258,9 +295,6 @@ public class DailyGraphView extends View {
         if (!isInEditMode() && Build.VERSION.SDK_INT >= 11) {
             setLayerType(View.LAYER_TYPE_SOFTWARE, null);
         }
-
-        mPathStroke = new Path();
-        mPathFill = new Path();
     }
 
     @Override
@@ -269,172 +303,172 @@ public class DailyGraphView extends View {
             mWidth = w;
             mHeight = h;
 
-            calculatePath();
+            buildPath(false);
         }
     }
 
-    private void calculatePath() {
-        mPathStroke.rewind();
-        mPathFill.rewind();
-
-        if ((mPerformanceItems != null) && (mPerformanceItems.size() >= 2)) {
-            calculateScale();
-
-            float centerY = scaleY(getCenterValue());
-
-            int startIndex = mHourly ? 0 : 1;
-
-            PerformanceItem performanceItem = mPerformanceItems.get(startIndex);
-
-            float xScaleValue = scaleX(mHourly ? performanceItem.getTimestamp().getTime() : 0);
-            float yScaleValue = scaleY(getPerformanceItemValue(performanceItem).getMicroCents());
-
-            mPathStroke.moveTo(xScaleValue, yScaleValue);
+    /**
+     * Rebuild the graph geometry on PATH_EXECUTOR. The current geometry
+     * is drawn until the new one is ready.
+     */
+    private void buildPath(boolean animate) {
+        if ((mTimes == null) || (mWidth == 0) || (mHeight == 0)) {
+            mAnimatePending |= animate;
+            return;
+        }
 
-            mPathFill.moveTo(xScaleValue, centerY);
-            mPathFill.lineTo(xScaleValue, yScaleValue);
+        final boolean animateOnReady = animate || mAnimatePending;
+        mAnimatePending = false;
+
+        final Geometry geometry = takeSpareGeometry();
+        final int generation = ++mGeneration;
+
+        final long[] times = mTimes;
+        final long[] values = mValues;
+        final int count = mCount;
+        final boolean hourly = mHourly;
+        final int width = mWidth;
+        final int height = mHeight;
+        final long minYValue = mMinYValue;
+        final long maxYValue = mMaxYValue;
+        final long initialValue = mInitialValue;
+
+        PATH_EXECUTOR.execute(() -> {
+            geometry.build(times, values, count, hourly, width, height,
+                    minYValue, maxYValue, initialValue);
+            post(() -> onGeometryReady(geometry, generation, animateOnReady));
+        });
+    }
 
-            for (int x = startIndex; x < mPerformanceItems.size() - 1; x++) {
-                PerformanceItem nextPerformanceItem = mPerformanceItems.get(x+1);
-                float xScaleValueNext = scaleX(mHourly ? nextPerformanceItem.getTimestamp().getTime() : x);
-                float yScaleValueNext = scaleY(getPerformanceItemValue(nextPerformanceItem).getMicroCents());
+    /**
+     * Extend the current path with the items at fromIndex and after. Falls
+     * back to a full build if the new items change the scale of the graph.
+     */
+    private void extendPath(final int fromIndex) {
+        if ((mGeometry.generation != mGeneration) ||
+                !mGeometry.canExtend(mTimes, mValues, mCount, mHourly, mWidth, mHeight)) {
+            buildPath(false);
+            return;
+        }
 
-                if (mHourly) {
-                    mPathStroke.quadTo(xScaleValue, yScaleValue, xScaleValueNext, yScaleValueNext);
-                    mPathFill.quadTo(xScaleValue, yScaleValue, xScaleValueNext, yScaleValueNext);
-                } else {
-                    mPathStroke.lineTo(xScaleValueNext, yScaleValue);
-                    mPathStroke.lineTo(xScaleValueNext, yScaleValueNext);
+        final Geometry geometry = takeSpareGeometry();
+        final int generation = ++mGeneration;
 
-                    mPathFill.lineTo(xScaleValueNext, yScaleValue);
-                    mPathFill.lineTo(xScaleValueNext, yScaleValueNext);
-                }
+        // copying the paths is cheap compared to building them
+        geometry.set(mGeometry);
 
-                xScaleValue = xScaleValueNext;
-                yScaleValue = yScaleValueNext;
-            }
+        final long[] times = mTimes;
+        final long[] values = mValues;
+        final int count = mCount;
 
-            int lastPos = mPerformanceItems.size() - 1;
-            performanceItem = mPerformanceItems.get(lastPos);
+        PATH_EXECUTOR.execute(() -> {
+            geometry.extend(times, values, fromIndex, count);
+            post(() -> onGeometryReady(geometry, generation, false));
+        });
+    }
 
-            xScaleValue = scaleX(mHourly ? performanceItem.getTimestamp().getTime() : lastPos);
-            yScaleValue = scaleY(getPerformanceItemValue(performanceItem).getMicroCents());
+    private Geometry takeSpareGeometry() {
+        Geometry geometry = (mSpareGeometry != null) ? mSpareGeometry : new Geometry();
+        mSpareGeometry = null;
+        return geometry;
+    }
 
-            mPathStroke.lineTo(xScaleValue, yScaleValue);
+    private void onGeometryReady(Geometry geometry, int generation, boolean animate) {
+        if (generation != mGeneration) {
+            // a newer build was started while this one was running
+            mSpareGeometry = geometry;
+            return;
+        }
 
-            mPathFill.lineTo(xScaleValue, yScaleValue);
-            mPathFill.lineTo(xScaleValue, centerY);
+        geometry.generation = generation;
+        mSpareGeometry = mGeometry;
+        mGeometry = geometry;
 
-            PathMeasure measure = new PathMeasure(mPathStroke, false);
-            mPathLengthStroke = measure.getLength();
+        if (geometry.height != mShaderHeight) {
+            mShaderHeight = geometry.height;
 
-            Shader shader = new LinearGradient(0, GRAPH_PADDING_VERTICAL,
-                    0, mHeight - GRAPH_PADDING_VERTICAL,
+            mPathPaintStroke.setShader(new LinearGradient(0, GRAPH_PADDING_VERTICAL,
+                    0, mShaderHeight - GRAPH_PADDING_VERTICAL,
                     LINEAR_GRADIENT_COLORS_STROKE,
                     LINEAR_GRADIENT_POSITIONS_STROKE,
-                    Shader.TileMode.CLAMP);
-
-            mPathPaintStroke.setShader(shader);
+                    Shader.TileMode.CLAMP));
 
-            shader = new LinearGradient(0, GRAPH_PADDING_VERTICAL,
-                    0, mHeight - GRAPH_PADDING_VERTICAL,
+            mPathPaintFill.setShader(new LinearGradient(0, GRAPH_PADDING_VERTICAL,
+                    0, mShaderHeight - GRAPH_PADDING_VERTICAL,
                     LINEAR_GRADIENT_COLORS_FILL,
                     LINEAR_GRADIENT_POSITIONS_FILL,
-                    Shader.TileMode.CLAMP);
-            mPathPaintFill.setShader(shader);
+                    Shader.TileMode.CLAMP));
         }
-    }
-
-    private void calculateScale() {
-
-        if ((mWidth != 0) && (mHeight != 0)) {
-
-            long initialValue = mPerformanceItems.get(0).getValue().getMicroCents();
-            long centerValue = getCenterValue();
-
-            // set the Y range with room to accommodate the max gain or loss
-            long absMaxY = Math.abs(mMaxYValue - centerValue);
-            long absMinY = Math.abs(mMinYValue - centerValue);
-            long deltaY = (absMaxY > absMinY) ? 2 * absMaxY : 2 * absMinY;
-
-            // set the min scale to 1% of current value.
-            long minDeltaY = (long) (.01f * initialValue);
-            if (deltaY < minDeltaY) {
-                deltaY = minDeltaY;
-            }
-
-            mScaleY = (float) (mHeight-1) / deltaY;
-            mOffsetY = mHourly ? 0 : initialValue;
-
-            if (mHourly) {
-                Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("America/Los_Angeles"));
-
-                // get market start time on same day of first x
-                long firstX = mPerformanceItems.get(mHourly ? 0 : 1).getTimestamp().getTime();
-                cal.setTimeInMillis(firstX);
-                cal.set(Calendar.HOUR_OF_DAY, 6);
-                cal.set(Calendar.MINUTE, 30);
-                cal.set(Calendar.SECOND, 0);
-                cal.set(Calendar.MILLISECOND, 0);
-
-                mMarketStartTime = cal.getTimeInMillis();
-
-                // set the start to 30 mins b4 market close
-                cal.set(Calendar.MINUTE, 0);
-                long startScaleX = cal.getTimeInMillis();
-
-                // get the market end tme
-                cal.set(Calendar.HOUR_OF_DAY, 13);
-                cal.set(Calendar.MINUTE, 0);
-                mMarketEndTime = cal.getTimeInMillis();
-
-                // set the end scale to 30 mins after market close
-                cal.set(Calendar.MINUTE, 30);
-                long endScaleX = cal.getTimeInMillis();
 
-                // see if there is a sample after the market close and extend the end if so
-                long lastX = mPerformanceItems.get(mPerformanceItems.size() - 1).getTimestamp().getTime();
-                if (endScaleX < lastX) {
-                    endScaleX = lastX;
-                }
-
-                mScaleX = mWidth / (float) (endScaleX - startScaleX);
-                mOffsetX = startScaleX;
-            } else {
-                mScaleX = mWidth / (float) (mPerformanceItems.size() - 1);
-                mOffsetX = 0;
-            }
+        if (animate) {
+            animateGraph();
+        } else if ((mAnimator == null) || !mAnimator.isRunning()) {
+            mPathPaintStroke.setPathEffect(null);
         }
+
+        invalidate();
     }
 
     public void animateGraph() {
-        ValueAnimator va = ValueAnimator.ofFloat(0, 1);
-        va.setDuration(ANIMATION_DURATION_MS);
-        va.setInterpolator(new DecelerateInterpolator());
-        va.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+        if (mAnimator != null) {
+            mAnimator.cancel();
+        }
+
+        mAnimator = ValueAnimator.ofFloat(0, 1);
+        mAnimator.setDuration(ANIMATION_DURATION_MS);
+        mAnimator.setInterpolator(new DecelerateInterpolator());
+        mAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
             public void onAnimationUpdate(ValueAnimator animation) {
                 Float percentage = (Float) animation.getAnimatedValue();
+                float pathLength = mGeometry.strokeLength;
 
                 // change the path effect to determine how much of path to render
-                float visibleLength = mPathLengthStroke * percentage;
-                mPathPaintStroke.setPathEffect(new DashPathEffect(new float[]{visibleLength, mPathLengthStroke - visibleLength}, 0));
+                float visibleLength = pathLength * percentage;
+                mPathPaintStroke.setPathEffect(new DashPathEffect(new float[]{visibleLength, pathLength - visibleLength}, 0));
 
                 invalidate();
             }
         });
-        va.start();
+        mAnimator.start();
     }
 
+    /**
+     * Bind the items to the graph. If the items are the previously bound items
+     * with new items added to the end, the existing path is extended instead
+     * of being rebuilt and the graph is not animated again.
+     */
     public void bind(List<PerformanceItem> performanceItems, boolean hourly) {
-        mPerformanceItems = performanceItems;
+        int size = performanceItems.size();
+
+        int fromIndex = (hourly == mHourly) ? getAppendIndex(performanceItems) : -1;
+        if (fromIndex == size) {
+            // nothing has changed
+            return;
+        }
+
         mHourly = hourly;
 
-        mMaxYValue = Long.MIN_VALUE;
-        mMinYValue = Long.MAX_VALUE;
+        if (fromIndex <= 0) {
+            mTimes = new long[size];
+            mValues = new long[size];
+            mCount = 0;
+            mInitialValue = (size > 0) ? performanceItems.get(0).getValue().getMicroCents() : 0;
+
+            mMaxYValue = Long.MIN_VALUE;
+            mMinYValue = Long.MAX_VALUE;
+        } else if (mTimes.length < size) {
+            int capacity = Math.max(size, 2 * mTimes.length);
+            mTimes = Arrays.copyOf(mTimes, capacity);
+            mValues = Arrays.copyOf(mValues, capacity);
+        }
 
-        for (int idx = 0; idx < mPerformanceItems.size(); idx++) {
-            PerformanceItem performanceItem = mPerformanceItems.get(idx);
+        int startIndex = (fromIndex > 0) ? fromIndex : 0;
+        for (int idx = startIndex; idx < size; idx++) {
+            PerformanceItem performanceItem = performanceItems.get(idx);
             long y = getPerformanceItemValue(performanceItem).getMicroCents();
+            mTimes[idx] = performanceItem.getTimestamp().getTime();
+            mValues[idx] = y;
+
             if (y > mMaxYValue) {
                 mMaxYValue = y;
             }
@@ -444,16 +478,33 @@ public class DailyGraphView extends View {
             }
         }
 
-        calculatePath();
-        animateGraph();
-    }
+        mCount = size;
 
-    private float scaleX(float x) {
-        return ((x - mOffsetX) * mScaleX);
+        if (fromIndex > 0) {
+            extendPath(fromIndex);
+        } else {
+            buildPath(true);
+        }
     }
 
-    private float scaleY(float y) {
-        return mHeight / 2.0f - ((y - mOffsetY) * mScaleY);
+    /**
+     * Returns the number of bound items that performanceItems starts with or
+     * -1 if it does not start with all of them.
+     */
+    private int getAppendIndex(List<PerformanceItem> performanceItems) {
+        if ((mTimes == null) || (performanceItems.size() < mCount)) {
+            return -1;
+        }
+
+        for (int idx = 0; idx < mCount; idx++) {
+            PerformanceItem performanceItem = performanceItems.get(idx);
+            if ((mTimes[idx] != performanceItem.getTimestamp().getTime()) ||
+                    (mValues[idx] != getPerformanceItemValue(performanceItem).getMicroCents())) {
+                return -1;
+            }
+        }
+
+        return mCount;
     }
 
     /**
@@ -483,19 +534,22 @@ public class DailyGraphView extends View {
                 } // else fallthrow
 
             case MotionEvent.ACTION_DOWN: {
-                Money money;
-                Date timestamp;
+                long timestamp;
+                long value = 0;
+                boolean hasValue = true;
 
-                long xVal = (long) (eventX / mScaleX) + mOffsetX;
+                long xVal = (long) (eventX / mGeometry.scaleX) + mGeometry.offsetX;
                 if (mHourly) {
-                    timestamp = new Date(xVal);
-                    money = extrapolateValue(timestamp.getTime());
+                    timestamp = xVal;
+                    hasValue = (mCount > 2);
+                    if (hasValue) {
+                        value = extrapolateValue(timestamp);
+                    }
                 } else {
                     int index = (int) xVal + 1;
-                    if (index < mPerformanceItems.size()) {
-                        PerformanceItem performanceItem = mPerformanceItems.get(index);
-                        timestamp = performanceItem.getTimestamp();
-                        money = getPerformanceItemValue(performanceItem);
+                    if (index < mCount) {
+                        timestamp = mTimes[index];
+                        value = mValues[index];
                     } else {
                         return true;
                     }
@@ -507,15 +561,22 @@ public class DailyGraphView extends View {
 
                 mExaminerRect.set(eventX, GRAPH_PADDING_VERTICAL, eventX + EXAMINER_WIDTH, mHeight - GRAPH_PADDING_VERTICAL);
 
-                mExaminerTime = mHourly ? HOURLY_DATE_FORMAT.format(timestamp) : DAILY_DATE_FORMAT.format(timestamp);
-                mExaminerTimePaint.getTextBounds(mExaminerTime, 0, mExaminerTime.length(), mExaminerTimeTextBounds);
-
-                mExaminerValue = "";
-                if (money != null) {
-                    mExaminerValue = money.getFormatted();
-                    mExaminerValuePaint.setColor((money.getMicroCents() >= 0) ? Color.GREEN : Color.RED);
+                mExaminerDate.setTime(timestamp);
+                mExaminerBuffer.setLength(0);
+                (mHourly ? HOURLY_DATE_FORMAT : DAILY_DATE_FORMAT).format(mExaminerDate, mExaminerBuffer, mExaminerFieldPosition);
+                mExaminerTime = copyText(mExaminerBuffer, mExaminerTime);
+                mExaminerTimeLength = mExaminerBuffer.length();
+                mExaminerTimePaint.getTextBounds(mExaminerTime, 0, mExaminerTimeLength, mExaminerTimeTextBounds);
+
+                mExaminerBuffer.setLength(0);
+                if (hasValue) {
+                    mExaminerMoney.setMicroCents(value);
+                    mExaminerMoneyFormat.format(mExaminerMoney.getDollars(), mExaminerBuffer, mExaminerFieldPosition);
+                    mExaminerValuePaint.setColor((value >= 0) ? Color.GREEN : Color.RED);
                 }
-                mExaminerValuePaint.getTextBounds(mExaminerValue, 0, mExaminerValue.length(), mExaminerValueTextBounds);
+                mExaminerValue = copyText(mExaminerBuffer, mExaminerValue);
+                mExaminerValueLength = mExaminerBuffer.length();
+                mExaminerValuePaint.getTextBounds(mExaminerValue, 0, mExaminerValueLength, mExaminerValueTextBounds);
 
                 handled = true;
                 break;
@@ -534,40 +595,291 @@ public class DailyGraphView extends View {
         return handled;
     }
 
-    private Money extrapolateValue(long timestamp) {
-        Money money = null;
+    private long extrapolateValue(long timestamp) {
+        int index = Arrays.binarySearch(mTimes, 0, mCount, timestamp);
+        if (index >= 0) {
+            return mValues[index];
+        }
+
+        // index of the first item after the timestamp
+        index = -index - 1;
+        if (index == 0) {
+            return mValues[0];
+        } else if (index == mCount) {
+            return mValues[mCount - 1];
+        }
+
+        long deltaY = mValues[index] - mValues[index - 1];
+        long deltaX = mTimes[index] - mTimes[index - 1];
 
-        if (mPerformanceItems.size() > 2) {
-            for (int x = 0; x < mPerformanceItems.size(); x++) {
-                PerformanceItem performanceItem = mPerformanceItems.get(x);
+        return (deltaY * (timestamp - mTimes[index - 1])) / deltaX + mValues[index - 1];
+    }
 
-                if (timestamp <= performanceItem.getTimestamp().getTime()) {
-                    if ((timestamp == performanceItem.getTimestamp().getTime()) || (x == 0)) {
-                        money = getPerformanceItemValue(performanceItem);
+    /**
+     * Copies the buffer into text, only allocating if text is too small
+     */
+    private static char[] copyText(StringBuffer buffer, char[] text) {
+        if (text.length < buffer.length()) {
+            text = new char[buffer.length()];
+        }
+        buffer.getChars(0, buffer.length(), text, 0);
+        return text;
+    }
+
+    /**
+     * Path and scale of one rendering of the graph. A Geometry is only
+     * modified by the thread building it and is read-only once it is drawn.
+     */
+    private static class Geometry {
+        private final Path stroke = new Path();
+        private final Path fill = new Path();
+
+        // fill without the line back to the center so it can be extended
+        private final Path fillOpen = new Path();
+
+        private int generation;
+        private float strokeLength;
+        private boolean hourly = true;
+        private int width;
+        private int height;
+        private int count;
+        private int drawnCount;
+
+        private float scaleX = 1.0f;
+        private float scaleY = 1.0f;
+        private long offsetX;
+        private long offsetY;
+        private long centerValue;
+        private long deltaY;
+        private long endScaleX;
+        private long marketStartTime;
+        private long marketEndTime;
+
+        private float lastX;
+        private float lastY;
+
+        private void build(long[] times, long[] values, int count, boolean hourly,
+                           int width, int height, long minYValue, long maxYValue, long initialValue) {
+            stroke.rewind();
+            fill.rewind();
+            fillOpen.rewind();
+
+            this.hourly = hourly;
+            this.width = width;
+            this.height = height;
+            this.count = count;
+            drawnCount = 0;
+            strokeLength = 0;
+
+            centerValue = (!hourly && (count > 0)) ? values[0] : 0;
+
+            if (count >= 2) {
+                calculateScale(times, count, minYValue, maxYValue, initialValue);
+
+                float centerY = scaleY(centerValue);
+
+                int startIndex = hourly ? 0 : 1;
+
+                // only draw the points that can be seen, the path and everything
+                // measured from it scale with the number of segments
+                int[] points = GraphDownsampler.lttb(hourly ? times : null, values,
+                        startIndex, count, POINTS_PER_PIXEL * width);
+                drawnCount = points.length;
+
+                float xScaleValue = scaleIndexX(times, points[0]);
+                float yScaleValue = scaleY(values[points[0]]);
+
+                stroke.moveTo(xScaleValue, yScaleValue);
+
+                fillOpen.moveTo(xScaleValue, centerY);
+                fillOpen.lineTo(xScaleValue, yScaleValue);
+
+                for (int x = 1; x < points.length; x++) {
+                    int nextIndex = points[x];
+                    float xScaleValueNext = scaleIndexX(times, nextIndex);
+                    float yScaleValueNext = scaleY(values[nextIndex]);
+
+                    if (hourly) {
+                        stroke.quadTo(xScaleValue, yScaleValue, xScaleValueNext, yScaleValueNext);
+                        fillOpen.quadTo(xScaleValue, yScaleValue, xScaleValueNext, yScaleValueNext);
                     } else {
+                        stroke.lineTo(xScaleValueNext, yScaleValue);
+                        stroke.lineTo(xScaleValueNext, yScaleValueNext);
 
-                        PerformanceItem prevPerformanceItem = mPerformanceItems.get(x - 1);
+                        fillOpen.lineTo(xScaleValueNext, yScaleValue);
+                        fillOpen.lineTo(xScaleValueNext, yScaleValueNext);
+                    }
 
+                    xScaleValue = xScaleValueNext;
+                    yScaleValue = yScaleValueNext;
+                }
 
-                        long deltaY = getPerformanceItemValue(performanceItem).getMicroCents() -
-                                getPerformanceItemValue(prevPerformanceItem).getMicroCents();
+                int lastPos = count - 1;
 
-                        long deltaX = performanceItem.getTimestamp().getTime() -
-                                prevPerformanceItem.getTimestamp().getTime();
+                lastX = scaleX(hourly ? times[lastPos] : lastPos);
+                lastY = scaleY(values[lastPos]);
 
-                        money = new Money((deltaY * (timestamp - prevPerformanceItem.getTimestamp().getTime())) / deltaX +
-                                getPerformanceItemValue(prevPerformanceItem).getMicroCents());
-                    }
-                    break;
+                stroke.lineTo(lastX, lastY);
+                fillOpen.lineTo(lastX, lastY);
+
+                closeFill();
+
+                PathMeasure measure = new PathMeasure(stroke, false);
+                strokeLength = measure.getLength();
+            }
+        }
+
+        private void calculateScale(long[] times, int count, long minYValue, long maxYValue, long initialValue) {
+
+            // set the Y range with room to accommodate the max gain or loss
+            long absMaxY = Math.abs(maxYValue - centerValue);
+            long absMinY = Math.abs(minYValue - centerValue);
+            deltaY = (absMaxY > absMinY) ? 2 * absMaxY : 2 * absMinY;
+
+            // set the min scale to 1% of current value.
+            long minDeltaY = (long) (.01f * initialValue);
+            if (deltaY < minDeltaY) {
+                deltaY = minDeltaY;
+            }
+
+            scaleY = (float) (height-1) / deltaY;
+            offsetY = hourly ? 0 : initialValue;
+
+            if (hourly) {
+                Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("America/Los_Angeles"));
+
+                // get market start time on same day of first x
+                long firstX = times[0];
+                cal.setTimeInMillis(firstX);
+                cal.set(Calendar.HOUR_OF_DAY, 6);
+                cal.set(Calendar.MINUTE, 30);
+                cal.set(Calendar.SECOND, 0);
+                cal.set(Calendar.MILLISECOND, 0);
+
+                marketStartTime = cal.getTimeInMillis();
+
+                // set the start to 30 mins b4 market close
+                cal.set(Calendar.MINUTE, 0);
+                long startScaleX = cal.getTimeInMillis();
+
+                // get the market end tme
+                cal.set(Calendar.HOUR_OF_DAY, 13);
+                cal.set(Calendar.MINUTE, 0);
+                marketEndTime = cal.getTimeInMillis();
+
+                // set the end scale to 30 mins after market close
+                cal.set(Calendar.MINUTE, 30);
+                endScaleX = cal.getTimeInMillis();
+
+                // see if there is a sample after the market close and extend the end if so
+                long lastX = times[count - 1];
+                if (endScaleX < lastX) {
+                    endScaleX = lastX;
+                }
+
+                scaleX = width / (float) (endScaleX - startScaleX);
+                offsetX = startScaleX;
+            } else {
+                scaleX = width / (float) (count - 1);
+                offsetX = 0;
+                endScaleX = 0;
+                marketStartTime = 0;
+                marketEndTime = 0;
+            }
+        }
+
+        /**
+         * Returns true if the items after this geometry's count can be added
+         * without changing the scale, which is what a full build would do.
+         * Only the hourly graph can be extended, the daily graph rescales
+         * its x axis for every item.
+         */
+        private boolean canExtend(long[] times, long[] values, int count, boolean hourly,
+                                  int width, int height) {
+            if (!this.hourly || !hourly || (this.count < 2) || (count <= this.count) ||
+                    (this.width != width) || (this.height != height) ||
+                    (drawnCount + count - this.count > POINTS_PER_PIXEL * width)) {
+                return false;
+            }
+
+            for (int x = this.count; x < count; x++) {
+                if ((times[x] > endScaleX) || (times[x] < times[x - 1]) ||
+                        (2 * Math.abs(values[x] - centerValue) > deltaY)) {
+                    return false;
                 }
             }
 
-            if (money == null) {
-                money = getPerformanceItemValue(mPerformanceItems.get(mPerformanceItems.size() - 1));
+            return true;
+        }
+
+        private void extend(long[] times, long[] values, int fromIndex, int count) {
+            Path segment = new Path();
+            segment.moveTo(lastX, lastY);
+
+            for (int x = fromIndex; x < count; x++) {
+                float xScaleValue = scaleX(times[x]);
+                float yScaleValue = scaleY(values[x]);
+
+                stroke.quadTo(lastX, lastY, xScaleValue, yScaleValue);
+                fillOpen.quadTo(lastX, lastY, xScaleValue, yScaleValue);
+                segment.quadTo(lastX, lastY, xScaleValue, yScaleValue);
+
+                lastX = xScaleValue;
+                lastY = yScaleValue;
             }
+
+            drawnCount += count - fromIndex;
+            this.count = count;
+
+            closeFill();
+
+            PathMeasure measure = new PathMeasure(segment, false);
+            strokeLength += measure.getLength();
         }
 
-        return money;
-    }
+        private void closeFill() {
+            fill.set(fillOpen);
+            fill.lineTo(lastX, scaleY(centerValue));
+        }
 
+        private void set(Geometry geometry) {
+            stroke.set(geometry.stroke);
+            fill.set(geometry.fill);
+            fillOpen.set(geometry.fillOpen);
+
+            generation = geometry.generation;
+            strokeLength = geometry.strokeLength;
+            hourly = geometry.hourly;
+            width = geometry.width;
+            height = geometry.height;
+            count = geometry.count;
+            drawnCount = geometry.drawnCount;
+            scaleX = geometry.scaleX;
+            scaleY = geometry.scaleY;
+            offsetX = geometry.offsetX;
+            offsetY = geometry.offsetY;
+            centerValue = geometry.centerValue;
+            deltaY = geometry.deltaY;
+            endScaleX = geometry.endScaleX;
+            marketStartTime = geometry.marketStartTime;
+            marketEndTime = geometry.marketEndTime;
+            lastX = geometry.lastX;
+            lastY = geometry.lastY;
+        }
+
+        private float scaleX(float x) {
+            return ((x - offsetX) * scaleX);
+        }
+
+        /**
+         * The daily graph skips the first item and spaces the rest evenly
+         */
+        private float scaleIndexX(long[] times, int index) {
+            return scaleX(hourly ? times[index] : index - 1);
+        }
+
+        private float scaleY(float y) {
+            return height / 2.0f - ((y - offsetY) * scaleY);
+        }
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Author: Balch
+ * Created: 10/17/26 1:20 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+
+package com.balch.mocktrade.shared.view;
+
+/**
+ * Reduces a series to the points that matter visually using the
+ * Largest-Triangle-Three-Buckets algorithm.
+ *
+ * The first and last points are always kept. The points in between are
+ * split into equal buckets and from each bucket the point forming the
+ * largest triangle with the previously selected point and the average of
+ * the next bucket is kept. Peaks and troughs survive, flat runs collapse.
+ */
+final class GraphDownsampler {
+
+    private GraphDownsampler() {
+    }
+
+    /**
+     * Returns the indexes of the points in [start, end) to draw. If the range
+     * already has threshold points or fewer, every index is returned.
+     *
+     * @param xs x values, or null to use the index as the x value
+     * @param ys y values
+     * @param threshold max number of points to return
+     */
+    static int[] lttb(long[] xs, long[] ys, int start, int end, int threshold) {
+        int count = end - start;
+        if ((threshold < 3) || (count <= threshold)) {
+            int[] indexes = new int[Math.max(count, 0)];
+            for (int x = 0; x < indexes.length; x++) {
+                indexes[x] = start + x;
+            }
+            return indexes;
+        }
+
+        int[] indexes = new int[threshold];
+        int sampled = 0;
+
+        // the first and last points are not part of any bucket
+        double bucketSize = (double) (count - 2) / (threshold - 2);
+
+        int selected = start;
+        indexes[sampled++] = selected;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+
+            // average of the next bucket is the third point of the triangle
+            int nextStart = start + (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min(start + (int) ((bucket + 2) * bucketSize) + 1, end);
+
+            double avgX = 0;
+            double avgY = 0;
+            for (int x = nextStart; x < nextEnd; x++) {
+                avgX += getX(xs, x);
+                avgY += ys[x];
+            }
+            int nextCount = nextEnd - nextStart;
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            int bucketStart = start + (int) (bucket * bucketSize) + 1;
+            int bucketEnd = start + (int) ((bucket + 1) * bucketSize) + 1;
+
+            // doubles keep timestamp * microCents products from overflowing
+            double selectedX = getX(xs, selected);
+            double selectedY = ys[selected];
+
+            double maxArea = -1;
+            int maxIndex = bucketStart;
+            for (int x = bucketStart; x < bucketEnd; x++) {
+                double area = Math.abs((selectedX - avgX) * (ys[x] - selectedY) -
+                        (selectedX - getX(xs, x)) * (avgY - selectedY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = x;
+                }
+            }
+
+            selected = maxIndex;
+            indexes[sampled++] = selected;
+        }
+
+        indexes[sampled] = end - 1;
+
+        return indexes;
+    }
+
+    private static double getX(long[] xs, int index) {
+        return (xs != null) ? xs[index] : index;
+    }
+}
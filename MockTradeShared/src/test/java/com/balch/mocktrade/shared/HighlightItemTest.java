@@ -0,0 +1,50 @@
+/*
+ * Author: Balch
+ * Created: 10/17/26 1:05 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.shared;
+
+import com.balch.android.app.framework.types.Money;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class HighlightItemTest {
+
+    @Test
+    public void testPackedRoundTrip() throws Exception {
+        List<HighlightItem> items = Arrays.asList(
+                new HighlightItem(HighlightItem.HighlightType.TOTAL_OVERALL, "Total", "",
+                        new Money(1000000L), new Money(1100000L), new Money(-2500L), -1, -1),
+                new HighlightItem(HighlightItem.HighlightType.PERFORMER_WORST_DAY, "Worst Day", "MSFT",
+                        new Money(500000L), new Money(450000L), new Money(-12000L), -2.6f, 3),
+                new HighlightItem(HighlightItem.HighlightType.TOTAL_ACCOUNT, "Account", "Dogs \u00e9",
+                        new Money(0L), new Money(0L), new Money(0L), 0, 4));
+
+        List<HighlightItem> decoded = HighlightItem.fromByteArray(HighlightItem.toByteArray(items));
+        assertEquals(items, decoded);
+    }
+}
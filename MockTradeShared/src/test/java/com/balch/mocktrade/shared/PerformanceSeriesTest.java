@@ -0,0 +1,105 @@
+/*
+ * Author: Balch
+ * Created: 10/17/26 12:55 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.shared;
+
+import com.balch.android.app.framework.types.Money;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PerformanceSeriesTest {
+
+    private static final long MARKET_OPEN = 1476453000000L;
+
+    private static List<PerformanceItem> createSnapshots(int count) {
+        List<PerformanceItem> snapshots = new ArrayList<>(count);
+        long value = 10000000000L;
+        for (int x = 0; x < count; x++) {
+            value += ((x % 3) - 1) * 12345L;
+            snapshots.add(new PerformanceItem(7, new Date(MARKET_OPEN + x * 5 * 60000L),
+                    new Money(9000000000L), new Money(value), new Money(value - 9950000000L)));
+        }
+        return snapshots;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        List<PerformanceItem> snapshots = createSnapshots(79);
+        PerformanceSeries series = PerformanceSeries.fromByteArray(
+                PerformanceSeries.fromItems(7, snapshots).toByteArray());
+
+        assertEquals(7, series.getAccountId());
+        assertEquals(snapshots.size(), series.size());
+
+        List<PerformanceItem> items = series.toItems();
+        for (int x = 0; x < snapshots.size(); x++) {
+            PerformanceItem expected = snapshots.get(x);
+            assertEquals(expected.getTimestamp(), items.get(x).getTimestamp());
+            assertEquals(expected.getCostBasis(), items.get(x).getCostBasis());
+            assertEquals(expected.getValue(), items.get(x).getValue());
+            assertEquals(expected.getTodayChange(), items.get(x).getTodayChange());
+            assertEquals(7, items.get(x).getAccountId());
+        }
+    }
+
+    @Test
+    public void testPartialEncoding() throws Exception {
+        PerformanceSeries series = PerformanceSeries.fromItems(-1, createSnapshots(10));
+        PerformanceSeries tail = PerformanceSeries.fromByteArray(series.toByteArray(8));
+
+        assertEquals(-1, tail.getAccountId());
+        assertEquals(2, tail.size());
+        assertEquals(series.getTime(8), tail.getTime(0));
+        assertEquals(series.getValue(9), tail.getValue(1));
+    }
+
+    @Test
+    public void testAppendGrowsAndSkipsOlderPoints() throws Exception {
+        PerformanceSeries series = new PerformanceSeries(1, 0);
+        series.add(1000, 1, 2, 3);
+        series.add(2000, 1, 2, 3);
+
+        PerformanceSeries delta = new PerformanceSeries(1, 2);
+        delta.add(2000, 1, 2, 3);
+        delta.add(3000, 4, 5, 6);
+        series.append(delta);
+
+        assertEquals(3, series.size());
+        assertEquals(3000, series.getLastTime());
+        assertEquals(6, series.getTodayChange(2));
+    }
+
+    @Test
+    public void testPackedIsSmallerThanDataMaps() throws Exception {
+        // a day of 5 minute snapshots takes a couple of bytes per column per point
+        byte[] data = PerformanceSeries.fromItems(7, createSnapshots(79)).toByteArray();
+        assertTrue(data.length < 79 * 16);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Author: Balch
+ * Created: 10/16/26 11:40 PM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.shared;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SnapshotDeltaTest {
+
+    private static PerformanceSeries createSeries(long... times) {
+        PerformanceSeries series = new PerformanceSeries(1, times.length);
+        for (long time : times) {
+            series.add(time, 100, time, 0);
+        }
+        return series;
+    }
+
+    @Test
+    public void testDeltaStart() throws Exception {
+        PerformanceSeries snapshots = createSeries(1000, 2000, 3000, 4000);
+
+        assertEquals(2, SnapshotDelta.getDeltaStart(snapshots, 2000));
+        assertEquals(4, SnapshotDelta.getDeltaStart(snapshots, 4000));
+
+        // the watch has nothing
+        assertEquals(0, SnapshotDelta.getDeltaStart(snapshots, SnapshotDelta.BASE_TIME_FULL));
+        assertEquals(0, SnapshotDelta.getDeltaStart(createSeries(), SnapshotDelta.BASE_TIME_FULL));
+
+        // the watch asked for everything or has an older day
+        assertEquals(-1, SnapshotDelta.getDeltaStart(snapshots, SnapshotDelta.ACK_TIME_RESYNC));
+        assertEquals(-1, SnapshotDelta.getDeltaStart(snapshots, 500));
+        assertEquals(-1, SnapshotDelta.getDeltaStart(createSeries(), 500));
+    }
+
+    @Test
+    public void testApplyDelta() throws Exception {
+        PerformanceSeries merged = SnapshotDelta.apply(createSeries(1000, 2000), 2000, createSeries(3000, 4000));
+        assertEquals(4, merged.size());
+        assertEquals(4000, SnapshotDelta.getLastTime(merged));
+
+        // points the watch already has are skipped when the phone's ack is behind
+        merged = SnapshotDelta.apply(merged, 2000, createSeries(3000, 4000, 5000));
+        assertEquals(Arrays.asList(1000L, 2000L, 3000L, 4000L, 5000L), getTimes(merged));
+    }
+
+    @Test
+    public void testApplyFull() throws Exception {
+        PerformanceSeries merged = SnapshotDelta.apply(createSeries(1000, 2000),
+                SnapshotDelta.BASE_TIME_FULL, createSeries(5000));
+        assertEquals(Collections.singletonList(5000L), getTimes(merged));
+
+        merged = SnapshotDelta.apply(null, SnapshotDelta.BASE_TIME_FULL, createSeries(5000));
+        assertEquals(1, merged.size());
+    }
+
+    @Test
+    public void testApplyGapNeedsResync() throws Exception {
+        assertNull(SnapshotDelta.apply(createSeries(1000, 2000), 3000, createSeries(4000)));
+        assertNull(SnapshotDelta.apply(null, 3000, createSeries(4000)));
+        assertEquals(SnapshotDelta.BASE_TIME_FULL, SnapshotDelta.getLastTime(null));
+    }
+
+    private static List<Long> getTimes(PerformanceSeries series) {
+        List<Long> times = new ArrayList<>(series.size());
+        for (int x = 0; x < series.size(); x++) {
+            times.add(series.getTime(x));
+        }
+        return times;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Author: Balch
+ * Created: 10/17/26 1:35 AM
+ *
+ * This file is part of MockTrade.
+ *
+ * MockTrade is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MockTrade is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MockTrade.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2026
+ *
+ */
+
+package com.balch.mocktrade.shared.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GraphDownsamplerTest {
+
+    @Test
+    public void testSmallSeriesIsNotSampled() throws Exception {
+        long[] ys = new long[]{5, 6, 7, 8};
+        assertArrayEquals(new int[]{1, 2, 3}, GraphDownsampler.lttb(null, ys, 1, 4, 10));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, GraphDownsampler.lttb(null, ys, 0, 4, 2));
+    }
+
+    @Test
+    public void testKeepsEndsAndPeaks() throws Exception {
+        int count = 10000;
+        long[] xs = new long[count];
+        long[] ys = new long[count];
+        for (int x = 0; x < count; x++) {
+            xs[x] = 1476453000000L + x * 60000L;
+            ys[x] = 1000000L + (x % 2) * 10;
+        }
+        ys[4321] = 9000000L;
+        ys[7654] = -9000000L;
+
+        int[] indexes = GraphDownsampler.lttb(xs, ys, 0, count, 200);
+
+        assertEquals(200, indexes.length);
+        assertEquals(0, indexes[0]);
+        assertEquals(count - 1, indexes[indexes.length - 1]);
+
+        boolean foundPeak = false;
+        boolean foundTrough = false;
+        for (int x = 0; x < indexes.length; x++) {
+            if (x > 0) {
+                assertTrue(indexes[x] > indexes[x - 1]);
+            }
+            foundPeak |= (indexes[x] == 4321);
+            foundTrough |= (indexes[x] == 7654);
+        }
+        assertTrue(foundPeak);
+        assertTrue(foundTrough);
+    }
+}
@@ -53,6 +53,8 @@ import android.view.animation.AccelerateDecelerateInterpolator;
 import com.balch.android.app.framework.types.Money;
 import com.balch.mocktrade.shared.HighlightItem;
 import com.balch.mocktrade.shared.PerformanceItem;
+import com.balch.mocktrade.shared.PerformanceSeries;
+import com.balch.mocktrade.shared.SnapshotDelta;
 import com.balch.mocktrade.shared.WatchConfigItem;
 import com.balch.mocktrade.shared.WearDataSync;
 import com.balch.mocktrade.shared.utils.TextFormatUtils;
@@ -148,7 +150,8 @@ public class MockTradeFace extends CanvasWatchFaceService {
         private float marketDurationDegrees;
         private boolean zoomMarketArc; // if two, outer circle is 12HR
 
-        private ArrayList<PerformanceItem> performanceItems;
+        private PerformanceSeries performanceSeries;
+        private long snapshotAccountId = -1;
         private float performanceDurationDegrees;
         private final BroadcastReceiver timeZoneReceiver = new BroadcastReceiver() {
             @Override
@@ -361,27 +364,25 @@ public class MockTradeFace extends CanvasWatchFaceService {
             Rect frame = getSurfaceHolder().getSurfaceFrame();
 
             Shader shader = null;
-            if ((performanceItems != null) && performanceItems.size() > 0) {
-                float extent = getPerformanceExtent(performanceItems.get(0).getValue().getMicroCents());
+            if ((performanceSeries != null) && performanceSeries.size() > 0) {
+                float extent = getPerformanceExtent(performanceSeries.getValue(0));
 
                 Calendar cal = Calendar.getInstance();
 
-                int size = performanceItems.size();
+                int size = performanceSeries.size();
                 int[] colors = new int[size];
                 float[] positions = new float[size];
 
-                cal.setTimeInMillis(performanceItems.get(0).getTimestamp().getTime());
+                cal.setTimeInMillis(performanceSeries.getTime(0));
                 float startDegrees = getDegrees(cal);
 
                 for (int x = 0; x < size; x++) {
-                    PerformanceItem item = performanceItems.get(x);
-
-                    long todayChange = item.getTodayChange().getMicroCents();
+                    long todayChange = performanceSeries.getTodayChange(x);
 //                    todayChange = (long)(-extents + (extents * 2*x/size));
 
                     colors[x] = getPerformanceColor(todayChange, extent);
 
-                    cal.setTimeInMillis(item.getTimestamp().getTime());
+                    cal.setTimeInMillis(performanceSeries.getTime(x));
                     float calDegrees = getDegrees(cal);
                     if (calDegrees < startDegrees) {
                         calDegrees += 360;
@@ -392,7 +393,7 @@ public class MockTradeFace extends CanvasWatchFaceService {
 
                 shader = new SweepGradient(frame.centerX(), frame.centerY(), colors, positions);
 
-                cal.setTimeInMillis(performanceItems.get(size-1).getTimestamp().getTime());
+                cal.setTimeInMillis(performanceSeries.getTime(size-1));
 
                 float calDegrees = getDegrees(cal);
                 if (calDegrees < marketOpenDegrees) {
@@ -475,7 +476,8 @@ public class MockTradeFace extends CanvasWatchFaceService {
                         if (highlightItems != null) {
                             HighlightItem item = highlightItems.get(highlightItemPosition);
                             if (item.isTotalType()) {
-                                startActivity(GraphActivity.newIntent(getApplicationContext(), item, performanceItems));
+                                startActivity(GraphActivity.newIntent(getApplicationContext(), item,
+                                        (performanceSeries != null) ? performanceSeries.toItems() : null));
                             }
                         }
                     } else if (!marketTimeHitTest(x, y, false)) {  // did not click in time ring
@@ -582,7 +584,7 @@ public class MockTradeFace extends CanvasWatchFaceService {
             }
 
             // draw performance arc
-            if (performanceItems != null) {
+            if (performanceSeries != null) {
                 canvas.drawArc(marketArcRect, 0, performanceDurationDegrees, false, marketDayRingPaint);
             }
 
@@ -778,15 +780,24 @@ public class MockTradeFace extends CanvasWatchFaceService {
         }
 
         private void updatePathHighlightsSync(DataMap dataMap) {
-            ArrayList<DataMap> dataMapList = dataMap.getDataMapArrayList(WearDataSync.DATA_HIGHLIGHTS);
-
-            if (dataMapList != null) {
-                highlightItems = new ArrayList<>(dataMapList.size());
+            ArrayList<HighlightItem> items = null;
+            if (dataMap.containsKey(WearDataSync.DATA_HIGHLIGHTS_PACKED)) {
+                items = HighlightItem.fromByteArray(dataMap.getByteArray(WearDataSync.DATA_HIGHLIGHTS_PACKED));
+            } else {
+                // older phones, or the first sync before this watch has acked
+                ArrayList<DataMap> dataMapList = dataMap.getDataMapArrayList(WearDataSync.DATA_HIGHLIGHTS);
+                if (dataMapList != null) {
+                    items = new ArrayList<>(dataMapList.size());
+                    for (DataMap data : dataMapList) {
+                        items.add(new HighlightItem(data));
+                    }
+                }
+            }
 
-                for (DataMap data : dataMapList) {
-                    HighlightItem item = new HighlightItem(data);
-                    highlightItems.add(item);
+            if (items != null) {
+                highlightItems = items;
 
+                for (HighlightItem item : highlightItems) {
                     if (item.getHighlightType() == HighlightItem.HighlightType.TOTAL_ACCOUNT) {
                         setTimeTextPaint(item, false);
                     }
@@ -802,21 +813,41 @@ public class MockTradeFace extends CanvasWatchFaceService {
         }
 
         private void updatePathSnapshotSync(DataMap dataMap) {
-            ArrayList<DataMap> dataMapList = dataMap.getDataMapArrayList(WearDataSync.DATA_SNAPSHOT_DAILY);
+            long accountId = dataMap.getLong(WearDataSync.DATA_SNAPSHOT_ACCOUNT_ID, -1);
+            long baseTime = dataMap.getLong(WearDataSync.DATA_SNAPSHOT_BASE_TIME, SnapshotDelta.BASE_TIME_FULL);
 
-            if (dataMapList != null) {
-                performanceItems = new ArrayList<>(dataMapList.size());
+            PerformanceSeries delta = null;
+            if (dataMap.containsKey(WearDataSync.DATA_SNAPSHOT_SERIES)) {
+                delta = PerformanceSeries.fromByteArray(dataMap.getByteArray(WearDataSync.DATA_SNAPSHOT_SERIES));
+            } else {
+                // older phones, or the first sync before this watch has acked
+                ArrayList<DataMap> dataMapList = dataMap.getDataMapArrayList(WearDataSync.DATA_SNAPSHOT_DAILY);
+                if (dataMapList != null) {
+                    List<PerformanceItem> items = new ArrayList<>(dataMapList.size());
+                    for (DataMap data : dataMapList) {
+                        items.add(new PerformanceItem(data));
+                    }
+                    delta = PerformanceSeries.fromItems(accountId, items);
+                }
+            }
 
-                for (DataMap data : dataMapList) {
-                    PerformanceItem item = new PerformanceItem(data);
-                    performanceItems.add(item);
+            if (delta != null) {
+                PerformanceSeries snapshots = null;
+                if ((accountId == snapshotAccountId) || (baseTime == SnapshotDelta.BASE_TIME_FULL)) {
+                    snapshots = SnapshotDelta.apply(performanceSeries, baseTime, delta);
                 }
 
-                if (performanceItems.size() == 0) {
-                    performanceItems = null;
+                if (snapshots == null) {
+                    // keep showing what we have until the phone sends everything
+                    setSnapshotAckDataItem(accountId, SnapshotDelta.ACK_TIME_RESYNC);
+                    return;
                 }
+
+                snapshotAccountId = accountId;
+                performanceSeries = snapshots.isEmpty() ? null : snapshots;
+                setSnapshotAckDataItem(accountId, SnapshotDelta.getLastTime(performanceSeries));
             } else {
-                performanceItems = null;
+                performanceSeries = null;
             }
 
             calcPerformanceGradient();
@@ -868,6 +899,18 @@ public class MockTradeFace extends CanvasWatchFaceService {
             Wearable.DataApi.putDataItem(googleApiClient, putDataMapRequest.asPutDataRequest());
         }
 
+        private void setSnapshotAckDataItem(long accountId, long ackTime) {
+            PutDataMapRequest putDataMapRequest = PutDataMapRequest.create(WearDataSync.PATH_SNAPSHOT_ACK);
+            putDataMapRequest.getDataMap().putLong(WearDataSync.DATA_SNAPSHOT_ACK_ACCOUNT_ID, accountId);
+            putDataMapRequest.getDataMap().putLong(WearDataSync.DATA_SNAPSHOT_ACK_TIME, ackTime);
+
+            // the phone reads regular acks on its next sync
+            if (ackTime == SnapshotDelta.ACK_TIME_RESYNC) {
+                putDataMapRequest.setUrgent();
+            }
+            Wearable.DataApi.putDataItem(googleApiClient, putDataMapRequest.asPutDataRequest());
+        }
+
         private Calendar getMarketOpenTime() {
             Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("America/Los_Angeles"));
             cal.set(Calendar.HOUR_OF_DAY, 6);